@@ -55,6 +55,11 @@ android {
     ksp {
         arg("room.schemaLocation", "$projectDir/schemas")
     }
+
+    // Exported schemas are read by MigrationTestHelper in instrumented tests
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
 }
 
 dependencies {
@@ -70,6 +75,7 @@ dependencies {
     implementation("androidx.appcompat:appcompat:1.6.1")
     implementation("androidx.constraintlayout:constraintlayout:2.1.4")
     implementation("androidx.fragment:fragment-ktx:1.6.2") // For setFragmentResult
+    implementation("androidx.recyclerview:recyclerview:1.3.2") // Task list (ListAdapter, DiffUtil)
 
     // Lifecycle
     implementation("androidx.lifecycle:lifecycle-runtime-ktx:2.7.0")
@@ -79,6 +85,7 @@ dependencies {
     // Room (will be fully integrated in Phase 4.5.4)
     implementation("androidx.room:room-runtime:2.6.1")
     implementation("androidx.room:room-ktx:2.6.1")
+    implementation("androidx.sqlite:sqlite-framework:2.4.0") // Wrapped by ProfilingOpenHelperFactory
     ksp("androidx.room:room-compiler:2.6.1")
 
     // Testing
@@ -0,0 +1,94 @@
+package com.secretary.features.tasks.data
+
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.secretary.Task
+import com.secretary.features.tasks.data.repository.TaskRepositoryImpl
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+import com.secretary.features.tasks.domain.usecase.BulkCompleteTasksUseCase
+import com.secretary.shared.database.DatabaseConstants
+import com.secretary.shared.database.TaskDatabase
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Instrumented tests for the TaskDao batch operations
+ *
+ * Selections larger than DatabaseConstants.MAX_BIND_IDS are bound in
+ * several chunks; SQLite before 3.32 fails a statement with more than 999
+ * parameters, so these run with more IDs than that.
+ */
+@RunWith(AndroidJUnit4::class)
+class TaskBatchOperationsTest {
+
+    companion object {
+        private const val TASK_COUNT = 2_500
+        private const val SELECTION = 2 * DatabaseConstants.MAX_BIND_IDS + 100 // Three chunks
+    }
+
+    private lateinit var database: TaskDatabase
+    private lateinit var repository: TaskRepositoryImpl
+    private lateinit var taskIds: List<Long>
+
+    @Before
+    fun setUp() = runBlocking {
+        database = Room.inMemoryDatabaseBuilder(
+            ApplicationProvider.getApplicationContext(),
+            TaskDatabase::class.java
+        ).addCallback(TaskDatabase.CALLBACK).build()
+        repository = TaskRepositoryImpl(database.taskDao())
+        taskIds = repository.insertTasks(List(TASK_COUNT) { Task(title = "Task $it", priority = 1) })
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+    }
+
+    @Test
+    fun insertTasks_returnsIdsInOrder() = runBlocking {
+        assertEquals(TASK_COUNT, taskIds.size)
+        assertEquals("Task 0", repository.getTaskById(taskIds.first())?.title)
+        assertEquals("Task ${TASK_COUNT - 1}", repository.getTaskById(taskIds.last())?.title)
+    }
+
+    @Test
+    fun bulkComplete_completesSelectionWithHistory() = runBlocking {
+        val useCase = BulkCompleteTasksUseCase(repository, StreakService(), RecurrenceService())
+        val selection = taskIds.take(SELECTION)
+
+        assertEquals(SELECTION, useCase(selection).getOrThrow())
+        assertEquals(0, useCase(selection).getOrThrow()) // Already completed: skipped
+
+        assertEquals(TASK_COUNT - SELECTION, repository.getActiveTaskCount())
+        database.openHelper.readableDatabase.query("SELECT COUNT(*) FROM completions").use { cursor ->
+            cursor.moveToFirst()
+            assertEquals(SELECTION, cursor.getInt(0))
+        }
+    }
+
+    @Test
+    fun bulkUpdate_changesOnlySelection() = runBlocking {
+        val selection = taskIds.takeLast(SELECTION)
+
+        assertEquals(SELECTION, repository.updateCategory(selection, "Archive"))
+        assertEquals(SELECTION, repository.updatePriority(selection, 3))
+
+        val tasks = repository.getAllTasks()
+        assertEquals(SELECTION, tasks.count { it.category == "Archive" && it.priority == 3 })
+        assertTrue(tasks.filter { it.id !in selection }.all { it.category == "General" && it.priority == 1 })
+    }
+
+    @Test
+    fun bulkDelete_deletesSelection() = runBlocking {
+        assertEquals(SELECTION, repository.deleteTasks(taskIds.take(SELECTION)))
+        assertEquals(TASK_COUNT - SELECTION, repository.getTaskCount())
+    }
+}
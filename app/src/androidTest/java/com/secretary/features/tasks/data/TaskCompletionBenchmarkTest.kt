@@ -0,0 +1,115 @@
+package com.secretary.features.tasks.data
+
+import android.content.Context
+import android.util.Log
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.secretary.Task
+import com.secretary.features.statistics.data.CompletionRepositoryImpl
+import com.secretary.features.tasks.data.repository.TaskRepositoryImpl
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+import com.secretary.features.tasks.domain.usecase.CompleteTaskUseCase
+import com.secretary.shared.database.TaskDatabase
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Completion latency: separate writes vs. one transaction
+ *
+ * "Separate" is the old CompletionDialog path: saveCompletion(), then
+ * CompleteTaskUseCase.invoke() (getTaskById + full-row updateTask) - three
+ * implicit transactions. "Atomic" is completeWithMetadata(): one transaction
+ * with an insert and a partial UPDATE.
+ *
+ * Uses a file-backed database so commit (journal sync) cost is included.
+ * Results go to logcat (tag CompletionBenchmark); timings are not asserted
+ * because they depend on the device.
+ */
+@RunWith(AndroidJUnit4::class)
+class TaskCompletionBenchmarkTest {
+
+    companion object {
+        private const val TAG = "CompletionBenchmark"
+        private const val DB_NAME = "completion-benchmark.db"
+        private const val WARMUP = 20
+        private const val ITERATIONS = 200
+    }
+
+    private lateinit var context: Context
+    private lateinit var database: TaskDatabase
+    private lateinit var taskRepository: TaskRepositoryImpl
+    private lateinit var completionRepository: CompletionRepositoryImpl
+    private lateinit var completeTaskUseCase: CompleteTaskUseCase
+
+    @Before
+    fun setUp() {
+        context = ApplicationProvider.getApplicationContext()
+        context.deleteDatabase(DB_NAME)
+        database = Room.databaseBuilder(context, TaskDatabase::class.java, DB_NAME)
+            .addCallback(TaskDatabase.CALLBACK) // Include rollup trigger cost, as in the app
+            .build()
+        taskRepository = TaskRepositoryImpl(database.taskDao())
+        completionRepository = CompletionRepositoryImpl(database.completionDao())
+        completeTaskUseCase = CompleteTaskUseCase(taskRepository, StreakService(), RecurrenceService())
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+        context.deleteDatabase(DB_NAME)
+    }
+
+    @Test
+    fun completionLatency_separateWritesVsSingleTransaction() = runBlocking {
+        val separate = measure { taskId ->
+            completionRepository.saveCompletion(taskId, 15, 5, "notes")
+            assertTrue(completeTaskUseCase(taskId).isSuccess)
+        }
+        val atomic = measure { taskId ->
+            assertTrue(completeTaskUseCase.completeWithMetadata(taskId, 15, 5, "notes").isSuccess)
+        }
+
+        Log.i(TAG, "separate writes: ${summary(separate)}")
+        Log.i(TAG, "single transaction: ${summary(atomic)}")
+
+        // Both paths must leave one history row per completed task
+        val completed = taskRepository.getAllTasks().count { it.isCompleted }
+        assertEquals(2 * (WARMUP + ITERATIONS), completed)
+        assertEquals(completed, completionRepository.getCompletionsToday().size)
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Complete WARMUP + ITERATIONS fresh tasks, returning the timed durations (ns)
+     */
+    private suspend fun measure(complete: suspend (Long) -> Unit): LongArray {
+        val taskIds = (0 until WARMUP + ITERATIONS).map {
+            taskRepository.insertTask(Task(title = "Benchmark task $it", recurrenceType = Task.RECURRENCE_NONE))
+        }
+        taskIds.take(WARMUP).forEach { complete(it) }
+
+        val durations = LongArray(ITERATIONS)
+        for (i in 0 until ITERATIONS) {
+            val start = System.nanoTime()
+            complete(taskIds[WARMUP + i])
+            durations[i] = System.nanoTime() - start
+        }
+        return durations
+    }
+
+    private fun summary(durations: LongArray): String {
+        val sorted = durations.sorted()
+        fun micros(ns: Long) = ns / 1_000
+        return "median=${micros(sorted[sorted.size / 2])}us " +
+            "p90=${micros(sorted[sorted.size * 9 / 10])}us " +
+            "mean=${micros(sorted.sum() / sorted.size)}us (n=${sorted.size})"
+    }
+}
@@ -0,0 +1,155 @@
+package com.secretary.features.tasks.data
+
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.secretary.Task
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.data.repository.TaskRepositoryImpl
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import com.secretary.shared.database.TaskDatabase
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Instrumented tests for keyset paging (TaskPageQueryBuilder via TaskRepositoryImpl)
+ *
+ * Walking all pages must yield exactly what TaskFilterManager produces for
+ * the full list in memory - same rows, same order, no gaps or duplicates.
+ * Test data has many equal sort keys to exercise the id tie-breaker.
+ */
+@RunWith(AndroidJUnit4::class)
+class TaskPageQueryBuilderTest {
+
+    companion object {
+        private const val TASK_COUNT = 230
+        private const val PAGE_SIZE = 17
+    }
+
+    private lateinit var database: TaskDatabase
+    private lateinit var repository: TaskRepositoryImpl
+
+    @Before
+    fun setUp() = runBlocking {
+        database = Room.inMemoryDatabaseBuilder(
+            ApplicationProvider.getApplicationContext(),
+            TaskDatabase::class.java
+        ).build()
+        repository = TaskRepositoryImpl(database.taskDao())
+
+        for (i in 0 until TASK_COUNT) {
+            repository.insertTask(
+                Task(
+                    title = "Task ${i % 40}",
+                    description = if (i % 3 == 0) "Kitchen cleanup" else null,
+                    category = listOf("Work", "Home", "General")[i % 3],
+                    createdAt = 1_000L * (i % 25),
+                    dueDate = if (i % 4 == 0) 0L else 1_000L * (i % 7),
+                    isCompleted = i % 5 == 0,
+                    priority = i % 3
+                )
+            )
+        }
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+    }
+
+    @Test
+    fun pagesMatchInMemoryOrder_forEverySortOption() = runBlocking {
+        for (sortOption in TaskFilterManager.SortOption.values()) {
+            assertPagesMatchFilterManager(TaskPageQuery(sortOption = sortOption))
+        }
+    }
+
+    @Test
+    fun pagesApplyCompletionAndCategoryFilters() = runBlocking {
+        assertPagesMatchFilterManager(
+            TaskPageQuery(completionFilter = TaskFilterManager.CompletionFilter.ACTIVE_ONLY, categoryFilter = "Home")
+        )
+        assertPagesMatchFilterManager(
+            TaskPageQuery(
+                completionFilter = TaskFilterManager.CompletionFilter.COMPLETED_ONLY,
+                sortOption = TaskFilterManager.SortOption.DUE_DATE
+            )
+        )
+    }
+
+    @Test
+    fun pagesApplyPriorityFilter() = runBlocking {
+        assertPagesMatchFilterManager(TaskPageQuery(priorityFilter = 2))
+        assertPagesMatchFilterManager(
+            TaskPageQuery(
+                completionFilter = TaskFilterManager.CompletionFilter.ACTIVE_ONLY,
+                categoryFilter = "Home",
+                priorityFilter = 0,
+                sortOption = TaskFilterManager.SortOption.TITLE
+            )
+        )
+    }
+
+    @Test
+    fun titleOrderMatchesNocaseForNonAsciiTitles() = runBlocking {
+        // NOCASE folds ASCII only: "Äb" (U+00C4) sorts before "äa" (U+00E4)
+        val titles = listOf("äa", "Äb", "ab", "AA", "Zebra", "émile", "Émile")
+        val ids = titles.associateWith { repository.insertTask(Task(title = it, priority = 3)) }
+
+        assertPagesMatchFilterManager(TaskPageQuery(sortOption = TaskFilterManager.SortOption.TITLE))
+        val paged = loadAllPages(TaskPageQuery(sortOption = TaskFilterManager.SortOption.TITLE))
+            .filter { it.id in ids.values }
+        assertEquals(listOf("AA", "ab", "Zebra", "Äb", "Émile", "äa", "émile"), paged.map { it.title })
+    }
+
+    @Test
+    fun pagesApplySearch() = runBlocking {
+        val paged = loadAllPages(TaskPageQuery(searchQuery = "kitch"))
+        assertEquals((0 until TASK_COUNT step 3).count(), paged.size)
+    }
+
+    @Test
+    fun pagesLoadDescriptionPreviewOnly() = runBlocking {
+        val longDescription = "x".repeat(TaskListItem.DESCRIPTION_PREVIEW_LENGTH * 3)
+        val id = repository.insertTask(Task(title = "Long notes", description = longDescription, priority = 3))
+
+        val row = repository.getTaskPage(TaskPageQuery(), null, 1).single()
+
+        assertEquals(id, row.id)
+        assertEquals(longDescription.take(TaskListItem.DESCRIPTION_PREVIEW_LENGTH), row.descriptionPreview)
+        assertEquals(longDescription, repository.getTaskById(id)?.description)
+    }
+
+    // ========== Helper Methods ==========
+
+    private suspend fun assertPagesMatchFilterManager(query: TaskPageQuery) {
+        val filterManager = TaskFilterManager().apply {
+            completionFilter = query.completionFilter
+            categoryFilter = query.categoryFilter
+            priorityFilter = query.priorityFilter
+            sortOption = query.sortOption
+        }
+        // Equal in-memory sort keys keep insertion (= id) order, like the SQL id tie-breaker
+        val rows = repository.getAllTasks().sortedBy { it.id }.map { TaskListItem.from(it) }
+        val expected = filterManager.applyFilters(rows).toMutableList()
+        filterManager.sortTasks(expected)
+
+        val paged = loadAllPages(query)
+        assertEquals("Order for $query", expected.map { it.id }, paged.map { it.id })
+        assertEquals("Rows for $query", expected, paged)
+    }
+
+    private suspend fun loadAllPages(query: TaskPageQuery): List<TaskListItem> {
+        val all = mutableListOf<TaskListItem>()
+        while (true) {
+            val page = repository.getTaskPage(query, all.lastOrNull(), PAGE_SIZE)
+            all.addAll(page)
+            if (page.size < PAGE_SIZE) return all
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.secretary.shared.database
+
+import androidx.room.testing.MigrationTestHelper
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import org.junit.Assert.assertEquals
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Instrumented tests for TaskDatabase migrations
+ *
+ * Uses the schemas exported to app/schemas (added as androidTest assets).
+ * runMigrationsAndValidate() fails if the migrated schema differs from the
+ * schema Room expects for the target version.
+ */
+@RunWith(AndroidJUnit4::class)
+class TaskDatabaseMigrationTest {
+
+    companion object {
+        private const val TEST_DB = "migration-test.db"
+    }
+
+    @get:Rule
+    val helper = MigrationTestHelper(
+        InstrumentationRegistry.getInstrumentation(),
+        TaskDatabase::class.java
+    )
+
+    @Test
+    fun migrate5To6_keepsTasksAndAddsIndices() {
+        helper.createDatabase(TEST_DB, 5).apply {
+            execSQL(
+                "INSERT INTO tasks (id, title, category, created_at, due_date, is_completed, priority, " +
+                    "recurrence_type, recurrence_amount, recurrence_unit, last_completed_date, " +
+                    "completions_this_period, current_period_start, current_streak, longest_streak, " +
+                    "last_streak_date) VALUES (1, 'Existing task', 'Work', 1000, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0)"
+            )
+            close()
+        }
+
+        val database = helper.runMigrationsAndValidate(TEST_DB, 6, true, TaskDatabase.MIGRATION_5_6)
+
+        database.query("SELECT title FROM tasks WHERE id = 1").use { cursor ->
+            cursor.moveToFirst()
+            assertEquals("Existing task", cursor.getString(0))
+        }
+        database.query("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND tbl_name = 'tasks'").use { cursor ->
+            cursor.moveToFirst()
+            assertEquals(4, cursor.getInt(0))
+        }
+    }
+
+    @Test
+    fun migrate6To7_indexesExistingTasksForSearch() {
+        helper.createDatabase(TEST_DB, 6).apply {
+            execSQL(
+                "INSERT INTO tasks (id, title, description, category, created_at, due_date, is_completed, priority, " +
+                    "recurrence_type, recurrence_amount, recurrence_unit, last_completed_date, " +
+                    "completions_this_period, current_period_start, current_streak, longest_streak, " +
+                    "last_streak_date) VALUES (1, 'Küche putzen', 'Herd und Spüle', 'Home', 1000, 0, 0, 2, " +
+                    "0, 0, 0, 0, 0, 0, 0, 0, 0)"
+            )
+            close()
+        }
+
+        val database = helper.runMigrationsAndValidate(TEST_DB, 7, true, TaskDatabase.MIGRATION_6_7)
+
+        database.query("SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH 'kuch* spul*'").use { cursor ->
+            assertEquals(1, cursor.count)
+        }
+
+        // Sync triggers keep the index current after the migration
+        database.execSQL("UPDATE tasks SET title = 'Bad putzen' WHERE id = 1")
+        database.query("SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH 'kuch*'").use { cursor ->
+            assertEquals(0, cursor.count)
+        }
+    }
+
+    @Test
+    fun migrate7To8_buildsDailyRollupAndKeepsItCurrent() {
+        val now = System.currentTimeMillis()
+        helper.createDatabase(TEST_DB, 7).apply {
+            execSQL(
+                "INSERT INTO tasks (id, title, category, created_at, due_date, is_completed, priority, " +
+                    "recurrence_type, recurrence_amount, recurrence_unit, last_completed_date, " +
+                    "completions_this_period, current_period_start, current_streak, longest_streak, " +
+                    "last_streak_date) VALUES (1, 'Existing task', 'Work', 1000, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0)"
+            )
+            execSQL(
+                "INSERT INTO completions (task_id, completed_at, time_spent_minutes, difficulty) " +
+                    "VALUES (1, $now, 20, 4), (1, $now, 10, 6)"
+            )
+            close()
+        }
+
+        val database = helper.runMigrationsAndValidate(TEST_DB, 8, true, TaskDatabase.MIGRATION_7_8)
+        val today = java.time.LocalDate.now().toEpochDay()
+
+        database.query(
+            "SELECT completion_count, total_minutes, difficulty_sum FROM completion_daily_rollup WHERE day = $today"
+        ).use { cursor ->
+            cursor.moveToFirst()
+            assertEquals(2, cursor.getInt(0))
+            assertEquals(30, cursor.getInt(1))
+            assertEquals(10, cursor.getInt(2))
+        }
+
+        // Triggers keep the rollup current after the migration
+        database.execSQL(
+            "INSERT INTO completions (task_id, completed_at, time_spent_minutes, difficulty) VALUES (1, $now, 5, 5)"
+        )
+        database.execSQL("DELETE FROM completions WHERE time_spent_minutes = 20")
+        database.query("SELECT completion_count, total_minutes FROM completion_daily_rollup WHERE day = $today").use { cursor ->
+            cursor.moveToFirst()
+            assertEquals(2, cursor.getInt(0))
+            assertEquals(15, cursor.getInt(1))
+        }
+    }
+
+    @Test
+    fun migrate8To9_marksRecurringTasksForScheduling() {
+        helper.createDatabase(TEST_DB, 8).apply {
+            execSQL(
+                "INSERT INTO tasks (id, title, category, created_at, due_date, is_completed, priority, " +
+                    "recurrence_type, recurrence_amount, recurrence_unit, last_completed_date, " +
+                    "completions_this_period, current_period_start, current_streak, longest_streak, " +
+                    "last_streak_date) VALUES " +
+                    "(1, 'One-off task', 'Work', 1000, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0), " +
+                    "(2, 'Every 3 days', 'Home', 1000, 5000, 1, 1, 1, 3, 0, 2000, 0, 0, 1, 1, 2000)"
+            )
+            close()
+        }
+
+        val database = helper.runMigrationsAndValidate(TEST_DB, 9, true, TaskDatabase.MIGRATION_8_9)
+
+        database.query("SELECT id, next_reset_at FROM tasks ORDER BY id").use { cursor ->
+            cursor.moveToFirst()
+            assertEquals(0L, cursor.getLong(1)) // Nothing to reset
+            cursor.moveToNext()
+            assertEquals(-1L, cursor.getLong(1)) // Computed by the repository on first load
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.secretary.shared.database
+
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Instrumented tests for the tasks table indices (schema v6)
+ *
+ * Runs EXPLAIN QUERY PLAN for every indexed TaskDao query and asserts that
+ * SQLite searches an index instead of scanning the table, and that ORDER BY
+ * is satisfied by index order (no "USE TEMP B-TREE").
+ *
+ * Each test's SQL is a copy of the @Query of the TaskDao method it is named
+ * after. Room offers no way to reach those strings at runtime, so the copies
+ * must be kept in sync by hand: when a TaskDao query changes, change it here
+ * too, otherwise this test keeps checking the plan of the old query.
+ *
+ * Deliberately not indexed (rare report queries, not worth the write cost):
+ * getCompletedTasks, getHighPriorityTasks, getTasksWithStreaks, getTaskWithLongestStreak.
+ */
+@RunWith(AndroidJUnit4::class)
+class TaskQueryPlanTest {
+
+    private lateinit var database: TaskDatabase
+
+    @Before
+    fun setUp() {
+        database = Room.inMemoryDatabaseBuilder(
+            ApplicationProvider.getApplicationContext(),
+            TaskDatabase::class.java
+        ).build()
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+    }
+
+    // ========== Task List Queries ==========
+
+    @Test
+    fun getAllTasks_usesListIndexWithoutSort() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks ORDER BY is_completed ASC, priority DESC, created_at DESC",
+            "index_tasks_is_completed_priority_created_at"
+        )
+    }
+
+    @Test
+    fun getActiveTasks_usesListIndexWithoutSort() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE is_completed = 0 ORDER BY priority DESC, created_at DESC",
+            "index_tasks_is_completed_priority_created_at"
+        )
+    }
+
+    @Test
+    fun getTasksByPriority_usesListIndexWithoutSort() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE priority = ? AND is_completed = 0 ORDER BY created_at DESC",
+            "index_tasks_is_completed_priority_created_at",
+            2
+        )
+    }
+
+    @Test
+    fun getTaskById_usesPrimaryKey() {
+        val plan = explain("SELECT * FROM tasks WHERE id = ?", 1L)
+        assertTrue("Expected primary key lookup: $plan", plan.any { it.contains("PRIMARY KEY") })
+    }
+
+    // ========== Search Queries ==========
+
+    @Test
+    fun searchTasks_usesFullTextIndex() {
+        val plan = explain(
+            "SELECT tasks.* FROM tasks JOIN tasks_fts ON tasks.id = tasks_fts.rowid " +
+                "WHERE tasks_fts MATCH ? ORDER BY tasks.id IN " +
+                "(SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH ?) DESC, " +
+                "tasks.is_completed ASC, tasks.priority DESC, tasks.created_at DESC",
+            "kuch*",
+            "title:kuch*"
+        )
+        assertTrue("Expected FTS lookup: $plan", plan.any { it.contains("VIRTUAL TABLE") })
+        assertTrue("Expected primary key join: $plan", plan.any { it.contains("INTEGER PRIMARY KEY") })
+        assertFalse("Unexpected full table scan: $plan", plan.any(::isTableScan))
+    }
+
+    // ========== Statistics Queries ==========
+
+    @Test
+    fun getActiveTaskCount_usesCoveringIndex() {
+        assertIndexedWithoutSort(
+            "SELECT COUNT(*) FROM tasks WHERE is_completed = 0",
+            "COVERING INDEX"
+        )
+    }
+
+    @Test
+    fun getTasksCompletedLast7Days_usesIndex() {
+        assertIndexedWithoutSort(
+            "SELECT COUNT(*) FROM tasks WHERE is_completed = 1 AND last_completed_date >= ?",
+            "index_tasks_is_completed",
+            0L
+        )
+    }
+
+    @Test
+    fun getOverdueTasksCount_usesCoveringDueDateIndex() {
+        assertIndexedWithoutSort(
+            "SELECT COUNT(*) FROM tasks WHERE is_completed = 0 AND due_date > 0 AND due_date < ?",
+            "COVERING INDEX index_tasks_is_completed_due_date",
+            System.currentTimeMillis()
+        )
+    }
+
+    // ========== Category Queries ==========
+
+    @Test
+    fun getAllCategories_usesCoveringCategoryIndex() {
+        assertIndexedWithoutSort(
+            "SELECT DISTINCT category FROM tasks WHERE category IS NOT NULL ORDER BY category ASC",
+            "COVERING INDEX index_tasks_category_is_completed_priority"
+        )
+    }
+
+    @Test
+    fun getTasksByCategory_usesCategoryIndexWithoutSort() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE category = ? ORDER BY is_completed ASC, priority DESC",
+            "index_tasks_category_is_completed_priority",
+            "Work"
+        )
+    }
+
+    // ========== Recurrence Queries ==========
+
+    @Test
+    fun getRecurringTasks_usesRecurrenceIndex() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE recurrence_type > 0",
+            "index_tasks_recurrence_type_is_completed_due_date"
+        )
+    }
+
+    @Test
+    fun getDueIntervalTasks_usesRecurrenceIndex() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE recurrence_type = 1 AND is_completed = 1 AND due_date <= ?",
+            "index_tasks_recurrence_type_is_completed_due_date",
+            System.currentTimeMillis()
+        )
+    }
+
+    @Test
+    fun getFrequencyTasks_usesRecurrenceIndex() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE recurrence_type = 2",
+            "index_tasks_recurrence_type_is_completed_due_date"
+        )
+    }
+
+    // ========== Recurrence Reset Schedule (schema v9) ==========
+
+    @Test
+    fun getResetSchedule_usesCoveringResetIndex() {
+        assertIndexedWithoutSort(
+            "SELECT id, next_reset_at FROM tasks WHERE next_reset_at > 0",
+            "COVERING INDEX index_tasks_next_reset_at"
+        )
+    }
+
+    @Test
+    fun getNextScheduledReset_usesResetIndexWithoutSort() {
+        assertIndexedWithoutSort(
+            "SELECT id, next_reset_at FROM tasks WHERE next_reset_at > 0 ORDER BY next_reset_at ASC LIMIT 1",
+            "index_tasks_next_reset_at"
+        )
+    }
+
+    @Test
+    fun getTasksDueForReset_usesResetIndex() {
+        assertIndexedWithoutSort(
+            "SELECT * FROM tasks WHERE next_reset_at > 0 AND next_reset_at <= ?",
+            "index_tasks_next_reset_at",
+            System.currentTimeMillis()
+        )
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun assertIndexedWithoutSort(sql: String, expectedIndex: String, vararg args: Any) {
+        val plan = explain(sql, *args)
+        assertTrue("Expected $expectedIndex in plan: $plan", plan.any { it.contains(expectedIndex) })
+        assertFalse("Unexpected full table scan: $plan", plan.any(::isTableScan))
+        assertFalse("Unexpected temp sort: $plan", plan.any { it.contains("TEMP B-TREE") })
+    }
+
+    /**
+     * Full scan of tasks: "SCAN tasks" (SQLite 3.36+) or "SCAN TABLE tasks" (older),
+     * but not an index scan ("SCAN tasks USING COVERING INDEX ...") or the FTS table
+     */
+    private fun isTableScan(detail: String): Boolean =
+        detail.startsWith("SCAN") && Regex("\\btasks\\b").containsMatchIn(detail) && !detail.contains("INDEX")
+
+    private fun explain(sql: String, vararg args: Any): List<String> {
+        val plan = mutableListOf<String>()
+        database.openHelper.readableDatabase.query("EXPLAIN QUERY PLAN $sql", args).use { cursor ->
+            val detailIndex = cursor.getColumnIndexOrThrow("detail")
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detailIndex))
+            }
+        }
+        return plan
+    }
+}
@@ -133,36 +133,6 @@ data class Task(
         return "($completionsThisPeriod/$recurrenceAmount)"
     }
 
-    /**
-     * Get next appearance info for completed interval tasks
-     * Returns human-readable time until task reappears
-     */
-    fun getNextAppearanceString(): String {
-        if (recurrenceType != RecurrenceType.INTERVAL || !isCompleted || dueDate <= 0) {
-            return ""
-        }
-
-        val now = System.currentTimeMillis()
-        val timeUntilDue = dueDate - now
-
-        if (timeUntilDue <= 0) {
-            return " (due now)"
-        }
-
-        // Convert to readable format
-        val hours = timeUntilDue / (1000 * 60 * 60)
-        val days = hours / 24
-
-        return when {
-            days > 0 -> " (reappears in $days day${if (days > 1) "s" else ""})"
-            hours > 0 -> " (reappears in $hours hour${if (hours > 1) "s" else ""})"
-            else -> {
-                val minutes = timeUntilDue / (1000 * 60)
-                " (reappears in $minutes minute${if (minutes > 1) "s" else ""})"
-            }
-        }
-    }
-
     /**
      * Check if this frequency task needs more completions in current period
      */
@@ -5,21 +5,35 @@ import com.secretary.features.statistics.data.CompletionRepositoryImpl
 import com.secretary.features.statistics.domain.repository.CompletionRepository
 import com.secretary.features.tasks.data.TaskDao
 import com.secretary.features.tasks.data.repository.TaskRepositoryImpl
+import com.secretary.features.tasks.domain.model.DailyPlan
+import com.secretary.features.tasks.domain.model.TaskFacetCounts
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
 import com.secretary.features.tasks.domain.repository.TaskRepository
 import com.secretary.features.tasks.presentation.viewmodel.TaskListViewModel
 import com.secretary.features.tasks.presentation.viewmodel.TaskViewModelFactory
 import com.secretary.shared.database.TaskDatabase
 import androidx.appcompat.app.AppCompatActivity
 import android.app.AlertDialog
+import android.content.BroadcastReceiver
+import android.content.Context
+import android.content.Intent
+import android.content.IntentFilter
 import android.os.Bundle
 import android.text.Editable
+import android.text.InputType
 import android.text.TextWatcher
+import android.view.ActionMode
+import android.view.Menu
+import android.view.MenuItem
 import android.view.View
 import android.widget.*
+import androidx.core.content.ContextCompat
 import androidx.lifecycle.ViewModelProvider
 import androidx.lifecycle.lifecycleScope
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
 import kotlinx.coroutines.launch
-import java.util.*
 
 /**
  * Task Activity - Main Task Management UI
@@ -34,6 +48,13 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
 
     companion object {
         private const val TAG = "TaskActivity"
+        private const val PAGE_PREFETCH_DISTANCE = 10 // Rows before the end that trigger the next page
+        private val STATUS_LABELS = listOf("All Tasks", "Active Only", "Completed Only")
+        private val PRIORITY_LABELS = listOf("All Priorities", "Low", "Medium", "High", "Urgent")
+        private val CLOCK_CHANGES = IntentFilter().apply {
+            addAction(Intent.ACTION_TIME_CHANGED)
+            addAction(Intent.ACTION_TIMEZONE_CHANGED)
+        }
     }
 
     // Dependencies
@@ -43,10 +64,12 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
     private lateinit var viewModelFactory: TaskViewModelFactory // Factory for DialogFragments
 
     // Views
-    private lateinit var taskListView: ListView
+    private lateinit var taskListView: RecyclerView
     private lateinit var emptyTasksText: TextView
     private lateinit var statisticsText: TextView
+    private lateinit var nextTaskText: TextView
     private lateinit var addTaskButton: Button
+    private lateinit var planDayButton: Button
     private lateinit var searchEditText: EditText
     private lateinit var statusFilterSpinner: Spinner
     private lateinit var priorityFilterSpinner: Spinner
@@ -55,16 +78,24 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
 
     // Data
     private lateinit var adapter: TaskListAdapter
-    private val taskList = ArrayList<Task>()
-    private val filteredTaskList = ArrayList<Task>()
+    private var shownRows: List<TaskRowModel> = emptyList() // Last list submitted to the adapter
     private var allCategories = listOf<String>()
+    private var facetCounts: TaskFacetCounts? = null // Rows behind each filter option (null while paging)
+
+    // Filter spinner adapters (labels rewritten in place with the facet counts)
+    private val statusLabels = STATUS_LABELS.toMutableList()
+    private val priorityLabels = PRIORITY_LABELS.toMutableList()
+    private val categoryLabels = mutableListOf<String>()
 
     // Filter states
     private var searchQuery = ""
     private var statusFilter = 0        // 0=All, 1=Active, 2=Completed
-    private var priorityFilter = -1     // -1=All, 0=Low, 1=Medium, 2=High
+    private var priorityFilter = -1     // -1=All, 0=Low, 1=Medium, 2=High, 3=Urgent
     private var categoryFilter: String? = null
     private var sortOption = 0          // Index in TaskFilterManager.SortOption enum
+    private var pagingMode = false      // Large database: list is loaded page by page from Room
+    private var selectionMode: ActionMode? = null // Contextual action bar while tasks are selected
+    private var pendingCompletionId = 0L // Task whose CompletionDialog is open
 
     // ========== Lifecycle Methods ==========
 
@@ -109,7 +140,9 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             taskListView = findViewById(R.id.taskListView)
             emptyTasksText = findViewById(R.id.emptyTasksText)
             statisticsText = findViewById(R.id.taskStatisticsText)
+            nextTaskText = findViewById(R.id.nextTaskText)
             addTaskButton = findViewById(R.id.addTaskButton)
+            planDayButton = findViewById(R.id.planDayButton)
             searchEditText = findViewById(R.id.searchEditText)
             statusFilterSpinner = findViewById(R.id.statusFilterSpinner)
             priorityFilterSpinner = findViewById(R.id.priorityFilterSpinner)
@@ -119,8 +152,10 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             AppLogger.info(TAG, "All views found successfully")
 
             // Setup adapter
-            adapter = TaskListAdapter(this, filteredTaskList, this)
+            adapter = TaskListAdapter(this)
+            taskListView.layoutManager = LinearLayoutManager(this)
             taskListView.adapter = adapter
+            setupPagingScrollListener()
 
             // Setup filter manager
             filterManager = TaskFilterManager()
@@ -135,6 +170,11 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
                 showAddTaskDialog()
             }
 
+            // Phase 5: Daily plan within a time budget
+            planDayButton.setOnClickListener {
+                showPlanDayDialog()
+            }
+
             // Initial load
             loadTasks()
 
@@ -165,45 +205,23 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
         }
     }
 
-    /**
-     * Setup listeners for TaskDialogHelper callbacks
-     */
     /**
      * Setup FragmentResult listeners for DialogFragments
      * Phase 4.5.6: Replaces setupDialogHelperListeners()
+     *
+     * Saved tasks reach the list through the ViewModel's Room Flow, so only a
+     * cancelled completion needs handling (to un-tick the checkbox).
      */
     private fun setupFragmentResultListeners() {
-        // Listen for AddTaskDialog results
-        supportFragmentManager.setFragmentResultListener(
-            com.secretary.features.tasks.presentation.dialog.AddTaskDialog.RESULT_KEY,
-            this
-        ) { _, _ ->
-            // Task was saved - reload task list
-            loadTasks()
-        }
-
-        // Listen for EditTaskDialog results
-        supportFragmentManager.setFragmentResultListener(
-            com.secretary.features.tasks.presentation.dialog.EditTaskDialog.RESULT_KEY,
-            this
-        ) { _, _ ->
-            // Task was updated - reload task list
-            loadTasks()
-        }
-
         // Listen for CompletionDialog results
         supportFragmentManager.setFragmentResultListener(
             com.secretary.features.tasks.presentation.dialog.CompletionDialog.RESULT_KEY,
             this
         ) { _, bundle ->
-            // Task was completed or cancelled - reload task list
             val cancelled = bundle.getBoolean("cancelled", false)
             if (cancelled) {
-                // User cancelled - reload to reset UI
-                loadTasks()
-            } else {
-                // Task completed - reload task list
-                loadTasks()
+                // User cancelled - rebind the row's checkbox (data is unchanged, so no diff does it)
+                adapter.resetCompletion(pendingCompletionId)
             }
         }
     }
@@ -212,17 +230,45 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
      * Setup LiveData observers for ViewModel (MVVM pattern)
      */
     private fun setupViewModelObservers() {
-        // Observe tasks - update task list and apply filters
+        // Observe tasks - update category filter with new categories
         viewModel.tasks.observe(this) { tasks ->
-            taskList.clear()
-            taskList.addAll(tasks)
             lifecycleScope.launch {
-                updateCategoryFilter() // Update category filter with new categories
+                updateCategoryFilter()
             }
-            applyFilters() // Apply current filters to show filtered list
             AppLogger.info(TAG, "ViewModel: Loaded ${tasks.size} tasks")
         }
 
+        // Observe filtered tasks - searched, filtered and sorted off the main thread
+        viewModel.filteredTasks.observe(this) { tasks ->
+            AppLogger.info(TAG, "Filters applied: ${tasks.size} tasks shown")
+        }
+
+        // Observe row models - filtered or paged rows, formatted off the main thread
+        viewModel.rowModels.observe(this) { rows ->
+            shownRows = rows
+            updateEmptyView()
+            adapter.submitList(rows)
+        }
+
+        // Observe facet counts - "Work (42)" labels in the filter spinners
+        viewModel.facetCounts.observe(this) { counts ->
+            facetCounts = counts
+            updateFilterLabels()
+        }
+
+        // Large databases: switch to keyset-paged loading (filters and sort run in SQL)
+        viewModel.pagingEnabled.observe(this) { enabled ->
+            if (enabled && !pagingMode) {
+                pagingMode = true
+                facetCounts = null // Paged rows aren't all in memory: no counts
+                updateFilterLabels()
+                AppLogger.info(TAG, "Paging mode enabled")
+                lifecycleScope.launch {
+                    updateCategoryFilter()
+                }
+            }
+        }
+
         // Phase 4: Observe statistics - update statistics display
         viewModel.statistics.observe(this) { stats ->
             stats?.let {
@@ -232,6 +278,24 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             }
         }
 
+        // Phase 5: Observe "Next Task" recommendation - hidden without active tasks
+        viewModel.nextTask.observe(this) { recommendation ->
+            if (recommendation == null) {
+                nextTaskText.visibility = View.GONE
+            } else {
+                nextTaskText.text = "Next: ${recommendation.task.title}"
+                nextTaskText.visibility = View.VISIBLE
+            }
+        }
+
+        // Phase 5: Observe daily plan - show it once, then clear it
+        viewModel.dailyPlan.observe(this) { plan ->
+            plan?.let {
+                showDailyPlan(it)
+                viewModel.clearDailyPlan()
+            }
+        }
+
         // Observe error - show error Toast
         viewModel.error.observe(this) { errorMessage ->
             errorMessage?.let {
@@ -256,8 +320,7 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
      */
     private fun setupFilterSpinners() {
         // Status filter
-        val statusOptions = arrayOf("All Tasks", "Active Only", "Completed Only")
-        val statusAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, statusOptions).apply {
+        val statusAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, statusLabels).apply {
             setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item)
         }
         statusFilterSpinner.adapter = statusAdapter
@@ -271,14 +334,13 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
         }
 
         // Priority filter
-        val priorityOptions = arrayOf("All Priorities", "Low", "Medium", "High")
-        val priorityAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, priorityOptions).apply {
+        val priorityAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, priorityLabels).apply {
             setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item)
         }
         priorityFilterSpinner.adapter = priorityAdapter
         priorityFilterSpinner.onItemSelectedListener = object : AdapterView.OnItemSelectedListener {
             override fun onItemSelected(parent: AdapterView<*>?, view: View?, position: Int, id: Long) {
-                priorityFilter = position - 1 // -1 = All, 0 = Low, 1 = Medium, 2 = High
+                priorityFilter = position - 1 // -1 = All, 0 = Low, 1 = Medium, 2 = High, 3 = Urgent
                 applyFilters()
             }
 
@@ -301,6 +363,117 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
         }
     }
 
+    /**
+     * Load the next page when the list is scrolled close to its end (paging mode only)
+     */
+    private fun setupPagingScrollListener() {
+        // onScrolled also runs after layout changes, so a short first page fills up too
+        taskListView.addOnScrollListener(object : RecyclerView.OnScrollListener() {
+            override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) {
+                val layoutManager = recyclerView.layoutManager as LinearLayoutManager
+                val totalItemCount = layoutManager.itemCount
+                if (pagingMode && totalItemCount > 0 &&
+                    layoutManager.findLastVisibleItemPosition() >= totalItemCount - 1 - PAGE_PREFETCH_DISTANCE
+                ) {
+                    viewModel.loadNextPage()
+                }
+            }
+        })
+    }
+
+    /**
+     * Contextual action bar of multi-select (a long press on a row starts it):
+     * complete, delete, recategorise or reprioritise the selected tasks in one
+     * bulk action. Each action is one transaction, so the list refreshes once.
+     */
+    private val selectionModeCallback = object : ActionMode.Callback {
+        override fun onCreateActionMode(mode: ActionMode, menu: Menu): Boolean {
+            mode.menuInflater.inflate(R.menu.task_selection_menu, menu)
+            return true
+        }
+
+        override fun onPrepareActionMode(mode: ActionMode, menu: Menu): Boolean = false
+
+        override fun onActionItemClicked(mode: ActionMode, item: MenuItem): Boolean {
+            val selectedIds = adapter.getSelectedTaskIds()
+            AppLogger.info(TAG, "Bulk action ${item.title} on ${selectedIds.size} tasks")
+            when (item.itemId) {
+                R.id.action_complete_selected -> viewModel.completeTasks(selectedIds)
+                R.id.action_delete_selected -> confirmBulkDelete(selectedIds)
+                R.id.action_set_category -> showBulkCategoryDialog(selectedIds)
+                R.id.action_set_priority -> showBulkPriorityDialog(selectedIds)
+                else -> return false
+            }
+            mode.finish()
+            return true
+        }
+
+        override fun onDestroyActionMode(mode: ActionMode) {
+            selectionMode = null
+            adapter.clearSelection()
+        }
+    }
+
+    private fun confirmBulkDelete(taskIds: List<Long>) {
+        AlertDialog.Builder(this)
+            .setTitle("Delete ${taskIds.size} tasks?")
+            .setMessage("Their completion history is deleted as well.")
+            .setPositiveButton("Delete") { _, _ -> viewModel.deleteTasks(taskIds) }
+            .setNegativeButton("Cancel", null)
+            .show()
+    }
+
+    private fun showBulkCategoryDialog(taskIds: List<Long>) {
+        val input = AutoCompleteTextView(this).apply {
+            hint = "Category"
+            threshold = 1
+            setAdapter(ArrayAdapter(this@TaskActivity, android.R.layout.simple_dropdown_item_1line, allCategories))
+        }
+        AlertDialog.Builder(this)
+            .setTitle("Set category of ${taskIds.size} tasks")
+            .setView(input)
+            .setPositiveButton("Set") { _, _ -> viewModel.setCategory(taskIds, input.text.toString()) }
+            .setNegativeButton("Cancel", null)
+            .show()
+    }
+
+    private fun showBulkPriorityDialog(taskIds: List<Long>) {
+        val priorities = arrayOf("Low", "Medium", "High", "Urgent")
+        AlertDialog.Builder(this)
+            .setTitle("Set priority of ${taskIds.size} tasks")
+            .setItems(priorities) { _, which -> viewModel.setPriority(taskIds, which) }
+            .setNegativeButton("Cancel", null)
+            .show()
+    }
+
+    private fun showPlanDayDialog() {
+        val input = EditText(this).apply {
+            hint = "Minutes available today"
+            inputType = InputType.TYPE_CLASS_NUMBER
+            setText("120")
+        }
+        AlertDialog.Builder(this)
+            .setTitle("Plan today")
+            .setView(input)
+            .setPositiveButton("Plan") { _, _ ->
+                viewModel.planDay(input.text.toString().toIntOrNull() ?: 0)
+            }
+            .setNegativeButton("Cancel", null)
+            .show()
+    }
+
+    private fun showDailyPlan(plan: DailyPlan) {
+        val lines = plan.tasks.mapIndexed { i, planned ->
+            val estimate = if (planned.isEstimateFromHistory) "${planned.estimatedMinutes} min" else "~${planned.estimatedMinutes} min"
+            "${i + 1}. ${planned.task.title} ($estimate)"
+        }
+        AlertDialog.Builder(this)
+            .setTitle("Today: ${plan.toSummaryString()}")
+            .setMessage(if (lines.isEmpty()) "No active task fits the time budget." else lines.joinToString("\n"))
+            .setPositiveButton("OK", null)
+            .show()
+    }
+
     /**
      * Setup search text watcher
      */
@@ -309,8 +482,8 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             override fun beforeTextChanged(s: CharSequence?, start: Int, count: Int, after: Int) {}
 
             override fun onTextChanged(s: CharSequence?, start: Int, before: Int, count: Int) {
-                searchQuery = s.toString().lowercase(Locale.getDefault())
-                applyFilters()
+                searchQuery = s.toString().trim()
+                viewModel.setSearchQuery(searchQuery) // Debounced; filtering runs off the main thread
             }
 
             override fun afterTextChanged(s: Editable?) {}
@@ -318,12 +491,15 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
     }
 
     /**
-     * Apply current filters and sorting to task list
+     * Send the current filters and sorting to the ViewModel
+     *
+     * The ViewModel filters and sorts off the main thread (or pages the list
+     * in SQL) and posts the formatted rows to rowModels.
      */
     private fun applyFilters() {
         // Configure filter manager based on current UI state
-        filterManager.searchQuery = searchQuery
         filterManager.categoryFilter = categoryFilter
+        filterManager.priorityFilter = if (priorityFilter >= 0) priorityFilter else null
 
         // Convert status filter to enum
         val completionFilter = when (statusFilter) {
@@ -339,16 +515,17 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             filterManager.sortOption = sortOptions[sortOption]
         }
 
-        // Apply filters and sorting
-        filteredTaskList.clear()
-        filteredTaskList.addAll(filterManager.applyFilters(taskList))
-        filterManager.sortTasks(filteredTaskList)
+        viewModel.setListFilter(filterManager.toPageQuery())
+    }
 
-        // Show/hide empty view
-        if (filteredTaskList.isEmpty()) {
+    /**
+     * Show/hide empty view for the current list
+     */
+    private fun updateEmptyView() {
+        if (shownRows.isEmpty()) {
             taskListView.visibility = View.GONE
             emptyTasksText.visibility = View.VISIBLE
-            if (searchQuery.isNotEmpty() || statusFilter > 0 || priorityFilter >= 0) {
+            if (searchQuery.isNotEmpty() || statusFilter > 0 || priorityFilter >= 0 || categoryFilter != null) {
                 emptyTasksText.text = "No tasks match your filters."
             } else {
                 emptyTasksText.text = "No tasks yet.\nTap + to add a task."
@@ -357,13 +534,10 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             taskListView.visibility = View.VISIBLE
             emptyTasksText.visibility = View.GONE
         }
-
-        adapter.notifyDataSetChanged()
-        AppLogger.info(TAG, "Filters applied: ${filteredTaskList.size} tasks shown")
     }
 
     /**
-     * Load all tasks from database via ViewModel
+     * Start observing tasks via ViewModel (no-op if already observing)
      * The ViewModel observer will handle updating the UI automatically
      */
     private fun loadTasks() {
@@ -401,12 +575,13 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             // Get all unique categories from database
             allCategories = repository.getAllCategories()
 
-            // Build options for category filter spinner
-            val categoryOptions = Array(allCategories.size + 1) { i ->
-                if (i == 0) "All Categories" else allCategories[i - 1]
-            }
+            // Build options for category filter spinner (labelled with the facet counts)
+            categoryLabels.clear()
+            categoryLabels.add("All Categories")
+            categoryLabels.addAll(allCategories)
+            updateFilterLabels()
 
-            val categoryAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, categoryOptions).apply {
+            val categoryAdapter = ArrayAdapter(this, android.R.layout.simple_spinner_item, categoryLabels).apply {
                 setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item)
             }
             categoryFilterSpinner.adapter = categoryAdapter
@@ -414,7 +589,7 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
             // Restore previous selection if possible
             categoryFilter?.let { filter ->
                 val index = allCategories.indexOf(filter) + 1
-                if (index > 0 && index < categoryOptions.size) {
+                if (index > 0 && index < categoryLabels.size) {
                     categoryFilterSpinner.setSelection(index)
                 }
             }
@@ -432,6 +607,36 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
         }
     }
 
+    /**
+     * Relabel the filter spinners with the rows behind each option ("Work (42)")
+     *
+     * Plain labels in paging mode, where not all rows are loaded.
+     * Rewrites the adapters' lists in place, so the selections are kept.
+     */
+    private fun updateFilterLabels() {
+        val counts = facetCounts
+        fun label(name: String, count: Int?) = if (count == null) name else "$name ($count)"
+
+        val statusCounts = listOf(counts?.allStatuses, counts?.active, counts?.completed)
+        STATUS_LABELS.forEachIndexed { i, name -> statusLabels[i] = label(name, statusCounts[i]) }
+
+        PRIORITY_LABELS.forEachIndexed { i, name ->
+            val count = if (i == 0) counts?.allPriorities else counts?.priorityCount(i - 1)
+            priorityLabels[i] = label(name, count)
+        }
+
+        if (categoryLabels.isNotEmpty()) {
+            categoryLabels[0] = label("All Categories", counts?.allCategories)
+            allCategories.forEachIndexed { i, category ->
+                categoryLabels[i + 1] = label(category, counts?.categoryCount(category))
+            }
+        }
+
+        for (spinner in listOf(statusFilterSpinner, priorityFilterSpinner, categoryFilterSpinner)) {
+            (spinner.adapter as? ArrayAdapter<*>)?.notifyDataSetChanged()
+        }
+    }
+
     /**
      * Show dialog for adding a new task
      * Phase 4.5.6: Uses AddTaskDialog DialogFragment
@@ -448,7 +653,7 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
      * Show dialog for editing an existing task
      * Phase 4.5.6: Uses EditTaskDialog DialogFragment
      */
-    private fun showEditTaskDialog(existingTask: Task) {
+    private fun showEditTaskDialog(existingTask: TaskListItem) {
         val dialog = com.secretary.features.tasks.presentation.dialog.EditTaskDialog.newInstance(
             existingTask.id,
             allCategories,
@@ -461,9 +666,11 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
      * Show completion dialog with time tracking
      * Phase 4.5.6: Uses CompletionDialog DialogFragment
      */
-    private fun showCompletionDialog(task: Task) {
+    private fun showCompletionDialog(task: TaskListItem) {
+        pendingCompletionId = task.id
         val dialog = com.secretary.features.tasks.presentation.dialog.CompletionDialog.newInstance(
-            task,
+            task.id,
+            task.title,
             viewModelFactory
         )
         dialog.show(supportFragmentManager, com.secretary.features.tasks.presentation.dialog.CompletionDialog.TAG)
@@ -472,6 +679,23 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
     override fun onResume() {
         super.onResume()
         loadTasks()
+        ContextCompat.registerReceiver(this, clockChangeReceiver, CLOCK_CHANGES, ContextCompat.RECEIVER_NOT_EXPORTED)
+    }
+
+    override fun onPause() {
+        unregisterReceiver(clockChangeReceiver)
+        super.onPause()
+    }
+
+    /**
+     * Wall clock or time zone changed while the list is shown: recurring tasks may be due
+     * (changes while paused are picked up by loadTasks() in onResume)
+     */
+    private val clockChangeReceiver = object : BroadcastReceiver() {
+        override fun onReceive(context: Context, intent: Intent) {
+            AppLogger.info(TAG, "Clock changed: ${intent.action}")
+            viewModel.onClockChanged()
+        }
     }
 
     // Note: Room database is managed automatically by TaskDatabase.getDatabase() singleton
@@ -479,31 +703,34 @@ class TaskActivity : AppCompatActivity(), TaskListAdapter.TaskActionListener {
 
     // ========== TaskActionListener Interface Implementation ==========
 
-    override fun onTaskCheckChanged(task: Task, isChecked: Boolean) {
+    override fun onTaskCheckChanged(task: TaskListItem, isChecked: Boolean) {
         AppLogger.info(TAG, "Task checkbox changed: ${task.title} -> $isChecked")
 
         if (isChecked) {
             // Show completion dialog
             showCompletionDialog(task)
         } else {
-            // Unchecked - mark as incomplete
-            task.isCompleted = false
-            viewModel.updateTask(task)
+            // Unchecked - mark as incomplete (the ViewModel loads the full task)
+            viewModel.uncompleteTask(task.id)
         }
     }
 
-    override fun onTaskEdit(task: Task) {
+    override fun onTaskEdit(task: TaskListItem) {
         AppLogger.info(TAG, "Edit task: ${task.title}")
         showEditTaskDialog(task)
     }
 
-    override fun onTaskDelete(task: Task) {
+    override fun onTaskDelete(task: TaskListItem) {
         AppLogger.info(TAG, "Delete task: ${task.title}")
         viewModel.deleteTask(task.id)
     }
 
-    override fun onTasksChanged() {
-        AppLogger.info(TAG, "Tasks changed - reloading")
-        loadTasks()
+    override fun onSelectionChanged(selectedCount: Int) {
+        if (selectedCount == 0) {
+            selectionMode?.finish()
+            return
+        }
+        val mode = selectionMode ?: taskListView.startActionMode(selectionModeCallback)?.also { selectionMode = it }
+        mode?.title = "$selectedCount selected"
     }
 }
@@ -1,14 +1,58 @@
 package com.secretary
 
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+
 /**
  * Task filtering and sorting manager.
  * Phase 4.5.3 Wave 6: Converted to Kotlin
  *
  * Manages search, filtering, and sorting logic for task lists.
  * Provides type-safe enums and clean functional filtering.
+ * Works on TaskListItem rows - everything it filters and sorts by is in the list projection.
  */
 class TaskFilterManager {
 
+    companion object {
+        /**
+         * Filter manager set to a filter and sort snapshot
+         * A fresh instance per snapshot can run off the main thread without sharing state.
+         *
+         * @param query Filter and sort state
+         * @param searchMatchIds Full-text matches for query.searchQuery (null = substring matching)
+         */
+        fun from(query: TaskPageQuery, searchMatchIds: Set<Long>? = null) = TaskFilterManager().apply {
+            this.searchQuery = query.searchQuery
+            this.searchMatchIds = searchMatchIds
+            this.categoryFilter = query.categoryFilter
+            this.priorityFilter = query.priorityFilter
+            this.completionFilter = query.completionFilter
+            this.sortOption = query.sortOption
+        }
+
+        /**
+         * Title order of SQLite's COLLATE NOCASE, which the paged list sorts by
+         * Only ASCII letters are case-folded; everything else compares by code
+         * point (UTF-8 byte order), so "Äb" sorts before "äa".
+         */
+        val TITLE_ORDER: Comparator<String> = Comparator { a, b ->
+            var i = 0
+            var j = 0
+            while (i < a.length && j < b.length) {
+                val ca = a.codePointAt(i)
+                val cb = b.codePointAt(j)
+                val diff = asciiLowercase(ca) - asciiLowercase(cb)
+                if (diff != 0) return@Comparator diff
+                i += Character.charCount(ca)
+                j += Character.charCount(cb)
+            }
+            (a.length - i) - (b.length - j)
+        }
+
+        private fun asciiLowercase(codePoint: Int): Int =
+            if (codePoint in 'A'.code..'Z'.code) codePoint + ('a' - 'A') else codePoint
+    }
+
     // ========== Filter State ==========
 
     /**
@@ -16,11 +60,23 @@ class TaskFilterManager {
      */
     var searchQuery: String = ""
 
+    /**
+     * IDs of tasks matching searchQuery, from the full-text index (TaskRepository.searchTaskIds).
+     * When set, the search filter is a set lookup; null falls back to substring matching
+     * (on the description preview only).
+     */
+    var searchMatchIds: Set<Long>? = null
+
     /**
      * Category filter (null = all categories)
      */
     var categoryFilter: String? = null
 
+    /**
+     * Priority filter (null = all priorities)
+     */
+    var priorityFilter: Int? = null
+
     /**
      * Completion status filter
      */
@@ -61,17 +117,23 @@ class TaskFilterManager {
      * @param allTasks The complete task list
      * @return Filtered task list
      */
-    fun applyFilters(allTasks: List<Task>): List<Task> {
-        return allTasks
-            .filter { matchesCompletionFilter(it) }
-            .filter { matchesCategoryFilter(it) }
-            .filter { matchesSearchQuery(it) }
+    fun applyFilters(allTasks: List<TaskListItem>): List<TaskListItem> {
+        val query = searchQuery.trim()
+        return allTasks.filter {
+            matchesCompletionFilter(it) && matchesCategoryFilter(it) && matchesPriorityFilter(it) &&
+                matchesSearchQuery(it, query)
+        }
     }
 
+    /**
+     * Check if task matches the search query alone (other filters ignored)
+     */
+    fun matchesSearch(task: TaskListItem): Boolean = matchesSearchQuery(task, searchQuery.trim())
+
     /**
      * Check if task matches completion status filter
      */
-    private fun matchesCompletionFilter(task: Task): Boolean = when (completionFilter) {
+    private fun matchesCompletionFilter(task: TaskListItem): Boolean = when (completionFilter) {
         CompletionFilter.ALL -> true
         CompletionFilter.ACTIVE_ONLY -> !task.isCompleted
         CompletionFilter.COMPLETED_ONLY -> task.isCompleted
@@ -80,19 +142,35 @@ class TaskFilterManager {
     /**
      * Check if task matches category filter
      */
-    private fun matchesCategoryFilter(task: Task): Boolean {
+    private fun matchesCategoryFilter(task: TaskListItem): Boolean {
         return categoryFilter == null || task.category == categoryFilter
     }
 
     /**
-     * Check if task matches search query
+     * Check if task matches priority filter
      */
-    private fun matchesSearchQuery(task: Task): Boolean {
-        if (searchQuery.isBlank()) return true
+    private fun matchesPriorityFilter(task: TaskListItem): Boolean {
+        return priorityFilter == null || task.priority == priorityFilter
+    }
 
-        val query = searchQuery.lowercase()
-        return task.title.lowercase().contains(query) ||
-               task.description?.lowercase()?.contains(query) == true
+    /**
+     * Check if task matches search query (title, description or category)
+     *
+     * With searchMatchIds this is a lookup in the full-text matches, which
+     * cover the whole description. Without them (no index result, e.g. after
+     * TaskRepository.searchTaskIds failed) it is a substring match on the
+     * list row, and a row only carries descriptionPreview: text beyond the
+     * first TaskListItem.DESCRIPTION_PREVIEW_LENGTH characters of a
+     * description is not found. The fallback trades that for not loading
+     * full descriptions into the list.
+     */
+    private fun matchesSearchQuery(task: TaskListItem, query: String): Boolean {
+        if (query.isEmpty()) return true
+        searchMatchIds?.let { return task.id in it }
+
+        return task.title.contains(query, ignoreCase = true) ||
+               task.descriptionPreview?.contains(query, ignoreCase = true) == true ||
+               task.category.contains(query, ignoreCase = true)
     }
 
     // ========== Sorting ==========
@@ -102,15 +180,21 @@ class TaskFilterManager {
      *
      * @param tasks Mutable list to sort in-place
      */
-    fun sortTasks(tasks: MutableList<Task>) {
+    fun sortTasks(tasks: MutableList<TaskListItem>) {
         tasks.sortWith(getComparator())
     }
 
     /**
      * Get comparator for current sort option
+     * Ties are broken by task id, like the paged list, so the order doesn't depend on input order.
      */
-    private fun getComparator(): Comparator<Task> = when (sortOption) {
-        SortOption.PRIORITY -> compareByDescending { it.priority }
+    private fun getComparator(): Comparator<TaskListItem> = getSortKeyComparator().thenBy { it.id }
+
+    private fun getSortKeyComparator(): Comparator<TaskListItem> = when (sortOption) {
+        // Same order as the paged list (index_tasks_is_completed_priority_created_at)
+        SortOption.PRIORITY -> compareBy<TaskListItem> { it.isCompleted }
+            .thenByDescending { it.priority }
+            .thenByDescending { it.createdAt }
 
         SortOption.DUE_DATE -> compareBy {
             // Tasks without due date go to end
@@ -119,11 +203,24 @@ class TaskFilterManager {
 
         SortOption.CREATED -> compareByDescending { it.createdAt }
 
-        SortOption.TITLE -> compareBy(String.CASE_INSENSITIVE_ORDER) { it.title }
+        SortOption.TITLE -> compareBy(TITLE_ORDER) { it.title }
 
         SortOption.CATEGORY -> compareBy { it.category }
     }
 
+    // ========== Paging ==========
+
+    /**
+     * Snapshot of the current filter and sort state for keyset-paged loading
+     */
+    fun toPageQuery(): TaskPageQuery = TaskPageQuery(
+        completionFilter = completionFilter,
+        categoryFilter = categoryFilter,
+        priorityFilter = priorityFilter,
+        searchQuery = searchQuery.trim(),
+        sortOption = sortOption
+    )
+
     // ========== Filter Reset ==========
 
     /**
@@ -131,7 +228,9 @@ class TaskFilterManager {
      */
     fun clearFilters() {
         searchQuery = ""
+        searchMatchIds = null
         categoryFilter = null
+        priorityFilter = null
         completionFilter = CompletionFilter.ALL
     }
 
@@ -141,6 +240,7 @@ class TaskFilterManager {
     fun hasActiveFilters(): Boolean {
         return searchQuery.isNotBlank() ||
                categoryFilter != null ||
+               priorityFilter != null ||
                completionFilter != CompletionFilter.ALL
     }
 }
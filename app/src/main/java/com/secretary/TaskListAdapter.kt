@@ -1,32 +1,55 @@
 package com.secretary
 
-import android.app.Activity
 import android.graphics.Paint
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
-import android.widget.BaseAdapter
+import android.widget.Button
 import android.widget.CheckBox
-import android.widget.ImageButton
 import android.widget.TextView
-import java.text.SimpleDateFormat
-import java.util.*
+import androidx.appcompat.widget.AppCompatTextView
+import androidx.core.text.PrecomputedTextCompat
+import androidx.core.widget.TextViewCompat
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListAdapter
+import androidx.recyclerview.widget.RecyclerView
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
 
 /**
- * ListView adapter for task display.
+ * RecyclerView adapter for task display.
  * Phase 4.5.3 Wave 6: Converted to Kotlin
  *
+ * Binds TaskRowModel rows: texts are formatted in the ViewModel off the
+ * main thread (TaskRowFormatter), so binding only sets them - no date
+ * formatting or string building while scrolling. The description is laid
+ * out in the background too (PrecomputedText).
  * Displays tasks with:
  * - Checkbox for completion status
  * - Title and description
- * - Category, priority, streaks, due dates, recurrence info
+ * - Category, priority, due dates, recurrence info
+ * - Streak badge
  * - Edit and delete buttons
+ *
+ * New lists are diffed off the main thread (ListAdapter / AsyncListDiffer)
+ * against the shown one, so only rows that changed are rebound. A change of
+ * only the completion status or the streak is bound as a payload that
+ * rebinds just the checkbox or the streak badge. Listeners are attached
+ * once per ViewHolder, not on every bind.
+ *
+ * Also holds the multi-select state: a long press starts selecting, then a
+ * tap toggles a row.
  */
 class TaskListAdapter(
-    private val context: Activity,
-    private val taskList: MutableList<Task>,
     private val listener: TaskActionListener
-) : BaseAdapter() {
+) : ListAdapter<TaskRowModel, TaskListAdapter.ViewHolder>(DiffCallback) {
+
+    companion object {
+        // Change payloads (bit flags, merged when several changes arrive before a bind)
+        const val PAYLOAD_COMPLETION = 1
+        const val PAYLOAD_STREAK = 2
+        const val PAYLOAD_SELECTION = 4
+    }
 
     // ========== Callback Interface ==========
 
@@ -34,10 +57,40 @@ class TaskListAdapter(
      * Callback interface for task actions
      */
     interface TaskActionListener {
-        fun onTaskCheckChanged(task: Task, isChecked: Boolean)
-        fun onTaskEdit(task: Task)
-        fun onTaskDelete(task: Task)
-        fun onTasksChanged()
+        fun onTaskCheckChanged(task: TaskListItem, isChecked: Boolean)
+        fun onTaskEdit(task: TaskListItem)
+        fun onTaskDelete(task: TaskListItem)
+        fun onSelectionChanged(selectedCount: Int)
+    }
+
+    // ========== Diffing ==========
+
+    /**
+     * Rows are the same task if the IDs match; a change of only the completion
+     * status and/or the streak yields a payload instead of a full rebind
+     * (unchanged rows are the same cached model, so the check is usually ===)
+     */
+    object DiffCallback : DiffUtil.ItemCallback<TaskRowModel>() {
+        override fun areItemsTheSame(oldItem: TaskRowModel, newItem: TaskRowModel): Boolean =
+            oldItem.id == newItem.id
+
+        override fun areContentsTheSame(oldItem: TaskRowModel, newItem: TaskRowModel): Boolean =
+            oldItem == newItem
+
+        override fun getChangePayload(oldItem: TaskRowModel, newItem: TaskRowModel): Any? {
+            val old = oldItem.item
+            val new = newItem.item
+            val rest = oldItem.copy(
+                item = old.copy(isCompleted = new.isCompleted, currentStreak = new.currentStreak),
+                streakText = newItem.streakText
+            )
+            if (rest != newItem) return null // Other columns or texts changed: full rebind
+
+            var payload = 0
+            if (old.isCompleted != new.isCompleted) payload = payload or PAYLOAD_COMPLETION
+            if (old.currentStreak != new.currentStreak) payload = payload or PAYLOAD_STREAK
+            return payload
+        }
     }
 
     // ========== ViewHolder Pattern ==========
@@ -45,177 +98,206 @@ class TaskListAdapter(
     /**
      * ViewHolder for efficient view recycling
      */
-    private class ViewHolder(
-        val checkBox: CheckBox,
-        val titleTextView: TextView,
-        val descriptionTextView: TextView,
-        val infoTextView: TextView,
-        val editButton: ImageButton,
-        val deleteButton: ImageButton
-    )
-
-    // ========== BaseAdapter Overrides ==========
-
-    override fun getCount(): Int = taskList.size
-
-    override fun getItem(position: Int): Task = taskList[position]
-
-    override fun getItemId(position: Int): Long = taskList[position].id
-
-    override fun getView(position: Int, convertView: View?, parent: ViewGroup): View {
-        val view: View
-        val holder: ViewHolder
-
-        if (convertView == null) {
-            view = LayoutInflater.from(context).inflate(R.layout.task_list_item, parent, false)
-            holder = ViewHolder(
-                checkBox = view.findViewById(R.id.taskCheckBox),
-                titleTextView = view.findViewById(R.id.taskTitleText),
-                descriptionTextView = view.findViewById(R.id.taskDescriptionText),
-                infoTextView = view.findViewById(R.id.taskPriorityText),
-                editButton = view.findViewById(R.id.editTaskButton),
-                deleteButton = view.findViewById(R.id.deleteTaskButton)
-            )
-            view.tag = holder
-        } else {
-            view = convertView
-            holder = view.tag as ViewHolder
+    class ViewHolder(view: View) : RecyclerView.ViewHolder(view) {
+        val checkBox: CheckBox = view.findViewById(R.id.taskCheckBox)
+        val titleTextView: TextView = view.findViewById(R.id.taskTitleText)
+        val descriptionTextView: TextView = view.findViewById(R.id.taskDescriptionText)
+        val infoTextView: TextView = view.findViewById(R.id.taskPriorityText)
+        val streakTextView: TextView = view.findViewById(R.id.taskStreakText)
+        val editButton: Button = view.findViewById(R.id.editTaskButton)
+        val deleteButton: Button = view.findViewById(R.id.deleteTaskButton)
+    }
+
+    private val selectedIds = HashSet<Long>()
+
+    init {
+        // Task IDs are stable, so rows keep their views (and selection) across list updates
+        setHasStableIds(true)
+    }
+
+    // ========== ListAdapter Overrides ==========
+
+    override fun getItemId(position: Int): Long = getItem(position).id
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ViewHolder {
+        val view = LayoutInflater.from(parent.context).inflate(R.layout.task_list_item, parent, false)
+        val holder = ViewHolder(view)
+        setupClickListeners(holder)
+        return holder
+    }
+
+    override fun onBindViewHolder(holder: ViewHolder, position: Int) {
+        bindTask(holder, getItem(position))
+    }
+
+    override fun onBindViewHolder(holder: ViewHolder, position: Int, payloads: MutableList<Any>) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position)
+            return
         }
 
+        val changes = payloads.fold(0) { acc, payload -> acc or (payload as Int) }
         val task = getItem(position)
-        bindTask(holder, task)
-        setupClickListeners(holder, task)
+        if (changes and PAYLOAD_COMPLETION != 0) bindCompletion(holder, task)
+        if (changes and PAYLOAD_STREAK != 0) bindStreak(holder, task)
+        if (changes and PAYLOAD_SELECTION != 0) bindSelection(holder, task)
+    }
 
-        return view
+    override fun onCurrentListChanged(previousList: List<TaskRowModel>, currentList: List<TaskRowModel>) {
+        // Tasks that left the list can't stay selected
+        if (selectedIds.isEmpty()) return
+        val shownIds = currentList.mapTo(HashSet(currentList.size)) { it.id }
+        if (selectedIds.retainAll(shownIds)) {
+            listener.onSelectionChanged(selectedIds.size)
+        }
     }
 
     // ========== Task Binding ==========
 
     /**
-     * Bind task data to ViewHolder views
+     * Bind a row's precomputed texts to ViewHolder views
      */
-    private fun bindTask(holder: ViewHolder, task: Task) {
-        // Checkbox
-        holder.checkBox.isChecked = task.isCompleted
-
-        // Title with strike-through for completed tasks
-        holder.titleTextView.text = task.title
-        holder.titleTextView.paintFlags = if (task.isCompleted) {
-            holder.titleTextView.paintFlags or Paint.STRIKE_THRU_TEXT_FLAG
-        } else {
-            holder.titleTextView.paintFlags and Paint.STRIKE_THRU_TEXT_FLAG.inv()
-        }
+    private fun bindTask(holder: ViewHolder, row: TaskRowModel) {
+        bindCompletion(holder, row)
 
-        // Description
-        if (!task.description.isNullOrBlank()) {
-            holder.descriptionTextView.text = task.description
+        // Description (measured and laid out off the main thread)
+        val description = row.descriptionText
+        if (description != null) {
+            setPrecomputedText(holder.descriptionTextView, description)
             holder.descriptionTextView.visibility = View.VISIBLE
         } else {
             holder.descriptionTextView.visibility = View.GONE
         }
 
-        // Info text (category, priority, streaks, due date, recurrence)
-        holder.infoTextView.text = buildInfoText(task)
+        // Info text (category, priority, due date, recurrence)
+        holder.infoTextView.text = row.infoText
+
+        bindStreak(holder, row)
+        bindSelection(holder, row)
     }
 
     /**
-     * Build info text line with category, priority, streaks, dates, etc.
+     * Checkbox and title with strike-through for completed tasks
      */
-    private fun buildInfoText(task: Task): String {
-        val parts = mutableListOf<String>()
-
-        // Category
-        if (task.category.isNotBlank()) {
-            parts.add(task.category)
-        }
-
-        // Priority
-        val priorityText = when (task.priority) {
-            0 -> "Low"
-            1 -> "Medium"
-            2 -> "High"
-            3 -> "Urgent"
-            else -> "?"
-        }
-        parts.add("Priority: $priorityText")
-
-        // Current streak
-        if (task.currentStreak > 0) {
-            parts.add("🔥 ${task.currentStreak} days")
-        }
-
-        // Due date
-        if (task.dueDate > 0) {
-            val dateFormat = SimpleDateFormat("MMM dd, yyyy", Locale.getDefault())
-            parts.add("Due: ${dateFormat.format(Date(task.dueDate))}")
+    private fun bindCompletion(holder: ViewHolder, row: TaskRowModel) {
+        holder.checkBox.isChecked = row.isCompleted
+        holder.titleTextView.text = row.title
+        holder.titleTextView.paintFlags = if (row.isCompleted) {
+            holder.titleTextView.paintFlags or Paint.STRIKE_THRU_TEXT_FLAG
+        } else {
+            holder.titleTextView.paintFlags and Paint.STRIKE_THRU_TEXT_FLAG.inv()
         }
+    }
 
-        // Recurrence info
-        if (task.recurrenceType != Task.RECURRENCE_NONE) {
-            parts.add("🔁 ${getRecurrenceText(task)}")
+    /**
+     * Current streak badge, hidden without a streak
+     */
+    private fun bindStreak(holder: ViewHolder, row: TaskRowModel) {
+        val streak = row.streakText
+        if (streak != null) {
+            holder.streakTextView.text = streak
+            holder.streakTextView.visibility = View.VISIBLE
+        } else {
+            holder.streakTextView.visibility = View.GONE
         }
-
-        return parts.joinToString(" | ")
     }
 
     /**
-     * Get human-readable recurrence text
+     * Row background shows the multi-select state
      */
-    private fun getRecurrenceText(task: Task): String {
-        val unit = when (task.recurrenceUnit) {
-            Task.UNIT_DAY -> if (task.recurrenceAmount == 1) "day" else "days"
-            Task.UNIT_WEEK -> if (task.recurrenceAmount == 1) "week" else "weeks"
-            Task.UNIT_MONTH -> if (task.recurrenceAmount == 1) "month" else "months"
-            Task.UNIT_YEAR -> if (task.recurrenceAmount == 1) "year" else "years"
-            else -> "?"
-        }
+    private fun bindSelection(holder: ViewHolder, row: TaskRowModel) {
+        holder.itemView.isActivated = row.id in selectedIds
+    }
 
-        return when (task.recurrenceType) {
-            Task.RECURRENCE_INTERVAL -> "Every ${task.recurrenceAmount} $unit"
-            Task.RECURRENCE_FREQUENCY -> "${task.recurrenceAmount} times per $unit"
-            else -> ""
+    /**
+     * Set [text] laid out on a background executor (applied at the next measure);
+     * plain setText for views not inflated as AppCompatTextView
+     */
+    private fun setPrecomputedText(view: TextView, text: String) {
+        if (view is AppCompatTextView) {
+            view.setTextFuture(PrecomputedTextCompat.getTextFuture(text, TextViewCompat.getTextMetricsParams(view), null))
+        } else {
+            view.text = text
         }
     }
 
     // ========== Click Listeners ==========
 
     /**
-     * Setup click listeners for task actions
+     * Setup click listeners for task actions (once per ViewHolder)
+     * The task is looked up by the holder's current position when the event fires.
      */
-    private fun setupClickListeners(holder: ViewHolder, task: Task) {
-        // Checkbox change listener
+    private fun setupClickListeners(holder: ViewHolder) {
+        fun taskAt(holder: ViewHolder): TaskListItem? {
+            val position = holder.bindingAdapterPosition
+            return if (position == RecyclerView.NO_POSITION) null else getItem(position).item
+        }
+
+        // Checkbox change listener - binding sets the checkbox to the task's state, which is ignored here
         holder.checkBox.setOnCheckedChangeListener { _, isChecked ->
-            listener.onTaskCheckChanged(task, isChecked)
+            val task = taskAt(holder) ?: return@setOnCheckedChangeListener
+            if (task.isCompleted != isChecked) {
+                listener.onTaskCheckChanged(task, isChecked)
+            }
         }
 
         // Edit button
         holder.editButton.setOnClickListener {
-            listener.onTaskEdit(task)
+            taskAt(holder)?.let { listener.onTaskEdit(it) }
         }
 
         // Delete button
         holder.deleteButton.setOnClickListener {
-            listener.onTaskDelete(task)
+            taskAt(holder)?.let { listener.onTaskDelete(it) }
+        }
+
+        // Long press starts multi-select, then taps toggle rows
+        holder.itemView.setOnLongClickListener {
+            taskAt(holder)?.let { toggleSelection(it, holder.bindingAdapterPosition) }
+            true
+        }
+        holder.itemView.setOnClickListener {
+            if (selectedIds.isNotEmpty()) {
+                taskAt(holder)?.let { toggleSelection(it, holder.bindingAdapterPosition) }
+            }
         }
     }
 
-    // ========== Data Management ==========
+    // ========== Selection ==========
+
+    private fun toggleSelection(task: TaskListItem, position: Int) {
+        if (!selectedIds.remove(task.id)) {
+            selectedIds.add(task.id)
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION)
+        listener.onSelectionChanged(selectedIds.size)
+    }
+
+    /**
+     * IDs of the selected tasks, in list order
+     */
+    fun getSelectedTaskIds(): List<Long> =
+        currentList.filter { it.id in selectedIds }.map { it.id }
 
     /**
-     * Update task list and refresh UI
+     * Clear the selection (does not call onSelectionChanged)
      */
-    fun updateTasks(newTasks: List<Task>) {
-        taskList.clear()
-        taskList.addAll(newTasks)
-        notifyDataSetChanged()
-        listener.onTasksChanged()
+    fun clearSelection() {
+        if (selectedIds.isEmpty()) return
+        val wasSelected = currentList.indices.filter { getItem(it).id in selectedIds }
+        selectedIds.clear()
+        wasSelected.forEach { notifyItemChanged(it, PAYLOAD_SELECTION) }
     }
 
+    // ========== Data Management ==========
+
     /**
-     * Clear all tasks
+     * Rebind the checkbox of a task from its data (e.g. after a cancelled completion)
      */
-    fun clear() {
-        taskList.clear()
-        notifyDataSetChanged()
+    fun resetCompletion(taskId: Long) {
+        val position = currentList.indexOfFirst { it.id == taskId }
+        if (position >= 0) {
+            notifyItemChanged(position, PAYLOAD_COMPLETION)
+        }
     }
 }
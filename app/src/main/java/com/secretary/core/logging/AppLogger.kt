@@ -1,19 +1,30 @@
 package com.secretary.core.logging
 
 import android.content.Context
+import android.content.pm.ApplicationInfo
 import android.util.Log
 import java.io.File
 import java.io.FileWriter
 import java.text.SimpleDateFormat
 import java.util.Date
 import java.util.Locale
-import kotlin.system.exitProcess
 
 /**
  * Singleton AppLogger for centralized in-memory logging.
  *
- * Logs are stored in memory (max 1500 lines) and accessible via HTTP server
- * on localhost:8080/logs. Also writes to Android Logcat for redundancy.
+ * Logs are stored in memory (max 1500 records) and accessible via HTTP server
+ * on localhost:8080/logs. Errors also go to Android Logcat; in debuggable
+ * builds every level does.
+ *
+ * Logging is lock-free: records go into a LogRingBuffer (one atomic
+ * increment per call, no shared lock), structured - time, level, tag,
+ * thread, message - and unformatted. Timestamps, stack traces, lazy
+ * messages (the () -> String overloads) and log lines are formatted only
+ * when read (readLogs, readRecords / HttpLogServer).
+ *
+ * Records also persist across process death: a LogPersister copies them on
+ * its own thread into memory-mapped segment files (LogSegmentStore) next to
+ * crash.log; readHistory() reads them back, including earlier runs.
  *
  * Converted to Kotlin in Phase 4.5.3 (Kotlin Migration)
  * Buffer increased from 500 to 1500 entries in Phase 1 (Logging Improvements)
@@ -22,14 +33,19 @@ object AppLogger {
     private const val TAG = "AppLogger"
     private const val MAX_LOG_LINES = 1500  // Increased from 500 (Phase 1 - Logging Improvements)
 
-    private val dateFormat = SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US)
-    // Phase 2: Migrated to ArrayDeque for O(1) circular buffer performance
-    private val logLines = ArrayDeque<String>(MAX_LOG_LINES)
+    private val records = LogRingBuffer(MAX_LOG_LINES)
+    private val index = LogIndex(records)
 
     @Volatile
     private var initialized = false
 
+    // Every level to Logcat (debuggable builds; also before initialize), otherwise errors only
+    @Volatile
+    private var logcatAllLevels = true
+
     private lateinit var crashLogFile: File
+    private var segmentStore: LogSegmentStore? = null
+    private var persister: LogPersister? = null
     private var appContext: Context? = null
 
     /**
@@ -41,12 +57,18 @@ object AppLogger {
         if (!initialized) {
             initialized = true
             appContext = context.applicationContext
+            logcatAllLevels = (context.applicationInfo.flags and ApplicationInfo.FLAG_DEBUGGABLE) != 0
 
             // Setup crash log file in app-specific directory (no permissions needed)
             val logsDir = File(context.getExternalFilesDir(null), "logs")
             logsDir.mkdirs()
             crashLogFile = File(logsDir, "crash.log")
 
+            // Persist records in the background (store is opened on the writer thread)
+            val store = LogSegmentStore(logsDir)
+            segmentStore = store
+            persister = LogPersister(records, store).apply { start() }
+
             // Install crash handler
             setupCrashHandler()
 
@@ -67,6 +89,13 @@ object AppLogger {
                 // Log to memory
                 error(TAG, "UNCAUGHT EXCEPTION in thread ${thread.name}", throwable)
 
+                // Persist the last records before the process dies
+                try {
+                    persister?.flush()
+                } catch (e: Exception) {
+                    Log.e(TAG, "Failed to persist logs", e)
+                }
+
                 // Save crash log to file
                 saveCrashLog(throwable, thread)
 
@@ -86,7 +115,7 @@ object AppLogger {
         try {
             FileWriter(crashLogFile, false).use { writer ->
                 writer.write("=== AI SECRETARY CRASH LOG ===\n")
-                writer.write("Time: ${dateFormat.format(Date())}\n")
+                writer.write("Time: ${SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US).format(Date())}\n")
                 writer.write("Thread: ${thread.name}\n")
                 writer.write("Exception: ${throwable.javaClass.name}\n")
                 writer.write("Message: ${throwable.message}\n\n")
@@ -115,68 +144,125 @@ object AppLogger {
      * Log INFO level message
      */
     fun info(tag: String, message: String) {
-        writeLog("INFO", tag, message)
+        writeLog(LogLevel.INFO, tag, message)
+    }
+
+    /**
+     * Log INFO level message, built only if the log is read
+     */
+    fun info(tag: String, message: () -> String) {
+        writeLazy(LogLevel.INFO, tag, message)
     }
 
     /**
      * Log DEBUG level message
      */
     fun debug(tag: String, message: String) {
-        writeLog("DEBUG", tag, message)
+        writeLog(LogLevel.DEBUG, tag, message)
+    }
+
+    /**
+     * Log DEBUG level message, built only if the log is read
+     */
+    fun debug(tag: String, message: () -> String) {
+        writeLazy(LogLevel.DEBUG, tag, message)
     }
 
     /**
      * Log ERROR level message
      */
     fun error(tag: String, message: String) {
-        writeLog("ERROR", tag, message)
+        writeLog(LogLevel.ERROR, tag, message)
     }
 
     /**
-     * Log ERROR level message with throwable
+     * Log ERROR level message with throwable (stack trace rendered when read)
      */
     fun error(tag: String, message: String, throwable: Throwable) {
-        val stackTrace = Log.getStackTraceString(throwable)
-        writeLog("ERROR", tag, "$message\n$stackTrace")
+        Log.e(tag, message, throwable)
+        records.add(LogLevel.ERROR, tag, message, throwable)
     }
 
     /**
-     * Write log entry to memory and Logcat
+     * Write log entry to memory (and Logcat, see logcatAllLevels)
      */
-    @Synchronized
-    private fun writeLog(level: String, tag: String, message: String) {
-        val timestamp = dateFormat.format(Date())
-        val logEntry = "[$timestamp] [$level] [$tag] $message"
-
-        // Write to Logcat
-        when (level) {
-            "ERROR" -> Log.e(tag, message)
-            "DEBUG" -> Log.d(tag, message)
+    private fun writeLog(level: LogLevel, tag: String, message: String) {
+        when {
+            level == LogLevel.ERROR -> Log.e(tag, message)
+            !logcatAllLevels -> Unit
+            level == LogLevel.DEBUG -> Log.d(tag, message)
             else -> Log.i(tag, message)
         }
+        records.add(level, tag, message)
+    }
 
-        // Store in memory with O(1) circular buffer (Phase 2)
-        if (logLines.size >= MAX_LOG_LINES) {
-            logLines.removeFirst()  // O(1) - Remove oldest entry
+    /**
+     * Write a lazy log entry; Logcat needs the text now, so it's built right away only then
+     */
+    private fun writeLazy(level: LogLevel, tag: String, message: () -> String) {
+        if (logcatAllLevels) {
+            writeLog(level, tag, message())
+        } else {
+            records.addLazy(level, tag, message)
         }
-        logLines.addLast(logEntry)  // O(1) - Add newest entry
     }
 
     /**
-     * Read all logs from memory
+     * Read all logs from memory, formatted as log lines
      * Returns immutable copy to prevent external modification
      */
-    @Synchronized
     fun readLogs(): List<String> {
-        return logLines.toList()  // Creates immutable copy
+        return records.snapshot().map { it.format() }
     }
 
     /**
-     * Clear all logs from memory
+     * Read all log records from memory, oldest first (unformatted; filter before formatting)
+     */
+    fun readRecords(): List<LogRecord> {
+        return records.snapshot()
+    }
+
+    /**
+     * Query log records in memory, oldest first
+     * Level, tag and time conditions use the LogIndex posting lists; only
+     * search looks at each remaining record. The batch's cursor can be
+     * passed to readRecordsAfter() to continue from here.
+     */
+    fun queryRecords(query: LogQuery): LogBatch {
+        return index.query(query)
+    }
+
+    /**
+     * Read log records after a cursor (the last sequence number a client has seen)
+     * Every record carries a sequence number, increasing by one per log call
+     * since app start; pass the returned cursor to the next call to get only
+     * records not seen yet. Cleared records are included.
+     */
+    fun readRecordsAfter(cursor: Long): LogBatch {
+        return records.readAfter(cursor)
+    }
+
+    /**
+     * Sequence number of the newest log record (-1 if none)
+     */
+    fun lastSequence(): Long {
+        return records.totalWritten - 1
+    }
+
+    /**
+     * Read persisted log records, oldest first, including earlier runs of the app
+     * Decoded lazily from the segment files; records of this run appear within
+     * a fraction of a second. Empty before initialize.
+     */
+    fun readHistory(): Sequence<LogRecord> {
+        return segmentStore?.records() ?: emptySequence()
+    }
+
+    /**
+     * Clear all logs from memory (persisted history is kept)
      */
-    @Synchronized
     fun clearLogs() {
-        logLines.clear()
+        records.clear()
         info(TAG, "Logs manually cleared by user")
     }
 
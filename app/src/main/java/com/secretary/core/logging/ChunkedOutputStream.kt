@@ -0,0 +1,84 @@
+package com.secretary.core.logging
+
+import java.io.OutputStream
+
+/**
+ * HTTP/1.1 chunked transfer encoding over a connection's output stream.
+ *
+ * Buffers up to [chunkSize] bytes and sends them as one chunk, so many
+ * small writes (one log line each) don't become many tiny chunks.
+ * finish() sends the remaining bytes and the terminating zero-length
+ * chunk; the underlying stream stays open for the next keep-alive response.
+ *
+ * @param out Connection output stream
+ * @param chunkSize Maximum bytes per chunk
+ */
+class ChunkedOutputStream(
+    private val out: OutputStream,
+    chunkSize: Int = DEFAULT_CHUNK_SIZE
+) : OutputStream() {
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 8192
+        private val CRLF = "\r\n".toByteArray(Charsets.US_ASCII)
+        private val LAST_CHUNK = "0\r\n\r\n".toByteArray(Charsets.US_ASCII)
+    }
+
+    private val buffer = ByteArray(chunkSize)
+    private var count = 0
+    private var finished = false
+
+    override fun write(b: Int) {
+        check(!finished) { "Response already finished" }
+        if (count == buffer.size) sendChunk()
+        buffer[count++] = b.toByte()
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        check(!finished) { "Response already finished" }
+        var offset = off
+        var remaining = len
+        while (remaining > 0) {
+            if (count == buffer.size) sendChunk()
+            val n = minOf(remaining, buffer.size - count)
+            System.arraycopy(b, offset, buffer, count, n)
+            count += n
+            offset += n
+            remaining -= n
+        }
+    }
+
+    /**
+     * Send buffered bytes as a chunk now (e.g. to push a line to a waiting client)
+     */
+    override fun flush() {
+        if (count > 0) sendChunk()
+        out.flush()
+    }
+
+    /**
+     * Send the rest and the last chunk (idempotent; doesn't close the connection)
+     */
+    fun finish() {
+        if (finished) return
+        if (count > 0) sendChunk()
+        out.write(LAST_CHUNK)
+        out.flush()
+        finished = true
+    }
+
+    /**
+     * Same as finish(): the connection belongs to the server
+     */
+    override fun close() {
+        finish()
+    }
+
+    private fun sendChunk() {
+        out.write(Integer.toHexString(count).toByteArray(Charsets.US_ASCII))
+        out.write(CRLF)
+        out.write(buffer, 0, count)
+        out.write(CRLF)
+        count = 0
+    }
+}
@@ -2,14 +2,13 @@ package com.secretary.core.logging
 
 import android.content.Context
 import com.secretary.core.config.AppPreferences
-import java.io.BufferedReader
-import java.io.InputStreamReader
-import java.io.PrintWriter
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.MetricsRegistry
+import com.secretary.shared.database.TaskDatabase
 import java.net.Inet4Address
 import java.net.InetAddress
 import java.net.NetworkInterface
-import java.net.ServerSocket
-import java.net.Socket
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * HTTP server for serving logs via localhost:8080.
@@ -17,22 +16,30 @@ import java.net.Socket
  *
  * Provides real-time log access for development and debugging:
  * - GET / - Help text with available endpoints
- * - GET /logs - All logs from AppLogger
+ * - GET /logs - All logs from AppLogger (?since=<seq> for new records only)
+ * - GET /logs/stream - New records pushed as Server-Sent Events
+ * - GET /history - Persisted logs, including earlier runs
  * - GET /status - Server status and log count
+ * - GET /metrics - Latency histograms, counters and gauges (Prometheus text format)
+ * - GET /db/queries - SQL statement profile: totals, slowest executions, query plans
+ *
+ * Connections are handled by a StreamingHttpServer: a small worker pool
+ * (a slow client no longer blocks the others), HTTP/1.1 keep-alive, request
+ * timeouts, and responses streamed record by record - chunked, gzip if the
+ * client accepts it (curl --compressed) - instead of one big String.
  *
  * Renamed from SimpleHttpServer during Phase 4.5.2 refactoring.
  */
 class HttpLogServer(private val context: Context) {
 
-    private var serverSocket: ServerSocket? = null
-    private var serverThread: Thread? = null
+    private var server: StreamingHttpServer? = null
 
-    @Volatile
-    private var running = false
+    // Each event stream holds a worker thread: keep some for ordinary requests
+    private val activeStreams = AtomicInteger()
 
     /**
      * Start HTTP server on port 8080
-     * Runs in background thread to avoid blocking main thread
+     * Connections are served in background threads to avoid blocking main thread
      *
      * @param bindToAllInterfaces If true, binds to 0.0.0.0 (accessible from network).
      *                            If false, binds to 127.0.0.1 (localhost only, default).
@@ -45,110 +52,73 @@ class HttpLogServer(private val context: Context) {
             "127.0.0.1" // Localhost only (secure default)
         }
 
-        serverSocket = ServerSocket(PORT, 50, InetAddress.getByName(bindAddress)).apply {
-            reuseAddress = true
-        }
-        running = true
-
         val mode = if (bindToAllInterfaces) "NETWORK" else "LOCALHOST"
         AppLogger.info(TAG, "Server binding to $bindAddress (mode: $mode)")
 
-        serverThread = Thread {
-            AppLogger.info(TAG, "Server started on port $PORT")
-
-            while (running) {
-                try {
-                    serverSocket?.accept()?.let { client ->
-                        handleRequest(client)
-                    }
-                } catch (e: Exception) {
-                    if (running) {
-                        AppLogger.error(TAG, "Error accepting client: ${e.message}")
-                    }
-                }
-            }
-        }.apply {
-            start()
+        AppMetrics.registry.gauge("secretary_log_last_sequence", "Sequence number of the newest log record") {
+            AppLogger.lastSequence().toDouble()
+        }
+        AppMetrics.registry.gauge("secretary_log_streams_open", "Open /logs/stream connections") {
+            activeStreams.get().toDouble()
         }
+
+        server = StreamingHttpServer(
+            handler = ::handleRequest,
+            isClientAllowed = ::isClientAllowed,
+            onError = { message, e -> AppLogger.error(TAG, message, e) }
+        ).apply {
+            start(PORT, InetAddress.getByName(bindAddress))
+        }
+        AppLogger.info(TAG, "Server started on port $PORT")
     }
 
     /**
-     * Handle individual HTTP request
-     * Reads request, generates response, sends back to client
+     * Handle individual HTTP request (on a worker thread)
      */
-    private fun handleRequest(client: Socket) {
-        try {
-            client.use {
-                // Check IP whitelist if network mode enabled
-                val clientIp = it.inetAddress.hostAddress
-                if (!isClientAllowed(clientIp)) {
-                    val writer = PrintWriter(it.getOutputStream(), true)
-                    writer.println("HTTP/1.1 403 Forbidden")
-                    writer.println("Content-Type: text/plain; charset=UTF-8")
-                    writer.println("Connection: close")
-                    writer.println()
-                    writer.println("Access denied. IP $clientIp not whitelisted.")
-                    writer.flush()
-                    AppLogger.info(TAG, "Rejected request from non-whitelisted IP: $clientIp")
-                    return
-                }
-
-                val reader = BufferedReader(InputStreamReader(it.getInputStream()))
-                val writer = PrintWriter(it.getOutputStream(), true)
-
-                // Read request line
-                val requestLine = reader.readLine() ?: return
-
-                AppLogger.debug(TAG, "Request from $clientIp: $requestLine")
-
-                // Skip headers
-                while (true) {
-                    val line = reader.readLine()
-                    if (line.isNullOrEmpty()) break
-                }
-
-                // Parse request path and query parameters
-                val fullPath = requestLine.split(" ").getOrNull(1) ?: "/"
-                val (path, queryString) = if (fullPath.contains("?")) {
-                    val parts = fullPath.split("?", limit = 2)
-                    parts[0] to parts.getOrNull(1)
-                } else {
-                    fullPath to null
-                }
-
-                // Generate and send response
-                val response = generateResponse(path, queryString)
-                val responseBytes = response.toByteArray(Charsets.UTF_8)
-
-                writer.println("HTTP/1.1 200 OK")
-                writer.println("Content-Type: text/plain; charset=UTF-8")
-                writer.println("Content-Length: ${responseBytes.size}")
-                writer.println("Connection: close")
-                writer.println()
-                writer.print(response)
-                writer.flush()
-            }
-        } catch (e: Exception) {
-            AppLogger.error(TAG, "Error handling request: ${e.message}")
-        }
+    private fun handleRequest(request: HttpRequest): HttpResponse {
+        AppLogger.debug(TAG) { "Request: $request" }
+        return generateResponse(request)
     }
 
     /**
      * Generate HTTP response based on request path
      * Phase 3: Added crash log endpoint and query parameter filtering
+     * Log lines are formatted while they are written to the client.
+     * Responses with log records carry the cursor for the next since= poll
+     * in the X-Log-Cursor header.
      */
-    private fun generateResponse(path: String, queryString: String?): String = when (path) {
+    private fun generateResponse(request: HttpRequest): HttpResponse = when (request.path) {
         "/logs" -> {
-            // Return logs with optional filtering
-            val logs = AppLogger.readLogs()
-            val filtered = filterLogs(logs, queryString)
-            filtered.joinToString("\n")
+            val params = request.params
+            val since = params["since"]?.toLongOrNull()
+            if (since != null) {
+                // Incremental poll: only records after the client's cursor
+                val batch = AppLogger.readRecordsAfter(since)
+                val headers = mapOf(
+                    CURSOR_HEADER to batch.cursor.toString(),
+                    MISSED_HEADER to batch.missed.toString()
+                )
+                HttpResponse.lines(filterLogs(batch.records.asSequence(), params), headers) { it.format() }
+            } else {
+                // Level, tag and time filters are answered from the log index (records formatted only if they pass)
+                val batch = AppLogger.queryRecords(LogQuery.fromParams(params))
+                HttpResponse.lines(batch.records.asSequence(), mapOf(CURSOR_HEADER to batch.cursor.toString())) {
+                    it.format()
+                }
+            }
+        }
+
+        "/logs/stream" -> streamLogs(request)
+
+        "/history" -> {
+            // Persisted records are decoded from the segment files one at a time
+            HttpResponse.lines(filterLogs(AppLogger.readHistory(), request.params)) { it.format() }
         }
 
         "/crash" -> {
             // Return crash log if exists
             val crashLog = AppLogger.readCrashLog()
-            crashLog ?: "No crash log found"
+            HttpResponse.text(crashLog ?: "No crash log found")
         }
 
         "/status" -> {
@@ -158,7 +128,7 @@ class HttpLogServer(private val context: Context) {
             val localIp = if (networkMode) getLocalNetworkIp() else null
             val whitelistedIp = AppPreferences.getWhitelistedIp()
 
-            buildString {
+            HttpResponse.text(buildString {
                 appendLine("AI Secretary Log Server")
                 appendLine("Status: Running")
                 appendLine("Port: $PORT")
@@ -169,14 +139,27 @@ class HttpLogServer(private val context: Context) {
                 if (whitelistedIp != null) {
                     appendLine("Whitelisted IP: $whitelistedIp")
                 }
-                appendLine("Logs: ${AppLogger.readLogs().size} entries")
+                appendLine("Logs: ${AppLogger.readRecords().size} entries")
+                appendLine("Last sequence: ${AppLogger.lastSequence()}")
                 appendLine("Crash log: ${if (crashExists) "Available" else "None"}")
-            }.trimEnd()
+            }.trimEnd())
+        }
+
+        "/metrics" -> {
+            // Scraped by Prometheus (or curl): histograms are written from a snapshot of their counts
+            HttpResponse(200, "OK", MetricsRegistry.CONTENT_TYPE) { writer ->
+                AppMetrics.registry.writePrometheus(writer)
+            }
+        }
+
+        "/db/queries" -> {
+            // Query plans of the slowest statements are looked up on the database now
+            HttpResponse(200, "OK") { writer -> TaskDatabase.queryProfiler.writeReport(writer) }
         }
 
         "/" -> {
             // Return help text
-            """
+            HttpResponse.text("""
                 AI Secretary HTTP Log Server (Phase 3)
 
                 Available endpoints:
@@ -185,14 +168,27 @@ class HttpLogServer(private val context: Context) {
                   GET /logs?level=ERROR - Filter by log level
                   GET /logs?tag=TaskActivity - Filter by component tag
                   GET /logs?search=crash - Search logs
+                  GET /logs?since=1234 - Only records after sequence number 1234
+                  GET /logs/stream   - Push new records (Server-Sent Events)
+                  GET /history       - Persisted logs, including earlier runs
                   GET /crash         - View crash log
                   GET /status        - Server status
+                  GET /metrics       - Latencies of repositories, use cases and
+                                       screens (Prometheus text format)
+                  GET /db/queries    - SQL statements by total time, slowest
+                                       executions with EXPLAIN QUERY PLAN
 
-                Query parameters for /logs:
+                Query parameters for /logs and /history:
                   level=ERROR,WARN   - Filter by log level (comma-separated)
                   tag=TaskActivity   - Filter by tag (case-sensitive)
                   search=keyword     - Search in log messages (case-insensitive)
                   tail=50            - Show only last N entries
+                  from=2025-01-15T14:00 - Only entries at/after this time
+                  to=2025-01-15T15:00   - Only entries before this time
+                                       (local ISO date/time or epoch millis)
+                  since=1234         - Only records after this sequence number
+                                       (/logs and /logs/stream; the X-Log-Cursor
+                                       response header has the value for the next poll)
 
                 Examples:
                   curl http://localhost:8080/logs
@@ -200,81 +196,77 @@ class HttpLogServer(private val context: Context) {
                   curl http://localhost:8080/logs?tag=TaskActivity
                   curl http://localhost:8080/logs?search=crash
                   curl http://localhost:8080/logs?level=ERROR&tag=Database
+                  curl "http://localhost:8080/logs?level=ERROR&from=2025-01-15T14:00&to=2025-01-15T15:00"
+                  curl http://localhost:8080/history?level=ERROR&tail=100
+                  curl -D - "http://localhost:8080/logs?since=1234"
+                  curl -N http://localhost:8080/logs/stream?level=ERROR
                   curl http://localhost:8080/crash
-            """.trimIndent()
+                  curl --compressed http://localhost:8080/history
+                  curl http://localhost:8080/metrics
+                  curl http://localhost:8080/db/queries
+            """.trimIndent())
         }
 
-        else -> "404 Not Found: $path"
+        else -> HttpResponse.text("404 Not Found: ${request.path}", 404, "Not Found")
     }
 
     /**
-     * Filter logs based on query parameters
-     * Phase 3: Supports level, tag, search, and tail parameters
+     * Server-Sent Events stream of new records (level, tag and search filters apply)
+     * Starts after since=<seq> or the Last-Event-ID of a reconnecting
+     * EventSource; without either, only records logged from now on are sent.
      */
-    private fun filterLogs(logs: List<String>, queryString: String?): List<String> {
-        if (queryString == null) return logs
-
-        // Parse query parameters
-        val params = parseQueryParams(queryString)
-        var filtered = logs
-
-        // Filter by log level (e.g., level=ERROR or level=ERROR,WARN)
-        params["level"]?.let { levelParam ->
-            val levels = levelParam.split(",").map { it.trim().uppercase() }
-            filtered = filtered.filter { log ->
-                levels.any { level -> log.contains("[$level]") }
-            }
+    private fun streamLogs(request: HttpRequest): HttpResponse {
+        val cursor = request.params["since"]?.toLongOrNull()
+            ?: request.header("Last-Event-ID")?.toLongOrNull()
+            ?: AppLogger.lastSequence()
+        val stream = LogEventStream(AppLogger::readRecordsAfter, LogQuery.fromParams(request.params)::matches)
+
+        // Reserve a slot before answering: concurrent requests can't all pass a plain check
+        if (activeStreams.incrementAndGet() > MAX_STREAMS) {
+            activeStreams.decrementAndGet()
+            return HttpResponse.text("Too many log streams open (max $MAX_STREAMS)", 503, "Service Unavailable")
         }
-
-        // Filter by tag (e.g., tag=TaskActivity)
-        params["tag"]?.let { tag ->
-            filtered = filtered.filter { log ->
-                log.contains("[$tag]")
-            }
-        }
-
-        // Filter by search keyword (case-insensitive)
-        params["search"]?.let { keyword ->
-            filtered = filtered.filter { log ->
-                log.contains(keyword, ignoreCase = true)
-            }
+        return HttpResponse(
+            200, "OK", LogEventStream.CONTENT_TYPE, mapOf("Cache-Control" to "no-cache"),
+            onClose = { activeStreams.decrementAndGet() } // Also if the body never starts
+        ) { writer ->
+            AppLogger.debug(TAG) { "Log stream opened at cursor $cursor" }
+            stream.stream(writer, cursor)
         }
-
-        // Tail: return only last N entries
-        params["tail"]?.toIntOrNull()?.let { n ->
-            filtered = filtered.takeLast(n)
-        }
-
-        return filtered
     }
 
     /**
-     * Parse query string into parameter map
-     * Example: "level=ERROR&tag=Database" → {"level": "ERROR", "tag": "Database"}
+     * Filter logs based on query parameters
+     * Phase 3: Supports level, tag, search, and tail parameters
+     * Scans record by record (for records not in the log index); lazy,
+     * records are filtered as the response is written (tail=N keeps N records).
      */
-    private fun parseQueryParams(queryString: String): Map<String, String> {
-        return queryString.split("&")
-            .mapNotNull { param ->
-                val parts = param.split("=", limit = 2)
-                if (parts.size == 2) {
-                    parts[0] to parts[1]
-                } else {
-                    null
+    private fun filterLogs(logs: Sequence<LogRecord>, params: Map<String, String>): Sequence<LogRecord> {
+        if (params.isEmpty()) return logs
+
+        val query = LogQuery.fromParams(params)
+        val filtered = logs.filter(query::matches)
+
+        // Tail: return only last N entries
+        val tail = query.tail ?: return filtered
+        return Sequence {
+            val last = ArrayDeque<LogRecord>()
+            if (tail > 0) {
+                filtered.forEach { record ->
+                    if (last.size == tail) last.removeFirst()
+                    last.addLast(record)
                 }
             }
-            .toMap()
+            last.iterator()
+        }
     }
 
     /**
      * Stop HTTP server and close socket
      */
     fun stop() {
-        running = false
-        try {
-            serverSocket?.close()
-        } catch (e: Exception) {
-            AppLogger.error(TAG, "Error stopping server: ${e.message}")
-        }
+        server?.stop()
+        server = null
         AppLogger.info(TAG, "Server stopped")
     }
 
@@ -299,13 +291,17 @@ class HttpLogServer(private val context: Context) {
 
         // Check whitelist
         val whitelistedIp = AppPreferences.getWhitelistedIp()
-        return if (whitelistedIp != null) {
+        val allowed = if (whitelistedIp != null) {
             // Whitelist is set: only allow that IP
             clientIp == whitelistedIp
         } else {
             // No whitelist: deny all network IPs (secure by default)
             false
         }
+        if (!allowed) {
+            AppLogger.info(TAG, "Rejected request from non-whitelisted IP: $clientIp")
+        }
+        return allowed
     }
 
     /**
@@ -329,5 +325,8 @@ class HttpLogServer(private val context: Context) {
     companion object {
         private const val TAG = "HttpLogServer"
         private const val PORT = 8080
+        private const val MAX_STREAMS = 2
+        private const val CURSOR_HEADER = "X-Log-Cursor"
+        private const val MISSED_HEADER = "X-Log-Missed"
     }
 }
@@ -0,0 +1,73 @@
+package com.secretary.core.logging
+
+import java.net.URLDecoder
+
+/**
+ * One parsed HTTP request of the StreamingHttpServer (request line and headers; bodies are skipped).
+ *
+ * @property method Request method ("GET", "HEAD", ...)
+ * @property path Path without the query string ("/logs")
+ * @property query Raw query string after '?', or null
+ * @property version Protocol version ("HTTP/1.1")
+ * @property headers Header values by lower-case name
+ */
+class HttpRequest(
+    val method: String,
+    val path: String,
+    val query: String?,
+    val version: String,
+    val headers: Map<String, String>
+) {
+
+    /**
+     * Query parameters, URL-decoded
+     * Example: "level=ERROR&tag=Database" → {"level": "ERROR", "tag": "Database"}
+     */
+    val params: Map<String, String> by lazy {
+        query.orEmpty().split("&")
+            .mapNotNull { param ->
+                val parts = param.split("=", limit = 2)
+                if (parts.size == 2) {
+                    decode(parts[0]) to decode(parts[1])
+                } else {
+                    null
+                }
+            }
+            .toMap()
+    }
+
+    /**
+     * Header value (case-insensitive name)
+     */
+    fun header(name: String): String? = headers[name.lowercase()]
+
+    /**
+     * Whether the client wants the connection kept open after the response
+     * (HTTP/1.1 unless "Connection: close", HTTP/1.0 only with "Connection: keep-alive")
+     */
+    val keepAlive: Boolean
+        get() {
+            val connection = header("connection")?.lowercase()
+            return if (version == "HTTP/1.1") connection != "close" else connection == "keep-alive"
+        }
+
+    /**
+     * Whether the client accepts a gzip-compressed body
+     */
+    val acceptsGzip: Boolean
+        get() = header("accept-encoding")
+            ?.split(",")
+            ?.any { encoding ->
+                val parts = encoding.split(";").map { it.trim() }
+                parts[0].equals("gzip", ignoreCase = true) && parts.drop(1).none { it.replace(" ", "") == "q=0" }
+            }
+            ?: false
+
+    override fun toString(): String = if (query != null) "$method $path?$query" else "$method $path"
+
+    private fun decode(text: String): String = try {
+        URLDecoder.decode(text, "UTF-8")
+    } catch (e: IllegalArgumentException) {
+        text // Malformed escape: keep as sent
+    }
+}
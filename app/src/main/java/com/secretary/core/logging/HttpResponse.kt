@@ -0,0 +1,56 @@
+package com.secretary.core.logging
+
+import java.io.Writer
+
+/**
+ * Response of a StreamingHttpServer handler: status line, content type and a streamed body.
+ *
+ * The body is written by [body] straight into the connection (chunked,
+ * gzip-compressed if the client accepts it), so a handler never has to
+ * build the whole response in memory. It runs after the status line has
+ * been sent: failures inside it end the connection instead of turning into
+ * an error response.
+ *
+ * @property status Status code (200, 404, ...)
+ * @property reason Reason phrase ("OK", "Not Found", ...)
+ * @property contentType Content-Type header value
+ * @property headers Additional headers (name to value)
+ * @property onClose Called once the response is done with - after the body,
+ *                   or instead of it when the status line couldn't be sent or
+ *                   the request was HEAD (releases what the handler reserved)
+ * @property body Writes the body (not called for HEAD requests); flushing
+ *                the writer sends what was written so far to the client
+ */
+class HttpResponse(
+    val status: Int,
+    val reason: String,
+    val contentType: String = TEXT_PLAIN,
+    val headers: Map<String, String> = emptyMap(),
+    val onClose: () -> Unit = {},
+    val body: (Writer) -> Unit
+) {
+
+    companion object {
+        const val TEXT_PLAIN = "text/plain; charset=UTF-8"
+
+        /**
+         * Response with a small, ready text body
+         */
+        fun text(text: String, status: Int = 200, reason: String = "OK") =
+            HttpResponse(status, reason) { it.write(text) }
+
+        /**
+         * Response streaming one line per element, formatted only as it's written
+         */
+        fun <T> lines(
+            items: Sequence<T>,
+            headers: Map<String, String> = emptyMap(),
+            format: (T) -> String
+        ) = HttpResponse(200, "OK", headers = headers) { writer ->
+            items.forEachIndexed { index, item ->
+                if (index > 0) writer.write("\n")
+                writer.write(format(item))
+            }
+        }
+    }
+}
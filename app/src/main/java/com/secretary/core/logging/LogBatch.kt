@@ -0,0 +1,15 @@
+package com.secretary.core.logging
+
+/**
+ * Records read after a cursor, with the cursor for the next read.
+ *
+ * @property records New records, oldest first
+ * @property cursor Sequence number to pass as the next cursor (last record read)
+ * @property missed Records between the old cursor and these that were
+ *                  overwritten in the ring before they could be read
+ */
+data class LogBatch(
+    val records: List<LogRecord>,
+    val cursor: Long,
+    val missed: Long
+)
@@ -0,0 +1,100 @@
+package com.secretary.core.logging
+
+import java.io.Writer
+
+/**
+ * Pushes new log records to one client as Server-Sent Events (text/event-stream).
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Every record becomes one event whose id is its sequence number, so an
+ * EventSource reconnecting with Last-Event-ID (or a script passing
+ * since=<id>) continues exactly where it stopped:
+ *
+ *   id: 1234
+ *   data: [2025-01-01 12:00:00] [INFO] [TaskActivity] Filters applied
+ *
+ * Records overwritten before they could be sent are reported as a "missed"
+ * event. Logging threads are never involved: the stream polls the ring
+ * every [pollIntervalMillis] (one volatile read when nothing is new) and
+ * sends a comment line every [heartbeatMillis] while idle, which also
+ * detects clients that went away (the write fails).
+ *
+ * @param readAfter Records after a cursor (AppLogger.readRecordsAfter)
+ * @param filter Records to send (level, tag, search)
+ */
+class LogEventStream(
+    private val readAfter: (Long) -> LogBatch,
+    private val filter: (LogRecord) -> Boolean = { true },
+    private val pollIntervalMillis: Long = DEFAULT_POLL_INTERVAL_MS,
+    private val heartbeatMillis: Long = DEFAULT_HEARTBEAT_MS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        const val CONTENT_TYPE = "text/event-stream; charset=UTF-8"
+        const val DEFAULT_POLL_INTERVAL_MS = 250L
+        const val DEFAULT_HEARTBEAT_MS = 15_000L
+    }
+
+    /**
+     * Send records after [cursor] until the client disconnects or the thread is interrupted
+     *
+     * @param isActive Checked between polls (e.g. server still running)
+     * @return Cursor of the last record read
+     */
+    fun stream(writer: Writer, cursor: Long, isActive: () -> Boolean = { true }): Long {
+        var position = cursor
+        var lastWrite = clock()
+        // Tell EventSource clients how long to wait before reconnecting
+        writer.write("retry: 1000\n\n")
+        writer.flush()
+
+        while (isActive() && !Thread.currentThread().isInterrupted) {
+            val batch = readAfter(position)
+            position = batch.cursor
+            val sent = writeBatch(writer, batch)
+
+            val now = clock()
+            if (sent) {
+                writer.flush()
+                lastWrite = now
+            } else if (now - lastWrite >= heartbeatMillis) {
+                writer.write(": keep-alive\n\n")
+                writer.flush()
+                lastWrite = now
+            }
+            if (batch.records.isNotEmpty()) continue // More may be waiting
+            try {
+                Thread.sleep(pollIntervalMillis)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt() // Server stopping
+                break
+            }
+        }
+        return position
+    }
+
+    /**
+     * Write the batch's events; false if nothing was written
+     */
+    private fun writeBatch(writer: Writer, batch: LogBatch): Boolean {
+        var written = false
+        if (batch.missed > 0) {
+            writer.write("event: missed\ndata: ${batch.missed} records overwritten before they were sent\n\n")
+            written = true
+        }
+        for (record in batch.records) {
+            if (!filter(record)) continue
+            writer.write("id: ${record.sequence}\n")
+            // Multi-line messages (stack traces): one data line each, joined again by the client
+            record.format().lineSequence().forEach { line ->
+                writer.write("data: ")
+                writer.write(line)
+                writer.write("\n")
+            }
+            writer.write("\n")
+            written = true
+        }
+        return written
+    }
+}
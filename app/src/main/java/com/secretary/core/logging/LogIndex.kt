@@ -0,0 +1,133 @@
+package com.secretary.core.logging
+
+/**
+ * Posting lists over the records of a LogRingBuffer: per level, per tag and by time.
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Each list holds the sequence numbers of the records it covers, in
+ * order. A query intersects the lists of its conditions - starting from
+ * the shortest one and probing the others by binary search - and only
+ * the records left over are fetched from the ring; just the text search
+ * still looks at every one of them. With tail=N the candidates are walked
+ * newest first and the walk stops after N matches.
+ *
+ * The time index pairs each sequence number with the highest timestamp up
+ * to it; timestamps of concurrent writers can be a few ms out of order,
+ * and the running maximum keeps the list sorted for binary search.
+ *
+ * Logging threads don't maintain the index (the ring stays lock-free):
+ * each query first indexes the records added since the last one and
+ * drops postings of records the ring has overwritten or cleared.
+ *
+ * @param ring Records to index
+ */
+class LogIndex(private val ring: LogRingBuffer) {
+
+    private val byLevel = Array(LogLevel.values().size) { PostingList() }
+    private val byTag = HashMap<String, PostingList>()
+    private val timeSequences = PostingList(ring.capacity)
+    private val timeMax = PostingList(ring.capacity)
+
+    private var nextSequence = 0L // First sequence number not indexed yet
+    private var maxTimestamp = Long.MIN_VALUE
+
+    /**
+     * Matching records, oldest first, with the cursor up to which records were indexed
+     * (for a following since= poll; missed is always 0)
+     */
+    @Synchronized
+    fun query(query: LogQuery): LogBatch {
+        update()
+        return LogBatch(find(query), nextSequence - 1, 0L)
+    }
+
+    private fun find(query: LogQuery): List<LogRecord> {
+        if (timeSequences.isEmpty() || query.levels?.isEmpty() == true || (query.tail ?: 1) <= 0) return emptyList()
+
+        // Time range → range of sequence numbers
+        val fromIndex = query.fromTime?.let { timeMax.lowerBound(it) } ?: 0
+        val toIndex = query.toTime?.let { timeMax.lowerBound(it) } ?: timeSequences.size
+        if (fromIndex >= toIndex) return emptyList()
+        val low = timeSequences[fromIndex]
+        val high = timeSequences[toIndex - 1]
+
+        // Posting lists of the conditions; the shortest one drives the walk
+        val lists = ArrayList<PostingList>(2)
+        query.levels?.let { levels -> lists.add(levelPostings(levels)) }
+        query.tag?.let { tag -> lists.add(byTag[tag] ?: return emptyList()) }
+        lists.sortBy { it.size }
+        val driver = lists.firstOrNull() ?: timeSequences
+        val others = lists.drop(1)
+
+        val start = driver.lowerBound(low)
+        val end = driver.lowerBound(high + 1)
+        val results = ArrayList<LogRecord>()
+        val limit = query.tail ?: Int.MAX_VALUE
+        val indices = if (query.tail != null) (end - 1 downTo start) else (start until end)
+        for (i in indices) {
+            val sequence = driver[i]
+            if (others.any { sequence !in it }) continue
+            val record = ring.get(sequence) ?: continue // Overwritten since update()
+            if (query.fromTime != null && record.timestamp < query.fromTime) continue
+            if (query.toTime != null && record.timestamp >= query.toTime) continue
+            if (query.search != null && !record.format().contains(query.search, ignoreCase = true)) continue
+            results.add(record)
+            if (results.size >= limit) break
+        }
+        if (query.tail != null) results.reverse()
+        return results
+    }
+
+    // ========== Maintenance ==========
+
+    /**
+     * Index records added since the last query, drop postings of records no longer visible
+     */
+    private fun update() {
+        while (true) {
+            val batch = ring.readFrom(nextSequence)
+            for (record in batch) {
+                val sequence = record.sequence
+                byLevel[record.level.ordinal].add(sequence)
+                byTag.getOrPut(record.tag) { PostingList() }.add(sequence)
+                maxTimestamp = maxOf(maxTimestamp, record.timestamp)
+                timeSequences.add(sequence)
+                timeMax.add(maxTimestamp)
+                nextSequence = sequence + 1
+            }
+            if (batch.size < ring.capacity) break
+        }
+
+        val lowest = maxOf(ring.totalWritten - ring.capacity, ring.clearedBefore)
+        val dropped = timeSequences.lowerBound(lowest)
+        timeSequences.dropFirst(dropped)
+        timeMax.dropFirst(dropped)
+        byLevel.forEach { it.dropFirst(it.lowerBound(lowest)) }
+        val tags = byTag.values.iterator()
+        while (tags.hasNext()) {
+            val postings = tags.next()
+            postings.dropFirst(postings.lowerBound(lowest))
+            if (postings.isEmpty()) tags.remove() // Tags seen long ago don't pile up
+        }
+    }
+
+    private fun levelPostings(levels: Set<LogLevel>): PostingList {
+        if (levels.size == 1) return byLevel[levels.first().ordinal]
+        // Several levels: merge their (sorted) lists
+        val lists = levels.map { byLevel[it.ordinal] }
+        val merged = PostingList(lists.sumOf { it.size })
+        val positions = IntArray(lists.size)
+        while (true) {
+            var next = -1
+            for (l in lists.indices) {
+                if (positions[l] < lists[l].size &&
+                    (next == -1 || lists[l][positions[l]] < lists[next][positions[next]])
+                ) {
+                    next = l
+                }
+            }
+            if (next == -1) return merged
+            merged.add(lists[next][positions[next]++])
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.secretary.core.logging
+
+/**
+ * Log levels of AppLogger records, in increasing severity.
+ */
+enum class LogLevel {
+    DEBUG,
+    INFO,
+    ERROR
+}
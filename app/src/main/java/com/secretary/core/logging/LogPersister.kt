@@ -0,0 +1,135 @@
+package com.secretary.core.logging
+
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Copies AppLogger's in-memory records to the LogSegmentStore in the background.
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Logging threads only touch the lock-free LogRingBuffer; this class follows
+ * the ring from a single daemon thread ("log-writer") and appends every new
+ * record to the memory-mapped segments. The thread also opens the store and
+ * forces (fsyncs) it now and then, so no disk I/O happens on the main thread.
+ * Lazy messages are built here, off the logging thread.
+ *
+ * Records written faster than the ring holds between two drains are lost
+ * for the disk log; a marker record says how many. After a crash, the
+ * handler calls flush() so the last records before the crash are persisted.
+ *
+ * @param ring Records to persist
+ * @param store Destination (opened on first drain)
+ * @param clock Current time (epoch millis) for marker records and forcing
+ */
+class LogPersister(
+    private val ring: LogRingBuffer,
+    private val store: LogSegmentStore,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        private const val TAG = "LogPersister"
+        const val DRAIN_INTERVAL_MS = 250L
+        const val FORCE_INTERVAL_MS = 10_000L
+    }
+
+    private var executor: ScheduledExecutorService? = null
+
+    private var nextSequence = 0L // First ring sequence not persisted yet
+    private var dirty = false
+    private var lastForce = 0L
+
+    /**
+     * Last failure of a background drain (null if the last drain succeeded)
+     */
+    @Volatile
+    var lastError: Exception? = null
+        private set
+
+    /**
+     * Drain the ring every [intervalMillis] on the "log-writer" thread
+     */
+    @Synchronized
+    fun start(intervalMillis: Long = DRAIN_INTERVAL_MS) {
+        if (executor != null) return
+        val thread = Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "log-writer").apply { isDaemon = true }
+        }
+        thread.scheduleWithFixedDelay({ drainQuietly() }, 0, intervalMillis, TimeUnit.MILLISECONDS)
+        executor = thread
+    }
+
+    /**
+     * Stop background draining (records already persisted stay on disk)
+     */
+    @Synchronized
+    fun stop() {
+        executor?.shutdown()
+        executor = null
+    }
+
+    /**
+     * Append all records added since the last drain to the store
+     *
+     * @return Number of records appended (including a lost-records marker)
+     */
+    @Synchronized
+    fun drain(): Int {
+        var appended = 0
+        while (true) {
+            val batch = ring.readFrom(nextSequence, ring.capacity)
+            if (batch.isEmpty()) break
+            for (record in batch) {
+                if (record.sequence > nextSequence) {
+                    appendLostMarker(record.sequence - nextSequence)
+                    appended++
+                }
+                store.append(record.timestamp, record.sequence, record.level, record.tag, record.thread, record.message)
+                nextSequence = record.sequence + 1
+                appended++
+            }
+            if (batch.size < ring.capacity) break // Caught up (or at a record being written)
+        }
+        if (appended > 0) dirty = true
+        val now = clock()
+        if (dirty && now - lastForce >= FORCE_INTERVAL_MS) {
+            store.force()
+            dirty = false
+            lastForce = now
+        }
+        return appended
+    }
+
+    /**
+     * Persist everything logged so far and force it to disk (blocking; for the crash handler)
+     */
+    @Synchronized
+    fun flush() {
+        drain()
+        store.force()
+        dirty = false
+        lastForce = clock()
+    }
+
+    private fun drainQuietly() {
+        try {
+            drain()
+            lastError = null
+        } catch (e: Exception) {
+            // An exception would cancel the scheduled task; keep trying on the next tick
+            lastError = e
+        }
+    }
+
+    private fun appendLostMarker(count: Long) {
+        store.append(
+            clock(),
+            nextSequence,
+            LogLevel.ERROR,
+            TAG,
+            Thread.currentThread().name,
+            "$count log records lost (logged faster than persisted)"
+        )
+    }
+}
@@ -0,0 +1,76 @@
+package com.secretary.core.logging
+
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.ZoneId
+import java.time.format.DateTimeParseException
+
+/**
+ * Filter for log records: level, tag, time range, text search and tail.
+ *
+ * LogIndex answers level, tag and time conditions from its posting lists;
+ * matches() checks a single record (for /history and event streams, which
+ * read records one by one).
+ *
+ * @property levels Accepted levels (null = any; empty = none)
+ * @property tag Exact tag (case-sensitive)
+ * @property fromTime Earliest timestamp, inclusive (epoch millis)
+ * @property toTime Latest timestamp, exclusive (epoch millis)
+ * @property search Text anywhere in the formatted line (case-insensitive)
+ * @property tail Only the last N matching records
+ */
+data class LogQuery(
+    val levels: Set<LogLevel>? = null,
+    val tag: String? = null,
+    val fromTime: Long? = null,
+    val toTime: Long? = null,
+    val search: String? = null,
+    val tail: Int? = null
+) {
+
+    companion object {
+
+        /**
+         * Query from HTTP parameters: level=ERROR,INFO tag= from= to= search= tail=
+         * Times are epoch millis or local ISO date/time ("2025-01-15",
+         * "2025-01-15T14:30", "2025-01-15 14:30:00"); unparsable values are ignored.
+         * Unknown level names match nothing (there is no WARN level).
+         */
+        fun fromParams(params: Map<String, String>, zone: ZoneId = ZoneId.systemDefault()) = LogQuery(
+            levels = params["level"]?.split(",")
+                ?.map { it.trim().uppercase() }
+                ?.mapNotNull { name -> LogLevel.values().firstOrNull { it.name == name } }
+                ?.toSet(),
+            tag = params["tag"],
+            fromTime = params["from"]?.let { parseTime(it, zone) },
+            toTime = params["to"]?.let { parseTime(it, zone) },
+            search = params["search"],
+            tail = params["tail"]?.toIntOrNull()
+        )
+
+        private fun parseTime(text: String, zone: ZoneId): Long? {
+            text.toLongOrNull()?.let { return it }
+            val iso = text.trim().replace(' ', 'T')
+            return try {
+                if (iso.contains('T')) {
+                    LocalDateTime.parse(iso).atZone(zone).toInstant().toEpochMilli()
+                } else {
+                    LocalDate.parse(iso).atStartOfDay(zone).toInstant().toEpochMilli()
+                }
+            } catch (e: DateTimeParseException) {
+                null
+            }
+        }
+    }
+
+    /**
+     * Whether a record passes level, tag, time and search (tail is up to the caller)
+     * Only search needs the formatted line.
+     */
+    fun matches(record: LogRecord): Boolean =
+        (levels == null || record.level in levels) &&
+            (tag == null || record.tag == tag) &&
+            (fromTime == null || record.timestamp >= fromTime) &&
+            (toTime == null || record.timestamp < toTime) &&
+            (search == null || record.format().contains(search, ignoreCase = true))
+}
@@ -0,0 +1,98 @@
+package com.secretary.core.logging
+
+import java.time.Instant
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+import java.util.Locale
+
+/**
+ * One structured log entry in the LogRingBuffer.
+ *
+ * Holds the raw parts of a log call; nothing is formatted while logging.
+ * The message supplier runs, the stack trace is rendered and the log line
+ * is built only when a reader asks for them (readLogs, HttpLogServer), and
+ * the results are kept for the next reader. Two readers racing on the same
+ * record compute the same strings, so no lock is needed.
+ *
+ * @property sequence Position in the log (0, 1, 2, ... since app start)
+ * @property timestamp Time of the log call (epoch millis)
+ * @property level Log level
+ * @property tag Component tag
+ * @property thread Name of the logging thread
+ */
+class LogRecord private constructor(
+    val sequence: Long,
+    val timestamp: Long,
+    val level: LogLevel,
+    val tag: String,
+    val thread: String,
+    private val text: String?,
+    private val supplier: (() -> String)?,
+    private val throwable: Throwable?
+) {
+
+    companion object {
+        // DateTimeFormatter is immutable and thread-safe, unlike the old shared SimpleDateFormat
+        private val TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.US)
+            .withZone(ZoneId.systemDefault())
+
+        /**
+         * Record with a ready message
+         */
+        fun of(
+            sequence: Long,
+            timestamp: Long,
+            level: LogLevel,
+            tag: String,
+            thread: String,
+            message: String,
+            throwable: Throwable? = null
+        ) = LogRecord(sequence, timestamp, level, tag, thread, message, null, throwable)
+
+        /**
+         * Record whose message is built only if the record is read
+         */
+        fun lazy(
+            sequence: Long,
+            timestamp: Long,
+            level: LogLevel,
+            tag: String,
+            thread: String,
+            message: () -> String
+        ) = LogRecord(sequence, timestamp, level, tag, thread, null, message, null)
+    }
+
+    @Volatile
+    private var renderedMessage: String? = null
+
+    @Volatile
+    private var line: String? = null
+
+    /**
+     * Message text, with the stack trace of an attached throwable on the following lines
+     */
+    val message: String
+        get() {
+            renderedMessage?.let { return it }
+            val base = text ?: try {
+                supplier?.invoke().orEmpty()
+            } catch (e: Exception) {
+                "<message failed: $e>"
+            }
+            val full = if (throwable != null) "$base\n${throwable.stackTraceToString().trimEnd()}" else base
+            renderedMessage = full
+            return full
+        }
+
+    /**
+     * Log line: "[yyyy-MM-dd HH:mm:ss] [LEVEL] [tag] message"
+     */
+    fun format(): String {
+        line?.let { return it }
+        val formatted = "[${TIME_FORMAT.format(Instant.ofEpochMilli(timestamp))}] [${level.name}] [$tag] $message"
+        line = formatted
+        return formatted
+    }
+
+    override fun toString(): String = format()
+}
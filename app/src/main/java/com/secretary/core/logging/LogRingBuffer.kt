@@ -0,0 +1,161 @@
+package com.secretary.core.logging
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Fixed-capacity ring of LogRecords, written by many threads without a lock.
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * A writer claims the next sequence number with one atomic increment and
+ * stores its record in slot (sequence % capacity), overwriting the record
+ * from one lap before (compare-and-set, so a writer stalled for a whole lap
+ * can't overwrite a newer record). Writers never wait for each other or
+ * for readers.
+ *
+ * Readers take a snapshot: for each sequence number in the last lap they
+ * keep the slot's record only if it carries that sequence number. A slot
+ * whose writer has claimed a number but not stored its record yet still
+ * holds an older record and is skipped, as is a slot already overwritten by
+ * a newer lap - a snapshot never shows a torn or out-of-order entry, at
+ * the cost of missing entries that were being written at that moment.
+ *
+ * @param capacity Maximum number of records kept
+ * @param clock Current time (epoch millis) for new records
+ */
+class LogRingBuffer(
+    val capacity: Int,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    init {
+        require(capacity > 0) { "capacity must be positive: $capacity" }
+    }
+
+    private val slots = AtomicReferenceArray<LogRecord?>(capacity)
+    private val nextSequence = AtomicLong(0)
+
+    /**
+     * Sequence numbers below this were cleared (0 if clear() was never called)
+     */
+    @Volatile
+    var clearedBefore = 0L
+        private set
+
+    /**
+     * Number of records written since start (including overwritten and cleared ones)
+     */
+    val totalWritten: Long
+        get() = nextSequence.get()
+
+    // ========== Writing ==========
+
+    /**
+     * Append a record with a ready message
+     *
+     * @param throwable Attached throwable (stack trace rendered only when read)
+     */
+    fun add(level: LogLevel, tag: String, message: String, throwable: Throwable? = null) {
+        val sequence = nextSequence.getAndIncrement()
+        store(
+            sequence,
+            LogRecord.of(sequence, clock(), level, tag, Thread.currentThread().name, message, throwable)
+        )
+    }
+
+    /**
+     * Append a record whose message is built only if it is read
+     */
+    fun addLazy(level: LogLevel, tag: String, message: () -> String) {
+        val sequence = nextSequence.getAndIncrement()
+        store(sequence, LogRecord.lazy(sequence, clock(), level, tag, Thread.currentThread().name, message))
+    }
+
+    private fun store(sequence: Long, record: LogRecord) {
+        val slot = (sequence % capacity).toInt()
+        while (true) {
+            val current = slots.get(slot)
+            // A writer stalled for a whole lap must not overwrite the newer record
+            if (current != null && current.sequence > sequence) return
+            if (slots.compareAndSet(slot, current, record)) return
+        }
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Records of the last lap, oldest first (entries being written right now may be missing)
+     */
+    fun snapshot(): List<LogRecord> {
+        val end = nextSequence.get()
+        val start = maxOf(end - capacity, clearedBefore, 0L)
+        val records = ArrayList<LogRecord>((end - start).toInt())
+        for (sequence in start until end) {
+            val record = slots.get((sequence % capacity).toInt())
+            if (record != null && record.sequence == sequence) {
+                records.add(record)
+            }
+        }
+        return records
+    }
+
+    /**
+     * Record with this sequence number, null if it was overwritten or isn't stored yet
+     */
+    fun get(sequence: Long): LogRecord? {
+        if (sequence < 0) return null
+        val record = slots.get((sequence % capacity).toInt())
+        return if (record != null && record.sequence == sequence) record else null
+    }
+
+    /**
+     * Records from sequence number [from] on, oldest first, for a reader that follows the log
+     *
+     * Unlike snapshot(), stops at the first record still being written, so a
+     * following read starting after the last returned record skips nothing
+     * that is still to come. Records overwritten before they were read are
+     * missing - the caller sees the gap in the sequence numbers. Ignores clear().
+     *
+     * @param max Maximum number of records returned
+     */
+    fun readFrom(from: Long, max: Int = capacity): List<LogRecord> {
+        val end = nextSequence.get()
+        val start = maxOf(end - capacity, from, 0L)
+        val records = ArrayList<LogRecord>(minOf(end - start, max.toLong()).toInt().coerceAtLeast(0))
+        var sequence = start
+        while (sequence < end && records.size < max) {
+            val record = slots.get((sequence % capacity).toInt())
+            when {
+                record == null || record.sequence < sequence -> break // Claimed, not stored yet
+                record.sequence == sequence -> records.add(record)
+                // else: overwritten by a newer lap while reading - a gap
+            }
+            sequence++
+        }
+        return records
+    }
+
+    /**
+     * Records after a reader's cursor (the last sequence number it has seen), oldest first
+     *
+     * Like readFrom(), never skips a record that is still being written. A
+     * cursor at or beyond the end comes from an earlier run of the app
+     * (sequence numbers restart at 0) and starts over from the oldest record.
+     *
+     * @param cursor Last sequence number seen, -1 for none
+     * @param max Maximum number of records returned
+     */
+    fun readAfter(cursor: Long, max: Int = capacity): LogBatch {
+        val after = if (cursor >= nextSequence.get()) -1L else cursor
+        val records = readFrom(after + 1, max)
+        val last = records.lastOrNull()?.sequence ?: return LogBatch(records, after, 0L)
+        return LogBatch(records, last, last - after - records.size)
+    }
+
+    /**
+     * Drop all records written so far (writers are not blocked)
+     */
+    fun clear() {
+        clearedBefore = nextSequence.get()
+    }
+}
@@ -0,0 +1,294 @@
+package com.secretary.core.logging
+
+import java.io.File
+import java.io.IOException
+import java.nio.BufferUnderflowException
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+
+/**
+ * Append-only binary log on disk: fixed-size memory-mapped segment files.
+ *
+ * Pure Kotlin (java.nio) with NO Android dependencies.
+ * Records are appended to the mapped active segment - a bounds check and a
+ * copy into the page cache, no system call - so an append takes about a
+ * microsecond. Dirty pages belong to the kernel, not to the process: a
+ * record survives the process being killed as soon as append() returns.
+ * Only force() (fsync, for power loss) touches the disk; it runs on
+ * rotation and when the owner calls it, never per record.
+ *
+ * Files "<number>.seg" in [directory], numbered upwards. A full segment is
+ * forced and a new one started; beyond [maxSegments] the oldest is deleted,
+ * so the store never exceeds maxSegments * segmentSize bytes.
+ *
+ * Segment layout (big-endian):
+ *   header  := magic:i32 version:i16 reserved:i16
+ *   frame   := length:i32 payload            (length 0 = end of data)
+ *   payload := timestamp:i64 sequence:i64 level:u8
+ *              tagLength:u16 tag threadLength:u16 thread message
+ * Strings are UTF-8; the message takes the rest of the payload. The length
+ * is written after the payload, so a frame cut off by a crash reads as the
+ * end of the segment.
+ *
+ * Writing: one thread at a time (LogPersister's). Reading: any thread;
+ * readers map segments read-only and decode one record at a time, so whole
+ * segments never land on the heap. A reader sees the store as it was when
+ * it started: the writer publishes the active segment and its end in one
+ * volatile write.
+ *
+ * @param directory Directory for the segment files (created if missing)
+ * @param segmentSize Bytes per segment file
+ * @param maxSegments Segment files kept (oldest deleted first)
+ */
+class LogSegmentStore(
+    private val directory: File,
+    val segmentSize: Int = DEFAULT_SEGMENT_SIZE,
+    val maxSegments: Int = DEFAULT_MAX_SEGMENTS
+) {
+
+    companion object {
+        const val DEFAULT_SEGMENT_SIZE = 1024 * 1024
+        const val DEFAULT_MAX_SEGMENTS = 8
+
+        private const val MAGIC = 0x41534c47 // "ASLG"
+        private const val VERSION: Short = 1
+        private const val HEADER_SIZE = 8
+        private const val FIXED_PAYLOAD_SIZE = 8 + 8 + 1 + 2 + 2
+        private const val MAX_STRING_BYTES = 0xFFFF
+        private const val EXTENSION = ".seg"
+
+        private val LEVELS = LogLevel.values()
+    }
+
+    init {
+        require(segmentSize > HEADER_SIZE + 4 + FIXED_PAYLOAD_SIZE) { "segmentSize too small: $segmentSize" }
+        require(maxSegments > 0) { "maxSegments must be positive: $maxSegments" }
+    }
+
+    private var active: MappedByteBuffer? = null
+    private var activeNumber = -1L
+    private var activeEnd = 0 // Bytes of the active segment holding complete frames
+
+    /**
+     * activeNumber (high 32 bits) and activeEnd (low 32 bits) for readers,
+     * so a reader never pairs one segment's number with another's end
+     */
+    @Volatile
+    private var published = -1L shl 32
+
+    // ========== Writing ==========
+
+    /**
+     * Open the newest segment and continue after its last complete frame
+     * (or start the first one). Called by the first append if not before.
+     */
+    @Throws(IOException::class)
+    fun open() {
+        if (active != null) return
+        directory.mkdirs()
+        val newest = segmentNumbers().lastOrNull()
+        if (newest == null) {
+            startSegment(0)
+            return
+        }
+        val buffer = map(segmentFile(newest), FileChannel.MapMode.READ_WRITE)
+        val end = if (hasHeader(buffer)) scanEnd(buffer) else -1
+        if (end < 0) {
+            startSegment(newest + 1) // Not a segment of this format: leave it alone
+        } else {
+            active = buffer
+            activeNumber = newest
+            activeEnd = end
+            publish()
+        }
+    }
+
+    /**
+     * Append one record (message truncated to fit a segment)
+     *
+     * @param sequence Record's sequence number in the writing process
+     */
+    @Throws(IOException::class)
+    fun append(timestamp: Long, sequence: Long, level: LogLevel, tag: String, thread: String, message: String) {
+        open()
+        val tagBytes = utf8(tag, MAX_STRING_BYTES)
+        val threadBytes = utf8(thread, MAX_STRING_BYTES)
+        val fixed = FIXED_PAYLOAD_SIZE + tagBytes.size + threadBytes.size
+        val messageBytes = utf8(message, segmentSize - HEADER_SIZE - 4 - fixed)
+        val length = fixed + messageBytes.size
+
+        if (activeEnd + 4 + length > segmentSize) {
+            rotate()
+        }
+
+        val buffer = active!!
+        val start = activeEnd
+        buffer.position(start + 4)
+        buffer.putLong(timestamp)
+        buffer.putLong(sequence)
+        buffer.put(level.ordinal.toByte())
+        buffer.putShort(tagBytes.size.toShort())
+        buffer.put(tagBytes)
+        buffer.putShort(threadBytes.size.toShort())
+        buffer.put(threadBytes)
+        buffer.put(messageBytes)
+        val end = start + 4 + length
+        // A frame torn by a crash before the last restart may have left bytes here
+        if (end + 4 <= segmentSize) buffer.putInt(end, 0)
+        // Length last: until here a reader (or a restart) sees the end of data
+        buffer.putInt(start, length)
+        activeEnd = end
+        publish()
+    }
+
+    /**
+     * Write the active segment's dirty pages to disk (fsync) - call off the main thread
+     */
+    fun force() {
+        active?.force()
+    }
+
+    private fun rotate() {
+        active?.force()
+        startSegment(activeNumber + 1)
+        val numbers = segmentNumbers()
+        if (numbers.size > maxSegments) {
+            numbers.take(numbers.size - maxSegments).forEach { segmentFile(it).delete() }
+        }
+    }
+
+    private fun startSegment(number: Long) {
+        val buffer = map(segmentFile(number), FileChannel.MapMode.READ_WRITE)
+        buffer.putInt(0, MAGIC)
+        buffer.putShort(4, VERSION)
+        buffer.putInt(HEADER_SIZE, 0)
+        active = buffer
+        activeNumber = number
+        activeEnd = HEADER_SIZE
+        publish()
+    }
+
+    private fun publish() {
+        published = (activeNumber shl 32) or activeEnd.toLong()
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * All stored records, oldest first, decoded lazily one at a time
+     * Records appended after the first element was read are not included;
+     * segments deleted by rotation while iterating are skipped.
+     */
+    fun records(): Sequence<LogRecord> = sequence {
+        val position = published
+        val activeNumber = position shr 32 // -1: nothing written by this instance yet
+        val activeEnd = position.toInt()
+        for (number in segmentNumbers()) {
+            if (activeNumber >= 0 && number > activeNumber) break // Started after the snapshot
+            val buffer = try {
+                map(segmentFile(number), FileChannel.MapMode.READ_ONLY)
+            } catch (e: IOException) {
+                continue // Rotated away since listing
+            }
+            if (!hasHeader(buffer)) continue
+            // The active segment may be written right now: stop at its last complete frame of the snapshot
+            val limit = if (number == activeNumber) activeEnd else segmentSize
+            var position = HEADER_SIZE
+            while (position + 4 <= limit) {
+                val record = decodeAt(buffer, position, limit) ?: break
+                yield(record)
+                position += 4 + buffer.getInt(position)
+            }
+        }
+    }
+
+    /**
+     * Total bytes of the segment files
+     */
+    fun sizeOnDisk(): Long = segmentNumbers().sumOf { segmentFile(it).length() }
+
+    private fun decodeAt(buffer: ByteBuffer, position: Int, limit: Int): LogRecord? {
+        val length = buffer.getInt(position)
+        if (length < FIXED_PAYLOAD_SIZE || position + 4 + length > limit) return null
+        return try {
+            val payload = buffer.duplicate()
+            payload.position(position + 4)
+            payload.limit(position + 4 + length)
+            val timestamp = payload.getLong()
+            val sequence = payload.getLong()
+            val level = LEVELS.getOrElse(payload.get().toInt()) { LogLevel.INFO }
+            val tag = readString(payload, payload.getShort().toInt() and 0xFFFF)
+            val thread = readString(payload, payload.getShort().toInt() and 0xFFFF)
+            val message = readString(payload, payload.remaining())
+            LogRecord.of(sequence, timestamp, level, tag, thread, message)
+        } catch (e: BufferUnderflowException) {
+            null // Corrupt frame: treat as end of data
+        } catch (e: IllegalArgumentException) {
+            null
+        }
+    }
+
+    private fun readString(buffer: ByteBuffer, length: Int): String {
+        val bytes = ByteArray(length)
+        buffer.get(bytes)
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    /**
+     * Offset after the last complete frame, -1 if the frames are corrupt
+     */
+    private fun scanEnd(buffer: ByteBuffer): Int {
+        var position = HEADER_SIZE
+        while (position + 4 <= segmentSize) {
+            val length = buffer.getInt(position)
+            if (length == 0) return position
+            if (length < FIXED_PAYLOAD_SIZE || position + 4 + length > segmentSize) return -1
+            position += 4 + length
+        }
+        return position
+    }
+
+    // ========== Files ==========
+
+    private fun hasHeader(buffer: ByteBuffer): Boolean =
+        buffer.getInt(0) == MAGIC && buffer.getShort(4) == VERSION
+
+    private fun segmentNumbers(): List<Long> =
+        directory.listFiles { file -> file.name.endsWith(EXTENSION) }
+            .orEmpty()
+            .mapNotNull { it.name.removeSuffix(EXTENSION).toLongOrNull() }
+            .sorted()
+
+    private fun segmentFile(number: Long) = File(directory, "%08d%s".format(number, EXTENSION))
+
+    /**
+     * Map a whole segment; READ_WRITE creates (zero-filled) files
+     * The channel can be closed right away - the mapping stays valid.
+     */
+    private fun map(file: File, mode: FileChannel.MapMode): MappedByteBuffer {
+        val options = if (mode == FileChannel.MapMode.READ_WRITE) {
+            arrayOf(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)
+        } else {
+            arrayOf(StandardOpenOption.READ)
+        }
+        return FileChannel.open(file.toPath(), *options).use { channel ->
+            if (mode == FileChannel.MapMode.READ_ONLY && channel.size() < segmentSize) {
+                throw IOException("Incomplete segment: $file")
+            }
+            channel.map(mode, 0, segmentSize.toLong())
+        }
+    }
+
+    /**
+     * UTF-8 bytes of [text], cut to at most [maxBytes] (at a character boundary)
+     */
+    private fun utf8(text: String, maxBytes: Int): ByteArray {
+        val bytes = text.toByteArray(Charsets.UTF_8)
+        if (bytes.size <= maxBytes) return bytes
+        var end = maxOf(maxBytes, 0)
+        while (end > 0 && (bytes[end].toInt() and 0xC0) == 0x80) end-- // Don't split a character
+        return bytes.copyOf(end)
+    }
+}
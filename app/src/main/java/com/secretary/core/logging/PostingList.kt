@@ -0,0 +1,82 @@
+package com.secretary.core.logging
+
+/**
+ * Ascending list of longs (record sequence numbers or timestamps) for LogIndex.
+ *
+ * Values are appended at the end and dropped from the front as the ring
+ * overwrites old records, like a queue over a LongArray - no boxing, and
+ * the array is compacted or grown only when it runs out of room.
+ */
+class PostingList(initialCapacity: Int = 16) {
+
+    private var values = LongArray(initialCapacity.coerceAtLeast(1))
+    private var head = 0
+    private var tail = 0
+
+    /**
+     * Number of values
+     */
+    val size: Int
+        get() = tail - head
+
+    fun isEmpty(): Boolean = tail == head
+
+    /**
+     * Value at [index] (0 = oldest)
+     */
+    operator fun get(index: Int): Long = values[head + index]
+
+    fun first(): Long = values[head]
+
+    fun last(): Long = values[tail - 1]
+
+    /**
+     * Append a value (not smaller than the last one)
+     */
+    fun add(value: Long) {
+        if (tail == values.size) makeRoom()
+        values[tail++] = value
+    }
+
+    /**
+     * Drop the oldest [count] values
+     */
+    fun dropFirst(count: Int) {
+        head += count.coerceAtMost(size)
+        if (head == tail) {
+            head = 0
+            tail = 0
+        }
+    }
+
+    /**
+     * Index of the first value >= [value] (size if there is none)
+     */
+    fun lowerBound(value: Long): Int {
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (get(mid) < value) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    /**
+     * Whether [value] is in the list (binary search)
+     */
+    operator fun contains(value: Long): Boolean {
+        val index = lowerBound(value)
+        return index < size && get(index) == value
+    }
+
+    private fun makeRoom() {
+        val count = size
+        // Mostly dropped values at the front: shift down instead of growing
+        val target = if (head > values.size / 2) values else LongArray(values.size * 2)
+        System.arraycopy(values, head, target, 0, count)
+        values = target
+        head = 0
+        tail = count
+    }
+}
@@ -0,0 +1,451 @@
+package com.secretary.core.logging
+
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.BufferedWriter
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.OutputStreamWriter
+import java.net.InetAddress
+import java.net.ServerSocket
+import java.net.Socket
+import java.net.SocketException
+import java.net.SocketTimeoutException
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Small HTTP/1.1 server: one accept thread, a bounded pool of connection workers.
+ *
+ * Pure Kotlin (java.net) with NO Android dependencies - HttpLogServer adds
+ * the routes and the IP whitelist.
+ *
+ * - Connections are served by [workers] threads ("http-log-1", ...), so a
+ *   slow client only holds up its own worker. At most [queueSize]
+ *   connections wait for a worker; beyond that a client gets 503 right away.
+ * - Keep-alive: a worker serves requests on its connection until the client
+ *   closes it, asks for "Connection: close", stays idle for
+ *   [idleTimeoutMillis] or has sent [maxRequestsPerConnection] requests.
+ *   While connections are waiting for a worker, responses close the
+ *   connection, so idle clients don't starve new ones.
+ * - Responses are streamed with chunked transfer encoding, gzip-compressed
+ *   when the client sends "Accept-Encoding: gzip". HTTP/1.0 clients don't
+ *   know chunked encoding: they get the plain body, ended by closing the
+ *   connection (so no keep-alive for them).
+ * - Request line and headers must arrive within [requestTimeoutMillis] of
+ *   the connection opening (first request) or of their first byte (later
+ *   requests), and fit in MAX_HEADER_BYTES (otherwise 408 / 431). The
+ *   deadline bounds every read, so a client dripping one byte at a time
+ *   can't hold a worker past it.
+ * - A write that makes no progress for [writeTimeoutMillis] (client stopped
+ *   reading a large /history or /logs response) closes the connection.
+ *   Socket timeouts only bound reads, so a watchdog thread
+ *   ("http-log-watchdog") checks the writes in progress.
+ *
+ * @param handler Creates the response for a request (runs on a worker thread)
+ * @param isClientAllowed Checks the client IP before any request is read (403 otherwise)
+ * @param onError Reports connection failures (e.g. to AppLogger)
+ */
+class StreamingHttpServer(
+    private val handler: (HttpRequest) -> HttpResponse,
+    private val isClientAllowed: (String?) -> Boolean = { true },
+    private val onError: (String, Throwable) -> Unit = { _, _ -> },
+    private val workers: Int = DEFAULT_WORKERS,
+    private val queueSize: Int = DEFAULT_QUEUE_SIZE,
+    private val idleTimeoutMillis: Int = DEFAULT_IDLE_TIMEOUT_MS,
+    private val requestTimeoutMillis: Int = DEFAULT_REQUEST_TIMEOUT_MS,
+    private val maxRequestsPerConnection: Int = DEFAULT_MAX_REQUESTS_PER_CONNECTION,
+    private val writeTimeoutMillis: Int = DEFAULT_WRITE_TIMEOUT_MS
+) {
+
+    companion object {
+        const val DEFAULT_WORKERS = 4
+        const val DEFAULT_QUEUE_SIZE = 16
+        const val DEFAULT_IDLE_TIMEOUT_MS = 5_000
+        const val DEFAULT_REQUEST_TIMEOUT_MS = 10_000
+        const val DEFAULT_MAX_REQUESTS_PER_CONNECTION = 100
+        const val DEFAULT_WRITE_TIMEOUT_MS = 10_000
+        const val MAX_HEADER_BYTES = 8192
+    }
+
+    private var serverSocket: ServerSocket? = null
+    private var acceptThread: Thread? = null
+    private var pool: ThreadPoolExecutor? = null
+    private var watchdog: ScheduledThreadPoolExecutor? = null
+
+    /** Output of every open connection, checked by the watchdog */
+    private val connectionOutputs = ConcurrentHashMap.newKeySet<WriteDeadlineOutputStream>()
+
+    @Volatile
+    private var running = false
+
+    /**
+     * Port the server listens on (useful after binding to port 0)
+     */
+    val localPort: Int
+        get() = serverSocket?.localPort ?: -1
+
+    /**
+     * Bind and start accepting connections in the background
+     */
+    @Synchronized
+    fun start(port: Int, bindAddress: InetAddress) {
+        check(!running) { "Server already running" }
+        val socket = ServerSocket(port, 50, bindAddress).apply { reuseAddress = true }
+        val workerPool = ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            ArrayBlockingQueue(queueSize), namedThreads("http-log")
+        )
+        val checkMillis = maxOf(writeTimeoutMillis / 4, 10).toLong()
+        watchdog = ScheduledThreadPoolExecutor(1, namedThreads("http-log-watchdog")).apply {
+            scheduleWithFixedDelay({ closeStalledWrites() }, checkMillis, checkMillis, TimeUnit.MILLISECONDS)
+        }
+        serverSocket = socket
+        pool = workerPool
+        running = true
+
+        acceptThread = Thread({ acceptLoop(socket, workerPool) }, "http-log-accept").apply {
+            isDaemon = true
+            start()
+        }
+    }
+
+    /**
+     * Stop accepting, close the listening socket and stop the workers (open responses are cut off)
+     */
+    @Synchronized
+    fun stop() {
+        running = false
+        try {
+            serverSocket?.close()
+        } catch (e: IOException) {
+            onError("Error stopping server", e)
+        }
+        pool?.shutdownNow()
+        watchdog?.shutdownNow()
+        serverSocket = null
+        pool = null
+        watchdog = null
+        acceptThread = null
+    }
+
+    // ========== Connections ==========
+
+    private fun acceptLoop(socket: ServerSocket, workerPool: ThreadPoolExecutor) {
+        while (running) {
+            val client = try {
+                socket.accept()
+            } catch (e: IOException) {
+                if (running) onError("Error accepting client", e)
+                continue
+            }
+            try {
+                workerPool.execute { serveConnection(client, workerPool) }
+            } catch (e: RejectedExecutionException) {
+                // All workers busy and the queue full: answer now instead of letting the client hang
+                rejectBusy(client)
+            }
+        }
+    }
+
+    private fun serveConnection(client: Socket, workerPool: ThreadPoolExecutor) {
+        var socketOutput: WriteDeadlineOutputStream? = null
+        try {
+            client.use { socket ->
+                socket.tcpNoDelay = true
+                val input = BufferedInputStream(socket.getInputStream())
+                val output = BufferedOutputStream(WriteDeadlineOutputStream(socket).also {
+                    socketOutput = it
+                    connectionOutputs.add(it)
+                })
+
+                if (!isClientAllowed(socket.inetAddress?.hostAddress)) {
+                    writeSimple(output, 403, "Forbidden", "Access denied. IP ${socket.inetAddress?.hostAddress} not whitelisted.")
+                    return
+                }
+
+                var served = 0
+                while (running) {
+                    val request = try {
+                        readRequest(socket, input, served == 0) ?: return // Client closed the connection
+                    } catch (e: SocketTimeoutException) {
+                        // Idle keep-alive connection: no request started, just close
+                        return
+                    } catch (e: RequestTimeoutException) {
+                        writeSimple(output, 408, "Request Timeout", "Request timed out")
+                        return
+                    } catch (e: RequestTooLargeException) {
+                        writeSimple(output, 431, "Request Header Fields Too Large", "Request headers too large")
+                        return
+                    } catch (e: MalformedRequestException) {
+                        writeSimple(output, 400, "Bad Request", e.message.orEmpty())
+                        return
+                    }
+                    served++
+
+                    val keepAlive = request.keepAlive &&
+                        request.version == "HTTP/1.1" && // HTTP/1.0 bodies end with the connection
+                        served < maxRequestsPerConnection &&
+                        workerPool.queue.isEmpty()
+                    respond(request, output, keepAlive)
+                    if (!keepAlive) return
+                }
+            }
+        } catch (e: SocketException) {
+            // Client went away mid-response (closed curl, broken pipe) or stopped reading: nothing to report
+        } catch (e: Exception) {
+            onError("Error handling connection: ${e.message}", e)
+        } finally {
+            socketOutput?.let { connectionOutputs.remove(it) }
+        }
+    }
+
+    // ========== Write deadline ==========
+
+    /**
+     * Socket output that records when the write in progress started
+     */
+    private class WriteDeadlineOutputStream(val socket: Socket) : OutputStream() {
+        private val output = socket.getOutputStream()
+
+        /** Start of the blocking write in progress (epoch millis), 0 between writes */
+        @Volatile
+        var writingSince = 0L
+            private set
+
+        override fun write(b: Int) = timed { output.write(b) }
+
+        override fun write(b: ByteArray, off: Int, len: Int) = timed { output.write(b, off, len) }
+
+        override fun flush() = timed { output.flush() }
+
+        private inline fun timed(write: () -> Unit) {
+            writingSince = System.currentTimeMillis()
+            try {
+                write()
+            } finally {
+                writingSince = 0L
+            }
+        }
+    }
+
+    /**
+     * Close connections whose current write has blocked longer than writeTimeoutMillis
+     * The blocked worker gets a SocketException and moves on to the next connection.
+     */
+    private fun closeStalledWrites() {
+        val now = System.currentTimeMillis()
+        for (output in connectionOutputs) {
+            val since = output.writingSince
+            if (since != 0L && now - since > writeTimeoutMillis) {
+                try {
+                    output.socket.close()
+                } catch (e: IOException) {
+                    // Closing anyway
+                }
+            }
+        }
+    }
+
+    private fun respond(request: HttpRequest, output: OutputStream, keepAlive: Boolean) {
+        val response = when (request.method) {
+            "GET", "HEAD" -> try {
+                handler(request)
+            } catch (e: Exception) {
+                onError("Error handling request $request: ${e.message}", e)
+                HttpResponse.text("Internal error: ${e.message}", 500, "Internal Server Error")
+            }
+            else -> HttpResponse.text("Method not allowed: ${request.method}", 405, "Method Not Allowed")
+        }
+        try {
+            writeResponse(request, response, output, keepAlive)
+        } finally {
+            response.onClose()
+        }
+    }
+
+    private fun writeResponse(request: HttpRequest, response: HttpResponse, output: OutputStream, keepAlive: Boolean) {
+        val gzip = request.acceptsGzip
+        val chunked = request.version == "HTTP/1.1"
+
+        val head = buildString {
+            append("HTTP/1.1 ${response.status} ${response.reason}\r\n")
+            append("Content-Type: ${response.contentType}\r\n")
+            if (chunked) append("Transfer-Encoding: chunked\r\n")
+            if (gzip) append("Content-Encoding: gzip\r\n")
+            append("Vary: Accept-Encoding\r\n")
+            response.headers.forEach { (name, value) -> append("$name: $value\r\n") }
+            append("Connection: ${if (keepAlive) "keep-alive" else "close"}\r\n")
+            append("\r\n")
+        }
+        output.write(head.toByteArray(Charsets.US_ASCII))
+
+        if (request.method == "HEAD") {
+            output.flush()
+            return
+        }
+
+        // HTTP/1.0: no framing, serveConnection closes the connection after the body
+        val framed = if (chunked) ChunkedOutputStream(output) else output
+        // syncFlush: a flush by the body (event streams) pushes the compressed bytes out too
+        val encoded: OutputStream = if (gzip) GZIPOutputStream(framed, ChunkedOutputStream.DEFAULT_CHUNK_SIZE, true) else framed
+        val writer = BufferedWriter(OutputStreamWriter(encoded, Charsets.UTF_8), ChunkedOutputStream.DEFAULT_CHUNK_SIZE)
+        response.body(writer)
+        writer.flush()
+        if (encoded is GZIPOutputStream) encoded.finish()
+        if (framed is ChunkedOutputStream) framed.finish() else framed.flush()
+    }
+
+    private fun rejectBusy(client: Socket) {
+        try {
+            client.use {
+                it.soTimeout = 1_000
+                writeSimple(BufferedOutputStream(it.getOutputStream()), 503, "Service Unavailable", "Server busy, try again")
+            }
+        } catch (e: IOException) {
+            // Client already gone
+        }
+    }
+
+    /**
+     * Short response with Content-Length that closes the connection
+     */
+    private fun writeSimple(output: OutputStream, status: Int, reason: String, text: String) {
+        val body = text.toByteArray(Charsets.UTF_8)
+        val head = "HTTP/1.1 $status $reason\r\n" +
+            "Content-Type: ${HttpResponse.TEXT_PLAIN}\r\n" +
+            "Content-Length: ${body.size}\r\n" +
+            "Connection: close\r\n\r\n"
+        output.write(head.toByteArray(Charsets.US_ASCII))
+        output.write(body)
+        output.flush()
+    }
+
+    // ========== Request parsing ==========
+
+    private class RequestTooLargeException : IOException()
+
+    private class RequestTimeoutException : IOException()
+
+    private class MalformedRequestException(message: String) : IOException(message)
+
+    /**
+     * Read request line and headers; null if the connection was closed before a request
+     * Request bodies (Content-Length) are read and dropped.
+     *
+     * The first request must be complete within requestTimeoutMillis of the call.
+     * Later requests on a keep-alive connection may take idleTimeoutMillis to
+     * start (SocketTimeoutException otherwise); the deadline runs from their first byte.
+     *
+     * @throws RequestTimeoutException if the deadline passed before the headers were complete
+     */
+    private fun readRequest(socket: Socket, input: InputStream, firstRequest: Boolean): HttpRequest? {
+        val deadline = if (firstRequest) {
+            System.currentTimeMillis() + requestTimeoutMillis
+        } else {
+            socket.soTimeout = idleTimeoutMillis
+            input.mark(1)
+            if (input.read() == -1) return null
+            input.reset()
+            System.currentTimeMillis() + requestTimeoutMillis
+        }
+        var budget = MAX_HEADER_BYTES
+
+        var requestLine: String
+        do {
+            requestLine = readLine(socket, input, budget, deadline) ?: return null
+            budget -= requestLine.length + 2
+        } while (requestLine.isEmpty()) // Tolerate blank lines between requests
+
+        val parts = requestLine.split(" ")
+        if (parts.size != 3 || !parts[2].startsWith("HTTP/")) {
+            throw MalformedRequestException("Malformed request line: $requestLine")
+        }
+
+        val headers = HashMap<String, String>()
+        while (true) {
+            val line = readLine(socket, input, budget, deadline) ?: throw MalformedRequestException("Connection closed in headers")
+            budget -= line.length + 2
+            if (line.isEmpty()) break
+            val colon = line.indexOf(':')
+            if (colon <= 0) throw MalformedRequestException("Malformed header: $line")
+            headers[line.substring(0, colon).trim().lowercase()] = line.substring(colon + 1).trim()
+        }
+
+        headers["content-length"]?.toLongOrNull()?.let { length -> skipFully(socket, input, length, deadline) }
+
+        val target = parts[1]
+        val question = target.indexOf('?')
+        return HttpRequest(
+            method = parts[0],
+            path = if (question >= 0) target.substring(0, question) else target,
+            query = if (question >= 0) target.substring(question + 1) else null,
+            version = parts[2],
+            headers = headers
+        )
+    }
+
+    /**
+     * One CRLF- (or LF-) terminated line as ISO-8859-1; null at end of stream before any byte
+     */
+    private fun readLine(socket: Socket, input: InputStream, maxBytes: Int, deadline: Long): String? {
+        val line = StringBuilder()
+        while (true) {
+            val b = readBefore(socket, input, deadline)
+            when {
+                b == -1 -> return if (line.isEmpty()) null else throw MalformedRequestException("Connection closed mid-line")
+                b == '\n'.code -> return line.toString().removeSuffix("\r")
+                line.length >= maxBytes -> throw RequestTooLargeException()
+                else -> line.append(b.toChar())
+            }
+        }
+    }
+
+    private fun skipFully(socket: Socket, input: InputStream, length: Long, deadline: Long) {
+        var remaining = length
+        while (remaining > 0) {
+            val skipped = if (input.available() > 0) input.skip(minOf(remaining, input.available().toLong())) else 0L
+            if (skipped <= 0) {
+                if (readBefore(socket, input, deadline) == -1) return
+                remaining--
+            } else {
+                remaining -= skipped
+            }
+        }
+    }
+
+    /**
+     * Read one byte, blocking no longer than until the deadline
+     * Buffered bytes are returned without touching the socket timeout.
+     */
+    private fun readBefore(socket: Socket, input: InputStream, deadline: Long): Int {
+        if (input.available() == 0) {
+            val remaining = deadline - System.currentTimeMillis()
+            if (remaining <= 0) throw RequestTimeoutException()
+            socket.soTimeout = remaining.toInt()
+        }
+        return try {
+            input.read()
+        } catch (e: SocketTimeoutException) {
+            throw RequestTimeoutException()
+        }
+    }
+
+    /**
+     * Daemon threads named "<prefix>-1", "<prefix>-2", ...
+     */
+    private fun namedThreads(prefix: String): ThreadFactory {
+        val count = AtomicInteger()
+        return ThreadFactory { runnable ->
+            Thread(runnable, "$prefix-${count.incrementAndGet()}").apply { isDaemon = true }
+        }
+    }
+}
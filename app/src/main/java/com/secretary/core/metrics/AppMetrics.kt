@@ -0,0 +1,53 @@
+package com.secretary.core.metrics
+
+/**
+ * The app's metrics registry, served by HttpLogServer at /metrics.
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Components take their OperationTimers as constructor parameters with
+ * these as defaults (like DatabaseExecutors for dispatchers), so tests can
+ * pass a registry of their own.
+ *
+ * Usage:
+ *   curl http://localhost:8080/metrics
+ *   histogram_quantile(0.95, rate(secretary_repository_duration_seconds_bucket[5m]))
+ */
+object AppMetrics {
+
+    const val REPOSITORY_SECONDS = "secretary_repository_duration_seconds"
+    const val USE_CASE_SECONDS = "secretary_use_case_duration_seconds"
+    const val UI_SECONDS = "secretary_ui_duration_seconds"
+
+    val registry = MetricsRegistry()
+
+    init {
+        val runtime = Runtime.getRuntime()
+        registry.gauge("secretary_jvm_heap_used_bytes", "Heap in use") {
+            (runtime.totalMemory() - runtime.freeMemory()).toDouble()
+        }
+        registry.gauge("secretary_jvm_heap_max_bytes", "Maximum heap size") {
+            runtime.maxMemory().toDouble()
+        }
+    }
+
+    /**
+     * Timers for the operations of a repository (DAO call plus mapping, on the database threads)
+     */
+    fun repositoryTimers(repository: String, metrics: MetricsRegistry = registry) = OperationTimers(
+        metrics, REPOSITORY_SECONDS, "Repository calls including the database query", mapOf("repository" to repository)
+    )
+
+    /**
+     * Timers for the operations of a use case (including failed calls)
+     */
+    fun useCaseTimers(useCase: String, metrics: MetricsRegistry = registry) = OperationTimers(
+        metrics, USE_CASE_SECONDS, "Use case calls", mapOf("use_case" to useCase)
+    )
+
+    /**
+     * Timers for the screen-level operations of a ViewModel
+     */
+    fun uiTimers(screen: String, metrics: MetricsRegistry = registry) = OperationTimers(
+        metrics, UI_SECONDS, "Time until a screen operation shows its result", mapOf("screen" to screen)
+    )
+}
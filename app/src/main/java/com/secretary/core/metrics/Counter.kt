@@ -0,0 +1,30 @@
+package com.secretary.core.metrics
+
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Monotonic counter (e.g. requests served, records dropped).
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Backed by a LongAdder: concurrent increments go to separate cells
+ * instead of contending on one value, and nothing is allocated once the
+ * cells exist.
+ */
+class Counter {
+
+    private val value = LongAdder()
+
+    fun increment() {
+        value.increment()
+    }
+
+    fun add(amount: Long) {
+        require(amount >= 0) { "Counters only go up, amount was $amount" }
+        value.add(amount)
+    }
+
+    /**
+     * Current total
+     */
+    fun get(): Long = value.sum()
+}
@@ -0,0 +1,15 @@
+package com.secretary.core.metrics
+
+/**
+ * Value sampled when metrics are scraped (queue length, heap in use, ...).
+ *
+ * Nothing is recorded in between: [read] is called once per /metrics
+ * request, so it should be cheap and must not block.
+ */
+class Gauge(private val read: () -> Double) {
+
+    /**
+     * Current value
+     */
+    fun get(): Double = read()
+}
@@ -0,0 +1,112 @@
+package com.secretary.core.metrics
+
+import java.math.BigDecimal
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Latency histogram with log-scaled buckets (powers of two nanoseconds).
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * Bucket i counts durations up to 2^(MIN_SHIFT + i) ns: the first one
+ * ends at ~1 µs, the last finite one at ~34 s, anything longer goes to
+ * the overflow (+Inf) bucket. Every bucket is twice as wide as the one
+ * before, so the relative error stays the same from microsecond queries
+ * to multi-second transactions, with BUCKETS counters in total.
+ *
+ * record() finds the bucket from the number of leading zero bits and does
+ * two atomic adds - no locks, no allocation - so it can be called around
+ * every DAO query.
+ */
+class Histogram {
+
+    companion object {
+        /** Upper bound of the first bucket: 2^10 ns ≈ 1 µs */
+        const val MIN_SHIFT = 10
+
+        /** Finite buckets (up to 2^35 ns ≈ 34 s) plus the overflow bucket */
+        const val BUCKETS = 27
+
+        /**
+         * Bucket for a duration
+         */
+        fun bucketOf(nanos: Long): Int {
+            if (nanos <= 1L shl MIN_SHIFT) return 0
+            // Smallest k with nanos <= 2^k
+            val shift = 64 - java.lang.Long.numberOfLeadingZeros(nanos - 1)
+            return (shift - MIN_SHIFT).coerceAtMost(BUCKETS - 1)
+        }
+
+        /**
+         * Upper bound of a finite bucket in nanoseconds
+         */
+        fun upperBoundNanos(bucket: Int): Long = 1L shl (MIN_SHIFT + bucket)
+
+        /**
+         * Upper bounds in seconds as exact decimals ("0.000001024"), for the le= labels
+         */
+        internal val upperBoundLabels: Array<String> = Array(BUCKETS - 1) { bucket ->
+            BigDecimal.valueOf(upperBoundNanos(bucket)).movePointLeft(9).stripTrailingZeros().toPlainString()
+        }
+    }
+
+    private val buckets = AtomicLongArray(BUCKETS)
+    private val sumNanos = LongAdder()
+
+    /**
+     * Record one duration (negative values count as 0)
+     */
+    fun record(nanos: Long) {
+        val value = nanos.coerceAtLeast(0)
+        buckets.incrementAndGet(bucketOf(value))
+        sumNanos.add(value)
+    }
+
+    /**
+     * Run [block] and record how long it took (also when it throws)
+     * Inlined, so timing a suspend call allocates nothing either.
+     */
+    inline fun <T> time(block: () -> T): T {
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            record(System.nanoTime() - start)
+        }
+    }
+
+    /**
+     * Copy of the current counts
+     */
+    fun snapshot(): Snapshot {
+        val counts = LongArray(BUCKETS) { buckets.get(it) }
+        return Snapshot(counts, sumNanos.sum())
+    }
+
+    /**
+     * Counts per bucket (not cumulative) and the sum of all recorded durations
+     */
+    class Snapshot(val counts: LongArray, val sumNanos: Long) {
+
+        val count: Long
+            get() = counts.sum()
+
+        /**
+         * Upper bound of the bucket holding the given quantile (0..1), in nanoseconds;
+         * Long.MAX_VALUE if it is in the overflow bucket, 0 without any values
+         */
+        fun quantileUpperBound(quantile: Double): Long {
+            val total = count
+            if (total == 0L) return 0
+            val rank = Math.ceil(quantile.coerceIn(0.0, 1.0) * total).toLong().coerceAtLeast(1)
+            var seen = 0L
+            for (bucket in counts.indices) {
+                seen += counts[bucket]
+                if (seen >= rank) {
+                    return if (bucket == BUCKETS - 1) Long.MAX_VALUE else upperBoundNanos(bucket)
+                }
+            }
+            return Long.MAX_VALUE
+        }
+    }
+}
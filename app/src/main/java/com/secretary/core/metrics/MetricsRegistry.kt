@@ -0,0 +1,143 @@
+package com.secretary.core.metrics
+
+import java.io.Writer
+
+/**
+ * Named counters, gauges and histograms, written in the Prometheus text format.
+ *
+ * Pure Kotlin with NO Android dependencies.
+ * A metric is a family (name, HELP text, type) with one series per label
+ * set. Registering the same name and labels again returns the existing
+ * instrument, so components can ask for theirs in a constructor without
+ * coordinating; only gauges are replaced, since their read function
+ * usually captures the object that registers them.
+ *
+ * Registration takes a lock; recording on the returned instruments
+ * doesn't touch the registry at all.
+ */
+class MetricsRegistry {
+
+    companion object {
+        const val CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8"
+
+        private val NAME = Regex("[a-zA-Z_:][a-zA-Z0-9_:]*")
+        private val LABEL_NAME = Regex("[a-zA-Z_][a-zA-Z0-9_]*")
+    }
+
+    private enum class Type(val text: String) { COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram") }
+
+    private class Family(val name: String, val help: String, val type: Type) {
+        val series = LinkedHashMap<Map<String, String>, Any>()
+    }
+
+    private val families = LinkedHashMap<String, Family>()
+
+    // ========== Registration ==========
+
+    /**
+     * Counter [name] with [labels] (Prometheus convention: name ends in _total)
+     */
+    fun counter(name: String, help: String, labels: Map<String, String> = emptyMap()): Counter =
+        register(name, help, Type.COUNTER, labels, replace = false) { Counter() } as Counter
+
+    /**
+     * Gauge [name] with [labels], sampled by [read] on every scrape (replaces an earlier one)
+     */
+    fun gauge(name: String, help: String, labels: Map<String, String> = emptyMap(), read: () -> Double): Gauge =
+        register(name, help, Type.GAUGE, labels, replace = true) { Gauge(read) } as Gauge
+
+    /**
+     * Latency histogram [name] with [labels], exported in seconds (name should end in _seconds)
+     */
+    fun histogram(name: String, help: String, labels: Map<String, String> = emptyMap()): Histogram =
+        register(name, help, Type.HISTOGRAM, labels, replace = false) { Histogram() } as Histogram
+
+    @Synchronized
+    private fun register(
+        name: String,
+        help: String,
+        type: Type,
+        labels: Map<String, String>,
+        replace: Boolean,
+        create: () -> Any
+    ): Any {
+        require(NAME.matches(name)) { "Invalid metric name: $name" }
+        labels.keys.forEach { label ->
+            require(LABEL_NAME.matches(label) && !label.startsWith("__") && label != "le") {
+                "Invalid label name for $name: $label"
+            }
+        }
+        val family = families.getOrPut(name) { Family(name, help, type) }
+        require(family.type == type) { "Metric $name is already registered as a ${family.type.text}" }
+
+        val existing = family.series[labels]
+        if (existing != null && !replace) return existing
+        return create().also { family.series[labels.toMap()] = it }
+    }
+
+    // ========== Exposition ==========
+
+    /**
+     * Write all metrics in the Prometheus text exposition format (version 0.0.4)
+     * Histogram buckets are cumulative, with le= bounds, _sum and _count in seconds.
+     */
+    fun writePrometheus(writer: Writer) {
+        for (family in snapshotFamilies()) {
+            writer.write("# HELP ${family.name} ${escapeHelp(family.help)}\n")
+            writer.write("# TYPE ${family.name} ${family.type.text}\n")
+            for ((labels, metric) in family.series) {
+                when (metric) {
+                    is Counter -> writeSample(writer, family.name, labels, metric.get().toString())
+                    is Gauge -> writeSample(writer, family.name, labels, formatValue(metric.get()))
+                    is Histogram -> writeHistogram(writer, family.name, labels, metric.snapshot())
+                }
+            }
+        }
+    }
+
+    /**
+     * Families with a copy of their series, so scrapes don't hold the lock while reading gauges
+     */
+    @Synchronized
+    private fun snapshotFamilies(): List<Family> = families.values.map { family ->
+        Family(family.name, family.help, family.type).also { it.series.putAll(family.series) }
+    }
+
+    private fun writeHistogram(writer: Writer, name: String, labels: Map<String, String>, snapshot: Histogram.Snapshot) {
+        var cumulative = 0L
+        for (bucket in 0 until Histogram.BUCKETS - 1) {
+            cumulative += snapshot.counts[bucket]
+            writeSample(writer, "${name}_bucket", labels + ("le" to Histogram.upperBoundLabels[bucket]), cumulative.toString())
+        }
+        cumulative += snapshot.counts[Histogram.BUCKETS - 1]
+        writeSample(writer, "${name}_bucket", labels + ("le" to "+Inf"), cumulative.toString())
+        writeSample(writer, "${name}_sum", labels, formatValue(snapshot.sumNanos / 1e9))
+        writeSample(writer, "${name}_count", labels, cumulative.toString())
+    }
+
+    private fun writeSample(writer: Writer, name: String, labels: Map<String, String>, value: String) {
+        writer.write(name)
+        if (labels.isNotEmpty()) {
+            writer.write(labels.entries.joinToString(",", "{", "}") { (key, labelValue) ->
+                "$key=\"${escapeLabel(labelValue)}\""
+            })
+        }
+        writer.write(" ")
+        writer.write(value)
+        writer.write("\n")
+    }
+
+    private fun formatValue(value: Double): String = when {
+        value.isNaN() -> "NaN"
+        value == Double.POSITIVE_INFINITY -> "+Inf"
+        value == Double.NEGATIVE_INFINITY -> "-Inf"
+        value == Math.rint(value) && Math.abs(value) < 1e15 -> value.toLong().toString()
+        else -> value.toString()
+    }
+
+    private fun escapeHelp(text: String): String =
+        text.replace("\\", "\\\\").replace("\n", "\\n")
+
+    private fun escapeLabel(text: String): String =
+        text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")
+}
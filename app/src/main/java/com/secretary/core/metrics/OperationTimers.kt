@@ -0,0 +1,40 @@
+package com.secretary.core.metrics
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * One latency histogram per operation of a component, in a metric family.
+ *
+ * Each operation becomes a series of [name] with the fixed [labels] plus
+ * operation="<operation>", e.g.
+ * secretary_repository_duration_seconds{repository="TaskRepository",operation="getAllTasks"}.
+ * The histogram is registered on first use; afterwards looking it up is a
+ * ConcurrentHashMap read by a constant String key, which allocates nothing.
+ *
+ * @param registry Registry the histograms are added to
+ * @param name Metric name shared by all operations
+ * @param help HELP text of the metric
+ * @param labels Labels identifying the component
+ */
+class OperationTimers(
+    private val registry: MetricsRegistry,
+    private val name: String,
+    private val help: String,
+    private val labels: Map<String, String> = emptyMap()
+) {
+
+    private val histograms = ConcurrentHashMap<String, Histogram>()
+
+    /**
+     * Histogram of an operation
+     */
+    operator fun get(operation: String): Histogram =
+        histograms[operation] ?: histograms.computeIfAbsent(operation) {
+            registry.histogram(name, help, labels + ("operation" to operation))
+        }
+
+    /**
+     * Run [block] and record its duration for [operation]
+     */
+    inline fun <T> time(operation: String, block: () -> T): T = get(operation).time(block)
+}
@@ -0,0 +1,79 @@
+package com.secretary.features.statistics.data
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * Room Entity for completion_daily_rollup table (schema v8).
+ *
+ * One row per local day with completions, pre-aggregated from completions,
+ * so statistics read a handful of rows (O(days)) instead of scanning every
+ * completion. Rows are maintained by SQLite triggers (see TRIGGERS) on every
+ * insert and delete of completions - including cascaded deletes when a task
+ * is removed - so no Kotlin write path can forget to update them.
+ *
+ * day is the local calendar day as days since 1970-01-01
+ * (LocalDate.toEpochDay()), computed with SQLite's 'localtime', i.e. the
+ * device time zone at the time the completion is written.
+ */
+@Entity(tableName = "completion_daily_rollup")
+data class CompletionDailyRollupEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "day")
+    val day: Long,
+
+    @ColumnInfo(name = "completion_count")
+    val completionCount: Int = 0,
+
+    @ColumnInfo(name = "total_minutes")
+    val totalMinutes: Int = 0,
+
+    @ColumnInfo(name = "difficulty_sum")
+    val difficultySum: Int = 0
+) {
+    companion object {
+        /**
+         * Local epoch day of a completions row (completed_at is epoch millis)
+         */
+        private fun localDay(row: String) =
+            "CAST(julianday($row.completed_at / 1000, 'unixepoch', 'localtime') - 2440587.5 AS INTEGER)"
+
+        /**
+         * Triggers keeping the rollup in sync with completions.
+         * Created by TaskDatabase on create and in MIGRATION_7_8.
+         * INSERT OR IGNORE + UPDATE instead of UPSERT: minSdk 28 ships SQLite 3.22.
+         */
+        val TRIGGERS = listOf(
+            "CREATE TRIGGER IF NOT EXISTS completion_daily_rollup_after_insert " +
+                "AFTER INSERT ON completions BEGIN " +
+                "INSERT OR IGNORE INTO completion_daily_rollup (day, completion_count, total_minutes, difficulty_sum) " +
+                "VALUES (${localDay("NEW")}, 0, 0, 0); " +
+                "UPDATE completion_daily_rollup SET " +
+                "completion_count = completion_count + 1, " +
+                "total_minutes = total_minutes + NEW.time_spent_minutes, " +
+                "difficulty_sum = difficulty_sum + NEW.difficulty " +
+                "WHERE day = ${localDay("NEW")}; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS completion_daily_rollup_after_delete " +
+                "AFTER DELETE ON completions BEGIN " +
+                "UPDATE completion_daily_rollup SET " +
+                "completion_count = completion_count - 1, " +
+                "total_minutes = total_minutes - OLD.time_spent_minutes, " +
+                "difficulty_sum = difficulty_sum - OLD.difficulty " +
+                "WHERE day = ${localDay("OLD")}; " +
+                "DELETE FROM completion_daily_rollup WHERE day = ${localDay("OLD")} AND completion_count <= 0; " +
+                "END"
+        )
+
+        /**
+         * Rebuild all rollup rows from completions (migration / repair)
+         */
+        val REBUILD = listOf(
+            "DELETE FROM completion_daily_rollup",
+            "INSERT INTO completion_daily_rollup (day, completion_count, total_minutes, difficulty_sum) " +
+                "SELECT ${localDay("completions")}, COUNT(*), SUM(time_spent_minutes), SUM(difficulty) " +
+                "FROM completions GROUP BY 1"
+        )
+    }
+}
@@ -3,13 +3,17 @@ package com.secretary.features.statistics.data
 import androidx.room.Dao
 import androidx.room.Insert
 import androidx.room.Query
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.model.TaskStatistics
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Room DAO for completions table.
  * Phase 4.5.3 Wave 10 Step 5: Completion Repository Pattern
  *
  * Provides type-safe database queries for completion history and analytics.
- * All methods are suspend functions for Kotlin coroutine support.
+ * Methods are blocking, like TaskDao: CompletionRepositoryImpl runs them on
+ * the database pools (DatabaseExecutors) and times them there.
  */
 @Dao
 interface CompletionDao {
@@ -21,25 +25,25 @@ interface CompletionDao {
      * @return The ID of the inserted completion
      */
     @Insert
-    suspend fun insertCompletion(completion: CompletionEntity): Long
+    fun insertCompletion(completion: CompletionEntity): Long
 
     /**
      * Get all completion records for a specific task
      */
     @Query("SELECT * FROM completions WHERE task_id = :taskId ORDER BY completed_at DESC")
-    suspend fun getCompletionsForTask(taskId: Long): List<CompletionEntity>
+    fun getCompletionsForTask(taskId: Long): List<CompletionEntity>
 
     /**
      * Get completion history for all tasks
      */
     @Query("SELECT * FROM completions ORDER BY completed_at DESC")
-    suspend fun getAllCompletions(): List<CompletionEntity>
+    fun getAllCompletions(): List<CompletionEntity>
 
     /**
      * Get completions after a specific timestamp
      */
     @Query("SELECT * FROM completions WHERE completed_at >= :timestamp ORDER BY completed_at DESC")
-    suspend fun getCompletionsAfter(timestamp: Long): List<CompletionEntity>
+    fun getCompletionsAfter(timestamp: Long): List<CompletionEntity>
 
     // ========== Statistics Queries ==========
 
@@ -47,31 +51,91 @@ interface CompletionDao {
      * Get average completion time for a specific task
      */
     @Query("SELECT AVG(time_spent_minutes) FROM completions WHERE task_id = :taskId AND time_spent_minutes > 0")
-    suspend fun getAverageCompletionTime(taskId: Long): Int?
+    fun getAverageCompletionTime(taskId: Long): Int?
 
     /**
      * Get count of completions for a task
      */
     @Query("SELECT COUNT(*) FROM completions WHERE task_id = :taskId")
-    suspend fun getCompletionCount(taskId: Long): Int
+    fun getCompletionCount(taskId: Long): Int
 
     /**
      * Get count of completions after a specific timestamp
      */
     @Query("SELECT COUNT(*) FROM completions WHERE completed_at >= :timestamp")
-    suspend fun getCompletionCountAfter(timestamp: Long): Int
+    fun getCompletionCountAfter(timestamp: Long): Int
 
     /**
      * Get average difficulty for a task
      */
     @Query("SELECT AVG(difficulty) FROM completions WHERE task_id = :taskId")
-    suspend fun getAverageDifficulty(taskId: Long): Double?
+    fun getAverageDifficulty(taskId: Long): Double?
 
     /**
      * Get most recent completion for a task
      */
     @Query("SELECT * FROM completions WHERE task_id = :taskId ORDER BY completed_at DESC LIMIT 1")
-    suspend fun getLatestCompletionForTask(taskId: Long): CompletionEntity?
+    fun getLatestCompletionForTask(taskId: Long): CompletionEntity?
+
+    /**
+     * Observe aggregated statistics across completions and tasks.
+     * One combined query, so a transaction touching both tables triggers a single emission.
+     * Completion counts come from completion_daily_rollup (a few rows per week).
+     *
+     * @param today Local epoch day of today
+     * @param weekStartDay Local epoch day where "this week" starts
+     */
+    @Query(
+        """
+        SELECT
+            (SELECT COALESCE(SUM(completion_count), 0) FROM completion_daily_rollup WHERE day >= :today) AS completedToday,
+            (SELECT COALESCE(SUM(completion_count), 0) FROM completion_daily_rollup WHERE day >= :weekStartDay) AS completedThisWeek,
+            (SELECT COUNT(*) FROM tasks WHERE is_completed = 0) AS activeTasks,
+            (SELECT COUNT(*) FROM tasks) AS totalTasks
+        """
+    )
+    fun observeStatistics(today: Long, weekStartDay: Long): Flow<TaskStatistics>
+
+    // ========== Completion Profiles ==========
+    // One row per task with completions (GROUP BY over index_completions_task_id).
+    // typicalHour is the most frequent local completion hour (ties: the
+    // earlier hour), from a per-hour GROUP BY over the same index. An average
+    // would put a habit around midnight (23:00 and 01:00) at noon.
+
+    /**
+     * Get the completion profile of every task with completions
+     */
+    @Query("SELECT $PROFILE_COLUMNS FROM completions GROUP BY task_id")
+    fun getCompletionProfiles(): List<TaskCompletionProfile>
+
+    /**
+     * Get the completion profiles of some tasks (at most DatabaseConstants.MAX_BIND_IDS ids)
+     */
+    @Query("SELECT $PROFILE_COLUMNS FROM completions WHERE task_id IN (:taskIds) GROUP BY task_id")
+    fun getCompletionProfileChunk(taskIds: List<Long>): List<TaskCompletionProfile>
+
+    // ========== Daily Rollup Queries ==========
+
+    /**
+     * Get number of completions on one local day (e.g. today)
+     * @param day Local epoch day (LocalDate.toEpochDay())
+     */
+    @Query("SELECT COALESCE(SUM(completion_count), 0) FROM completion_daily_rollup WHERE day = :day")
+    fun getCompletionCountForDay(day: Long): Int
+
+    /**
+     * Get number of completions from a local day up to now (e.g. last 7 days)
+     * @param fromDay First local epoch day to include
+     */
+    @Query("SELECT COALESCE(SUM(completion_count), 0) FROM completion_daily_rollup WHERE day >= :fromDay")
+    fun getCompletionCountSinceDay(fromDay: Long): Int
+
+    /**
+     * Get per-day rollups for a day range (histogram source)
+     * Days without completions have no row.
+     */
+    @Query("SELECT * FROM completion_daily_rollup WHERE day BETWEEN :fromDay AND :toDay ORDER BY day ASC")
+    fun getDailyRollups(fromDay: Long, toDay: Long): List<CompletionDailyRollupEntity>
 
     // ========== Advanced Analytics ==========
 
@@ -79,11 +143,29 @@ interface CompletionDao {
      * Get total time spent on a task
      */
     @Query("SELECT SUM(time_spent_minutes) FROM completions WHERE task_id = :taskId")
-    suspend fun getTotalTimeSpentOnTask(taskId: Long): Int?
+    fun getTotalTimeSpentOnTask(taskId: Long): Int?
 
     /**
      * Delete all completions for a task (when task is deleted)
      */
     @Query("DELETE FROM completions WHERE task_id = :taskId")
-    suspend fun deleteCompletionsForTask(taskId: Long)
+    fun deleteCompletionsForTask(taskId: Long)
+
+    companion object {
+        /** Aggregate columns of a TaskCompletionProfile, per task_id group */
+        const val PROFILE_COLUMNS = """
+            task_id AS taskId,
+            COUNT(*) AS completionCount,
+            COALESCE(CAST(AVG(NULLIF(time_spent_minutes, 0)) AS INTEGER), 0) AS averageMinutes,
+            AVG(difficulty) AS averageDifficulty,
+            (
+                SELECT CAST(strftime('%H', hours.completed_at / 1000, 'unixepoch', 'localtime') AS INTEGER) AS hour
+                FROM completions AS hours
+                WHERE hours.task_id = completions.task_id
+                GROUP BY hour
+                ORDER BY COUNT(*) DESC, hour ASC
+                LIMIT 1
+            ) AS typicalHour
+            """
+    }
 }
@@ -0,0 +1,24 @@
+package com.secretary.features.statistics.data
+
+import com.secretary.features.statistics.domain.model.Completion
+
+/**
+ * Mapping between CompletionEntity (database) and Completion (domain model).
+ *
+ * Used by CompletionRepositoryImpl; top-level so the JVM benchmarks can
+ * measure it on its own.
+ */
+
+/**
+ * Convert CompletionEntity to domain Completion model.
+ */
+internal fun CompletionEntity.toDomainModel(): Completion {
+    return Completion(
+        completionId = completionId,
+        taskId = taskId,
+        completedAt = completedAt,
+        timeSpentMinutes = timeSpentMinutes,
+        difficulty = difficulty,
+        notes = notes
+    )
+}
@@ -1,18 +1,44 @@
 package com.secretary.features.statistics.data
 
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
 import com.secretary.features.statistics.domain.model.Completion
+import com.secretary.features.statistics.domain.model.DailyCompletionStats
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.model.TaskStatistics
 import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.shared.database.DatabaseConstants
+import com.secretary.shared.database.DatabaseExecutors
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.withContext
+import java.time.LocalDate
 import java.util.Calendar
 
 /**
  * Implementation of CompletionRepository using Room.
  * Phase 4.5.3 Wave 10 Step 5: Completion Repository Pattern
  *
- * Handles conversion between CompletionEntity (data layer) and Completion (domain layer).
+ * Handles conversion between CompletionEntity (data layer) and Completion (domain layer, see CompletionMappers.kt).
  * Provides completion tracking and statistics operations.
+ * Blocking DAO calls run on the database pools (DatabaseExecutors): reads on
+ * the read threads, so statistics queries don't wait for running writes.
+ *
+ * Each call's time on the database thread (query plus mapping) is recorded
+ * per method in [timers], served at /metrics - the same definition as
+ * TaskRepositoryImpl.
+ *
+ * @param completionDao Room DAO for completions
+ * @param readDispatcher Dispatcher for queries
+ * @param writeDispatcher Dispatcher for inserts
+ * @param timers Latency histograms per repository method
  */
 class CompletionRepositoryImpl(
-    private val completionDao: CompletionDao
+    private val completionDao: CompletionDao,
+    private val readDispatcher: CoroutineDispatcher = DatabaseExecutors.readDispatcher,
+    private val writeDispatcher: CoroutineDispatcher = DatabaseExecutors.writeDispatcher,
+    private val timers: OperationTimers = AppMetrics.repositoryTimers("CompletionRepository")
 ) : CompletionRepository {
 
     override suspend fun saveCompletion(
@@ -20,7 +46,7 @@ class CompletionRepositoryImpl(
         timeSpentMinutes: Int,
         difficulty: Int,
         notes: String?
-    ): Long {
+    ): Long = write("saveCompletion") {
         val entity = CompletionEntity(
             taskId = taskId,
             completedAt = System.currentTimeMillis(),
@@ -28,40 +54,94 @@ class CompletionRepositoryImpl(
             difficulty = difficulty,
             notes = notes
         )
-        return completionDao.insertCompletion(entity)
+        completionDao.insertCompletion(entity)
     }
 
-    override suspend fun getCompletionHistory(taskId: Long): List<Completion> {
+    override suspend fun getCompletionHistory(taskId: Long): List<Completion> = read("getCompletionHistory") {
         val entities = completionDao.getCompletionsForTask(taskId)
-        return entities.map { it.toDomainModel() }
+        entities.map { it.toDomainModel() }
     }
 
-    override suspend fun getCompletionsToday(): List<Completion> {
+    override suspend fun getCompletionsToday(): List<Completion> = read("getCompletionsToday") {
         val todayStart = getTodayStart()
         val entities = completionDao.getCompletionsAfter(todayStart)
-        return entities.map { it.toDomainModel() }
+        entities.map { it.toDomainModel() }
     }
 
-    override suspend fun getCompletionsLast7Days(): List<Completion> {
+    override suspend fun getCompletionsLast7Days(): List<Completion> = read("getCompletionsLast7Days") {
         val weekAgo = getWeekAgoStart()
         val entities = completionDao.getCompletionsAfter(weekAgo)
-        return entities.map { it.toDomainModel() }
+        entities.map { it.toDomainModel() }
     }
 
-    override suspend fun getAverageCompletionTime(taskId: Long): Int {
-        return completionDao.getAverageCompletionTime(taskId) ?: 0
+    override suspend fun getAverageCompletionTime(taskId: Long): Int = read("getAverageCompletionTime") {
+        completionDao.getAverageCompletionTime(taskId) ?: 0
     }
 
-    override suspend fun getCompletionCountToday(): Int {
-        val todayStart = getTodayStart()
-        return completionDao.getCompletionCountAfter(todayStart)
+    override suspend fun getCompletionProfiles(): Map<Long, TaskCompletionProfile> = read("getCompletionProfiles") {
+        completionDao.getCompletionProfiles().associateBy { it.taskId }
     }
 
-    override suspend fun getCompletionCountLast7Days(): Int {
-        val weekAgo = getWeekAgoStart()
-        return completionDao.getCompletionCountAfter(weekAgo)
+    override suspend fun getCompletionProfiles(taskIds: Collection<Long>): Map<Long, TaskCompletionProfile> =
+        read("getCompletionProfilesById") {
+            taskIds.chunked(DatabaseConstants.MAX_BIND_IDS)
+                .flatMap { completionDao.getCompletionProfileChunk(it) }
+                .associateBy { it.taskId }
+        }
+
+    override suspend fun getCompletionCountToday(): Int = read("getCompletionCountToday") {
+        completionDao.getCompletionCountForDay(getToday())
+    }
+
+    override suspend fun getCompletionCountLast7Days(): Int = read("getCompletionCountLast7Days") {
+        completionDao.getCompletionCountSinceDay(getWeekAgoDay())
+    }
+
+    override suspend fun getDailyCompletionHistogram(days: Int): List<DailyCompletionStats> =
+        read("getDailyCompletionHistogram") {
+            require(days >= 1) { "days must be >= 1, was $days" }
+            val today = getToday()
+            val fromDay = today - days + 1
+            val rollups = completionDao.getDailyRollups(fromDay, today).associateBy { it.day }
+
+            (fromDay..today).map { day ->
+                val rollup = rollups[day]
+                DailyCompletionStats(
+                    date = LocalDate.ofEpochDay(day),
+                    completionCount = rollup?.completionCount ?: 0,
+                    totalMinutes = rollup?.totalMinutes ?: 0,
+                    difficultySum = rollup?.difficultySum ?: 0
+                )
+            }
+        }
+
+    override fun observeStatistics(today: Long): Flow<TaskStatistics> {
+        return completionDao.observeStatistics(today, today - 7)
+            .distinctUntilChanged() // Edits that don't change any count don't reach the UI
     }
 
+    /**
+     * Run a query on the read pool, timed as [operation]
+     */
+    private suspend inline fun <T> read(operation: String, crossinline block: () -> T): T =
+        withContext(readDispatcher) { timers.time(operation) { block() } }
+
+    /**
+     * Run a write on the write thread, timed as [operation]
+     */
+    private suspend inline fun <T> write(operation: String, crossinline block: () -> T): T =
+        withContext(writeDispatcher) { timers.time(operation) { block() } }
+
+    /**
+     * Get today as local epoch day (completion_daily_rollup.day).
+     */
+    private fun getToday(): Long = LocalDate.now().toEpochDay()
+
+    /**
+     * Get local epoch day of 7 days ago (same boundary as getWeekAgoStart()).
+     */
+    private fun getWeekAgoDay(): Long = getToday() - 7
+
     /**
      * Get timestamp for start of today (00:00:00.000).
      */
@@ -86,18 +166,4 @@ class CompletionRepositoryImpl(
             set(Calendar.MILLISECOND, 0)
         }.timeInMillis
     }
-
-    /**
-     * Convert CompletionEntity to domain Completion model.
-     */
-    private fun CompletionEntity.toDomainModel(): Completion {
-        return Completion(
-            completionId = completionId,
-            taskId = taskId,
-            completedAt = completedAt,
-            timeSpentMinutes = timeSpentMinutes,
-            difficulty = difficulty,
-            notes = notes
-        )
-    }
 }
@@ -0,0 +1,31 @@
+package com.secretary.features.statistics.domain.model
+
+import java.time.LocalDate
+
+/**
+ * Domain model for the completions of one local calendar day.
+ * Phase 4: Motivation & Statistics
+ *
+ * Pure domain model with NO Android or Room dependencies.
+ * One entry per day of a completion histogram (days without completions have zero counts).
+ *
+ * @property date Local calendar day
+ * @property completionCount Number of completions on that day
+ * @property totalMinutes Sum of tracked time in minutes
+ * @property difficultySum Sum of difficulty ratings (0-10 each)
+ */
+data class DailyCompletionStats(
+    val date: LocalDate,
+    val completionCount: Int,
+    val totalMinutes: Int,
+    val difficultySum: Int
+) {
+    /**
+     * Average difficulty of that day's completions.
+     * @return Average difficulty (0-10), or 0.0 without completions
+     */
+    fun getAverageDifficulty(): Double {
+        if (completionCount == 0) return 0.0
+        return difficultySum.toDouble() / completionCount
+    }
+}
@@ -0,0 +1,23 @@
+package com.secretary.features.statistics.domain.model
+
+/**
+ * Domain model for the completion history of one task, aggregated.
+ * Phase 5: Intelligent Planning
+ *
+ * Pure domain model with NO Android or Room dependencies.
+ * Input of TaskScoringEngine: how long a task usually takes, how hard it
+ * was rated and at which hour of the day it is usually done.
+ *
+ * @property taskId The task the completions belong to
+ * @property completionCount Number of completions
+ * @property averageMinutes Average tracked time in minutes (0 if never tracked)
+ * @property averageDifficulty Average difficulty rating (0-10)
+ * @property typicalHour Most frequent local hour of day of the completions (0-23)
+ */
+data class TaskCompletionProfile(
+    val taskId: Long,
+    val completionCount: Int,
+    val averageMinutes: Int,
+    val averageDifficulty: Double,
+    val typicalHour: Int
+)
@@ -1,6 +1,10 @@
 package com.secretary.features.statistics.domain.repository
 
 import com.secretary.features.statistics.domain.model.Completion
+import com.secretary.features.statistics.domain.model.DailyCompletionStats
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.model.TaskStatistics
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Repository interface for Completion operations.
@@ -52,6 +56,19 @@ interface CompletionRepository {
      */
     suspend fun getAverageCompletionTime(taskId: Long): Int
 
+    /**
+     * Get the completion profiles (average time, difficulty and hour) of all tasks.
+     * @return Profiles by task ID; tasks without completions have none
+     */
+    suspend fun getCompletionProfiles(): Map<Long, TaskCompletionProfile>
+
+    /**
+     * Get the completion profiles of some tasks (e.g. the ones just completed).
+     * @param taskIds Tasks to aggregate
+     * @return Profiles by task ID; tasks without completions have none
+     */
+    suspend fun getCompletionProfiles(taskIds: Collection<Long>): Map<Long, TaskCompletionProfile>
+
     /**
      * Get count of completions today.
      * @return Number of completions today
@@ -63,4 +80,18 @@ interface CompletionRepository {
      * @return Number of completions in last 7 days
      */
     suspend fun getCompletionCountLast7Days(): Int
+
+    /**
+     * Get per-day completion totals for the last [days] local days, including today.
+     * @param days Number of days (>= 1)
+     * @return One entry per day, oldest first; days without completions have zero counts
+     */
+    suspend fun getDailyCompletionHistogram(days: Int): List<DailyCompletionStats>
+
+    /**
+     * Observe aggregated statistics (completions today / last 7 days, active and total tasks).
+     * @param today Local epoch day counted as today (GetStatisticsUseCase moves it at midnight)
+     * @return Flow emitting after every committed change to tasks or completions
+     */
+    fun observeStatistics(today: Long): Flow<TaskStatistics>
 }
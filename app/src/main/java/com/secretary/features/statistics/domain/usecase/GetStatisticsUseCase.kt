@@ -1,9 +1,25 @@
 package com.secretary.features.statistics.domain.usecase
 
-import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.statistics.domain.model.DailyCompletionStats
 import com.secretary.features.statistics.domain.model.TaskStatistics
 import com.secretary.features.statistics.domain.repository.CompletionRepository
 import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.merge
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
 
 /**
  * Use Case: Get Task Statistics
@@ -14,12 +30,25 @@ import com.secretary.features.tasks.domain.repository.TaskRepository
  *
  * @param completionRepository Repository for completion data
  * @param taskRepository Repository for task data
+ * @param timers Latency histograms for invoke, observe (first statistics of a day) and getDailyHistogram
+ * @param clock Current time source (replaceable in tests)
+ * @param zone Current time zone (read on every check, so zone changes apply)
  */
 class GetStatisticsUseCase(
     private val completionRepository: CompletionRepository,
-    private val taskRepository: TaskRepository
+    private val taskRepository: TaskRepository,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("GetStatisticsUseCase"),
+    private val clock: () -> Long = System::currentTimeMillis,
+    private val zone: () -> ZoneId = ZoneId::systemDefault
 ) {
 
+    companion object {
+        /** Longest wait between two looks at the date, so a changed wall clock is noticed even without checkDay() */
+        const val MAX_DAY_CHECK_MILLIS = 15 * 60 * 1000L
+    }
+
+    private val dayChecks = MutableSharedFlow<Unit>(extraBufferCapacity = 1, onBufferOverflow = BufferOverflow.DROP_OLDEST)
+
     /**
      * Retrieve aggregated task statistics.
      *
@@ -31,16 +60,15 @@ class GetStatisticsUseCase(
      *
      * @return Result containing TaskStatistics or error
      */
-    suspend operator fun invoke(): Result<TaskStatistics> {
-        return try {
+    suspend operator fun invoke(): Result<TaskStatistics> = timed("invoke") {
+        try {
             // Get completion counts
             val completedToday = completionRepository.getCompletionCountToday()
             val completedThisWeek = completionRepository.getCompletionCountLast7Days()
 
-            // Get task counts
-            val allTasks = taskRepository.getAllTasks()
-            val totalTasks = allTasks.size
-            val activeTasks = allTasks.count { !it.isCompleted }
+            // Get task counts (COUNT queries - no need to load and map every task)
+            val totalTasks = taskRepository.getTaskCount()
+            val activeTasks = taskRepository.getActiveTaskCount()
 
             // Create statistics model
             val statistics = TaskStatistics(
@@ -59,6 +87,88 @@ class GetStatisticsUseCase(
         }
     }
 
+    /**
+     * Observe aggregated task statistics.
+     * Emits once per committed transaction touching tasks or completions, and
+     * when the local day changes (at midnight, or after checkDay() found a
+     * new date): "today" and "last 7 days" move with it.
+     *
+     * @return Flow of TaskStatistics; failures surface as StatisticsException
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun observe(): Flow<TaskStatistics> {
+        return localDays()
+            .flatMapLatest { today -> completionRepository.observeStatistics(today).timedFirst("observe") }
+            .catch { e ->
+                throw StatisticsException("Failed to observe statistics: ${e.message}", e)
+            }
+    }
+
+    /**
+     * Look at the date now (call after the wall clock or the time zone changed)
+     * Sleeps run on the monotonic clock, so they don't notice such changes.
+     */
+    fun checkDay() {
+        dayChecks.tryEmit(Unit)
+    }
+
+    /**
+     * Current local epoch day: now, at every following midnight and on checkDay()
+     */
+    private fun localDays(): Flow<Long> {
+        val ticks = flow {
+            while (true) {
+                emit(Unit)
+                delay(millisUntilNextCheck())
+            }
+        }
+        return merge(ticks, dayChecks)
+            .map { today() }
+            .distinctUntilChanged()
+    }
+
+    /**
+     * Record the time until the first value as [operation]
+     * Later values wait for a write, not for the query, so they aren't timed.
+     */
+    private fun <T> Flow<T>.timedFirst(operation: String): Flow<T> = flow {
+        val started = System.nanoTime()
+        var first = true
+        collect { value ->
+            if (first) {
+                first = false
+                timers[operation].record(System.nanoTime() - started)
+            }
+            emit(value)
+        }
+    }
+
+    private fun today(): Long = Instant.ofEpochMilli(clock()).atZone(zone()).toLocalDate().toEpochDay()
+
+    private fun millisUntilNextCheck(): Long {
+        val nextMidnight = LocalDate.ofEpochDay(today() + 1).atStartOfDay(zone()).toInstant().toEpochMilli()
+        return (nextMidnight - clock()).coerceIn(1, MAX_DAY_CHECK_MILLIS)
+    }
+
+    /**
+     * Get per-day completion totals for a histogram.
+     *
+     * @param days Number of days including today (e.g. 7 or 30)
+     * @return Result with one entry per day, oldest first
+     */
+    suspend fun getDailyHistogram(days: Int): Result<List<DailyCompletionStats>> = timed("getDailyHistogram") {
+        try {
+            if (days < 1) {
+                throw IllegalArgumentException("days must be >= 1, was $days")
+            }
+            Result.success(completionRepository.getDailyCompletionHistogram(days))
+        } catch (e: Exception) {
+            Result.failure(
+                StatisticsException("Failed to retrieve completion history: ${e.message}", e)
+            )
+        }
+    }
+
     /**
      * Get completion count for today only.
      * Convenience method for quick queries.
@@ -86,6 +196,11 @@ class GetStatisticsUseCase(
             0
         }
     }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
 }
 
 /**
@@ -4,7 +4,13 @@ import androidx.room.Dao
 import androidx.room.Delete
 import androidx.room.Insert
 import androidx.room.Query
+import androidx.room.RawQuery
+import androidx.room.Transaction
 import androidx.room.Update
+import androidx.sqlite.db.SupportSQLiteQuery
+import com.secretary.features.statistics.data.CompletionEntity
+import com.secretary.shared.database.DatabaseConstants
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Room DAO for tasks table.
@@ -61,6 +67,234 @@ interface TaskDao {
     @Query("SELECT * FROM tasks WHERE id = :taskId")
     fun getTaskById(taskId: Long): TaskEntity?
 
+    // ========== Batch Operations ==========
+    // One transaction per call, so a bulk action commits (and re-emits the Room Flows) once.
+    // ID lists are bound in chunks of DatabaseConstants.MAX_BIND_IDS: SQLite before 3.32
+    // (Android < 11) rejects statements with more than 999 parameters.
+
+    /**
+     * Insert several tasks
+     * @return The IDs of the inserted tasks, in order
+     */
+    @Insert
+    fun insertAll(tasks: List<TaskEntity>): List<Long>
+
+    /**
+     * Update several existing tasks
+     * @return Number of rows updated
+     */
+    @Update
+    fun updateAll(tasks: List<TaskEntity>): Int
+
+    /**
+     * Delete tasks by ID (their completions cascade)
+     * @return Number of tasks deleted
+     */
+    @Transaction
+    fun deleteByIds(taskIds: Collection<Long>): Int =
+        taskIds.chunked(DatabaseConstants.MAX_BIND_IDS).sumOf { deleteIdChunk(it) }
+
+    /**
+     * Complete tasks by ID: read them, compute the completed state, record one
+     * completion per task and write them back - all in one transaction.
+     *
+     * @param taskIds Tasks to complete
+     * @param completedAt Timestamp of the completion records
+     * @param complete Computes a completed task, or null to skip it; may throw to roll back
+     * @return The completed tasks (missing and skipped tasks are left out)
+     */
+    @Transaction
+    fun completeByIds(
+        taskIds: Collection<Long>,
+        completedAt: Long,
+        complete: (TaskEntity) -> TaskEntity?
+    ): List<TaskEntity> {
+        val completed = taskIds.chunked(DatabaseConstants.MAX_BIND_IDS)
+            .flatMap { getTaskIdChunk(it) }
+            .mapNotNull(complete)
+        if (completed.isEmpty()) return completed
+
+        insertCompletions(completed.map { CompletionEntity(taskId = it.id, completedAt = completedAt) })
+        updateAll(completed)
+        return completed
+    }
+
+    /**
+     * Move tasks to another category
+     * @return Number of tasks updated
+     */
+    @Transaction
+    fun updateCategoryByIds(taskIds: Collection<Long>, category: String): Int =
+        taskIds.chunked(DatabaseConstants.MAX_BIND_IDS).sumOf { updateCategoryIdChunk(it, category) }
+
+    /**
+     * Set the priority of tasks
+     * @return Number of tasks updated
+     */
+    @Transaction
+    fun updatePriorityByIds(taskIds: Collection<Long>, priority: Int): Int =
+        taskIds.chunked(DatabaseConstants.MAX_BIND_IDS).sumOf { updatePriorityIdChunk(it, priority) }
+
+    // Single-chunk statements behind the batch operations (at most MAX_BIND_IDS ids each)
+
+    @Query("SELECT * FROM tasks WHERE id IN (:taskIds)")
+    fun getTaskIdChunk(taskIds: List<Long>): List<TaskEntity>
+
+    @Query("DELETE FROM tasks WHERE id IN (:taskIds)")
+    fun deleteIdChunk(taskIds: List<Long>): Int
+
+    @Query("UPDATE tasks SET category = :category WHERE id IN (:taskIds)")
+    fun updateCategoryIdChunk(taskIds: List<Long>, category: String): Int
+
+    @Query("UPDATE tasks SET priority = :priority WHERE id IN (:taskIds)")
+    fun updatePriorityIdChunk(taskIds: List<Long>, priority: Int): Int
+
+    @Insert
+    fun insertCompletions(completions: List<CompletionEntity>)
+
+    // ========== Completion ==========
+
+    /**
+     * Insert a completion history record (same table as CompletionDao.insertCompletion)
+     */
+    @Insert
+    fun insertCompletion(completion: CompletionEntity): Long
+
+    /**
+     * Write only the columns a completion changes (streak and recurrence state)
+     * @return Number of rows updated (0 if the task no longer exists)
+     */
+    @Query(
+        """
+        UPDATE tasks SET
+            is_completed = :isCompleted,
+            due_date = :dueDate,
+            last_completed_date = :lastCompletedDate,
+            completions_this_period = :completionsThisPeriod,
+            current_period_start = :currentPeriodStart,
+            current_streak = :currentStreak,
+            longest_streak = :longestStreak,
+            last_streak_date = :lastStreakDate,
+            next_reset_at = :nextResetAt
+        WHERE id = :taskId
+        """
+    )
+    fun updateCompletionState(
+        taskId: Long,
+        isCompleted: Int,
+        dueDate: Long,
+        lastCompletedDate: Long,
+        completionsThisPeriod: Int,
+        currentPeriodStart: Long,
+        currentStreak: Int,
+        longestStreak: Int,
+        lastStreakDate: Long,
+        nextResetAt: Long
+    ): Int
+
+    /**
+     * Complete a task atomically: read it, compute the new state, record the
+     * completion and write the changed columns - all in one transaction, so
+     * history and task can never disagree and the write commits once.
+     *
+     * @param taskId Task to complete
+     * @param completion History record to insert (null = no history entry)
+     * @param complete Computes the completed task; may throw to roll back
+     * @return The completed task, or null if the task does not exist
+     */
+    @Transaction
+    fun completeTask(
+        taskId: Long,
+        completion: CompletionEntity?,
+        complete: (TaskEntity) -> TaskEntity
+    ): TaskEntity? {
+        val task = getTaskById(taskId) ?: return null
+        val completed = complete(task)
+        completion?.let { insertCompletion(it) }
+        updateCompletionState(
+            taskId = taskId,
+            isCompleted = completed.isCompleted,
+            dueDate = completed.dueDate,
+            lastCompletedDate = completed.lastCompletedDate,
+            completionsThisPeriod = completed.completionsThisPeriod,
+            currentPeriodStart = completed.currentPeriodStart,
+            currentStreak = completed.currentStreak,
+            longestStreak = completed.longestStreak,
+            lastStreakDate = completed.lastStreakDate,
+            nextResetAt = completed.nextResetAt
+        )
+        return completed
+    }
+
+    // ========== Observable Queries ==========
+
+    /**
+     * Observe all tasks, ordered like getAllTasks().
+     * Room re-runs the query once per committed transaction that touches the tasks table.
+     */
+    @Query("SELECT * FROM tasks ORDER BY is_completed ASC, priority DESC, created_at DESC")
+    fun observeAllTasks(): Flow<List<TaskEntity>>
+
+    /**
+     * Observe the active tasks, ordered like getActiveTasks()
+     * Reads only is_completed = 0 through index_tasks_is_completed_priority_created_at,
+     * so completed history doesn't grow the re-run.
+     */
+    @Query("SELECT * FROM tasks WHERE is_completed = 0 ORDER BY priority DESC, created_at DESC")
+    fun observeActiveTasks(): Flow<List<TaskEntity>>
+
+    /**
+     * Observe the task list rows (TaskListRow projection), ordered like getAllTasks().
+     * Re-runs like observeAllTasks(), but reads and maps only the columns the list shows.
+     */
+    @Query("SELECT ${TaskListRow.COLUMNS} FROM tasks ORDER BY is_completed ASC, priority DESC, created_at DESC")
+    fun observeTaskListRows(): Flow<List<TaskListRow>>
+
+    /**
+     * Emits once per committed transaction that touches the tasks table.
+     * Used by the paged task list to reload its loaded range; the count itself is not used.
+     */
+    @Query("SELECT COUNT(*) FROM tasks")
+    fun observeTaskCount(): Flow<Int>
+
+    // ========== Paged Queries ==========
+
+    /**
+     * Load one keyset page of the task list (TaskListRow projection)
+     * @param query Built by TaskPageQueryBuilder
+     */
+    @RawQuery(observedEntities = [TaskEntity::class])
+    fun getTaskPage(query: SupportSQLiteQuery): List<TaskListRow>
+
+    // ========== Search Queries ==========
+
+    /**
+     * Full-text search over title, description and category (tasks_fts).
+     *
+     * Ranking: tasks whose title matches titleQuery come first, then list order
+     * (is_completed, priority DESC, created_at DESC).
+     *
+     * @param query FTS4 MATCH expression, e.g. "kuch* putz*"
+     * @param titleQuery The same terms restricted to the title column, e.g. "title:kuch* title:putz*"
+     */
+    @Query(
+        """
+        SELECT tasks.* FROM tasks
+        JOIN tasks_fts ON tasks.id = tasks_fts.rowid
+        WHERE tasks_fts MATCH :query
+        ORDER BY tasks.id IN (SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH :titleQuery) DESC,
+            tasks.is_completed ASC, tasks.priority DESC, tasks.created_at DESC
+        """
+    )
+    fun searchTasks(query: String, titleQuery: String): List<TaskEntity>
+
+    /**
+     * IDs of all tasks matching an FTS4 MATCH expression.
+     * Reads only the FTS index - used to filter an already loaded task list.
+     */
+    @Query("SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH :query")
+    fun searchTaskIds(query: String): List<Long>
+
     // ========== Statistics Queries ==========
 
     /**
@@ -69,6 +303,12 @@ interface TaskDao {
     @Query("SELECT COUNT(*) FROM tasks")
     fun getTaskCount(): Int
 
+    /**
+     * Get count of active (not completed) tasks
+     */
+    @Query("SELECT COUNT(*) FROM tasks WHERE is_completed = 0")
+    fun getActiveTaskCount(): Int
+
     /**
      * Get count of tasks completed today
      */
@@ -121,6 +361,69 @@ interface TaskDao {
     @Query("SELECT * FROM tasks WHERE recurrence_type = 2")
     fun getFrequencyTasks(): List<TaskEntity>
 
+    // ========== Recurrence Reset Schedule ==========
+    // next_reset_at: 0 = nothing to reset, -1 = not computed yet (rows migrated from v8).
+    // All of these are searches on index_tasks_next_reset_at; none scans the table.
+
+    /**
+     * Get the reset instant of every task that has one
+     */
+    @Query("SELECT id, next_reset_at FROM tasks WHERE next_reset_at > 0")
+    fun getResetSchedule(): List<TaskResetRow>
+
+    /**
+     * Get the earliest pending reset, or null if no task has one
+     */
+    @Query("SELECT id, next_reset_at FROM tasks WHERE next_reset_at > 0 ORDER BY next_reset_at ASC LIMIT 1")
+    fun getNextScheduledReset(): TaskResetRow?
+
+    /**
+     * Get tasks whose reset instant has passed
+     */
+    @Query("SELECT * FROM tasks WHERE next_reset_at > 0 AND next_reset_at <= :currentTime")
+    fun getTasksDueForReset(currentTime: Long): List<TaskEntity>
+
+    /**
+     * Get tasks whose reset instant was never computed (migrated from v8)
+     */
+    @Query("SELECT * FROM tasks WHERE next_reset_at < 0")
+    fun getTasksWithoutResetTime(): List<TaskEntity>
+
+    /**
+     * Set the reset instant of one task
+     */
+    @Query("UPDATE tasks SET next_reset_at = :nextResetAt WHERE id = :taskId")
+    fun updateNextResetAt(taskId: Long, nextResetAt: Long)
+
+    /**
+     * Compute the missing reset instants in one transaction
+     *
+     * @param nextResetTime Computes next_reset_at for a task
+     * @return Number of tasks updated
+     */
+    @Transaction
+    fun scheduleUnscheduledResets(nextResetTime: (TaskEntity) -> Long): Int {
+        val tasks = getTasksWithoutResetTime()
+        tasks.forEach { updateNextResetAt(it.id, nextResetTime(it)) }
+        return tasks.size
+    }
+
+    /**
+     * Reset every task whose reset instant has passed, in one transaction.
+     * Reads and writes only the due rows, so the cost follows the number of
+     * due tasks, not the size of the table; the change commits once.
+     *
+     * @param currentTime Timestamp the resets are due at
+     * @param reset Computes the reset task, including its new next_reset_at
+     * @return The written tasks
+     */
+    @Transaction
+    fun resetDueTasks(currentTime: Long, reset: (TaskEntity) -> TaskEntity): List<TaskEntity> {
+        val resets = getTasksDueForReset(currentTime).map(reset)
+        if (resets.isNotEmpty()) updateAll(resets)
+        return resets
+    }
+
     // ========== Streak Queries ==========
 
     /**
@@ -2,16 +2,40 @@ package com.secretary.features.tasks.data
 
 import androidx.room.ColumnInfo
 import androidx.room.Entity
+import androidx.room.Index
 import androidx.room.PrimaryKey
 
 /**
  * Room Entity for tasks table.
  * Phase 4.5.3 Wave 5: Converted to Kotlin
  *
- * Maps to existing SQLite schema (17 columns).
+ * Maps to existing SQLite schema (17 columns, plus next_reset_at since v9).
  * Migrates from TaskDatabaseHelper v4 to Room v5.
+ *
+ * Indices (schema v6) match the TaskDao access paths so list, filter and
+ * statistics queries are index searches without a temp B-tree sort:
+ * - (is_completed, priority DESC, created_at DESC): task list / active / by priority
+ * - (is_completed, due_date): overdue and completion counts (covering)
+ * - (recurrence_type, is_completed, due_date): recurrence reset queries
+ * - (category, is_completed, priority DESC): category filter and category list
+ * - (next_reset_at): recurrence reset schedule (schema v9, see RecurrenceResetScheduler)
  */
-@Entity(tableName = "tasks")
+@Entity(
+    tableName = "tasks",
+    indices = [
+        Index(
+            value = ["is_completed", "priority", "created_at"],
+            orders = [Index.Order.ASC, Index.Order.DESC, Index.Order.DESC]
+        ),
+        Index(value = ["is_completed", "due_date"]),
+        Index(value = ["recurrence_type", "is_completed", "due_date"]),
+        Index(
+            value = ["category", "is_completed", "priority"],
+            orders = [Index.Order.ASC, Index.Order.ASC, Index.Order.DESC]
+        ),
+        Index(value = ["next_reset_at"])
+    ]
+)
 data class TaskEntity(
     @PrimaryKey(autoGenerate = true)
     @ColumnInfo(name = "id")
@@ -65,5 +89,9 @@ data class TaskEntity(
     var longestStreak: Int = 0,
 
     @ColumnInfo(name = "last_streak_date")
-    var lastStreakDate: Long = 0
+    var lastStreakDate: Long = 0,
+
+    // Recurrence reset schedule, derived from the fields above by RecurrenceService.getNextResetTime()
+    @ColumnInfo(name = "next_reset_at", defaultValue = "0")
+    var nextResetAt: Long = 0 // 0=Nothing to reset, -1=Not computed yet (migrated from v8)
 )
@@ -0,0 +1,34 @@
+package com.secretary.features.tasks.data
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+import androidx.room.PrimaryKey
+
+/**
+ * Room FTS4 entity for full-text task search (schema v7).
+ *
+ * External-content table over tasks: only the search index is stored, the
+ * text itself is read from tasks. Room creates triggers that keep tasks_fts
+ * in sync on every insert/update/delete of tasks.
+ *
+ * rowid is the task id. unicode61 folds case and diacritics for non-ASCII
+ * titles ("Küche" matches "kuche").
+ */
+@Fts4(contentEntity = TaskEntity::class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "tasks_fts")
+data class TaskFtsEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    val rowId: Long,
+
+    @ColumnInfo(name = "title")
+    val title: String,
+
+    @ColumnInfo(name = "description")
+    val description: String?,
+
+    @ColumnInfo(name = "category")
+    val category: String
+)
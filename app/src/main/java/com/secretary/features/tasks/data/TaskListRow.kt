@@ -0,0 +1,60 @@
+package com.secretary.features.tasks.data
+
+import androidx.room.ColumnInfo
+import com.secretary.features.tasks.domain.model.TaskListItem
+
+/**
+ * Room projection of the tasks table for the task list (not an entity).
+ *
+ * Reads only the columns the list needs (see COLUMNS), so a list refresh
+ * fills a smaller cursor window and maps 12 fields per row instead of 17.
+ * Full TaskEntity rows are loaded by id when a task is edited or completed.
+ */
+data class TaskListRow(
+    @ColumnInfo(name = "id")
+    val id: Long,
+
+    @ColumnInfo(name = "title")
+    val title: String,
+
+    @ColumnInfo(name = "description")
+    val description: String?,
+
+    @ColumnInfo(name = "category")
+    val category: String,
+
+    @ColumnInfo(name = "priority")
+    val priority: Int,
+
+    @ColumnInfo(name = "created_at")
+    val createdAt: Long,
+
+    @ColumnInfo(name = "due_date")
+    val dueDate: Long,
+
+    @ColumnInfo(name = "is_completed")
+    val isCompleted: Int, // SQLite stores boolean as 0/1
+
+    @ColumnInfo(name = "current_streak")
+    val currentStreak: Int,
+
+    @ColumnInfo(name = "recurrence_type")
+    val recurrenceType: Int,
+
+    @ColumnInfo(name = "recurrence_amount")
+    val recurrenceAmount: Int,
+
+    @ColumnInfo(name = "recurrence_unit")
+    val recurrenceUnit: Int
+) {
+    companion object {
+        /**
+         * SELECT list for TaskListRow queries (TaskDao and TaskPageQueryBuilder).
+         * The description is cut in SQL, so long notes never enter the cursor window.
+         */
+        const val COLUMNS = "id, title, " +
+            "substr(description, 1, ${TaskListItem.DESCRIPTION_PREVIEW_LENGTH}) AS description, " +
+            "category, priority, created_at, due_date, is_completed, current_streak, " +
+            "recurrence_type, recurrence_amount, recurrence_unit"
+    }
+}
@@ -0,0 +1,83 @@
+package com.secretary.features.tasks.data
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.model.ScheduledReset
+import com.secretary.features.tasks.domain.model.TaskListItem
+
+/**
+ * Mapping between task database types (TaskEntity, TaskListRow, TaskResetRow) and domain models.
+ *
+ * Used by TaskRepositoryImpl; top-level so the JVM benchmarks can measure
+ * them on their own.
+ */
+
+/**
+ * Convert TaskEntity (database) to Task (domain model)
+ */
+internal fun TaskEntity.toTask() = Task(
+    id = id,
+    title = title,
+    description = description,
+    category = category,
+    createdAt = createdAt,
+    dueDate = dueDate,
+    isCompleted = isCompleted == 1, // SQLite boolean as int
+    priority = priority,
+    recurrenceType = recurrenceType,
+    recurrenceAmount = recurrenceAmount,
+    recurrenceUnit = recurrenceUnit,
+    lastCompletedDate = lastCompletedDate,
+    completionsThisPeriod = completionsThisPeriod,
+    currentPeriodStart = currentPeriodStart,
+    currentStreak = currentStreak,
+    longestStreak = longestStreak,
+    lastStreakDate = lastStreakDate
+)
+
+/**
+ * Convert TaskListRow (list projection) to TaskListItem (domain model)
+ */
+internal fun TaskListRow.toTaskListItem() = TaskListItem(
+    id = id,
+    title = title,
+    descriptionPreview = description,
+    category = category,
+    priority = priority,
+    createdAt = createdAt,
+    dueDate = dueDate,
+    isCompleted = isCompleted == 1, // SQLite boolean as int
+    currentStreak = currentStreak,
+    recurrenceType = recurrenceType,
+    recurrenceAmount = recurrenceAmount,
+    recurrenceUnit = recurrenceUnit
+)
+
+/**
+ * Convert Task (domain model) to TaskEntity (database)
+ * @param nextResetAt Reset schedule column, from RecurrenceService.getNextResetTime(this)
+ */
+internal fun Task.toTaskEntity(nextResetAt: Long) = TaskEntity(
+    id = id,
+    title = title,
+    description = description,
+    category = category,
+    createdAt = createdAt,
+    dueDate = dueDate,
+    isCompleted = if (isCompleted) 1 else 0, // Boolean to SQLite int
+    priority = priority,
+    recurrenceType = recurrenceType,
+    recurrenceAmount = recurrenceAmount,
+    recurrenceUnit = recurrenceUnit,
+    lastCompletedDate = lastCompletedDate,
+    completionsThisPeriod = completionsThisPeriod,
+    currentPeriodStart = currentPeriodStart,
+    currentStreak = currentStreak,
+    longestStreak = longestStreak,
+    lastStreakDate = lastStreakDate,
+    nextResetAt = nextResetAt
+)
+
+/**
+ * Convert TaskResetRow (schedule projection) to ScheduledReset (domain model)
+ */
+internal fun TaskResetRow.toScheduledReset() = ScheduledReset(taskId = id, resetAt = nextResetAt)
@@ -0,0 +1,148 @@
+package com.secretary.features.tasks.data
+
+import androidx.sqlite.db.SimpleSQLiteQuery
+import com.secretary.TaskFilterManager.CompletionFilter
+import com.secretary.TaskFilterManager.SortOption
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+
+/**
+ * Builds keyset-paged task list queries for TaskDao.getTaskPage().
+ *
+ * Instead of OFFSET (which reads and discards every skipped row), each page
+ * continues after the sort key of the last row already loaded. The keyset
+ * condition "row comes after cursor" is split into one UNION ALL branch per
+ * sort key:
+ *
+ *   k1 > c1
+ *   k1 = c1 AND k2 > c2
+ *   k1 = c1 AND k2 = c2 AND k3 > c3 ...
+ *
+ * ("<" for DESC keys). A single OR'ed predicate would scan from the start.
+ *
+ * What a page costs depends on the sort option:
+ * - PRIORITY: every branch is a range search on
+ *   index_tasks_is_completed_priority_created_at (id is its rowid tail) and
+ *   comes out sorted, so a page costs the same at row 50 and at row 50,000.
+ * - CATEGORY: index_tasks_category_is_completed_priority narrows each branch
+ *   to the categories after the cursor, but the rows still need a sort by id.
+ * - DUE_DATE (CASE expression), TITLE (COLLATE NOCASE) and CREATED have no
+ *   matching index: each branch scans the table and keeps the first page in
+ *   a sorter bounded by LIMIT. Linear in the task count per page, but memory
+ *   stays at one page and nothing is skipped row by row like with OFFSET.
+ *
+ * Pages select the TaskListRow columns only; every sort key is among them.
+ */
+internal object TaskPageQueryBuilder {
+
+    /**
+     * One ORDER BY term and how to read its value from the cursor row
+     */
+    private class SortKey(
+        val expression: String,
+        val descending: Boolean,
+        val valueOf: (TaskListItem) -> Any
+    )
+
+    private val ID_ASC = SortKey("id", false) { it.id }
+
+    /**
+     * Sort keys per option. PRIORITY follows index_tasks_is_completed_priority_created_at;
+     * the others have no index in this order (see above).
+     * Must match TaskFilterManager's in-memory comparators.
+     */
+    private fun sortKeys(sortOption: SortOption): List<SortKey> = when (sortOption) {
+        SortOption.PRIORITY -> listOf(
+            SortKey("is_completed", false) { if (it.isCompleted) 1 else 0 },
+            SortKey("priority", true) { it.priority },
+            SortKey("created_at", true) { it.createdAt },
+            ID_ASC
+        )
+
+        SortOption.DUE_DATE -> listOf(
+            // Tasks without due date go to end
+            SortKey("(CASE WHEN due_date = 0 THEN ${Long.MAX_VALUE} ELSE due_date END)", false) {
+                if (it.dueDate == 0L) Long.MAX_VALUE else it.dueDate
+            },
+            ID_ASC
+        )
+
+        SortOption.CREATED -> listOf(
+            SortKey("created_at", true) { it.createdAt },
+            ID_ASC
+        )
+
+        SortOption.TITLE -> listOf(
+            // TaskFilterManager.TITLE_ORDER is this collation in memory
+            SortKey("title COLLATE NOCASE", false) { it.title },
+            ID_ASC
+        )
+
+        SortOption.CATEGORY -> listOf(
+            SortKey("category", false) { it.category },
+            ID_ASC
+        )
+    }
+
+    /**
+     * Build the query for one page
+     *
+     * @param query Filter and sort state
+     * @param ftsQuery FTS4 MATCH expression for the search filter, null for no search
+     * @param after Last row of the previous page, null for the first page
+     * @param limit Page size
+     */
+    fun build(query: TaskPageQuery, ftsQuery: String?, after: TaskListItem?, limit: Int): SimpleSQLiteQuery {
+        val keys = sortKeys(query.sortOption)
+        val orderBy = keys.joinToString(", ", prefix = " ORDER BY ") {
+            "${it.expression} ${if (it.descending) "DESC" else "ASC"}"
+        } + " LIMIT $limit"
+
+        val filters = mutableListOf<String>()
+        val filterArgs = mutableListOf<Any>()
+        when (query.completionFilter) {
+            CompletionFilter.ALL -> Unit
+            CompletionFilter.ACTIVE_ONLY -> filters.add("is_completed = 0")
+            CompletionFilter.COMPLETED_ONLY -> filters.add("is_completed = 1")
+        }
+        query.categoryFilter?.let {
+            filters.add("category = ?")
+            filterArgs.add(it)
+        }
+        query.priorityFilter?.let {
+            filters.add("priority = ?")
+            filterArgs.add(it)
+        }
+        ftsQuery?.let {
+            filters.add("id IN (SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH ?)")
+            filterArgs.add(it)
+        }
+
+        if (after == null) {
+            val where = if (filters.isEmpty()) "" else filters.joinToString(" AND ", prefix = " WHERE ")
+            return SimpleSQLiteQuery("SELECT ${TaskListRow.COLUMNS} FROM tasks$where$orderBy", filterArgs.toTypedArray())
+        }
+
+        val branches = mutableListOf<String>()
+        val args = mutableListOf<Any>()
+        for (i in keys.indices) {
+            val conditions = filters.toMutableList()
+            args.addAll(filterArgs)
+            for (equal in keys.subList(0, i)) {
+                conditions.add("${equal.expression} = ?")
+                args.add(equal.valueOf(after))
+            }
+            val key = keys[i]
+            conditions.add("${key.expression} ${if (key.descending) "<" else ">"} ?")
+            args.add(key.valueOf(after))
+
+            // Inner ORDER BY/LIMIT lets each branch stop after one page
+            branches.add("SELECT * FROM (SELECT ${TaskListRow.COLUMNS} FROM tasks WHERE ${conditions.joinToString(" AND ")}$orderBy)")
+        }
+        // Outer SELECT: a compound ORDER BY may only name result columns, not expressions
+        return SimpleSQLiteQuery(
+            "SELECT * FROM (${branches.joinToString(" UNION ALL ")})$orderBy",
+            args.toTypedArray()
+        )
+    }
+}
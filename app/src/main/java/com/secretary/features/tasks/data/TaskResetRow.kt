@@ -0,0 +1,17 @@
+package com.secretary.features.tasks.data
+
+import androidx.room.ColumnInfo
+
+/**
+ * Room projection of the tasks table for the recurrence reset schedule (not an entity).
+ *
+ * Both columns are in index_tasks_next_reset_at (the id is the rowid), so
+ * schedule queries are answered from the index alone.
+ */
+data class TaskResetRow(
+    @ColumnInfo(name = "id")
+    val id: Long,
+
+    @ColumnInfo(name = "next_reset_at")
+    val nextResetAt: Long
+)
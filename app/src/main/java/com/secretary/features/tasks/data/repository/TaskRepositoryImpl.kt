@@ -1,120 +1,277 @@
 package com.secretary.features.tasks.data.repository
 
 import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.statistics.data.CompletionEntity
+import com.secretary.features.statistics.domain.model.Completion
 import com.secretary.features.tasks.data.TaskDao
 import com.secretary.features.tasks.data.TaskEntity
+import com.secretary.features.tasks.data.TaskPageQueryBuilder
+import com.secretary.features.tasks.data.toScheduledReset
+import com.secretary.features.tasks.data.toTask
+import com.secretary.features.tasks.data.toTaskEntity
+import com.secretary.features.tasks.data.toTaskListItem
+import com.secretary.features.tasks.domain.model.ScheduledReset
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
 import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.shared.database.DatabaseExecutors
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
 
 /**
  * Implementation of TaskRepository using Room DAO.
  * Phase 4.5.3 Wave 10 Step 2: Task Repository Pattern
  *
- * Handles mapping between domain models (Task) and database entities (TaskEntity).
- * All database operations run on IO dispatcher for thread safety.
+ * Handles mapping between domain models (Task) and database entities (TaskEntity, see TaskMappers.kt).
+ * Blocking DAO calls run on the database pools (DatabaseExecutors): writes on
+ * the single write thread, reads on the read threads, in parallel with writes.
+ *
+ * Every write stores the task's next recurrence reset (next_reset_at), so the
+ * reset schedule can be read from its index instead of checking all tasks.
+ *
+ * Each call's time on the database thread (query plus mapping) is recorded
+ * per method in [timers], served at /metrics.
+ *
+ * @param taskDao Room DAO for tasks
+ * @param recurrenceService Computes next_reset_at for written tasks
+ * @param readDispatcher Dispatcher for queries
+ * @param writeDispatcher Dispatcher for inserts, updates, deletes and transactions
+ * @param timers Latency histograms per repository method
  */
-class TaskRepositoryImpl(private val taskDao: TaskDao) : TaskRepository {
+class TaskRepositoryImpl(
+    private val taskDao: TaskDao,
+    private val recurrenceService: RecurrenceService = RecurrenceService(),
+    private val readDispatcher: CoroutineDispatcher = DatabaseExecutors.readDispatcher,
+    private val writeDispatcher: CoroutineDispatcher = DatabaseExecutors.writeDispatcher,
+    private val timers: OperationTimers = AppMetrics.repositoryTimers("TaskRepository")
+) : TaskRepository {
 
     // ========== CRUD Operations ==========
 
-    override suspend fun insertTask(task: Task): Long = withContext(Dispatchers.IO) {
-        taskDao.insertTask(task.toTaskEntity())
+    override suspend fun insertTask(task: Task): Long = write("insertTask") {
+        taskDao.insertTask(toEntity(task))
     }
 
-    override suspend fun updateTask(task: Task) = withContext(Dispatchers.IO) {
-        taskDao.updateTask(task.toTaskEntity())
+    override suspend fun updateTask(task: Task) = write("updateTask") {
+        taskDao.updateTask(toEntity(task))
     }
 
-    override suspend fun deleteTask(taskId: Long) = withContext(Dispatchers.IO) {
+    override suspend fun deleteTask(taskId: Long) = write("deleteTask") {
         // Create minimal entity with just ID for deletion
         val entity = TaskEntity(id = taskId)
         taskDao.deleteTask(entity)
     }
 
-    override suspend fun getAllTasks(): List<Task> = withContext(Dispatchers.IO) {
+    override suspend fun getAllTasks(): List<Task> = read("getAllTasks") {
         taskDao.getAllTasks().map { it.toTask() }
     }
 
-    override suspend fun getActiveTasks(): List<Task> = withContext(Dispatchers.IO) {
+    override suspend fun getActiveTasks(): List<Task> = read("getActiveTasks") {
         taskDao.getActiveTasks().map { it.toTask() }
     }
 
-    override suspend fun getTaskById(taskId: Long): Task? = withContext(Dispatchers.IO) {
+    override suspend fun getTaskById(taskId: Long): Task? = read("getTaskById") {
         taskDao.getTaskById(taskId)?.toTask()
     }
 
+    override suspend fun completeTask(
+        taskId: Long,
+        completion: Completion?,
+        complete: (Task) -> Task
+    ): Task? = write("completeTask") {
+        val completionEntity = completion?.let {
+            CompletionEntity(
+                taskId = taskId,
+                completedAt = it.completedAt,
+                timeSpentMinutes = it.timeSpentMinutes,
+                difficulty = it.difficulty,
+                notes = it.notes
+            )
+        }
+        taskDao.completeTask(taskId, completionEntity) { entity ->
+            toEntity(complete(entity.toTask()))
+        }?.toTask()
+    }
+
+    // ========== Batch Operations ==========
+
+    override suspend fun insertTasks(tasks: List<Task>): List<Long> = write("insertTasks") {
+        taskDao.insertAll(tasks.map { toEntity(it) })
+    }
+
+    override suspend fun updateTasks(tasks: List<Task>) {
+        write("updateTasks") {
+            taskDao.updateAll(tasks.map { toEntity(it) })
+        }
+    }
+
+    override suspend fun deleteTasks(taskIds: Collection<Long>): Int = write("deleteTasks") {
+        taskDao.deleteByIds(taskIds)
+    }
+
+    override suspend fun completeTasks(
+        taskIds: Collection<Long>,
+        completedAt: Long,
+        complete: (Task) -> Task?
+    ): List<Task> = write("completeTasks") {
+        taskDao.completeByIds(taskIds, completedAt) { entity ->
+            complete(entity.toTask())?.let { toEntity(it) }
+        }.map { it.toTask() }
+    }
+
+    override suspend fun updateCategory(taskIds: Collection<Long>, category: String): Int =
+        write("updateCategory") {
+            taskDao.updateCategoryByIds(taskIds, category)
+        }
+
+    override suspend fun updatePriority(taskIds: Collection<Long>, priority: Int): Int =
+        write("updatePriority") {
+            taskDao.updatePriorityByIds(taskIds, priority)
+        }
+
+    // ========== Recurrence Reset Schedule ==========
+
+    override suspend fun getResetSchedule(): List<ScheduledReset> {
+        write("scheduleUnscheduledResets") {
+            taskDao.scheduleUnscheduledResets { recurrenceService.getNextResetTime(it.toTask()) }
+        }
+        return read("getResetSchedule") {
+            taskDao.getResetSchedule().map { it.toScheduledReset() }
+        }
+    }
+
+    override suspend fun getNextScheduledReset(): ScheduledReset? = read("getNextScheduledReset") {
+        taskDao.getNextScheduledReset()?.toScheduledReset()
+    }
+
+    override suspend fun resetDueTasks(now: Long, reset: (Task) -> Task): List<ScheduledReset> =
+        write("resetDueTasks") {
+            taskDao.resetDueTasks(now) { entity -> toEntity(reset(entity.toTask())) }
+                .filter { it.nextResetAt > 0 }
+                .map { ScheduledReset(taskId = it.id, resetAt = it.nextResetAt) }
+        }
+
+    // ========== Observable Queries ==========
+
+    override fun observeAllTasks(): Flow<List<Task>> =
+        taskDao.observeAllTasks()
+            .map { entities -> entities.map { it.toTask() } }
+            .flowOn(Dispatchers.Default) // Map off the main thread; Room runs the query on its query executor
+
+    override fun observeActiveTasks(): Flow<List<Task>> =
+        taskDao.observeActiveTasks()
+            .map { entities -> entities.map { it.toTask() } }
+            .flowOn(Dispatchers.Default)
+
+    override fun observeTaskListItems(): Flow<List<TaskListItem>> =
+        taskDao.observeTaskListRows()
+            .map { rows -> rows.map { it.toTaskListItem() } }
+            .flowOn(Dispatchers.Default)
+
+    override fun observeTaskChanges(): Flow<Unit> =
+        taskDao.observeTaskCount().map { }
+
+    // ========== Paged Queries ==========
+
+    override suspend fun getTaskPage(query: TaskPageQuery, after: TaskListItem?, limit: Int): List<TaskListItem> {
+        val terms = toSearchTerms(query.searchQuery)
+        val ftsQuery = if (terms.isEmpty()) null else toFtsQuery(terms)
+        return read("getTaskPage") {
+            taskDao.getTaskPage(TaskPageQueryBuilder.build(query, ftsQuery, after, limit))
+                .map { it.toTaskListItem() }
+        }
+    }
+
     // ========== Category Operations ==========
 
-    override suspend fun getAllCategories(): List<String> = withContext(Dispatchers.IO) {
+    override suspend fun getAllCategories(): List<String> = read("getAllCategories") {
         taskDao.getAllCategories()
     }
 
+    // ========== Search Operations ==========
+
+    override suspend fun searchTasks(query: String): List<Task> {
+        val terms = toSearchTerms(query)
+        if (terms.isEmpty()) return emptyList()
+        return read("searchTasks") {
+            taskDao.searchTasks(
+                query = toFtsQuery(terms),
+                titleQuery = terms.joinToString(" ") { "title:$it*" }
+            ).map { it.toTask() }
+        }
+    }
+
+    override suspend fun searchTaskIds(query: String): Set<Long> {
+        val terms = toSearchTerms(query)
+        if (terms.isEmpty()) return emptySet()
+        return read("searchTaskIds") {
+            taskDao.searchTaskIds(toFtsQuery(terms)).toHashSet()
+        }
+    }
+
+    /**
+     * Split user input into plain FTS terms.
+     * Everything except letters and digits is a separator, so user input can never
+     * inject FTS syntax (quotes, "-", ":", "*"); lowercase keeps AND/OR/NOT literal.
+     */
+    private fun toSearchTerms(query: String): List<String> =
+        query.split(NON_WORD).filter { it.isNotEmpty() }.map { it.lowercase() }
+
+    /**
+     * Prefix-match every term: "kü put" -> "kü* put*"
+     */
+    private fun toFtsQuery(terms: List<String>): String = terms.joinToString(" ") { "$it*" }
+
     // ========== Statistics Operations ==========
 
-    override suspend fun getTaskCount(): Int = withContext(Dispatchers.IO) {
+    override suspend fun getTaskCount(): Int = read("getTaskCount") {
         taskDao.getTaskCount()
     }
 
-    override suspend fun getTasksCompletedToday(): Int = withContext(Dispatchers.IO) {
+    override suspend fun getActiveTaskCount(): Int = read("getActiveTaskCount") {
+        taskDao.getActiveTaskCount()
+    }
+
+    override suspend fun getTasksCompletedToday(): Int = read("getTasksCompletedToday") {
         taskDao.getTasksCompletedToday()
     }
 
-    override suspend fun getTasksCompletedLast7Days(): Int = withContext(Dispatchers.IO) {
+    override suspend fun getTasksCompletedLast7Days(): Int = read("getTasksCompletedLast7Days") {
         val sevenDaysAgo = System.currentTimeMillis() - (7 * 24 * 60 * 60 * 1000)
         taskDao.getTasksCompletedLast7Days(sevenDaysAgo)
     }
 
-    override suspend fun getOverdueTasksCount(): Int = withContext(Dispatchers.IO) {
+    override suspend fun getOverdueTasksCount(): Int = read("getOverdueTasksCount") {
         val currentTime = System.currentTimeMillis()
         taskDao.getOverdueTasksCount(currentTime)
     }
 
-    // ========== Mapping Functions ==========
+    /**
+     * Run a query on the read pool, timed as [operation]
+     */
+    private suspend inline fun <T> read(operation: String, crossinline block: () -> T): T =
+        withContext(readDispatcher) { timers.time(operation) { block() } }
 
     /**
-     * Convert TaskEntity (database) to Task (domain model)
+     * Run a write on the write thread, timed as [operation]
      */
-    private fun TaskEntity.toTask() = Task(
-        id = id,
-        title = title,
-        description = description,
-        category = category,
-        createdAt = createdAt,
-        dueDate = dueDate,
-        isCompleted = isCompleted == 1, // SQLite boolean as int
-        priority = priority,
-        recurrenceType = recurrenceType,
-        recurrenceAmount = recurrenceAmount,
-        recurrenceUnit = recurrenceUnit,
-        lastCompletedDate = lastCompletedDate,
-        completionsThisPeriod = completionsThisPeriod,
-        currentPeriodStart = currentPeriodStart,
-        currentStreak = currentStreak,
-        longestStreak = longestStreak,
-        lastStreakDate = lastStreakDate
-    )
+    private suspend inline fun <T> write(operation: String, crossinline block: () -> T): T =
+        withContext(writeDispatcher) { timers.time(operation) { block() } }
 
     /**
-     * Convert Task (domain model) to TaskEntity (database)
+     * Map a task for writing, with next_reset_at derived from its recurrence state
      */
-    private fun Task.toTaskEntity() = TaskEntity(
-        id = id,
-        title = title,
-        description = description,
-        category = category,
-        createdAt = createdAt,
-        dueDate = dueDate,
-        isCompleted = if (isCompleted) 1 else 0, // Boolean to SQLite int
-        priority = priority,
-        recurrenceType = recurrenceType,
-        recurrenceAmount = recurrenceAmount,
-        recurrenceUnit = recurrenceUnit,
-        lastCompletedDate = lastCompletedDate,
-        completionsThisPeriod = completionsThisPeriod,
-        currentPeriodStart = currentPeriodStart,
-        currentStreak = currentStreak,
-        longestStreak = longestStreak,
-        lastStreakDate = lastStreakDate
-    )
+    private fun toEntity(task: Task): TaskEntity =
+        task.toTaskEntity(nextResetAt = recurrenceService.getNextResetTime(task))
+
+    companion object {
+        private val NON_WORD = Regex("[^\\p{L}\\p{N}]+")
+    }
 }
@@ -0,0 +1,30 @@
+package com.secretary.features.tasks.domain.model
+
+/**
+ * Domain model for today's plan: the tasks that fit a time budget, in order.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Produced by DailyPlanner within a fixed time limit; when the limit cut the
+ * search short, the plan is still valid but may not be the best one.
+ *
+ * @property tasks Planned tasks in the order to do them
+ * @property budgetMinutes The time budget the plan was made for
+ * @property isLocalOptimum True if no single add, swap or drop-and-refill move improves the plan
+ */
+data class DailyPlan(
+    val tasks: List<PlannedTask>,
+    val budgetMinutes: Int,
+    val isLocalOptimum: Boolean
+) {
+    /** Sum of the estimated minutes of all planned tasks */
+    val plannedMinutes: Int get() = tasks.sumOf { it.estimatedMinutes }
+
+    /** Sum of the values of all planned tasks */
+    val totalValue: Double get() = tasks.sumOf { it.value }
+
+    /**
+     * Format the plan summary for display.
+     * @return e.g. "5 tasks, 95 of 120 min"
+     */
+    fun toSummaryString(): String = "${tasks.size} tasks, $plannedMinutes of $budgetMinutes min"
+}
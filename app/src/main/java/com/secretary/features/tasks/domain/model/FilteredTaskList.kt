@@ -0,0 +1,14 @@
+package com.secretary.features.tasks.domain.model
+
+/**
+ * Domain model for the task list as shown: filtered, sorted rows and facet counts.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ *
+ * @property items Rows matching search and filters, in sort order
+ * @property facets Rows behind each filter option
+ */
+data class FilteredTaskList(
+    val items: List<TaskListItem>,
+    val facets: TaskFacetCounts
+)
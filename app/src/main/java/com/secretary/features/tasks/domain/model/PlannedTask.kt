@@ -0,0 +1,20 @@
+package com.secretary.features.tasks.domain.model
+
+import com.secretary.Task
+
+/**
+ * Domain model for one task in a DailyPlan.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ *
+ * @property task The planned task
+ * @property estimatedMinutes Expected time: average tracked time, or DailyPlanner.DEFAULT_TASK_MINUTES
+ * @property isEstimateFromHistory True if estimatedMinutes comes from tracked completions
+ * @property value Planning value (priority, overdue penalty, recurrence obligation)
+ */
+data class PlannedTask(
+    val task: Task,
+    val estimatedMinutes: Int,
+    val isEstimateFromHistory: Boolean,
+    val value: Double
+)
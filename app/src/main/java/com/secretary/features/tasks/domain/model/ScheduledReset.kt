@@ -0,0 +1,20 @@
+package com.secretary.features.tasks.domain.model
+
+/**
+ * Domain model for the next recurrence reset of one task.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Ordered by reset instant, so RecurrenceResetScheduler can keep these in a
+ * min-heap (PriorityQueue) and only look at the earliest one.
+ *
+ * @property taskId Task to reset
+ * @property resetAt Timestamp from which the task is due for its reset
+ */
+data class ScheduledReset(
+    val taskId: Long,
+    val resetAt: Long
+) : Comparable<ScheduledReset> {
+
+    override fun compareTo(other: ScheduledReset): Int =
+        compareValuesBy(this, other, { it.resetAt }, { it.taskId })
+}
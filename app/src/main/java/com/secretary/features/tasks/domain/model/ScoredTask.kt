@@ -0,0 +1,25 @@
+package com.secretary.features.tasks.domain.model
+
+import com.secretary.Task
+
+/**
+ * Domain model for a task with its TaskScoringEngine score.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Ordered by rank: a higher score ranks higher, equal scores rank the older
+ * task (smaller ID) higher - so no two tasks ever rank the same.
+ *
+ * @property task The scored task
+ * @property score Weighted score in [0, 1]
+ */
+data class ScoredTask(
+    val task: Task,
+    val score: Double
+) : Comparable<ScoredTask> {
+
+    // Compared on every heap operation: no compareValuesBy (boxes both keys)
+    override fun compareTo(other: ScoredTask): Int {
+        val byScore = score.compareTo(other.score)
+        return if (byScore != 0) byScore else other.task.id.compareTo(task.id)
+    }
+}
@@ -0,0 +1,37 @@
+package com.secretary.features.tasks.domain.model
+
+/**
+ * Domain model for the number of tasks behind each filter option ("Work (42)").
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Each facet is counted with all OTHER filters applied (search included),
+ * so a count is the number of rows the list would show after picking that
+ * option - the usual faceted-search semantics.
+ *
+ * @property allStatuses Rows for "All Tasks"
+ * @property active Rows for "Active Only"
+ * @property completed Rows for "Completed Only"
+ * @property allPriorities Rows for "All Priorities"
+ * @property byPriority Rows per priority (index 0=Low ... 3=Urgent)
+ * @property allCategories Rows for "All Categories"
+ * @property byCategory Rows per category (every category of the loaded tasks, zeros included)
+ */
+data class TaskFacetCounts(
+    val allStatuses: Int = 0,
+    val active: Int = 0,
+    val completed: Int = 0,
+    val allPriorities: Int = 0,
+    val byPriority: List<Int> = emptyList(),
+    val allCategories: Int = 0,
+    val byCategory: Map<String, Int> = emptyMap()
+) {
+    /**
+     * Rows for one priority (0 for unknown priorities)
+     */
+    fun priorityCount(priority: Int): Int = byPriority.getOrElse(priority) { 0 }
+
+    /**
+     * Rows for one category (0 for unknown categories)
+     */
+    fun categoryCount(category: String): Int = byCategory[category] ?: 0
+}
@@ -0,0 +1,67 @@
+package com.secretary.features.tasks.domain.model
+
+import com.secretary.Task
+
+/**
+ * Domain model for one row of the task list.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Holds only what the list shows, filters and sorts by - 12 of the 17 task
+ * columns, with the description cut to a preview. Screens that edit or
+ * complete a task load the full Task by id instead.
+ *
+ * @property id Task ID
+ * @property title Task title
+ * @property descriptionPreview First DESCRIPTION_PREVIEW_LENGTH characters of the description
+ * @property category Category name
+ * @property priority 0=Low, 1=Medium, 2=High, 3=Urgent
+ * @property createdAt Creation time (epoch millis), used for sorting
+ * @property dueDate Due date (epoch millis, 0 = none)
+ * @property isCompleted Completion status
+ * @property currentStreak Current consecutive completions
+ * @property recurrenceType Task.RECURRENCE_* value
+ * @property recurrenceAmount The "X" in "every X Y" / "X times per Y"
+ * @property recurrenceUnit Task.UNIT_* value
+ */
+data class TaskListItem(
+    val id: Long,
+    val title: String,
+    val descriptionPreview: String? = null,
+    val category: String = "General",
+    val priority: Int = 1,
+    val createdAt: Long = 0,
+    val dueDate: Long = 0,
+    val isCompleted: Boolean = false,
+    val currentStreak: Int = 0,
+    val recurrenceType: Int = Task.RECURRENCE_NONE,
+    val recurrenceAmount: Int = 0,
+    val recurrenceUnit: Int = Task.UNIT_DAY
+) {
+    companion object {
+        /** Characters of the description loaded for the list (the row shows at most 3 lines) */
+        const val DESCRIPTION_PREVIEW_LENGTH = 200
+
+        /**
+         * List row for a fully loaded task
+         */
+        fun from(task: Task) = TaskListItem(
+            id = task.id,
+            title = task.title,
+            descriptionPreview = task.description?.take(DESCRIPTION_PREVIEW_LENGTH),
+            category = task.category,
+            priority = task.priority,
+            createdAt = task.createdAt,
+            dueDate = task.dueDate,
+            isCompleted = task.isCompleted,
+            currentStreak = task.currentStreak,
+            recurrenceType = task.recurrenceType,
+            recurrenceAmount = task.recurrenceAmount,
+            recurrenceUnit = task.recurrenceUnit
+        )
+    }
+
+    /**
+     * Check if this task has recurrence enabled
+     */
+    fun isRecurring(): Boolean = recurrenceType != Task.RECURRENCE_NONE
+}
@@ -0,0 +1,24 @@
+package com.secretary.features.tasks.domain.model
+
+import com.secretary.TaskFilterManager
+
+/**
+ * Domain model for one page request of the task list (keyset paging).
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Carries the same filter and sort state as TaskFilterManager, so a paged
+ * list shows exactly what the in-memory filtered list would show.
+ *
+ * @property completionFilter Completion status filter
+ * @property categoryFilter Category to show (null = all categories)
+ * @property priorityFilter Priority to show, 0=Low ... 3=Urgent (null = all priorities)
+ * @property searchQuery Full-text search input (blank = no search)
+ * @property sortOption Sort order; every option ends with task id as tie-breaker
+ */
+data class TaskPageQuery(
+    val completionFilter: TaskFilterManager.CompletionFilter = TaskFilterManager.CompletionFilter.ALL,
+    val categoryFilter: String? = null,
+    val priorityFilter: Int? = null,
+    val searchQuery: String = "",
+    val sortOption: TaskFilterManager.SortOption = TaskFilterManager.SortOption.PRIORITY
+)
@@ -0,0 +1,35 @@
+package com.secretary.features.tasks.domain.model
+
+/**
+ * Domain model for one task list row, formatted for display.
+ *
+ * Pure domain model with NO Room or Android dependencies.
+ * Produced off the main thread (TaskRowFormatter), so binding a row only
+ * sets precomputed strings - no date formatting, label lookups or string
+ * building while scrolling.
+ *
+ * @property item Row the texts were formatted from (passed back to click listeners)
+ * @property descriptionText Description preview (null = hidden)
+ * @property infoText Category, priority, due date and recurrence line
+ * @property streakText Streak badge (null = hidden)
+ * @property hasRelativeTime True if infoText depends on the current time (reformatted every minute)
+ */
+data class TaskRowModel(
+    val item: TaskListItem,
+    val descriptionText: String?,
+    val infoText: String,
+    val streakText: String?,
+    val hasRelativeTime: Boolean
+) {
+    /** Task ID */
+    val id: Long
+        get() = item.id
+
+    /** Title text */
+    val title: String
+        get() = item.title
+
+    /** Checkbox state; completed titles are struck through */
+    val isCompleted: Boolean
+        get() = item.isCompleted
+}
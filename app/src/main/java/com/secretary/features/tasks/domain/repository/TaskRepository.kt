@@ -1,6 +1,11 @@
 package com.secretary.features.tasks.domain.repository
 
 import com.secretary.Task
+import com.secretary.features.statistics.domain.model.Completion
+import com.secretary.features.tasks.domain.model.ScheduledReset
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Repository interface for Task CRUD operations.
@@ -49,6 +54,127 @@ interface TaskRepository {
      */
     suspend fun getTaskById(taskId: Long): Task?
 
+    /**
+     * Complete a task atomically in a single transaction
+     *
+     * Reads the task, applies [complete], inserts [completion] (if any) and writes
+     * only the completion-related columns. If [complete] throws, nothing is written.
+     *
+     * @param taskId Task to complete
+     * @param completion History record to save with the completion (completionId is ignored)
+     * @param complete Computes the completed task from its current state
+     * @return The completed task, or null if the task does not exist
+     */
+    suspend fun completeTask(taskId: Long, completion: Completion?, complete: (Task) -> Task): Task?
+
+    // ========== Batch Operations ==========
+    // Each call runs in one transaction: all rows change or none, and observers re-emit once.
+
+    /**
+     * Insert several tasks
+     * @return The IDs of the inserted tasks, in order
+     */
+    suspend fun insertTasks(tasks: List<Task>): List<Long>
+
+    /**
+     * Update several existing tasks
+     */
+    suspend fun updateTasks(tasks: List<Task>)
+
+    /**
+     * Delete tasks by ID
+     * @return Number of tasks deleted
+     */
+    suspend fun deleteTasks(taskIds: Collection<Long>): Int
+
+    /**
+     * Complete several tasks atomically
+     *
+     * Like completeTask() for every task, in one transaction: [complete] runs
+     * for each existing task, and each completed task gets a history record
+     * at [completedAt]. If [complete] throws, nothing is written.
+     *
+     * @param taskIds Tasks to complete
+     * @param completedAt Timestamp of the completion records
+     * @param complete Computes the completed task, or null to leave it unchanged
+     * @return The completed tasks
+     */
+    suspend fun completeTasks(taskIds: Collection<Long>, completedAt: Long, complete: (Task) -> Task?): List<Task>
+
+    /**
+     * Move tasks to another category
+     * @return Number of tasks updated
+     */
+    suspend fun updateCategory(taskIds: Collection<Long>, category: String): Int
+
+    /**
+     * Set the priority of tasks
+     * @return Number of tasks updated
+     */
+    suspend fun updatePriority(taskIds: Collection<Long>, priority: Int): Int
+
+    // ========== Observable Queries ==========
+
+    /**
+     * Observe all tasks (active and completed)
+     * Emits the current list immediately and again after every committed change to the tasks table.
+     */
+    fun observeAllTasks(): Flow<List<Task>>
+
+    /**
+     * Observe the active (not completed) tasks
+     * Emits like observeAllTasks(); a task that gets completed leaves the list.
+     */
+    fun observeActiveTasks(): Flow<List<Task>>
+
+    /**
+     * Observe the task list rows (list columns only), ordered like observeAllTasks()
+     * Use getTaskById() to load the full task for one row.
+     */
+    fun observeTaskListItems(): Flow<List<TaskListItem>>
+
+    /**
+     * Emits immediately and again after every committed change to the tasks table
+     */
+    fun observeTaskChanges(): Flow<Unit>
+
+    // ========== Recurrence Reset Schedule ==========
+
+    /**
+     * Get the pending reset of every recurring task.
+     * Computes reset instants that are not stored yet (tasks from before schema v9) first.
+     * @return One entry per task with a pending reset, in no particular order
+     */
+    suspend fun getResetSchedule(): List<ScheduledReset>
+
+    /**
+     * Get the earliest pending reset
+     * @return The reset with the smallest resetAt, or null if no task has one
+     */
+    suspend fun getNextScheduledReset(): ScheduledReset?
+
+    /**
+     * Reset all tasks that are due at [now] in one transaction
+     *
+     * Only the due tasks are read and written; each one gets a new reset instant.
+     *
+     * @param now Timestamp the resets are due at
+     * @param reset Computes the reset task from its current state
+     * @return The new pending resets of the reset tasks (tasks without one are left out)
+     */
+    suspend fun resetDueTasks(now: Long, reset: (Task) -> Task): List<ScheduledReset>
+
+    // ========== Paged Queries ==========
+
+    /**
+     * Load one page of the filtered, sorted task list
+     * @param query Filter and sort state
+     * @param after Last row of the previous page (null = first page)
+     * @param limit Maximum number of rows to return
+     * @return Up to [limit] rows following [after] in [query] sort order
+     */
+    suspend fun getTaskPage(query: TaskPageQuery, after: TaskListItem?, limit: Int): List<TaskListItem>
+
     // ========== Category Operations ==========
 
     /**
@@ -57,6 +183,20 @@ interface TaskRepository {
      */
     suspend fun getAllCategories(): List<String>
 
+    // ========== Search Operations ==========
+
+    /**
+     * Full-text search over title, description and category.
+     * Every word is matched as a prefix and all words must match ("kü put" finds "Küche putzen").
+     * @return Matching tasks, title matches first, then list order; empty for a blank query
+     */
+    suspend fun searchTasks(query: String): List<Task>
+
+    /**
+     * IDs of all tasks matching [query] (same matching rules as searchTasks)
+     */
+    suspend fun searchTaskIds(query: String): Set<Long>
+
     // ========== Statistics Operations ==========
 
     /**
@@ -64,6 +204,11 @@ interface TaskRepository {
      */
     suspend fun getTaskCount(): Int
 
+    /**
+     * Get count of active (not completed) tasks
+     */
+    suspend fun getActiveTaskCount(): Int
+
     /**
      * Get count of tasks completed today
      */
@@ -0,0 +1,288 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.tasks.domain.model.DailyPlan
+import com.secretary.features.tasks.domain.model.PlannedTask
+
+/**
+ * DailyPlanner - Pick and order today's tasks within a time budget
+ * Phase 5: Intelligent Planning
+ *
+ * Pure domain service with NO database operations or Android dependencies.
+ * Every active task gets a value and an estimated duration (its average
+ * tracked time, or DEFAULT_TASK_MINUTES without history). The plan is the
+ * set of tasks with the highest total value whose durations fit the budget
+ * (a 0/1 knapsack), ordered for the day.
+ *
+ * Value of a task:
+ * - 1 + priority (Low 1 ... Urgent 4)
+ * - Overdue: OVERDUE_PENALTY_PER_DAY per day overdue (at most MAX_OVERDUE_DAYS)
+ * - Due later today: DUE_TODAY_BONUS
+ * - FREQUENCY tasks with completions still missing this period:
+ *   OBLIGATION_WEIGHT * (missing completions / days left, at most 1)
+ *
+ * Anytime solver: a greedy seed (best value per minute first) is built,
+ * then improved by local search - add a task, swap one task for another,
+ * drop one or two tasks and refill the freed time greedily - until no move
+ * improves the plan or the time limit passes. The limit counts from the
+ * start of plan(), so scoring the candidates uses it up too; with many tasks
+ * the seed itself stops early when it is spent. Either way the best plan
+ * found so far is returned.
+ *
+ * @param recurrenceService Service for recurrence periods (also defines local days)
+ * @param nanoTime Monotonic time source for the time limit (replaceable in tests)
+ */
+class DailyPlanner(
+    private val recurrenceService: RecurrenceService = RecurrenceService(),
+    private val nanoTime: () -> Long = System::nanoTime
+) {
+
+    companion object {
+        /** Estimated duration of a task without tracked time */
+        const val DEFAULT_TASK_MINUTES = 30
+
+        const val OVERDUE_PENALTY_PER_DAY = 1.0
+        const val MAX_OVERDUE_DAYS = 7
+        const val DUE_TODAY_BONUS = 2.0
+        const val OBLIGATION_WEIGHT = 4.0
+
+        private const val DAY_MILLIS = PeriodCalendar.DAY_MILLIS
+
+        /** Smallest value gain that counts as an improvement (guards against rounding loops) */
+        private const val MIN_GAIN = 1e-9
+
+        /** No second task dropped */
+        private const val NONE = -1
+
+        /** Candidates the greedy seed adds between two looks at the clock */
+        private const val SEED_CHECK_INTERVAL = 256
+    }
+
+    /**
+     * Make today's plan
+     *
+     * @param tasks Candidate tasks; completed ones are ignored
+     * @param profiles Completion profiles by task ID (for durations)
+     * @param budgetMinutes Time available today
+     * @param now Current time
+     * @param timeLimitMillis Wall-clock limit for the whole call: scoring, greedy seed and local search
+     * @return The best plan found, in the order to do the tasks
+     */
+    fun plan(
+        tasks: List<Task>,
+        profiles: Map<Long, TaskCompletionProfile>,
+        budgetMinutes: Int,
+        now: Long,
+        timeLimitMillis: Long
+    ): DailyPlan {
+        val deadline = nanoTime() + timeLimitMillis * 1_000_000
+        val endOfToday = recurrenceService.getNextPeriodStart(now, Task.UNIT_DAY)
+
+        val candidates = tasks.mapNotNull { task ->
+            if (task.isCompleted) return@mapNotNull null
+            val averageMinutes = profiles[task.id]?.averageMinutes ?: 0
+            val minutes = if (averageMinutes > 0) averageMinutes else DEFAULT_TASK_MINUTES
+            if (minutes > budgetMinutes) return@mapNotNull null
+            PlannedTask(task, minutes, averageMinutes > 0, value(task, now, endOfToday))
+        }
+
+        val search = Search(candidates, budgetMinutes, deadline)
+        search.greedy()
+        val isLocalOptimum = search.improve()
+
+        val planned = candidates.filterIndexed { i, _ -> search.selected[i] }
+            .sortedWith(dayOrder(endOfToday))
+        return DailyPlan(planned, budgetMinutes, isLocalOptimum)
+    }
+
+    /**
+     * Planning value of a task (see class documentation)
+     */
+    fun value(task: Task, now: Long, endOfToday: Long): Double {
+        var value = 1.0 + task.priority.coerceIn(0, 3)
+
+        if (task.dueDate > 0) {
+            if (task.dueDate < now) {
+                val daysOverdue = (now - task.dueDate) / DAY_MILLIS + 1
+                value += OVERDUE_PENALTY_PER_DAY * minOf(daysOverdue, MAX_OVERDUE_DAYS.toLong())
+            } else if (task.dueDate < endOfToday) {
+                value += DUE_TODAY_BONUS
+            }
+        }
+
+        if (task.recurrenceType == Task.RECURRENCE_FREQUENCY && task.recurrenceAmount > 0) {
+            val unit = task.recurrenceUnit
+            val done = if (recurrenceService.isInCurrentPeriod(task.currentPeriodStart, unit, now)) {
+                task.completionsThisPeriod
+            } else {
+                0 // Period over: the reset hasn't run yet, nothing counts for the new one
+            }
+            val missing = task.recurrenceAmount - done
+            if (missing > 0) {
+                val periodEnd = recurrenceService.getNextPeriodStart(now, unit)
+                val daysLeft = maxOf(1L, (periodEnd - now + DAY_MILLIS - 1) / DAY_MILLIS)
+                value += OBLIGATION_WEIGHT * minOf(1.0, missing.toDouble() / daysLeft)
+            }
+        }
+
+        return value
+    }
+
+    /**
+     * Tasks with a deadline today (overdue included) first, earliest first; then by value
+     */
+    private fun dayOrder(endOfToday: Long): Comparator<PlannedTask> {
+        fun deadlineToday(planned: PlannedTask): Long {
+            val dueDate = planned.task.dueDate
+            return if (dueDate in 1 until endOfToday) dueDate else Long.MAX_VALUE
+        }
+        return compareBy<PlannedTask> { deadlineToday(it) }
+            .thenByDescending { it.value }
+            .thenBy { it.task.id }
+    }
+
+    // ========== Solver ==========
+
+    /**
+     * Knapsack state on plain arrays: selection, free minutes and the moves on them
+     */
+    private inner class Search(candidates: List<PlannedTask>, budgetMinutes: Int, private val deadline: Long) {
+        private val size = candidates.size
+        private val minutes = IntArray(size) { candidates[it].estimatedMinutes }
+        private val values = DoubleArray(size) { candidates[it].value }
+        val selected = BooleanArray(size)
+        private var free = budgetMinutes
+        private var timedOut = false
+
+        /** Candidate indices, best value per minute first */
+        private val byDensity = (0 until size)
+            .sortedWith(compareByDescending<Int> { values[it] / minutes[it] }.thenByDescending { values[it] })
+            .toIntArray()
+
+        /**
+         * Seed: best value per minute first, until the budget is full or time is up
+         */
+        fun greedy() {
+            for (n in 0 until size) {
+                if (n % SEED_CHECK_INTERVAL == SEED_CHECK_INTERVAL - 1 && outOfTime()) return
+                val i = byDensity[n]
+                if (minutes[i] <= free) select(i)
+            }
+        }
+
+        /**
+         * Apply improving moves until none is left or time is up
+         * @return True if a local optimum was reached, false if the time limit cut it short
+         */
+        fun improve(): Boolean {
+            while (!outOfTime()) {
+                val improved = addBest() || swapBest() || dropAndRefillBest()
+                if (!improved) return !timedOut // Moves give up without improving when time is up
+            }
+            return false
+        }
+
+        /**
+         * Add the most valuable unselected task that still fits
+         */
+        private fun addBest(): Boolean {
+            var best = -1
+            for (j in 0 until size) {
+                if (!selected[j] && minutes[j] <= free && (best < 0 || values[j] > values[best])) best = j
+            }
+            if (best < 0) return false
+            select(best)
+            return true
+        }
+
+        /**
+         * Replace one selected task by the unselected one gaining the most value
+         */
+        private fun swapBest(): Boolean {
+            var bestGain = MIN_GAIN
+            var bestOut = -1
+            var bestIn = -1
+            for (i in 0 until size) {
+                if (!selected[i]) continue
+                if (outOfTime()) return false
+                val room = free + minutes[i]
+                for (j in 0 until size) {
+                    if (selected[j] || minutes[j] > room) continue
+                    val gain = values[j] - values[i]
+                    if (gain > bestGain) {
+                        bestGain = gain
+                        bestOut = i
+                        bestIn = j
+                    }
+                }
+            }
+            if (bestOut < 0) return false
+            unselect(bestOut)
+            select(bestIn)
+            return true
+        }
+
+        /**
+         * Drop one or two selected tasks and refill their time greedily, if that gains value
+         */
+        private fun dropAndRefillBest(): Boolean {
+            val chosen = (0 until size).filter { selected[it] }
+            var bestGain = MIN_GAIN
+            var bestFirst = -1
+            var bestSecond = NONE
+            for (x in chosen.indices) {
+                if (outOfTime()) return false
+                val first = chosen[x]
+                for (y in x until chosen.size) {
+                    val second = if (y == x) NONE else chosen[y] // y == x: drop only the first
+                    val dropped = values[first] + (if (second == NONE) 0.0 else values[second])
+                    val room = free + minutes[first] + (if (second == NONE) 0 else minutes[second])
+                    val gain = refill(room, first, second, apply = false) - dropped
+                    if (gain > bestGain) {
+                        bestGain = gain
+                        bestFirst = first
+                        bestSecond = second
+                    }
+                }
+            }
+            if (bestFirst < 0) return false
+
+            unselect(bestFirst)
+            if (bestSecond != NONE) unselect(bestSecond)
+            refill(free, bestFirst, bestSecond, apply = true)
+            return true
+        }
+
+        /**
+         * Fill [room] minutes with unselected tasks, best value per minute first, skipping the dropped ones
+         * @return Value of the tasks filled in (selected only if [apply])
+         */
+        private fun refill(room: Int, droppedFirst: Int, droppedSecond: Int, apply: Boolean): Double {
+            var left = room
+            var value = 0.0
+            for (j in byDensity) {
+                if (j == droppedFirst || j == droppedSecond || selected[j] || minutes[j] > left) continue
+                left -= minutes[j]
+                value += values[j]
+                if (apply) select(j)
+            }
+            return value
+        }
+
+        private fun select(i: Int) {
+            selected[i] = true
+            free -= minutes[i]
+        }
+
+        private fun unselect(i: Int) {
+            selected[i] = false
+            free += minutes[i]
+        }
+
+        private fun outOfTime(): Boolean {
+            if (!timedOut && nanoTime() - deadline >= 0) timedOut = true
+            return timedOut
+        }
+    }
+}
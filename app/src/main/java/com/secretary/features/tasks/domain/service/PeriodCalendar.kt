@@ -0,0 +1,247 @@
+package com.secretary.features.tasks.domain.service
+
+import java.time.DayOfWeek
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.temporal.WeekFields
+import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * PeriodCalendar - Local calendar arithmetic on epoch days
+ *
+ * Pure domain helper with NO database operations or Android dependencies.
+ * Replaces per-call Calendar instances in RecurrenceService and StreakService:
+ * timestamps become local epoch days (days since 1970-01-01 in [zone], like
+ * LocalDate.toEpochDay()), and days, weeks, months and years are plain
+ * integer arithmetic on them - no objects are allocated per call.
+ *
+ * The zone's offset transitions (DST switches) between TABLE_START_YEAR and
+ * TABLE_END_YEAR are read from ZoneRules once and kept in a sorted array, so
+ * an offset lookup is a binary search; ZoneRules is only consulted again for
+ * timestamps outside that range.
+ * Instances are shared per zone and first day of week (see forZone).
+ *
+ * @property zone Time zone that defines local days
+ * @property firstDayOfWeek First day of a week period
+ */
+class PeriodCalendar private constructor(
+    val zone: ZoneId,
+    val firstDayOfWeek: DayOfWeek
+) {
+
+    companion object {
+        const val DAY_MILLIS = 24 * 60 * 60 * 1000L
+
+        /** Years covered by the transition table */
+        private const val TABLE_START_YEAR = 1900
+        private const val TABLE_END_YEAR = 2100
+
+        private val instances = ConcurrentHashMap<Pair<ZoneId, DayOfWeek>, PeriodCalendar>()
+
+        /**
+         * Get the shared calendar for a zone
+         *
+         * @param zone Time zone (default: device zone)
+         * @param firstDayOfWeek First day of week (default: from the device locale, as Calendar did)
+         */
+        fun forZone(
+            zone: ZoneId = ZoneId.systemDefault(),
+            firstDayOfWeek: DayOfWeek = WeekFields.of(Locale.getDefault()).firstDayOfWeek
+        ): PeriodCalendar = instances.getOrPut(zone to firstDayOfWeek) { PeriodCalendar(zone, firstDayOfWeek) }
+    }
+
+    private val rules = zone.rules
+
+    /** Epoch millis of each offset transition in the table range, ascending */
+    private val transitions: LongArray
+
+    /** offsets[i] = UTC offset (millis) before transitions[i]; the last one applies after all of them */
+    private val offsets: LongArray
+
+    // One day inside the table years, so local times near the ends still convert on the table
+    private val tableStart = LocalDate.of(TABLE_START_YEAR, 1, 1).toEpochDay() * DAY_MILLIS + DAY_MILLIS
+    private val tableEnd = LocalDate.of(TABLE_END_YEAR, 1, 1).toEpochDay() * DAY_MILLIS - DAY_MILLIS
+
+    init {
+        val times = ArrayList<Long>()
+        val offsetsBefore = ArrayList<Long>()
+        var transition = rules.nextTransition(Instant.ofEpochMilli(tableStart))
+        while (transition != null && transition.toEpochSecond() * 1000L < tableEnd) {
+            times.add(transition.toEpochSecond() * 1000L)
+            offsetsBefore.add(transition.offsetBefore.totalSeconds * 1000L)
+            transition = rules.nextTransition(transition.instant)
+        }
+        transitions = times.toLongArray()
+        offsets = (offsetsBefore + rules.getOffset(Instant.ofEpochMilli(tableEnd)).totalSeconds * 1000L).toLongArray()
+    }
+
+    // ========== Days ==========
+
+    /**
+     * Local epoch day of a timestamp
+     */
+    fun epochDay(epochMillis: Long): Long =
+        Math.floorDiv(epochMillis + offsetAt(epochMillis), DAY_MILLIS)
+
+    /**
+     * Timestamp of local midnight (00:00:00.000) starting an epoch day
+     */
+    fun startOfDay(epochDay: Long): Long = toEpochMillis(epochDay * DAY_MILLIS)
+
+    /**
+     * Timestamp of local midnight of the day containing [epochMillis]
+     */
+    fun startOfDayMillis(epochMillis: Long): Long = startOfDay(epochDay(epochMillis))
+
+    // ========== Periods ==========
+
+    /**
+     * Epoch day of the first day of the week containing [epochDay]
+     */
+    fun startOfWeek(epochDay: Long): Long {
+        val isoDayOfWeek = Math.floorMod(epochDay + 3, 7L) + 1 // 1970-01-01 was a Thursday (4)
+        return epochDay - Math.floorMod(isoDayOfWeek - firstDayOfWeek.value, 7L)
+    }
+
+    /**
+     * Epoch day of the first day of the month containing [epochDay]
+     */
+    fun startOfMonth(epochDay: Long): Long = epochDay - dayOfMonthOf(civil(epochDay)) + 1
+
+    /**
+     * Epoch day of January 1st of the year containing [epochDay]
+     */
+    fun startOfYear(epochDay: Long): Long = daysFromCivil(yearOf(civil(epochDay)), 1, 1)
+
+    /**
+     * Months since 1970-01 of the month containing [epochDay] (unique per month)
+     */
+    fun epochMonth(epochDay: Long): Long {
+        val date = civil(epochDay)
+        return (yearOf(date) - 1970L) * 12 + monthOf(date) - 1
+    }
+
+    /**
+     * Calendar year containing [epochDay]
+     */
+    fun year(epochDay: Long): Int = yearOf(civil(epochDay))
+
+    /**
+     * Add months, clamping to the last day of a shorter month (Jan 31 + 1 month = Feb 28/29)
+     */
+    fun plusMonths(epochDay: Long, months: Long): Long {
+        val date = civil(epochDay)
+        val totalMonths = yearOf(date) * 12L + monthOf(date) - 1 + months
+        val newYear = Math.floorDiv(totalMonths, 12L).toInt()
+        val newMonth = Math.floorMod(totalMonths, 12L).toInt() + 1
+        return daysFromCivil(newYear, newMonth, minOf(dayOfMonthOf(date), lengthOfMonth(newYear, newMonth)))
+    }
+
+    // ========== Local Time Conversion ==========
+
+    /**
+     * Local wall-clock time (millis since 1970-01-01T00:00 local) of a timestamp
+     */
+    fun toLocalMillis(epochMillis: Long): Long = epochMillis + offsetAt(epochMillis)
+
+    /**
+     * Timestamp of a local wall-clock time, resolved like ZonedDateTime.of():
+     * a time skipped by a DST gap moves forward by the gap length, a time that
+     * occurs twice (DST overlap) resolves to the earlier offset.
+     */
+    fun toEpochMillis(localMillis: Long): Long {
+        if (localMillis <= tableStart || localMillis >= tableEnd) return toEpochMillisSlow(localMillis)
+
+        // Offset span i covers [transitions[i - 1], transitions[i]); the right one is next to the first guess
+        val guess = spanIndex(localMillis - offsets[spanIndex(localMillis)])
+        val first = maxOf(0, guess - 1)
+        val last = minOf(transitions.size, guess + 1)
+        for (i in first..last) {
+            val instant = localMillis - offsets[i]
+            val afterStart = i == 0 || instant >= transitions[i - 1]
+            val beforeEnd = i == transitions.size || instant < transitions[i]
+            if (afterStart && beforeEnd) return instant // Earliest valid span first: overlaps take the earlier offset
+        }
+        for (i in first until last) {
+            // In the gap at transitions[i]: keep the offset before it, which lands after the transition
+            if (localMillis - offsets[i] >= transitions[i] && localMillis - offsets[i + 1] < transitions[i]) {
+                return localMillis - offsets[i]
+            }
+        }
+        return toEpochMillisSlow(localMillis)
+    }
+
+    /**
+     * UTC offset (millis) of [zone] at a timestamp
+     */
+    private fun offsetAt(epochMillis: Long): Long {
+        if (epochMillis < tableStart || epochMillis >= tableEnd) {
+            return rules.getOffset(Instant.ofEpochMilli(epochMillis)).totalSeconds * 1000L
+        }
+        return offsets[spanIndex(epochMillis)]
+    }
+
+    /**
+     * Number of transitions at or before a timestamp = index into offsets
+     */
+    private fun spanIndex(epochMillis: Long): Int {
+        var low = 0
+        var high = transitions.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (transitions[mid] <= epochMillis) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    private fun toEpochMillisSlow(localMillis: Long): Long {
+        val local = LocalDateTime.ofEpochSecond(
+            Math.floorDiv(localMillis, 1000L),
+            Math.floorMod(localMillis, 1000L).toInt() * 1_000_000,
+            ZoneOffset.UTC
+        )
+        return local.atZone(zone).toInstant().toEpochMilli()
+    }
+
+    // ========== Civil Date Arithmetic ==========
+    // Proleptic Gregorian conversions after H. Hinnant, "chrono-Compatible Low-Level Date Algorithms".
+    // A date is packed into one Long (year shl 9 | month shl 5 | day) to avoid allocating.
+
+    private fun civil(epochDay: Long): Long {
+        val z = epochDay + 719_468
+        val era = Math.floorDiv(z, 146_097L)
+        val dayOfEra = z - era * 146_097                                                     // [0, 146096]
+        val yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365 // [0, 399]
+        val dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100)        // [0, 365], from March 1st
+        val shiftedMonth = (5 * dayOfYear + 2) / 153                                         // [0, 11], March = 0
+        val day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1
+        val month = if (shiftedMonth < 10) shiftedMonth + 3 else shiftedMonth - 9
+        val year = yearOfEra + era * 400 + if (month <= 2) 1 else 0
+        return (year shl 9) or (month shl 5) or day
+    }
+
+    private fun yearOf(date: Long): Int = (date shr 9).toInt()
+
+    private fun monthOf(date: Long): Int = ((date shr 5) and 15).toInt()
+
+    private fun dayOfMonthOf(date: Long): Int = (date and 31).toInt()
+
+    private fun daysFromCivil(year: Int, month: Int, day: Int): Long {
+        val y = (if (month <= 2) year - 1 else year).toLong()
+        val era = Math.floorDiv(y, 400L)
+        val yearOfEra = y - era * 400
+        val dayOfYear = (153 * (if (month > 2) month - 3 else month + 9) + 2) / 5 + day - 1
+        val dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear
+        return era * 146_097 + dayOfEra - 719_468
+    }
+
+    private fun lengthOfMonth(year: Int, month: Int): Int = when (month) {
+        2 -> if (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) 29 else 28
+        4, 6, 9, 11 -> 30
+        else -> 31
+    }
+}
@@ -1,7 +1,10 @@
 package com.secretary.features.tasks.domain.service
 
 import com.secretary.Task
-import java.util.Calendar
+import java.time.DayOfWeek
+import java.time.ZoneId
+import java.time.temporal.WeekFields
+import java.util.Locale
 
 /**
  * RecurrenceService - Domain Service for Recurring Task Logic
@@ -13,13 +16,24 @@ import java.util.Calendar
  * Supports two recurrence types:
  * - INTERVAL: "Every X Y" (e.g., every 3 days) - resets when time elapses
  * - FREQUENCY: "X times per Y" (e.g., 3 times per week) - tracks completions within period
+ *
+ * Period arithmetic runs on local epoch days (PeriodCalendar) instead of
+ * Calendar, so the reset loop allocates nothing per task.
+ *
+ * @param zone Time zone that defines days and periods (default: device zone)
+ * @param firstDayOfWeek First day of a WEEK period (default: from the device locale)
  */
-class RecurrenceService {
+class RecurrenceService(
+    zone: ZoneId = ZoneId.systemDefault(),
+    firstDayOfWeek: DayOfWeek = WeekFields.of(Locale.getDefault()).firstDayOfWeek
+) {
 
     companion object {
         private const val TAG = "RecurrenceService"
     }
 
+    private val calendar = PeriodCalendar.forZone(zone, firstDayOfWeek)
+
     /**
      * Handle recurring task completion.
      * Returns updated Task with new recurrence state.
@@ -88,6 +102,8 @@ class RecurrenceService {
 
     /**
      * Calculate the next due date based on recurrence settings.
+     * Keeps the local time of day; months and years clamp to the last day of
+     * a shorter month (Jan 31 + 1 month = Feb 28/29).
      *
      * @param currentDueDate The current due date (or completion time)
      * @param amount The recurrence amount (e.g., 3 for "every 3 days")
@@ -95,17 +111,19 @@ class RecurrenceService {
      * @return Timestamp of next due date
      */
     fun calculateNextDueDate(currentDueDate: Long, amount: Int, unit: Int): Long {
-        val cal = Calendar.getInstance()
-        cal.timeInMillis = currentDueDate
-
-        when (unit) {
-            Task.UNIT_DAY -> cal.add(Calendar.DAY_OF_MONTH, amount)
-            Task.UNIT_WEEK -> cal.add(Calendar.WEEK_OF_YEAR, amount)
-            Task.UNIT_MONTH -> cal.add(Calendar.MONTH, amount)
-            Task.UNIT_YEAR -> cal.add(Calendar.YEAR, amount)
+        val local = calendar.toLocalMillis(currentDueDate)
+        val day = Math.floorDiv(local, PeriodCalendar.DAY_MILLIS)
+        val timeOfDay = local - day * PeriodCalendar.DAY_MILLIS
+
+        val nextDay = when (unit) {
+            Task.UNIT_DAY -> day + amount
+            Task.UNIT_WEEK -> day + 7L * amount
+            Task.UNIT_MONTH -> calendar.plusMonths(day, amount.toLong())
+            Task.UNIT_YEAR -> calendar.plusMonths(day, 12L * amount)
+            else -> return currentDueDate
         }
 
-        return cal.timeInMillis
+        return calendar.toEpochMillis(nextDay * PeriodCalendar.DAY_MILLIS + timeOfDay)
     }
 
     /**
@@ -119,28 +137,15 @@ class RecurrenceService {
     fun isInCurrentPeriod(periodStart: Long, unit: Int, now: Long): Boolean {
         if (periodStart == 0L) return false
 
-        val periodCal = Calendar.getInstance()
-        periodCal.timeInMillis = periodStart
-
-        val nowCal = Calendar.getInstance()
-        nowCal.timeInMillis = now
+        val periodDay = calendar.epochDay(periodStart)
+        val nowDay = calendar.epochDay(now)
 
         return when (unit) {
-            Task.UNIT_DAY -> {
-                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
-                periodCal.get(Calendar.DAY_OF_YEAR) == nowCal.get(Calendar.DAY_OF_YEAR)
-            }
-            Task.UNIT_WEEK -> {
-                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
-                periodCal.get(Calendar.WEEK_OF_YEAR) == nowCal.get(Calendar.WEEK_OF_YEAR)
-            }
-            Task.UNIT_MONTH -> {
-                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
-                periodCal.get(Calendar.MONTH) == nowCal.get(Calendar.MONTH)
-            }
-            Task.UNIT_YEAR -> {
-                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR)
-            }
+            Task.UNIT_DAY -> periodDay == nowDay
+            // Same week even if it spans New Year (Calendar's WEEK_OF_YEAR + YEAR split those weeks)
+            Task.UNIT_WEEK -> calendar.startOfWeek(periodDay) == calendar.startOfWeek(nowDay)
+            Task.UNIT_MONTH -> calendar.epochMonth(periodDay) == calendar.epochMonth(nowDay)
+            Task.UNIT_YEAR -> calendar.year(periodDay) == calendar.year(nowDay)
             else -> false
         }
     }
@@ -153,31 +158,16 @@ class RecurrenceService {
      * @return Timestamp at start of period (00:00:00)
      */
     fun getPeriodStart(timestamp: Long, unit: Int): Long {
-        val cal = Calendar.getInstance()
-        cal.timeInMillis = timestamp
-
-        // Reset to start of day
-        cal.set(Calendar.HOUR_OF_DAY, 0)
-        cal.set(Calendar.MINUTE, 0)
-        cal.set(Calendar.SECOND, 0)
-        cal.set(Calendar.MILLISECOND, 0)
-
-        when (unit) {
-            Task.UNIT_DAY -> {
-                // Already at start of day
-            }
-            Task.UNIT_WEEK -> {
-                cal.set(Calendar.DAY_OF_WEEK, cal.firstDayOfWeek)
-            }
-            Task.UNIT_MONTH -> {
-                cal.set(Calendar.DAY_OF_MONTH, 1)
-            }
-            Task.UNIT_YEAR -> {
-                cal.set(Calendar.DAY_OF_YEAR, 1)
-            }
+        val day = calendar.epochDay(timestamp)
+
+        val startDay = when (unit) {
+            Task.UNIT_WEEK -> calendar.startOfWeek(day)
+            Task.UNIT_MONTH -> calendar.startOfMonth(day)
+            Task.UNIT_YEAR -> calendar.startOfYear(day)
+            else -> day // DAY: start of day
         }
 
-        return cal.timeInMillis
+        return calendar.startOfDay(startDay)
     }
 
     /**
@@ -230,6 +220,62 @@ class RecurrenceService {
         )
     }
 
+    /**
+     * Reset a task if its next reset instant has passed.
+     *
+     * @param task The task to check
+     * @param currentTime Current timestamp
+     * @return The reset task, or null if the task does not need a reset
+     */
+    fun resetIfDue(task: Task, currentTime: Long): Task? {
+        return when {
+            shouldResetIntervalTask(task, currentTime) -> resetIntervalTask(task)
+            shouldResetFrequencyTask(task, currentTime) ->
+                resetFrequencyTask(task, getPeriodStart(currentTime, task.recurrenceUnit))
+            else -> null
+        }
+    }
+
+    /**
+     * Get the instant at which a task needs its next reset.
+     * From this instant on, shouldResetIntervalTask / shouldResetFrequencyTask
+     * return true until the task is reset or completed again.
+     *
+     * - INTERVAL: the due date, once the task is completed
+     * - FREQUENCY: start of the period after currentPeriodStart (local midnight)
+     *
+     * @param task The task to schedule
+     * @return Timestamp of the next reset, or 0 if the task has nothing to reset
+     */
+    fun getNextResetTime(task: Task): Long {
+        return when (task.recurrenceType) {
+            Task.RECURRENCE_INTERVAL -> if (task.isCompleted && task.dueDate > 0) task.dueDate else 0L
+            Task.RECURRENCE_FREQUENCY ->
+                if (task.currentPeriodStart > 0) getNextPeriodStart(task.currentPeriodStart, task.recurrenceUnit) else 0L
+            else -> 0L
+        }
+    }
+
+    /**
+     * Get the start of the period following the one containing [timestamp].
+     *
+     * @param timestamp Any timestamp in the current period
+     * @param unit The period unit (DAY, WEEK, MONTH, YEAR)
+     * @return Timestamp at start of the next period (00:00:00)
+     */
+    fun getNextPeriodStart(timestamp: Long, unit: Int): Long {
+        val day = calendar.epochDay(timestamp)
+
+        val nextStartDay = when (unit) {
+            Task.UNIT_WEEK -> calendar.startOfWeek(day) + 7
+            Task.UNIT_MONTH -> calendar.plusMonths(calendar.startOfMonth(day), 1)
+            Task.UNIT_YEAR -> calendar.plusMonths(calendar.startOfYear(day), 12)
+            else -> day + 1 // DAY: next day
+        }
+
+        return calendar.startOfDay(nextStartDay)
+    }
+
     /**
      * Get all tasks that need to be reset (both INTERVAL and FREQUENCY).
      * Returns a list of task IDs and their updated states.
@@ -242,15 +288,7 @@ class RecurrenceService {
         val updates = mutableMapOf<Long, Task>()
 
         for (task in tasks) {
-            when {
-                shouldResetIntervalTask(task, currentTime) -> {
-                    updates[task.id] = resetIntervalTask(task)
-                }
-                shouldResetFrequencyTask(task, currentTime) -> {
-                    val newPeriodStart = getPeriodStart(currentTime, task.recurrenceUnit)
-                    updates[task.id] = resetFrequencyTask(task, newPeriodStart)
-                }
-            }
+            resetIfDue(task, currentTime)?.let { updates[task.id] = it }
         }
 
         return updates
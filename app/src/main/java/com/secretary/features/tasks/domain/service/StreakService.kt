@@ -1,7 +1,7 @@
 package com.secretary.features.tasks.domain.service
 
 import com.secretary.Task
-import java.util.Calendar
+import java.time.ZoneId
 
 /**
  * StreakService - Domain Service for Streak Management
@@ -15,13 +15,19 @@ import java.util.Calendar
  * - Gaps (skipped days) reset streak to 1
  * - Multiple completions same day don't change streak
  * - Tracks longest streak ever achieved
+ *
+ * Days are compared as local epoch days (PeriodCalendar), without Calendar objects.
+ *
+ * @param zone Time zone that defines days (default: device zone)
  */
-class StreakService {
+class StreakService(zone: ZoneId = ZoneId.systemDefault()) {
 
     companion object {
         private const val TAG = "StreakService"
     }
 
+    private val calendar = PeriodCalendar.forZone(zone)
+
     /**
      * Update streak counters based on task completion.
      * Returns updated Task with new streak values.
@@ -31,22 +37,21 @@ class StreakService {
      * @return Updated task with streak logic applied
      */
     fun updateStreak(task: Task, completionTime: Long = System.currentTimeMillis()): Task {
-        val currentDay = getStartOfDay(completionTime)
-        val lastStreakDay = if (task.lastStreakDate > 0) getStartOfDay(task.lastStreakDate) else 0L
+        val currentDay = calendar.epochDay(completionTime)
 
         val (newCurrentStreak, newLongestStreak) = when {
             // First completion ever - initialize streak
-            lastStreakDay == 0L -> {
+            task.lastStreakDate <= 0L -> {
                 Pair(1, maxOf(1, task.longestStreak))
             }
 
             // Same day - already counted, no change
-            isSameDay(lastStreakDay, currentDay) -> {
+            calendar.epochDay(task.lastStreakDate) == currentDay -> {
                 Pair(task.currentStreak, task.longestStreak)
             }
 
             // Consecutive day (yesterday) - increment streak
-            isConsecutiveDay(lastStreakDay, currentDay) -> {
+            isConsecutiveDay(calendar.epochDay(task.lastStreakDate), currentDay) -> {
                 val newCurrent = task.currentStreak + 1
                 val newLongest = maxOf(newCurrent, task.longestStreak)
                 Pair(newCurrent, newLongest)
@@ -61,53 +66,20 @@ class StreakService {
         return task.copy(
             currentStreak = newCurrentStreak,
             longestStreak = newLongestStreak,
-            lastStreakDate = currentDay
+            lastStreakDate = calendar.startOfDay(currentDay) // Stored as local midnight
         )
     }
 
     /**
-     * Check if two timestamps are on the same day.
-     *
-     * @param timestamp1 First timestamp (normalized to start of day)
-     * @param timestamp2 Second timestamp (normalized to start of day)
-     * @return true if both are the same day
-     */
-    private fun isSameDay(timestamp1: Long, timestamp2: Long): Boolean {
-        return timestamp1 == timestamp2
-    }
-
-    /**
-     * Check if second timestamp is exactly one day after first.
+     * Check if second day is exactly one day after first.
      * Used to detect consecutive daily completions.
      *
-     * @param lastDay Previous streak date (normalized to start of day)
-     * @param currentDay Current completion date (normalized to start of day)
+     * @param lastDay Previous streak day (local epoch day)
+     * @param currentDay Current completion day (local epoch day)
      * @return true if currentDay is exactly 1 day after lastDay
      */
     private fun isConsecutiveDay(lastDay: Long, currentDay: Long): Boolean {
-        val cal = Calendar.getInstance()
-        cal.timeInMillis = lastDay
-        cal.add(Calendar.DAY_OF_YEAR, 1)
-
-        val expectedNextDay = getStartOfDay(cal.timeInMillis)
-        return currentDay == expectedNextDay
-    }
-
-    /**
-     * Normalize timestamp to start of day (00:00:00.000).
-     * Ensures consistent day-based comparisons.
-     *
-     * @param timestamp The timestamp to normalize
-     * @return Timestamp at 00:00:00.000 of the same day
-     */
-    private fun getStartOfDay(timestamp: Long): Long {
-        val cal = Calendar.getInstance()
-        cal.timeInMillis = timestamp
-        cal.set(Calendar.HOUR_OF_DAY, 0)
-        cal.set(Calendar.MINUTE, 0)
-        cal.set(Calendar.SECOND, 0)
-        cal.set(Calendar.MILLISECOND, 0)
-        return cal.timeInMillis
+        return currentDay == lastDay + 1
     }
 
     /**
@@ -122,22 +94,26 @@ class StreakService {
             return Pair(0, 0)
         }
 
-        val normalizedDates = completionDates.map { getStartOfDay(it) }.distinct().sortedDescending()
+        // Distinct days, newest first (sorted ascending, walked backwards)
+        val days = LongArray(completionDates.size) { calendar.epochDay(completionDates[it]) }
+        days.sort()
 
         var currentStreak = 0
         var longestStreak = 0
         var streakCount = 0
-        var lastDate = 0L
+        var lastDay = Long.MIN_VALUE
 
-        for (date in normalizedDates) {
+        for (i in days.size - 1 downTo 0) {
+            val day = days[i]
             when {
-                lastDate == 0L -> {
+                day == lastDay -> continue // Same-day completion, already counted
+                lastDay == Long.MIN_VALUE -> {
                     // First date
                     streakCount = 1
                     currentStreak = 1
                 }
-                isConsecutiveDay(date, lastDate) -> {
-                    // Consecutive day (going backwards, so date is 1 day before lastDate)
+                isConsecutiveDay(day, lastDay) -> {
+                    // Consecutive day (going backwards, so day is 1 day before lastDay)
                     streakCount++
                     currentStreak = maxOf(currentStreak, streakCount)
                 }
@@ -148,7 +124,7 @@ class StreakService {
                 }
             }
 
-            lastDate = date
+            lastDay = day
         }
 
         // Final streak check
@@ -0,0 +1,238 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.TaskFilterManager.CompletionFilter
+import com.secretary.features.tasks.domain.model.TaskFacetCounts
+import com.secretary.features.tasks.domain.model.TaskListItem
+import java.util.BitSet
+
+/**
+ * TaskFacetIndex - Bitset index over the loaded task list rows
+ *
+ * Pure domain service with NO database operations or Android dependencies.
+ * Every row gets a position (id -> position table); each facet value has a
+ * BitSet of the positions that have it:
+ * - completion state (one set: completed; active = live AND NOT completed)
+ * - priority (one set per level, 0=Low ... 3=Urgent; other values clamped)
+ * - category (one set per category)
+ *
+ * A filter combination is a few word-wise ANDs instead of a predicate per
+ * row, and facet counts are AND + cardinality. Rows are indexed
+ * incrementally: an update moves one position between sets, a delete
+ * frees the position for the next insert.
+ *
+ * Not thread-safe: use from one thread (or under a lock) at a time.
+ */
+class TaskFacetIndex {
+
+    companion object {
+        /** Low, Medium, High, Urgent */
+        const val PRIORITY_LEVELS = 4
+    }
+
+    private val rows = ArrayList<TaskListItem?>()
+    private val positions = HashMap<Long, Int>()
+    private val freePositions = ArrayDeque<Int>()
+
+    private val live = BitSet()
+    private val completed = BitSet()
+    private val byPriority = Array(PRIORITY_LEVELS) { BitSet() }
+    private val byCategory = HashMap<String, BitSet>()
+
+    /**
+     * Number of indexed rows
+     */
+    val size: Int
+        get() = positions.size
+
+    // ========== Updates ==========
+
+    /**
+     * Make the index hold exactly [tasks], re-indexing only rows that changed
+     *
+     * @return Number of rows inserted, updated or removed
+     */
+    fun sync(tasks: List<TaskListItem>): Int {
+        var changes = 0
+        val present = BitSet(rows.size)
+        for (task in tasks) {
+            if (upsert(task)) changes++
+            present.set(positions.getValue(task.id))
+        }
+
+        val gone = live.clone() as BitSet
+        gone.andNot(present)
+        var position = gone.nextSetBit(0)
+        while (position >= 0) {
+            remove(rows[position]!!.id)
+            changes++
+            position = gone.nextSetBit(position + 1)
+        }
+        return changes
+    }
+
+    /**
+     * Insert or update one row
+     *
+     * @return False if the row was already indexed unchanged
+     */
+    fun upsert(task: TaskListItem): Boolean {
+        val existing = positions[task.id]
+        if (existing != null) {
+            val old = rows[existing]!!
+            if (old == task) return false
+            unindex(existing, old)
+            rows[existing] = task
+            index(existing, task)
+            return true
+        }
+
+        val position = freePositions.removeFirstOrNull() ?: rows.size.also { rows.add(null) }
+        rows[position] = task
+        positions[task.id] = position
+        live.set(position)
+        index(position, task)
+        return true
+    }
+
+    /**
+     * Remove one row
+     *
+     * @return False if no row has this ID
+     */
+    fun remove(taskId: Long): Boolean {
+        val position = positions.remove(taskId) ?: return false
+        unindex(position, rows[position]!!)
+        rows[position] = null
+        live.clear(position)
+        freePositions.addLast(position)
+        return true
+    }
+
+    private fun index(position: Int, task: TaskListItem) {
+        if (task.isCompleted) completed.set(position)
+        byPriority[priorityLevel(task.priority)].set(position)
+        byCategory.getOrPut(task.category) { BitSet() }.set(position)
+    }
+
+    private fun unindex(position: Int, task: TaskListItem) {
+        completed.clear(position)
+        byPriority[priorityLevel(task.priority)].clear(position)
+        val categoryBits = byCategory.getValue(task.category)
+        categoryBits.clear(position)
+        if (categoryBits.isEmpty) byCategory.remove(task.category)
+    }
+
+    private fun priorityLevel(priority: Int): Int = priority.coerceIn(0, PRIORITY_LEVELS - 1)
+
+    // ========== Queries ==========
+
+    /**
+     * Positions of the rows matching all given filters (a new BitSet)
+     *
+     * @param completionFilter Completion status filter
+     * @param categoryFilter Category (null = all)
+     * @param priorityFilter Priority (null = all)
+     */
+    fun select(completionFilter: CompletionFilter, categoryFilter: String?, priorityFilter: Int?): BitSet {
+        val bits = live.clone() as BitSet
+        when (completionFilter) {
+            CompletionFilter.ALL -> Unit
+            CompletionFilter.ACTIVE_ONLY -> bits.andNot(completed)
+            CompletionFilter.COMPLETED_ONLY -> bits.and(completed)
+        }
+        if (categoryFilter != null) {
+            val categoryBits = byCategory[categoryFilter]
+            if (categoryBits == null) bits.clear() else bits.and(categoryBits)
+        }
+        if (priorityFilter != null) {
+            if (priorityFilter in 0 until PRIORITY_LEVELS) bits.and(byPriority[priorityFilter]) else bits.clear()
+        }
+        return bits
+    }
+
+    /**
+     * Positions of the given task IDs (unknown IDs are skipped)
+     */
+    fun positionsOf(taskIds: Collection<Long>): BitSet {
+        val bits = BitSet(rows.size)
+        for (id in taskIds) {
+            positions[id]?.let { bits.set(it) }
+        }
+        return bits
+    }
+
+    /**
+     * Positions of the rows matching [predicate], tested only at the positions in [candidates]
+     * (null = all rows)
+     */
+    fun filterPositions(candidates: BitSet?, predicate: (TaskListItem) -> Boolean): BitSet {
+        val from = candidates ?: live
+        val bits = BitSet(rows.size)
+        var position = from.nextSetBit(0)
+        while (position >= 0) {
+            val task = rows[position]
+            if (task != null && predicate(task)) bits.set(position)
+            position = from.nextSetBit(position + 1)
+        }
+        return bits
+    }
+
+    /**
+     * Rows at the given positions, in position order
+     */
+    fun rowsAt(bits: BitSet): MutableList<TaskListItem> {
+        val result = ArrayList<TaskListItem>(bits.cardinality())
+        var position = bits.nextSetBit(0)
+        while (position >= 0) {
+            rows[position]?.let { result.add(it) }
+            position = bits.nextSetBit(position + 1)
+        }
+        return result
+    }
+
+    /**
+     * Count the rows behind every filter option, each with the other filters applied
+     *
+     * @param completionFilter Selected completion status filter
+     * @param categoryFilter Selected category (null = all)
+     * @param priorityFilter Selected priority (null = all)
+     * @param searchBits Positions matching the search (null = no search)
+     */
+    fun facetCounts(
+        completionFilter: CompletionFilter,
+        categoryFilter: String?,
+        priorityFilter: Int?,
+        searchBits: BitSet?
+    ): TaskFacetCounts {
+        val forStatus = select(CompletionFilter.ALL, categoryFilter, priorityFilter).andAlso(searchBits)
+        val allStatuses = forStatus.cardinality()
+        val completedCount = countBoth(forStatus, completed)
+
+        val forPriority = select(completionFilter, categoryFilter, null).andAlso(searchBits)
+        val priorityCounts = byPriority.map { countBoth(forPriority, it) }
+
+        val forCategory = select(completionFilter, null, priorityFilter).andAlso(searchBits)
+        val categoryCounts = byCategory.mapValues { (_, bits) -> countBoth(forCategory, bits) }
+
+        return TaskFacetCounts(
+            allStatuses = allStatuses,
+            active = allStatuses - completedCount,
+            completed = completedCount,
+            allPriorities = forPriority.cardinality(),
+            byPriority = priorityCounts,
+            allCategories = forCategory.cardinality(),
+            byCategory = categoryCounts
+        )
+    }
+
+    private fun BitSet.andAlso(other: BitSet?): BitSet {
+        if (other != null) and(other)
+        return this
+    }
+
+    private fun countBoth(a: BitSet, b: BitSet): Int {
+        val both = a.clone() as BitSet
+        both.and(b)
+        return both.cardinality()
+    }
+}
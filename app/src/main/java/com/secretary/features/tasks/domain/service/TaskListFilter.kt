@@ -0,0 +1,119 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.domain.model.TaskFacetCounts
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import java.util.BitSet
+
+/**
+ * TaskListFilter - Filter and sort the in-memory task list, narrowing while typing
+ *
+ * Pure domain service with NO database operations or Android dependencies.
+ * Status, priority and category filters are bitset ANDs on a TaskFacetIndex
+ * that follows the task list incrementally; only the search is tested per
+ * row, and the facet counts come from the same bitsets.
+ *
+ * When only the search query grew (the new query starts with the previous
+ * one) over the same rows, every new match is also a previous match - for
+ * the substring fallback and for the full-text prefix terms alike. Only the
+ * previous matches are tested again, and with unchanged filters and sort
+ * the previous result stays sorted, so typing costs a scan of the shrinking
+ * result and no sort.
+ *
+ * Holds the index: not thread-safe, use from one thread (or under a lock) at a time.
+ *
+ * @param index Facet index over the rows passed to filter()
+ */
+class TaskListFilter(private val index: TaskFacetIndex = TaskFacetIndex()) {
+
+    /**
+     * Filtered, sorted rows plus what they were computed from (the input for narrowing)
+     *
+     * @property source Rows that were filtered (compared by identity)
+     * @property query Filter and sort state, search query trimmed
+     * @property searchMatchIds Full-text matches used (null = substring matching)
+     * @property items Matching rows in sort order
+     * @property facets Rows behind each filter option
+     * @property isNarrowed True if the search tested only the previous matches
+     */
+    class Result(
+        val source: List<TaskListItem>,
+        val query: TaskPageQuery,
+        val searchMatchIds: Set<Long>?,
+        val items: List<TaskListItem>,
+        val facets: TaskFacetCounts,
+        val isNarrowed: Boolean,
+        internal val searchBits: BitSet?,
+        internal val indexVersion: Int
+    )
+
+    private var indexedSource: List<TaskListItem>? = null
+    private var indexVersion = 0 // Changes whenever positions may have been reused
+
+    /**
+     * Filter and sort [source], narrowing [previous] when possible
+     *
+     * @param source All rows
+     * @param query Filter and sort state
+     * @param searchMatchIds Full-text matches for query.searchQuery (null = substring matching)
+     * @param previous Result for the last query (null = none)
+     */
+    fun filter(
+        source: List<TaskListItem>,
+        query: TaskPageQuery,
+        searchMatchIds: Set<Long>?,
+        previous: Result?
+    ): Result {
+        if (source !== indexedSource) {
+            if (index.sync(source) > 0) indexVersion++
+            indexedSource = source
+        }
+
+        val trimmed = query.copy(searchQuery = query.searchQuery.trim())
+        val filterManager = TaskFilterManager.from(trimmed, searchMatchIds)
+        val narrowable = previous != null && canNarrow(previous, source, trimmed, searchMatchIds)
+
+        val searchBits = when {
+            trimmed.searchQuery.isEmpty() -> null
+            narrowable -> index.filterPositions(previous!!.searchBits) { filterManager.matchesSearch(it) }
+            searchMatchIds != null -> index.positionsOf(searchMatchIds)
+            else -> index.filterPositions(null) { filterManager.matchesSearch(it) }
+        }
+
+        val items = if (narrowable && previous!!.query.copy(searchQuery = "") == trimmed.copy(searchQuery = "")) {
+            // Same filters and sort: filtering keeps the order, so the previous sort still holds
+            previous.items.filter { filterManager.matchesSearch(it) }
+        } else {
+            val bits = index.select(trimmed.completionFilter, trimmed.categoryFilter, trimmed.priorityFilter)
+            searchBits?.let { bits.and(it) }
+            index.rowsAt(bits).also { filterManager.sortTasks(it) }
+        }
+
+        val facets = index.facetCounts(
+            trimmed.completionFilter,
+            trimmed.categoryFilter,
+            trimmed.priorityFilter,
+            searchBits
+        )
+        return Result(source, trimmed, searchMatchIds, items, facets, narrowable, searchBits, indexVersion)
+    }
+
+    /**
+     * Same rows (and positions), a longer query and the same kind of matching
+     * (full-text and substring matches aren't subsets of each other)
+     */
+    private fun canNarrow(
+        previous: Result,
+        source: List<TaskListItem>,
+        query: TaskPageQuery,
+        searchMatchIds: Set<Long>?
+    ): Boolean {
+        val previousQuery = previous.query.searchQuery
+        return previous.source === source &&
+            previous.indexVersion == indexVersion &&
+            previous.searchBits != null &&
+            query.searchQuery.startsWith(previousQuery) &&
+            (previous.searchMatchIds == null) == (searchMatchIds == null)
+    }
+}
@@ -0,0 +1,168 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import java.time.Instant
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+import java.util.Locale
+
+/**
+ * TaskRowFormatter - Display texts for the task list rows
+ *
+ * Pure domain service with NO database operations or Android dependencies.
+ * Formats TaskListItem rows into TaskRowModel once, off the main thread,
+ * and keeps the models of the last list by task ID. A row is formatted
+ * again only if it changed - the TaskListItem itself is the version, since
+ * it holds every column the texts are built from - or if its text depends
+ * on the current time. Unchanged rows get the same model instance back, so
+ * the list diff skips them without comparing strings.
+ *
+ * Holds the cache: not thread-safe, use from one thread (or under a lock) at a time.
+ *
+ * @param zone Time zone for due dates (default: device zone)
+ * @param locale Locale for month names (default: device locale)
+ */
+class TaskRowFormatter(
+    zone: ZoneId = ZoneId.systemDefault(),
+    locale: Locale = Locale.getDefault()
+) {
+
+    companion object {
+        private const val MINUTE_MILLIS = 60 * 1000L
+        private const val HOUR_MILLIS = 60 * MINUTE_MILLIS
+        private const val DAY_MILLIS = 24 * HOUR_MILLIS
+
+        /**
+         * Time until a completed interval task reappears, e.g. " (reappears in 3 days)"
+         *
+         * @param now Current time (epoch millis)
+         * @return Empty string unless the task is a completed interval task with a due date
+         */
+        fun nextAppearanceText(
+            recurrenceType: Int,
+            isCompleted: Boolean,
+            dueDate: Long,
+            now: Long
+        ): String {
+            if (recurrenceType != Task.RECURRENCE_INTERVAL || !isCompleted || dueDate <= 0) {
+                return ""
+            }
+
+            val timeUntilDue = dueDate - now
+            if (timeUntilDue <= 0) {
+                return " (due now)"
+            }
+
+            val hours = timeUntilDue / HOUR_MILLIS
+            val days = timeUntilDue / DAY_MILLIS
+            return when {
+                days > 0 -> " (reappears in $days day${if (days > 1) "s" else ""})"
+                hours > 0 -> " (reappears in $hours hour${if (hours > 1) "s" else ""})"
+                else -> {
+                    val minutes = timeUntilDue / MINUTE_MILLIS
+                    " (reappears in $minutes minute${if (minutes > 1) "s" else ""})"
+                }
+            }
+        }
+    }
+
+    // DateTimeFormatter is immutable: no per-row formatter like SimpleDateFormat needed
+    private val dateFormat = DateTimeFormatter.ofPattern("MMM dd, yyyy", locale).withZone(zone)
+
+    private var cache = HashMap<Long, TaskRowModel>()
+
+    /**
+     * Models for [items] in the same order, reusing the cached ones
+     * Keeps only these rows cached afterwards.
+     *
+     * @param items Rows to show
+     * @param now Current time (epoch millis) for relative texts
+     */
+    fun rows(items: List<TaskListItem>, now: Long): List<TaskRowModel> {
+        val previous = cache
+        val next = HashMap<Long, TaskRowModel>(items.size * 2)
+        val rows = items.map { item ->
+            val cached = previous[item.id]
+            val row = if (cached != null && cached.item == item && !cached.hasRelativeTime) {
+                cached
+            } else {
+                format(item, now).let { formatted -> if (cached != null && formatted == cached) cached else formatted }
+            }
+            next[item.id] = row
+            row
+        }
+        cache = next
+        return rows
+    }
+
+    /**
+     * Format one row (uncached)
+     *
+     * @param item Row to format
+     * @param now Current time (epoch millis) for relative texts
+     */
+    fun format(item: TaskListItem, now: Long): TaskRowModel {
+        val nextAppearance = nextAppearanceText(item.recurrenceType, item.isCompleted, item.dueDate, now)
+        return TaskRowModel(
+            item = item,
+            descriptionText = item.descriptionPreview?.takeUnless { it.isBlank() },
+            infoText = buildInfoText(item, nextAppearance),
+            streakText = if (item.currentStreak > 0) "🔥 ${item.currentStreak} days" else null,
+            hasRelativeTime = nextAppearance.isNotEmpty()
+        )
+    }
+
+    /**
+     * Info line: category, priority, due date, recurrence
+     */
+    private fun buildInfoText(item: TaskListItem, nextAppearance: String): String {
+        val info = StringBuilder()
+
+        // Category
+        if (item.category.isNotBlank()) {
+            info.append(item.category).append(" | ")
+        }
+
+        // Priority
+        info.append("Priority: ").append(priorityText(item.priority))
+
+        // Due date
+        if (item.dueDate > 0) {
+            info.append(" | Due: ")
+            dateFormat.formatTo(Instant.ofEpochMilli(item.dueDate), info)
+        }
+
+        // Recurrence info
+        if (item.isRecurring()) {
+            info.append(" | 🔁 ").append(recurrenceText(item)).append(nextAppearance)
+        }
+
+        return info.toString()
+    }
+
+    private fun priorityText(priority: Int): String = when (priority) {
+        0 -> "Low"
+        1 -> "Medium"
+        2 -> "High"
+        3 -> "Urgent"
+        else -> "?"
+    }
+
+    private fun recurrenceText(item: TaskListItem): String {
+        val unit = when (item.recurrenceUnit) {
+            Task.UNIT_DAY -> if (item.recurrenceAmount == 1) "day" else "days"
+            Task.UNIT_WEEK -> if (item.recurrenceAmount == 1) "week" else "weeks"
+            Task.UNIT_MONTH -> if (item.recurrenceAmount == 1) "month" else "months"
+            Task.UNIT_YEAR -> if (item.recurrenceAmount == 1) "year" else "years"
+            else -> "?"
+        }
+
+        return when (item.recurrenceType) {
+            Task.RECURRENCE_INTERVAL -> "Every ${item.recurrenceAmount} $unit"
+            Task.RECURRENCE_FREQUENCY -> "${item.recurrenceAmount} times per $unit"
+            else -> ""
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.tasks.domain.model.ScoredTask
+import java.time.ZoneId
+import java.util.PriorityQueue
+import java.util.TreeMap
+
+/**
+ * TaskScoringEngine - Multi-factor task scores and the "Next Task"
+ * Phase 5: Intelligent Planning
+ *
+ * Pure domain service with NO database operations or Android dependencies.
+ * Scores every active task from five factors, each in [0, 1]:
+ * - Priority: Low 0 ... Urgent 1
+ * - Urgency: 1 when due or overdue, then one step less per day left; 0 without
+ *   due date or more than URGENCY_HORIZON_DAYS days ahead
+ * - Duration: quick tasks first, from the average tracked time
+ * - Difficulty: easy tasks first, from the average difficulty rating
+ * - Time of day: 1 within TIME_OF_DAY_WINDOW hours of the hour the task is
+ *   usually done, 0 otherwise
+ * Factors without completion history count as 0.5. The score is their
+ * weighted sum (weights add up to 1).
+ *
+ * Incremental: scores are kept per task, and only tasks whose score can have
+ * changed are rescored - the task written by upsert(), or on tick() the tasks
+ * whose day step or time-of-day window the clock just crossed (found in a due
+ * date index and an hour index). The best tasks are kept in a bounded min-heap
+ * (at most [capacity]); every task outside the heap ranks below every task
+ * inside, so nextTask() reads the heap only. When removals shrink the heap
+ * below half its capacity it is rebuilt from the stored scores (no rescoring).
+ *
+ * Not thread-safe: confine an instance to one coroutine.
+ *
+ * @param capacity Number of best tasks kept ready in the heap
+ * @param zone Time zone for days and hours of day
+ */
+class TaskScoringEngine(
+    private val capacity: Int = DEFAULT_CAPACITY,
+    zone: ZoneId = ZoneId.systemDefault()
+) {
+
+    companion object {
+        const val DEFAULT_CAPACITY = 32
+
+        /** Due dates further ahead than this many days add no urgency */
+        const val URGENCY_HORIZON_DAYS = 7
+
+        /** Hours on either side of a task's typical hour that count as its time of day */
+        const val TIME_OF_DAY_WINDOW = 1
+
+        /** Average tracked time at which the duration factor drops to 0.5 */
+        const val QUICK_TASK_MINUTES = 30.0
+
+        const val PRIORITY_WEIGHT = 0.35
+        const val URGENCY_WEIGHT = 0.30
+        const val DURATION_WEIGHT = 0.15
+        const val DIFFICULTY_WEIGHT = 0.10
+        const val TIME_OF_DAY_WEIGHT = 0.10
+
+        private const val DAY_MILLIS = PeriodCalendar.DAY_MILLIS
+        private const val HOUR_MILLIS = 60 * 60 * 1000L
+        private const val HOURS_PER_DAY = 24
+        private const val MAX_PRIORITY = 3
+        private const val MAX_DIFFICULTY = 10.0
+
+        /** Factor value without completion history */
+        private const val NEUTRAL = 0.5
+    }
+
+    init {
+        require(capacity >= 1) { "capacity must be >= 1, was $capacity" }
+    }
+
+    /**
+     * Score state of one active task; [scored] only changes while the entry is outside the heap
+     */
+    private class Entry(var task: Task, var profile: TaskCompletionProfile?) {
+        lateinit var scored: ScoredTask
+        var inHeap = false
+    }
+
+    private val calendar = PeriodCalendar.forZone(zone)
+
+    private val entries = HashMap<Long, Entry>()
+
+    /** Best entries, worst of them on top */
+    private val heap = PriorityQueue<Entry>(capacity + 1) { a, b -> a.scored.compareTo(b.scored) }
+
+    /** Upper bound for every entry outside the heap (null: none ever left it) */
+    private var outsideBound: ScoredTask? = null
+
+    /** Entries with a due date, by due date */
+    private val dueIndex = TreeMap<Long, MutableSet<Entry>>()
+
+    /** Entries with completion history, by typical hour */
+    private val hourIndex = Array<MutableSet<Entry>>(HOURS_PER_DAY) { HashSet() }
+
+    private var now = 0L
+    private var hour = 0
+
+    /** Number of scored (active) tasks */
+    val size: Int get() = entries.size
+
+    // ========== Updates ==========
+
+    /**
+     * Replace all tasks and score them (O(n log capacity))
+     *
+     * @param tasks All tasks; completed ones are ignored
+     * @param profiles Completion profiles by task ID
+     * @param now Current time
+     */
+    fun load(tasks: List<Task>, profiles: Map<Long, TaskCompletionProfile>, now: Long) {
+        entries.clear()
+        dueIndex.clear()
+        hourIndex.forEach { it.clear() }
+        setClock(now)
+
+        for (task in tasks) {
+            if (task.isCompleted) continue
+            val entry = Entry(task, profiles[task.id])
+            entry.scored = scoredTask(entry)
+            entries[task.id] = entry
+            index(entry)
+        }
+        rebuildHeap()
+    }
+
+    /**
+     * Add or replace one task and rescore only it (O(log n + capacity))
+     * A completed task is removed: only active tasks are recommended.
+     *
+     * @param task The new state of the task
+     * @param profile Its completion profile (null without completions)
+     */
+    fun upsert(task: Task, profile: TaskCompletionProfile?) {
+        if (task.isCompleted) {
+            remove(task.id)
+            return
+        }
+
+        val entry = entries[task.id]
+        if (entry == null) {
+            val added = Entry(task, profile)
+            added.scored = scoredTask(added)
+            entries[task.id] = added
+            index(added)
+            place(added)
+            return
+        }
+
+        unindex(entry)
+        entry.task = task
+        entry.profile = profile
+        index(entry)
+        rescore(entry)
+    }
+
+    /**
+     * Remove a task (deleted or completed)
+     */
+    fun remove(taskId: Long) {
+        val entry = entries.remove(taskId) ?: return
+        unindex(entry)
+        if (entry.inHeap) {
+            heap.remove(entry)
+            entry.inHeap = false
+        }
+    }
+
+    /**
+     * Advance the clock and rescore the tasks whose urgency step or
+     * time-of-day window changed since the last tick - a few tasks per
+     * minute, not all of them.
+     *
+     * @param now Current time
+     * @return Number of tasks rescored
+     */
+    fun tick(now: Long): Int {
+        val previous = this.now
+        val previousHour = hour
+        if (now == previous) return 0
+        setClock(now)
+
+        if (now < previous) { // Clock set back: no cheap way to tell what changed
+            entries.values.forEach { it.scored = scoredTask(it) }
+            rebuildHeap()
+            return entries.size
+        }
+
+        val changed = HashSet<Entry>()
+
+        // Urgency steps at dueDate - k days (k = 0..URGENCY_HORIZON_DAYS)
+        if (now - previous >= DAY_MILLIS) {
+            changed.addDueBetween(previous, now + URGENCY_HORIZON_DAYS * DAY_MILLIS)
+        } else {
+            for (k in 0..URGENCY_HORIZON_DAYS) {
+                changed.addDueBetween(previous + k * DAY_MILLIS, now + k * DAY_MILLIS)
+            }
+        }
+
+        // Typical hours that entered or left the time-of-day window
+        if (hour != previousHour) {
+            for (typicalHour in 0 until HOURS_PER_DAY) {
+                if (isTimeOfDay(typicalHour, previousHour) != isTimeOfDay(typicalHour, hour)) {
+                    changed.addAll(hourIndex[typicalHour])
+                }
+            }
+        }
+
+        changed.forEach { rescore(it) }
+        return changed.size
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * The best task to do next
+     * @return The highest-ranked active task, or null without active tasks
+     */
+    fun nextTask(): ScoredTask? {
+        refillHeap(1)
+        var best: ScoredTask? = null
+        for (entry in heap) {
+            if (best == null || entry.scored > best) best = entry.scored
+        }
+        return best
+    }
+
+    /**
+     * The best tasks, best first
+     * @param limit Maximum number of tasks
+     */
+    fun topTasks(limit: Int = capacity): List<ScoredTask> {
+        if (limit > capacity) {
+            return entries.values.map { it.scored }.sortedDescending().take(limit)
+        }
+        refillHeap(limit)
+        return heap.map { it.scored }.sortedDescending().take(limit)
+    }
+
+    /**
+     * Current score of a task
+     * @return The score, or null if the task is not active
+     */
+    fun scoreOf(taskId: Long): Double? = entries[taskId]?.scored?.score
+
+    /**
+     * Score a task from scratch at a given time (no state involved)
+     *
+     * @param task The task to score
+     * @param profile Its completion profile (null without completions)
+     * @param now Time to score at
+     * @return Weighted score in [0, 1]
+     */
+    fun score(task: Task, profile: TaskCompletionProfile?, now: Long): Double =
+        score(task, profile, now, hourOf(now))
+
+    // ========== Scoring ==========
+
+    private fun score(task: Task, profile: TaskCompletionProfile?, now: Long, hour: Int): Double {
+        val priority = task.priority.coerceIn(0, MAX_PRIORITY).toDouble() / MAX_PRIORITY
+        val urgency = urgency(task.dueDate, now)
+
+        val duration = if (profile == null || profile.averageMinutes <= 0) {
+            NEUTRAL
+        } else {
+            1.0 / (1.0 + profile.averageMinutes / QUICK_TASK_MINUTES)
+        }
+        val difficulty = if (profile == null) {
+            NEUTRAL
+        } else {
+            1.0 - profile.averageDifficulty.coerceIn(0.0, MAX_DIFFICULTY) / MAX_DIFFICULTY
+        }
+        val timeOfDay = when {
+            profile == null -> NEUTRAL
+            isTimeOfDay(profile.typicalHour, hour) -> 1.0
+            else -> 0.0
+        }
+
+        return PRIORITY_WEIGHT * priority +
+            URGENCY_WEIGHT * urgency +
+            DURATION_WEIGHT * duration +
+            DIFFICULTY_WEIGHT * difficulty +
+            TIME_OF_DAY_WEIGHT * timeOfDay
+    }
+
+    /**
+     * 1.0 from the due date on, (horizon + 1 - days left) / (horizon + 1) before it
+     */
+    private fun urgency(dueDate: Long, now: Long): Double {
+        if (dueDate <= 0) return 0.0
+        if (now >= dueDate) return 1.0
+        val daysLeft = (dueDate - now + DAY_MILLIS - 1) / DAY_MILLIS // Rounded up: 1 = due within a day
+        if (daysLeft > URGENCY_HORIZON_DAYS) return 0.0
+        return (URGENCY_HORIZON_DAYS + 1 - daysLeft).toDouble() / (URGENCY_HORIZON_DAYS + 1)
+    }
+
+    private fun isTimeOfDay(typicalHour: Int, hour: Int): Boolean {
+        val distance = Math.floorMod(typicalHour - hour, HOURS_PER_DAY)
+        return minOf(distance, HOURS_PER_DAY - distance) <= TIME_OF_DAY_WINDOW
+    }
+
+    private fun scoredTask(entry: Entry) = ScoredTask(entry.task, score(entry.task, entry.profile, now, hour))
+
+    private fun setClock(now: Long) {
+        this.now = now
+        hour = hourOf(now)
+    }
+
+    private fun hourOf(now: Long): Int = (Math.floorMod(calendar.toLocalMillis(now), DAY_MILLIS) / HOUR_MILLIS).toInt()
+
+    // ========== Top-K Heap ==========
+
+    private fun rescore(entry: Entry) {
+        if (entry.inHeap) {
+            heap.remove(entry)
+            entry.inHeap = false
+        }
+        entry.scored = scoredTask(entry)
+        place(entry)
+    }
+
+    /**
+     * Put an entry (not in the heap) into the heap if it ranks among the best, keeping the bound
+     */
+    private fun place(entry: Entry) {
+        val bound = outsideBound
+        when {
+            bound != null && entry.scored < bound -> leaveOutside(entry)
+            heap.size < capacity -> addToHeap(entry)
+            entry.scored > heap.peek()!!.scored -> {
+                val evicted = heap.poll()!!
+                evicted.inHeap = false
+                leaveOutside(evicted)
+                addToHeap(entry)
+            }
+            else -> leaveOutside(entry)
+        }
+    }
+
+    private fun addToHeap(entry: Entry) {
+        heap.add(entry)
+        entry.inHeap = true
+    }
+
+    private fun leaveOutside(entry: Entry) {
+        val bound = outsideBound
+        if (bound == null || entry.scored > bound) outsideBound = entry.scored
+    }
+
+    /**
+     * Rebuild the heap if it holds fewer than [required] (or half its capacity) entries while others wait outside
+     */
+    private fun refillHeap(required: Int) {
+        val wanted = maxOf(required, capacity / 2)
+        if (heap.size < wanted && entries.size > heap.size) rebuildHeap()
+    }
+
+    private fun rebuildHeap() {
+        heap.forEach { it.inHeap = false }
+        heap.clear()
+        outsideBound = null
+        entries.values.forEach { place(it) }
+    }
+
+    // ========== Indexes ==========
+
+    private fun index(entry: Entry) {
+        val dueDate = entry.task.dueDate
+        if (dueDate > 0) dueIndex.getOrPut(dueDate) { HashSet() }.add(entry)
+        entry.profile?.let { hourIndex[Math.floorMod(it.typicalHour, HOURS_PER_DAY)].add(entry) }
+    }
+
+    private fun unindex(entry: Entry) {
+        val dueDate = entry.task.dueDate
+        if (dueDate > 0) {
+            val sameDay = dueIndex[dueDate]
+            if (sameDay != null && sameDay.remove(entry) && sameDay.isEmpty()) dueIndex.remove(dueDate)
+        }
+        entry.profile?.let { hourIndex[Math.floorMod(it.typicalHour, HOURS_PER_DAY)].remove(entry) }
+    }
+
+    /**
+     * Add the entries due in (from, to]
+     */
+    private fun MutableSet<Entry>.addDueBetween(from: Long, to: Long) {
+        dueIndex.subMap(from, false, to, true).values.forEach { addAll(it) }
+    }
+}
@@ -0,0 +1,68 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+
+/**
+ * Use Case: Complete several tasks at once (list multi-select)
+ *
+ * Single Responsibility: Apply the completion logic of CompleteTaskUseCase
+ * to a selection, in one transaction
+ *
+ * @param taskRepository Repository for task data access
+ * @param streakService Service for streak calculation
+ * @param recurrenceService Service for recurrence logic
+ * @param timers Latency histograms for invoke
+ */
+class BulkCompleteTasksUseCase(
+    private val taskRepository: TaskRepository,
+    private val streakService: StreakService,
+    private val recurrenceService: RecurrenceService,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("BulkCompleteTasksUseCase")
+) {
+    /**
+     * Complete all selected tasks that are not completed yet
+     *
+     * Each completed task gets a completion history record; already completed
+     * and deleted tasks are skipped.
+     *
+     * @param taskIds IDs of the selected tasks
+     * @param completionTime Timestamp of completion (default: now)
+     * @return Result with the number of tasks completed
+     */
+    suspend operator fun invoke(
+        taskIds: Collection<Long>,
+        completionTime: Long = System.currentTimeMillis()
+    ): Result<Int> = timed("invoke") {
+        try {
+            // Validation
+            validateSelection(taskIds)
+
+            val completed = taskRepository.completeTasks(taskIds, completionTime) { task ->
+                if (task.isCompleted) null else applyCompletion(task, completionTime)
+            }
+            Result.success(completed.size)
+        } catch (e: ValidationException) {
+            Result.failure(e)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to complete tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Same order as CompleteTaskUseCase: streak first, then recurrence
+     */
+    private fun applyCompletion(task: Task, completionTime: Long): Task {
+        val withStreak = streakService.updateStreak(task, completionTime)
+        return recurrenceService.handleRecurringCompletion(withStreak, completionTime)
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
+}
@@ -0,0 +1,42 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.tasks.domain.repository.TaskRepository
+
+/**
+ * Use Case: Delete several tasks at once (list multi-select)
+ *
+ * Single Responsibility: Delete a selection with validation, in one transaction
+ *
+ * @param taskRepository Repository for task data access
+ * @param timers Latency histograms for invoke
+ */
+class BulkDeleteTasksUseCase(
+    private val taskRepository: TaskRepository,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("BulkDeleteTasksUseCase")
+) {
+    /**
+     * Execute bulk deletion with validation
+     *
+     * @param taskIds IDs of the selected tasks
+     * @return Result with the number of tasks deleted
+     */
+    suspend operator fun invoke(taskIds: Collection<Long>): Result<Int> = timed("invoke") {
+        try {
+            // Validation
+            validateSelection(taskIds)
+
+            Result.success(taskRepository.deleteTasks(taskIds))
+        } catch (e: ValidationException) {
+            Result.failure(e)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to delete tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
+}
@@ -0,0 +1,17 @@
+package com.secretary.features.tasks.domain.usecase
+
+/**
+ * Validate a multi-select selection (shared by the bulk use cases)
+ *
+ * @param taskIds IDs of the selected tasks
+ * @throws ValidationException if nothing is selected or an ID is invalid
+ */
+internal fun validateSelection(taskIds: Collection<Long>) {
+    if (taskIds.isEmpty()) {
+        throw ValidationException("No tasks selected")
+    }
+
+    if (taskIds.any { it <= 0 }) {
+        throw ValidationException("Invalid task ID")
+    }
+}
@@ -0,0 +1,70 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.tasks.domain.repository.TaskRepository
+
+/**
+ * Use Case: Recategorise or reprioritise several tasks at once (list multi-select)
+ *
+ * Single Responsibility: Change one field of a selection with validation,
+ * in one transaction
+ *
+ * @param taskRepository Repository for task data access
+ * @param timers Latency histograms for setCategory and setPriority
+ */
+class BulkUpdateTasksUseCase(
+    private val taskRepository: TaskRepository,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("BulkUpdateTasksUseCase")
+) {
+    /**
+     * Move the selected tasks to a category
+     *
+     * @param taskIds IDs of the selected tasks
+     * @param category New category (trimmed)
+     * @return Result with the number of tasks updated
+     */
+    suspend fun setCategory(taskIds: Collection<Long>, category: String): Result<Int> = timed("setCategory") {
+        try {
+            // Validation
+            validateSelection(taskIds)
+            if (category.isBlank()) {
+                throw ValidationException("Category cannot be empty")
+            }
+
+            Result.success(taskRepository.updateCategory(taskIds, category.trim()))
+        } catch (e: ValidationException) {
+            Result.failure(e)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to update tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Set the priority of the selected tasks
+     *
+     * @param taskIds IDs of the selected tasks
+     * @param priority New priority (0=Low, 1=Medium, 2=High, 3=Urgent)
+     * @return Result with the number of tasks updated
+     */
+    suspend fun setPriority(taskIds: Collection<Long>, priority: Int): Result<Int> = timed("setPriority") {
+        try {
+            // Validation
+            validateSelection(taskIds)
+            if (priority !in 0..3) {
+                throw ValidationException("Invalid priority: $priority")
+            }
+
+            Result.success(taskRepository.updatePriority(taskIds, priority))
+        } catch (e: ValidationException) {
+            Result.failure(e)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to update tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
+}
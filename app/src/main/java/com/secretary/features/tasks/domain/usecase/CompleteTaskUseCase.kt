@@ -1,5 +1,9 @@
 package com.secretary.features.tasks.domain.usecase
 
+import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.statistics.domain.model.Completion
 import com.secretary.features.tasks.domain.repository.TaskRepository
 import com.secretary.features.tasks.domain.service.RecurrenceService
 import com.secretary.features.tasks.domain.service.StreakService
@@ -9,16 +13,18 @@ import com.secretary.features.tasks.domain.service.StreakService
  * Phase 4.5.5 Wave 12: Domain Layer Integration
  *
  * Single Responsibility: Orchestrate task completion with all business logic
- * Max 80 lines (Architecture Standard)
+ * Max 140 lines (Architecture Standard)
  *
  * @param taskRepository Repository for task data access
  * @param streakService Service for streak calculation
  * @param recurrenceService Service for recurrence logic
+ * @param timers Latency histograms for invoke and completeWithMetadata
  */
 class CompleteTaskUseCase(
     private val taskRepository: TaskRepository,
     private val streakService: StreakService,
-    private val recurrenceService: RecurrenceService
+    private val recurrenceService: RecurrenceService,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("CompleteTaskUseCase")
 ) {
     /**
      * Execute task completion with full business logic
@@ -30,8 +36,8 @@ class CompleteTaskUseCase(
     suspend operator fun invoke(
         taskId: Long,
         completionTime: Long = System.currentTimeMillis()
-    ): Result<Unit> {
-        return try {
+    ): Result<Unit> = timed("invoke") {
+        try {
             // Validation
             if (taskId <= 0) {
                 throw ValidationException("Invalid task ID")
@@ -46,14 +52,9 @@ class CompleteTaskUseCase(
                 throw ValidationException("Task is already completed")
             }
 
-            // Apply business logic in correct order:
-            // 1. Update streaks first (based on current task state)
-            var updatedTask = streakService.updateStreak(task, completionTime)
+            val updatedTask = applyCompletion(task, completionTime)
 
-            // 2. Apply recurrence logic (which may set completed flag and update due dates)
-            updatedTask = recurrenceService.handleRecurringCompletion(updatedTask, completionTime)
-
-            // 3. Save updated task
+            // Save updated task
             taskRepository.updateTask(updatedTask)
 
             Result.success(Unit)
@@ -67,9 +68,12 @@ class CompleteTaskUseCase(
     /**
      * Complete task with metadata (for completion history tracking)
      *
+     * Atomic: the completion record and the task's streak/recurrence state are
+     * written in one transaction, so history and task never disagree.
+     *
      * @param taskId ID of task to complete
      * @param timeSpent Minutes spent on task (optional)
-     * @param difficulty Difficulty rating 1-5 (optional)
+     * @param difficulty Difficulty rating 0-10 (optional)
      * @param notes Completion notes (optional)
      * @param completionTime Timestamp of completion (default: now)
      * @return Result indicating success or error
@@ -80,9 +84,50 @@ class CompleteTaskUseCase(
         difficulty: Int? = null,
         notes: String? = null,
         completionTime: Long = System.currentTimeMillis()
-    ): Result<Unit> {
-        // TODO: Create Completion entity and save to CompletionRepository
-        // For now, just complete the task
-        return invoke(taskId, completionTime)
+    ): Result<Unit> = timed("completeWithMetadata") {
+        try {
+            // Validation
+            if (taskId <= 0) {
+                throw ValidationException("Invalid task ID")
+            }
+
+            val completion = Completion(
+                completionId = 0,
+                taskId = taskId,
+                completedAt = completionTime,
+                timeSpentMinutes = timeSpent ?: 0,
+                difficulty = difficulty ?: 0,
+                notes = notes?.ifBlank { null }
+            )
+
+            // Read, compute and write in one transaction (throwing rolls it back)
+            taskRepository.completeTask(taskId, completion) { task ->
+                if (task.isCompleted) {
+                    throw ValidationException("Task is already completed")
+                }
+                applyCompletion(task, completionTime)
+            } ?: throw ValidationException("Task not found: $taskId")
+
+            Result.success(Unit)
+        } catch (e: ValidationException) {
+            Result.failure(e)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to complete task: ${e.message}", e))
+        }
     }
+
+    /**
+     * Apply business logic in correct order:
+     * 1. Update streaks first (based on current task state)
+     * 2. Apply recurrence logic (which may set completed flag and update due dates)
+     */
+    private fun applyCompletion(task: Task, completionTime: Long): Task {
+        val withStreak = streakService.updateStreak(task, completionTime)
+        return recurrenceService.handleRecurringCompletion(withStreak, completionTime)
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
 }
@@ -0,0 +1,85 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.features.tasks.domain.model.DailyPlan
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.DailyPlanner
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+
+/**
+ * Use Case: Plan today's tasks within a time budget
+ * Phase 5: Intelligent Planning
+ *
+ * Single Responsibility: Load active tasks and their average durations,
+ * and let DailyPlanner pick and order the ones that fit
+ *
+ * Average durations come from one grouped query over all completions
+ * (CompletionRepository.getCompletionProfiles), not one query per task.
+ * The planner runs on [computeDispatcher] and stops searching after
+ * timeLimitMillis, returning the best plan found.
+ *
+ * @param taskRepository Repository for task data access
+ * @param completionRepository Repository for average completion times
+ * @param dailyPlanner Planner (value model + anytime solver)
+ * @param clock Current time source (replaceable in tests)
+ * @param computeDispatcher Dispatcher for the solver (CPU-bound)
+ * @param timers Latency histograms for invoke
+ */
+class DailyPlanUseCase(
+    private val taskRepository: TaskRepository,
+    private val completionRepository: CompletionRepository,
+    private val dailyPlanner: DailyPlanner = DailyPlanner(),
+    private val clock: () -> Long = System::currentTimeMillis,
+    private val computeDispatcher: CoroutineDispatcher = Dispatchers.Default,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("DailyPlanUseCase")
+) {
+
+    companion object {
+        /** Search time of the solver: short enough to feel instant */
+        const val DEFAULT_TIME_LIMIT_MILLIS = 50L
+
+        /** A day's budget can't exceed the day */
+        const val MAX_BUDGET_MINUTES = 24 * 60
+    }
+
+    /**
+     * Plan today
+     *
+     * @param budgetMinutes Time available today (1 to MAX_BUDGET_MINUTES)
+     * @param timeLimitMillis Search time of the solver
+     * @return Result with the plan, or ValidationException for an invalid budget
+     */
+    suspend operator fun invoke(
+        budgetMinutes: Int,
+        timeLimitMillis: Long = DEFAULT_TIME_LIMIT_MILLIS
+    ): Result<DailyPlan> = timed("invoke") {
+        if (budgetMinutes !in 1..MAX_BUDGET_MINUTES) {
+            return@timed Result.failure(
+                ValidationException("Time budget must be between 1 and $MAX_BUDGET_MINUTES minutes")
+            )
+        }
+
+        try {
+            val tasks = taskRepository.getActiveTasks()
+            val profiles = completionRepository.getCompletionProfiles()
+            val plan = withContext(computeDispatcher) {
+                dailyPlanner.plan(tasks, profiles, budgetMinutes, clock(), timeLimitMillis)
+            }
+            Result.success(plan)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to plan the day: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
+}
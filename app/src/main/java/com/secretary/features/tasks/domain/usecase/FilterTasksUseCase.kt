@@ -0,0 +1,126 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.tasks.domain.model.FilteredTaskList
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.TaskListFilter
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+
+/**
+ * Use Case: Search, filter and sort the task list while the user types
+ *
+ * Single Responsibility: Turn task list, search input and filter state into
+ * the rows to show and the facet counts of the filter options, off the main thread
+ *
+ * Pipeline:
+ * - Search input is debounced (SEARCH_DEBOUNCE_MILLIS; clearing it is immediate)
+ * - Every input change starts a new computation and cancels the running one
+ *   (flatMapLatest), so results of stale queries are never emitted
+ * - Full-text matches come from TaskRepository.searchTaskIds; on failure the
+ *   filter falls back to substring matching (title, category and the
+ *   description preview only - see TaskFilterManager.matchesSearchQuery)
+ * - Filtering and sorting run on [computeDispatcher] (TaskListFilter): bitset
+ *   facet filters, and a search that narrows the previous matches when the
+ *   query was only extended. One computation at a time (TaskListFilter keeps
+ *   its facet index between them).
+ *
+ * @param taskRepository Repository for the full-text search
+ * @param taskListFilter Filter/sort service
+ * @param computeDispatcher Dispatcher for filtering and sorting (CPU-bound)
+ * @param timers Latency histogram for filter (completed computations; superseded ones aren't recorded)
+ */
+class FilterTasksUseCase(
+    private val taskRepository: TaskRepository,
+    private val taskListFilter: TaskListFilter = TaskListFilter(),
+    private val computeDispatcher: CoroutineDispatcher = Dispatchers.Default,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("FilterTasksUseCase")
+) {
+
+    companion object {
+        /** Pause in typing before a query runs */
+        const val SEARCH_DEBOUNCE_MILLIS = 250L
+    }
+
+    private val filterLock = Mutex()
+
+    /**
+     * Observe the filtered, sorted task list with facet counts
+     *
+     * @param tasks All list rows (e.g. GetTasksUseCase.observeListItems)
+     * @param searchQuery Raw search input
+     * @param listFilter Filter and sort state; its searchQuery is ignored
+     * @return Flow of the rows to show and the facet counts; failures are rethrown with context
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun observe(
+        tasks: Flow<List<TaskListItem>>,
+        searchQuery: Flow<String>,
+        listFilter: Flow<TaskPageQuery>
+    ): Flow<FilteredTaskList> = flow {
+        var previous: TaskListFilter.Result? = null // Per collector: the input for narrowing
+
+        val results = combine(tasks, debounceSearch(searchQuery), listFilter) { source, query, filter ->
+            source to filter.copy(searchQuery = query)
+        }.flatMapLatest { (source, query) ->
+            flow {
+                val started = System.nanoTime()
+                val matchIds = searchTaskIds(query.searchQuery)
+                // A cancelled computation still finishes its index update before the next one starts
+                val result = filterLock.withLock {
+                    withContext(computeDispatcher) {
+                        taskListFilter.filter(source, query, matchIds, previous)
+                    }
+                }
+                previous = result
+                timers["filter"].record(System.nanoTime() - started)
+                emit(FilteredTaskList(result.items, result.facets))
+            }
+        }
+        emitAll(results)
+    }
+        .catch { e -> throw Exception("Failed to filter tasks: ${e.message}", e) }
+
+    /**
+     * Debounced, trimmed search input without repeats
+     * Paged lists use this to debounce the query they send to the database.
+     */
+    @OptIn(FlowPreview::class)
+    fun debounceSearch(searchQuery: Flow<String>): Flow<String> =
+        searchQuery
+            .map { it.trim() }
+            .debounce { if (it.isEmpty()) 0L else SEARCH_DEBOUNCE_MILLIS }
+            .distinctUntilChanged()
+
+    /**
+     * Full-text matches for [query] (null = no search, or substring fallback)
+     */
+    private suspend fun searchTaskIds(query: String): Set<Long>? {
+        if (query.isEmpty()) return null
+        return try {
+            taskRepository.searchTaskIds(query)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            null // Full-text index unavailable: substring matching
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import com.secretary.features.tasks.domain.service.TaskRowFormatter
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.mapLatest
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+
+/**
+ * Use Case: Format the task list rows for display, off the main thread
+ *
+ * Single Responsibility: Turn the rows to show into TaskRowModels
+ *
+ * Pipeline:
+ * - Every new list is formatted on [computeDispatcher]; rows that didn't
+ *   change reuse their cached model (TaskRowFormatter)
+ * - A ticker on the minute boundaries reformats the rows whose text depends
+ *   on the current time ("reappears in 5 minutes") - once a minute, not on
+ *   every bind; ticks that change no text emit nothing
+ * - A newer list or tick cancels a running computation (mapLatest)
+ *
+ * @param taskRowFormatter Formatter with the row model cache
+ * @param computeDispatcher Dispatcher for formatting (CPU-bound)
+ * @param clock Current time (epoch millis)
+ */
+class FormatTaskRowsUseCase(
+    private val taskRowFormatter: TaskRowFormatter = TaskRowFormatter(),
+    private val computeDispatcher: CoroutineDispatcher = Dispatchers.Default,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        /** Relative times are shown in minutes at most, so they change at most this often */
+        const val TICK_MILLIS = 60 * 1000L
+    }
+
+    private val formatLock = Mutex()
+
+    /**
+     * Observe the row models for a list of rows
+     *
+     * @param items Rows to show (e.g. FilterTasksUseCase results or loaded pages)
+     * @return Flow of row models in the same order; failures are rethrown with context
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun observe(items: Flow<List<TaskListItem>>): Flow<List<TaskRowModel>> =
+        combine(items, minuteTicker()) { rows, now -> rows to now }
+            .mapLatest { (rows, now) ->
+                // A cancelled computation still finishes its cache update before the next one starts
+                formatLock.withLock {
+                    withContext(computeDispatcher) {
+                        taskRowFormatter.rows(rows, now)
+                    }
+                }
+            }
+            .distinctUntilChanged() // Ticks that changed no text emit nothing
+            .catch { e -> throw Exception("Failed to format tasks: ${e.message}", e) }
+
+    /**
+     * Current time now and at every following minute boundary
+     */
+    private fun minuteTicker(): Flow<Long> = flow {
+        while (true) {
+            val now = clock()
+            emit(now)
+            delay(TICK_MILLIS - now % TICK_MILLIS)
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.OperationTimers
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.features.tasks.domain.model.ScoredTask
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.TaskScoringEngine
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import java.time.ZoneId
+
+/**
+ * Use Case: Recommend the next task
+ * Phase 5: Intelligent Planning
+ *
+ * Single Responsibility: Keep a TaskScoringEngine in sync with the tasks
+ * and the clock, and emit its best task
+ *
+ * The engine is fed from the active tasks only (completed history never
+ * reaches it). Every emission is compared with the previous one, and only
+ * the tasks that changed reach the engine - a completion removes one task,
+ * it doesn't rescore the list. Completion profiles are loaded once, then
+ * re-read only for tasks whose last completion changed (e.g. a recurring
+ * task that became active again). The clock advances on every update and
+ * at least every TICK_MILLIS. All of it runs on [computeDispatcher], not on
+ * the collector's (main) thread.
+ *
+ * @param taskRepository Repository for task data access
+ * @param completionRepository Repository for completion profiles
+ * @param zone Time zone for days and hours of day
+ * @param computeDispatcher Dispatcher for diffing and scoring (CPU-bound)
+ * @param timers Latency histograms for load (first recommendation) and update (every later one)
+ * @param clock Current time source (replaceable in tests)
+ */
+class GetNextTaskUseCase(
+    private val taskRepository: TaskRepository,
+    private val completionRepository: CompletionRepository,
+    private val zone: ZoneId = ZoneId.systemDefault(),
+    private val computeDispatcher: CoroutineDispatcher = Dispatchers.Default,
+    private val timers: OperationTimers = AppMetrics.useCaseTimers("GetNextTaskUseCase"),
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        /** Longest time between two clock ticks */
+        const val TICK_MILLIS = 60_000L
+    }
+
+    /**
+     * Observe the recommended next task
+     * Emits when the recommendation or its score changes.
+     *
+     * @return Flow of the best active task (null without active tasks); failures are rethrown with context
+     */
+    fun observe(): Flow<ScoredTask?> = channelFlow {
+        val engine = TaskScoringEngine(zone = zone)
+        val updates = Channel<List<Task>>(Channel.CONFLATED) // Only the latest task list matters
+        launch { taskRepository.observeActiveTasks().collect { updates.send(it) } }
+
+        val known = HashMap<Long, Task>()
+        val profiles = HashMap<Long, TaskCompletionProfile>()
+
+        val first = updates.receive()
+        val recommended = timed("load") {
+            profiles.putAll(completionRepository.getCompletionProfiles())
+            engine.load(first, profiles, clock())
+            first.forEach { known[it.id] = it }
+            engine.nextTask()
+        }
+        send(recommended)
+
+        while (true) {
+            val tasks = withTimeoutOrNull(TICK_MILLIS) { updates.receive() }
+            val next = timed("update") {
+                engine.tick(clock())
+                if (tasks != null) applyChanges(engine, tasks, known, profiles)
+                engine.nextTask()
+            }
+            send(next)
+        }
+    }
+        .distinctUntilChanged()
+        .flowOn(computeDispatcher)
+        .catch { e -> throw Exception("Failed to recommend next task: ${e.message}", e) }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Pass only the added, changed and removed tasks to the engine
+     * Completed tasks drop out of the active list and are removed like deleted ones.
+     */
+    private suspend fun applyChanges(
+        engine: TaskScoringEngine,
+        tasks: List<Task>,
+        known: MutableMap<Long, Task>,
+        profiles: MutableMap<Long, TaskCompletionProfile>
+    ) {
+        val changed = tasks.filter { known[it.id] != it }
+        val removedIds = known.keys - tasks.mapTo(HashSet(tasks.size)) { it.id }
+
+        // A new completion changes the task's averages. A task that comes back
+        // (reset recurring task) is not known any more, so it is re-read as well.
+        val completedIds = changed.filter { task ->
+            task.lastCompletedDate > 0 && known[task.id]?.lastCompletedDate != task.lastCompletedDate
+        }.map { it.id }
+        if (completedIds.isNotEmpty()) {
+            profiles.putAll(completionRepository.getCompletionProfiles(completedIds))
+        }
+
+        changed.forEach { task ->
+            engine.upsert(task, profiles[task.id])
+            known[task.id] = task
+        }
+        removedIds.forEach { taskId ->
+            engine.remove(taskId)
+            known.remove(taskId)
+            profiles.remove(taskId)
+        }
+    }
+
+    /**
+     * Run [block] timed as [operation] (served at /metrics)
+     */
+    private inline fun <T> timed(operation: String, block: () -> T): T = timers.time(operation, block)
+}
@@ -1,9 +1,11 @@
 package com.secretary.features.tasks.domain.usecase
 
 import com.secretary.Task
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
 import com.secretary.features.tasks.domain.repository.TaskRepository
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.catch
 
 /**
  * Use Case: Retrieve tasks with various filters
@@ -31,6 +33,66 @@ class GetTasksUseCase(
         }
     }
 
+    /**
+     * Observe all tasks
+     * Emits again after every committed change, so callers never need to reload manually.
+     *
+     * @return Flow of all tasks; failures are rethrown with context
+     */
+    fun observe(): Flow<List<Task>> {
+        return taskRepository.observeAllTasks()
+            .catch { e -> throw Exception("Failed to get tasks: ${e.message}", e) }
+    }
+
+    /**
+     * Observe the task list rows (list columns only, no full task rows)
+     * Emits again after every committed change, like observe().
+     *
+     * @return Flow of list rows; failures are rethrown with context
+     */
+    fun observeListItems(): Flow<List<TaskListItem>> {
+        return taskRepository.observeTaskListItems()
+            .catch { e -> throw Exception("Failed to get tasks: ${e.message}", e) }
+    }
+
+    /**
+     * Get one page of the filtered, sorted task list (keyset paging)
+     *
+     * @param query Filter and sort state
+     * @param after Last row of the previous page (null = first page)
+     * @param limit Page size
+     * @return Result with up to [limit] list rows
+     */
+    suspend fun getPage(query: TaskPageQuery, after: TaskListItem?, limit: Int): Result<List<TaskListItem>> {
+        return try {
+            Result.success(taskRepository.getTaskPage(query, after, limit))
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to get tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Observe changes to the tasks table (one emission per committed write)
+     * Paged lists use this to reload the rows they already show.
+     */
+    fun observeChanges(): Flow<Unit> {
+        return taskRepository.observeTaskChanges()
+            .catch { e -> throw Exception("Failed to get tasks: ${e.message}", e) }
+    }
+
+    /**
+     * Get total number of tasks
+     *
+     * @return Result with task count
+     */
+    suspend fun getTaskCount(): Result<Int> {
+        return try {
+            Result.success(taskRepository.getTaskCount())
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to count tasks: ${e.message}", e))
+        }
+    }
+
     /**
      * Get only active (uncompleted) tasks
      *
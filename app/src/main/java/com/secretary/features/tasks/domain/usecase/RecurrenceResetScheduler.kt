@@ -0,0 +1,127 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.features.tasks.domain.model.ScheduledReset
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import java.util.PriorityQueue
+
+/**
+ * Use Case: Reset recurring tasks when their period ends
+ *
+ * Single Responsibility: Wake up when the earliest recurrence reset is due
+ * and reset all due tasks in one batch
+ *
+ * Every task stores its next reset instant (next_reset_at, indexed). The
+ * scheduler keeps those instants in a min-heap and sleeps until the smallest
+ * one passes; then the repository resets exactly the due tasks in one
+ * transaction. Nothing wakes up while no reset is due, and a reset costs
+ * time in the number of due tasks, not in the number of tasks.
+ *
+ * Task writes change reset instants: after every change, and after every
+ * wake-up, the earliest pending reset is read from the index (LIMIT 1) and
+ * pushed onto the heap, so the heap's smallest entry is never later than the
+ * real next reset. Entries that became stale (task completed again, edited or
+ * deleted) are not removed - they only cause a wake-up that finds nothing due.
+ *
+ * Sleeps run on the monotonic clock, but reset instants are wall-clock
+ * times: after the wall clock or the time zone changed (or the device slept
+ * past an instant) the heap is re-checked through [checkNow], and no single
+ * sleep lasts longer than MAX_WAIT_MILLIS, so a missed change costs at most
+ * that much delay.
+ *
+ * @param taskRepository Repository for task data access
+ * @param recurrenceService Service for recurrence logic
+ * @param clock Current time source (replaceable in tests)
+ */
+class RecurrenceResetScheduler(
+    private val taskRepository: TaskRepository,
+    private val recurrenceService: RecurrenceService,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    companion object {
+        /** Longest single sleep, so a changed wall clock is noticed even without checkNow() */
+        const val MAX_WAIT_MILLIS = 15 * 60 * 1000L
+    }
+
+    private val schedule = PriorityQueue<ScheduledReset>()
+    private val wakeUps = Channel<Unit>(Channel.CONFLATED) // Task changes and checkNow() calls
+
+    /**
+     * Run until cancelled: reset due tasks now, then at every following reset instant
+     *
+     * @return Result.failure if a database operation failed (never returns otherwise)
+     */
+    suspend operator fun invoke(): Result<Unit> {
+        return try {
+            coroutineScope {
+                launch { taskRepository.observeTaskChanges().collect { wakeUps.trySend(Unit) } }
+
+                schedule.clear()
+                schedule.addAll(taskRepository.getResetSchedule())
+                runSchedule()
+            }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to reset recurring tasks: ${e.message}", e))
+        }
+    }
+
+    /**
+     * Reset the tasks that are due by the current wall clock without waiting
+     * for the next wake-up (screen resumed, wall clock or time zone changed)
+     */
+    fun checkNow() {
+        wakeUps.trySend(Unit)
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Reset what is due, then sleep until the earliest reset (at most MAX_WAIT_MILLIS)
+     * unless a task change or checkNow() arrives first
+     */
+    private suspend fun runSchedule(): Nothing {
+        while (true) {
+            resetDueTasks()
+
+            val next = schedule.peek()?.resetAt
+            val timeout = if (next == null) MAX_WAIT_MILLIS else minOf(next - clock(), MAX_WAIT_MILLIS)
+            if (withTimeoutOrNull(timeout) { wakeUps.receive() } != null) {
+                taskRepository.getNextScheduledReset()?.let { push(it) }
+            }
+        }
+    }
+
+    /**
+     * Reset all tasks due now if the earliest heap entry has passed
+     */
+    private suspend fun resetDueTasks() {
+        val now = clock()
+        if (schedule.peek()?.let { it.resetAt <= now } != true) return
+
+        while (schedule.peek()?.let { it.resetAt <= now } == true) {
+            schedule.poll()
+        }
+
+        val rescheduled = taskRepository.resetDueTasks(now) { task ->
+            recurrenceService.resetIfDue(task, now) ?: task
+        }
+        rescheduled.forEach { push(it) }
+
+        // The popped entries may have been stale: make sure the real earliest reset is on the heap
+        taskRepository.getNextScheduledReset()?.let { if (it.resetAt > now) push(it) }
+    }
+
+    /**
+     * Add a reset to the heap unless it is already the earliest entry
+     */
+    private fun push(reset: ScheduledReset) {
+        if (schedule.peek() != reset) schedule.add(reset)
+    }
+}
@@ -37,11 +37,11 @@ class CompletionDialog : DialogFragment() {
         const val EXTRA_TASK_ID = "task_id"
         const val EXTRA_TASK_TITLE = "task_title"
 
-        fun newInstance(task: Task, factory: TaskViewModelFactory): CompletionDialog {
+        fun newInstance(taskId: Long, taskTitle: String, factory: TaskViewModelFactory): CompletionDialog {
             return CompletionDialog().apply {
                 arguments = bundleOf(
-                    EXTRA_TASK_ID to task.id,
-                    EXTRA_TASK_TITLE to task.title
+                    EXTRA_TASK_ID to taskId,
+                    EXTRA_TASK_TITLE to taskTitle
                 )
             }
         }
@@ -204,29 +204,10 @@ class CompletionDialog : DialogFragment() {
 
     /**
      * Complete task with time and difficulty tracking
+     * The completion record and the task update are saved atomically by the ViewModel.
      */
     private fun completeTaskWithTracking(timeSpent: Int, difficulty: Int, notes: String) {
         val taskId = task?.id ?: return
-
-        lifecycleScope.launch {
-            try {
-                // Save completion tracking data first
-                completionRepository.saveCompletion(
-                    taskId = taskId,
-                    timeSpentMinutes = timeSpent,
-                    difficulty = difficulty,
-                    notes = notes.ifEmpty { null }
-                )
-
-                // Then complete the task (updates streaks, handles recurrence)
-                viewModel.completeTask(taskId)
-            } catch (e: Exception) {
-                Toast.makeText(
-                    requireContext(),
-                    "Failed to save completion data: ${e.message}",
-                    Toast.LENGTH_SHORT
-                ).show()
-            }
-        }
+        viewModel.completeTaskWithDetails(taskId, timeSpent, difficulty, notes)
     }
 }
@@ -0,0 +1,57 @@
+package com.secretary.features.tasks.presentation.viewmodel
+
+import com.secretary.features.tasks.domain.usecase.BulkCompleteTasksUseCase
+import com.secretary.features.tasks.domain.usecase.BulkDeleteTasksUseCase
+import com.secretary.features.tasks.domain.usecase.BulkUpdateTasksUseCase
+
+/**
+ * Bulk actions on the multi-selection of the task list
+ *
+ * Single Responsibility: Run one bulk use case and word its outcome
+ *
+ * One transaction per action, so the list and statistics refresh once,
+ * not once per task. Success carries the message to show ("3 tasks
+ * completed"); failures always have a message.
+ *
+ * @param bulkCompleteTasksUseCase Use case for completing a selection of tasks
+ * @param bulkDeleteTasksUseCase Use case for deleting a selection of tasks
+ * @param bulkUpdateTasksUseCase Use case for recategorising/reprioritising a selection of tasks
+ */
+class TaskBulkActions(
+    private val bulkCompleteTasksUseCase: BulkCompleteTasksUseCase,
+    private val bulkDeleteTasksUseCase: BulkDeleteTasksUseCase,
+    private val bulkUpdateTasksUseCase: BulkUpdateTasksUseCase
+) {
+
+    /**
+     * Complete the selected tasks (with streak and recurrence logic)
+     */
+    suspend fun complete(taskIds: Collection<Long>): Result<String> =
+        perform("completed", "Failed to complete tasks") { bulkCompleteTasksUseCase(taskIds) }
+
+    /**
+     * Delete the selected tasks
+     */
+    suspend fun delete(taskIds: Collection<Long>): Result<String> =
+        perform("deleted", "Failed to delete tasks") { bulkDeleteTasksUseCase(taskIds) }
+
+    /**
+     * Move the selected tasks to a category
+     */
+    suspend fun setCategory(taskIds: Collection<Long>, category: String): Result<String> =
+        perform("moved to $category", "Failed to update tasks") { bulkUpdateTasksUseCase.setCategory(taskIds, category) }
+
+    /**
+     * Set the priority of the selected tasks (0=Low, 1=Medium, 2=High, 3=Urgent)
+     */
+    suspend fun setPriority(taskIds: Collection<Long>, priority: Int): Result<String> =
+        perform("updated", "Failed to update tasks") { bulkUpdateTasksUseCase.setPriority(taskIds, priority) }
+
+    private inline fun perform(verb: String, fallbackError: String, action: () -> Result<Int>): Result<String> =
+        action().fold(
+            onSuccess = { count -> Result.success(if (count == 1) "1 task $verb" else "$count tasks $verb") },
+            onFailure = { exception ->
+                Result.failure(if (exception.message != null) exception else IllegalStateException(fallbackError, exception))
+            }
+        )
+}
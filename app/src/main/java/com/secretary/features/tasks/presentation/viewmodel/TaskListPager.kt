@@ -0,0 +1,111 @@
+package com.secretary.features.tasks.presentation.viewmodel
+
+import androidx.lifecycle.LiveData
+import androidx.lifecycle.MutableLiveData
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import com.secretary.features.tasks.domain.usecase.GetTasksUseCase
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.launch
+
+/**
+ * Paging state of the task list (lists above TaskListViewModel.PAGING_THRESHOLD)
+ *
+ * Single Responsibility: Keep the loaded pages of one query current
+ *
+ * Every committed write reloads the pages already shown (one query, from
+ * the top), so edits and completions appear without losing scroll depth.
+ * Runs on the main thread, in the scope of the owning ViewModel.
+ *
+ * @param getTasksUseCase Source of pages and of change notifications
+ * @param scope Scope of the owning ViewModel
+ * @param onPage Called with all loaded rows after every (re)load
+ * @param onError Called with the message of a failed load
+ */
+class TaskListPager(
+    private val getTasksUseCase: GetTasksUseCase,
+    private val scope: CoroutineScope,
+    private val onPage: (List<TaskListItem>) -> Unit,
+    private val onError: (String) -> Unit
+) {
+
+    companion object {
+        /** Tasks per page */
+        const val PAGE_SIZE = 50
+    }
+
+    private val _pagedTasks = MutableLiveData<List<TaskListItem>>()
+    val pagedTasks: LiveData<List<TaskListItem>> = _pagedTasks
+
+    private var pagingJob: Job? = null
+    private var nextPageJob: Job? = null
+
+    private var pageQuery: TaskPageQuery? = null
+    private var loadedCount = 0
+    private var endReached = false
+
+    /**
+     * Show the first page for [query] and keep the loaded range current
+     * No-op if [query] is already being shown.
+     */
+    fun show(query: TaskPageQuery) {
+        if (query == pageQuery && pagingJob?.isActive == true) return
+
+        pagingJob?.cancel()
+        nextPageJob?.cancel()
+        pageQuery = query
+        loadedCount = 0
+        endReached = false
+
+        pagingJob = scope.launch {
+            getTasksUseCase.observeChanges()
+                .catch { exception ->
+                    onError(exception.message ?: "Failed to load tasks")
+                }
+                .collect {
+                    nextPageJob?.cancel()
+                    val limit = maxOf(PAGE_SIZE, loadedCount)
+                    getTasksUseCase.getPage(query, null, limit).fold(
+                        onSuccess = { page ->
+                            loadedCount = page.size
+                            endReached = page.size < limit
+                            publish(page)
+                        },
+                        onFailure = { exception ->
+                            onError(exception.message ?: "Failed to load tasks")
+                        }
+                    )
+                }
+        }
+    }
+
+    /**
+     * Append the next page (call when the list is scrolled near its end)
+     */
+    fun loadNextPage() {
+        val query = pageQuery ?: return
+        if (loadedCount == 0 || endReached || nextPageJob?.isActive == true) return
+
+        val loaded = _pagedTasks.value.orEmpty()
+        nextPageJob = scope.launch {
+            getTasksUseCase.getPage(query, loaded.lastOrNull(), PAGE_SIZE).fold(
+                onSuccess = { page ->
+                    endReached = page.size < PAGE_SIZE
+                    val shown = loaded + page
+                    loadedCount = shown.size
+                    publish(shown)
+                },
+                onFailure = { exception ->
+                    onError(exception.message ?: "Failed to load tasks")
+                }
+            )
+        }
+    }
+
+    private fun publish(rows: List<TaskListItem>) {
+        _pagedTasks.value = rows
+        onPage(rows)
+    }
+}
@@ -0,0 +1,49 @@
+package com.secretary.features.tasks.presentation.viewmodel
+
+import androidx.lifecycle.LiveData
+import androidx.lifecycle.asLiveData
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import com.secretary.features.tasks.domain.usecase.FormatTaskRowsUseCase
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.retryWhen
+import kotlinx.coroutines.withTimeoutOrNull
+
+/**
+ * Display state of the task list: the shown rows, formatted off the main thread
+ *
+ * Single Responsibility: Turn the shown TaskListItems into TaskRowModels
+ *
+ * Formatting and its minute ticker stop while nothing observes rowModels.
+ * A formatting failure is reported and the previous rows stay shown;
+ * formatting starts over with the next shown list, or after a minute
+ * (time-dependent text) if the list doesn't change.
+ *
+ * @param formatTaskRowsUseCase Use case for formatting rows for display
+ * @param onError Called with the message of a formatting failure
+ */
+class TaskRowDisplay(
+    formatTaskRowsUseCase: FormatTaskRowsUseCase,
+    onError: (String) -> Unit
+) {
+
+    private val shownTasks = MutableStateFlow<List<TaskListItem>?>(null)
+
+    val rowModels: LiveData<List<TaskRowModel>> = formatTaskRowsUseCase.observe(shownTasks.filterNotNull())
+        .retryWhen { exception, _ ->
+            onError(exception.message ?: "Failed to format tasks")
+            val failed = shownTasks.value
+            withTimeoutOrNull(FormatTaskRowsUseCase.TICK_MILLIS) { shownTasks.first { it != failed } }
+            true
+        }
+        .asLiveData()
+
+    /**
+     * Replace the shown rows (filtered list or loaded pages)
+     */
+    fun show(rows: List<TaskListItem>) {
+        shownTasks.value = rows
+    }
+}
@@ -5,12 +5,21 @@ import androidx.lifecycle.ViewModelProvider
 import com.secretary.features.statistics.domain.repository.CompletionRepository
 import com.secretary.features.statistics.domain.usecase.GetStatisticsUseCase
 import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.DailyPlanner
 import com.secretary.features.tasks.domain.service.RecurrenceService
 import com.secretary.features.tasks.domain.service.StreakService
+import com.secretary.features.tasks.domain.usecase.BulkCompleteTasksUseCase
+import com.secretary.features.tasks.domain.usecase.BulkDeleteTasksUseCase
+import com.secretary.features.tasks.domain.usecase.BulkUpdateTasksUseCase
 import com.secretary.features.tasks.domain.usecase.CompleteTaskUseCase
 import com.secretary.features.tasks.domain.usecase.CreateTaskUseCase
+import com.secretary.features.tasks.domain.usecase.DailyPlanUseCase
 import com.secretary.features.tasks.domain.usecase.DeleteTaskUseCase
+import com.secretary.features.tasks.domain.usecase.FilterTasksUseCase
+import com.secretary.features.tasks.domain.usecase.FormatTaskRowsUseCase
+import com.secretary.features.tasks.domain.usecase.GetNextTaskUseCase
 import com.secretary.features.tasks.domain.usecase.GetTasksUseCase
+import com.secretary.features.tasks.domain.usecase.RecurrenceResetScheduler
 import com.secretary.features.tasks.domain.usecase.UpdateTaskUseCase
 
 /**
@@ -51,13 +60,48 @@ class TaskViewModelFactory(
                     completionRepository,
                     taskRepository
                 )
+                val recurrenceResetScheduler = RecurrenceResetScheduler(
+                    taskRepository,
+                    recurrenceService
+                )
+                // Multi-select bulk actions
+                val bulkCompleteTasksUseCase = BulkCompleteTasksUseCase(
+                    taskRepository,
+                    streakService,
+                    recurrenceService
+                )
+                val bulkActions = TaskBulkActions(
+                    bulkCompleteTasksUseCase,
+                    BulkDeleteTasksUseCase(taskRepository),
+                    BulkUpdateTasksUseCase(taskRepository)
+                )
+                // Phase 5: "Next Task" recommendation
+                val getNextTaskUseCase = GetNextTaskUseCase(
+                    taskRepository,
+                    completionRepository
+                )
+                val dailyPlanUseCase = DailyPlanUseCase(
+                    taskRepository,
+                    completionRepository,
+                    DailyPlanner(recurrenceService)
+                )
+                // Search and filter pipeline (off the main thread)
+                val filterTasksUseCase = FilterTasksUseCase(taskRepository)
+                // Row display texts (off the main thread, relative times once a minute)
+                val formatTaskRowsUseCase = FormatTaskRowsUseCase()
 
                 TaskListViewModel(
                     getTasksUseCase,
                     deleteTaskUseCase,
                     completeTaskUseCase,
                     updateTaskUseCase,
-                    getStatisticsUseCase
+                    getStatisticsUseCase,
+                    recurrenceResetScheduler,
+                    bulkActions,
+                    getNextTaskUseCase,
+                    dailyPlanUseCase,
+                    filterTasksUseCase,
+                    formatTaskRowsUseCase
                 ) as T
             }
 
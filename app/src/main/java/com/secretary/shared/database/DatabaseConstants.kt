@@ -9,7 +9,10 @@ package com.secretary.shared.database
 object DatabaseConstants {
     // Database configuration
     const val DATABASE_NAME = "taskmaster.db"
-    const val DATABASE_VERSION = 5
+    const val DATABASE_VERSION = 9
+
+    // Batch statements: IDs bound per "IN (...)" list, below SQLite's 999-parameter limit before 3.32
+    const val MAX_BIND_IDS = 900
 
     // Table names
     const val TABLE_TASKS = "tasks"
@@ -38,6 +41,9 @@ object DatabaseConstants {
     const val COLUMN_LONGEST_STREAK = "longest_streak"
     const val COLUMN_LAST_STREAK_DATE = "last_streak_date"
 
+    // Recurrence reset schedule (schema v9)
+    const val COLUMN_NEXT_RESET_AT = "next_reset_at"
+
     // Completion history table columns
     const val COLUMN_COMPLETION_ID = "completion_id"
     const val COLUMN_TASK_ID = "task_id"
@@ -0,0 +1,62 @@
+package com.secretary.shared.database
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.asCoroutineDispatcher
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Bounded thread pools for all database work.
+ *
+ * TaskDatabase hands these to Room (query and transaction executor), and
+ * repositories calling blocking DAO methods switch to the matching
+ * dispatcher instead of Dispatchers.IO - so Room Flows, suspend DAO calls
+ * and repository calls share the same two pools.
+ *
+ * In WAL mode SQLite allows one writer alongside concurrent readers:
+ * - Writes run on a single thread, in order. More threads would only wait
+ *   for the write lock on the primary connection.
+ * - Reads run on READ_THREADS threads, one per read-only connection of
+ *   Android's WAL connection pool. They see the last committed state and are
+ *   never blocked by a running write, so statistics queries run in parallel
+ *   with completions.
+ */
+object DatabaseExecutors {
+
+    /**
+     * Read threads: Android's WAL pool has 4 connections, the primary one is the writer's
+     */
+    const val READ_THREADS = 3
+
+    /**
+     * Room query executor (reads, Flow re-queries, invalidation tracking)
+     */
+    val queryExecutor: ExecutorService = Executors.newFixedThreadPool(READ_THREADS, namedThreads("db-read"))
+
+    /**
+     * Room transaction executor (writes and transactions)
+     */
+    val transactionExecutor: ExecutorService = Executors.newSingleThreadExecutor(namedThreads("db-write"))
+
+    /**
+     * Dispatcher for blocking DAO reads
+     */
+    val readDispatcher: CoroutineDispatcher = queryExecutor.asCoroutineDispatcher()
+
+    /**
+     * Dispatcher for blocking DAO writes and @Transaction methods
+     */
+    val writeDispatcher: CoroutineDispatcher = transactionExecutor.asCoroutineDispatcher()
+
+    /**
+     * Daemon threads named "<prefix>-1", "<prefix>-2", ... (visible in traces and ANR dumps)
+     */
+    private fun namedThreads(prefix: String): ThreadFactory {
+        val count = AtomicInteger()
+        return ThreadFactory { runnable ->
+            Thread(runnable, "$prefix-${count.incrementAndGet()}").apply { isDaemon = true }
+        }
+    }
+}
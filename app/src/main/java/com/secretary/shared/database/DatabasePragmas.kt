@@ -0,0 +1,26 @@
+package com.secretary.shared.database
+
+/**
+ * Connection tuning applied by TaskDatabase when the database is opened.
+ *
+ * PRAGMAs are per connection, and Room runs onOpen on the primary (write)
+ * connection only. Android opens the WAL read pool's connections itself,
+ * with its defaults, and gives no hook to tune them. So only settings that
+ * matter for writes belong here; read-side settings (cache_size, mmap_size)
+ * would reach none of the connections the queries run on. Kept free of
+ * Android types so the JVM benchmark can apply exactly the same settings.
+ */
+object DatabasePragmas {
+
+    /**
+     * Statements to run on the write connection when it opens. Each returns
+     * at most one row, so callers can run them as queries (execSQL rejects
+     * statements that return rows).
+     *
+     * - synchronous = NORMAL: in WAL mode a commit no longer waits for fsync;
+     *   the database stays consistent, a power loss may drop the last commits
+     */
+    val ON_OPEN = listOf(
+        "PRAGMA synchronous = NORMAL"
+    )
+}
@@ -0,0 +1,267 @@
+package com.secretary.shared.database
+
+import android.content.ContentValues
+import android.database.Cursor
+import android.database.CursorWrapper
+import android.os.CancellationSignal
+import androidx.sqlite.db.SupportSQLiteDatabase
+import androidx.sqlite.db.SupportSQLiteOpenHelper
+import androidx.sqlite.db.SupportSQLiteQuery
+import androidx.sqlite.db.SupportSQLiteStatement
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory
+
+/**
+ * SupportSQLite layer between Room and the framework database that times every statement.
+ *
+ * Room's QueryCallback only sees SQL and bind arguments before a statement
+ * runs, so this wraps the connection instead: queries are timed from the
+ * query() call until Room closes the cursor (SQLite does the work while
+ * the rows are read) and report the rows they returned; compiled
+ * statements (inserts, updates, deletes of the DAOs) are timed per
+ * execute call and report the rows they changed. Everything else -
+ * transactions, pragmas, WAL - goes straight to the framework database.
+ *
+ * Measurements go to [profiler]; once the database is open it also gets
+ * an EXPLAIN QUERY PLAN function that runs on the unwrapped connection.
+ *
+ * @param profiler Receives one record per executed statement
+ * @param delegate Factory of the real open helper
+ */
+class ProfilingOpenHelperFactory(
+    private val profiler: QueryProfiler,
+    private val delegate: SupportSQLiteOpenHelper.Factory = FrameworkSQLiteOpenHelperFactory()
+) : SupportSQLiteOpenHelper.Factory {
+
+    override fun create(configuration: SupportSQLiteOpenHelper.Configuration): SupportSQLiteOpenHelper =
+        ProfilingOpenHelper(delegate.create(configuration), profiler)
+
+    private class ProfilingOpenHelper(
+        private val helper: SupportSQLiteOpenHelper,
+        private val profiler: QueryProfiler
+    ) : SupportSQLiteOpenHelper by helper {
+
+        @Volatile
+        private var wrapped: ProfilingDatabase? = null
+
+        override val writableDatabase: SupportSQLiteDatabase
+            get() = wrap(helper.writableDatabase)
+
+        override val readableDatabase: SupportSQLiteDatabase
+            get() = wrap(helper.readableDatabase)
+
+        /**
+         * One wrapper per framework database (the helper hands out the same one every time)
+         */
+        private fun wrap(database: SupportSQLiteDatabase): SupportSQLiteDatabase {
+            wrapped?.takeIf { it.database === database }?.let { return it }
+            return ProfilingDatabase(database, profiler).also { profiling ->
+                wrapped = profiling
+                profiler.explain = { sql -> explainQueryPlan(database, sql) }
+            }
+        }
+    }
+
+    // ========== Connection ==========
+
+    private class ProfilingDatabase(
+        val database: SupportSQLiteDatabase,
+        private val profiler: QueryProfiler
+    ) : SupportSQLiteDatabase by database {
+
+        override fun query(query: String): Cursor =
+            timedQuery(query, 0) { database.query(query) }
+
+        override fun query(query: String, bindArgs: Array<out Any?>): Cursor =
+            timedQuery(query, bindArgs.size) { database.query(query, bindArgs) }
+
+        override fun query(query: SupportSQLiteQuery): Cursor =
+            timedQuery(query.sql, query.argCount) { database.query(query) }
+
+        override fun query(query: SupportSQLiteQuery, cancellationSignal: CancellationSignal?): Cursor =
+            timedQuery(query.sql, query.argCount) { database.query(query, cancellationSignal) }
+
+        override fun compileStatement(sql: String): SupportSQLiteStatement =
+            ProfilingStatement(database.compileStatement(sql), sql, profiler)
+
+        override fun execSQL(sql: String) {
+            timed(sql, 0) { database.execSQL(sql); 0 }
+        }
+
+        override fun execSQL(sql: String, bindArgs: Array<out Any?>) {
+            timed(sql, bindArgs.size) { database.execSQL(sql, bindArgs); 0 }
+        }
+
+        override fun insert(table: String, conflictAlgorithm: Int, values: ContentValues): Long {
+            var id = -1L
+            timed("INSERT INTO $table", values.size()) {
+                id = database.insert(table, conflictAlgorithm, values)
+                if (id == -1L) 0 else 1
+            }
+            return id
+        }
+
+        override fun update(
+            table: String,
+            conflictAlgorithm: Int,
+            values: ContentValues,
+            whereClause: String?,
+            whereArgs: Array<out Any?>?
+        ): Int = timed("UPDATE $table WHERE $whereClause", values.size() + (whereArgs?.size ?: 0)) {
+            database.update(table, conflictAlgorithm, values, whereClause, whereArgs)
+        }
+
+        override fun delete(table: String, whereClause: String?, whereArgs: Array<out Any?>?): Int =
+            timed("DELETE FROM $table WHERE $whereClause", whereArgs?.size ?: 0) {
+                database.delete(table, whereClause, whereArgs)
+            }
+
+        /**
+         * The cursor reports when it is closed: most of the query runs while rows are read
+         */
+        private inline fun timedQuery(sql: String, bindCount: Int, run: () -> Cursor): Cursor {
+            val start = System.nanoTime()
+            return try {
+                ProfilingCursor(run(), sql, bindCount, start, profiler)
+            } catch (e: RuntimeException) {
+                profiler.record(sql, bindCount, System.nanoTime() - start, 0)
+                throw e
+            }
+        }
+
+        private inline fun timed(sql: String, bindCount: Int, run: () -> Int): Int {
+            val start = System.nanoTime()
+            var rows = 0
+            try {
+                rows = run()
+                return rows
+            } finally {
+                profiler.record(sql, bindCount, System.nanoTime() - start, rows)
+            }
+        }
+    }
+
+    private class ProfilingCursor(
+        cursor: Cursor,
+        private val sql: String,
+        private val bindCount: Int,
+        private val start: Long,
+        private val profiler: QueryProfiler
+    ) : CursorWrapper(cursor) {
+
+        private var recorded = false
+
+        override fun close() {
+            if (!recorded) {
+                recorded = true
+                // Rows the reader got to (count of a cursor never moved would run the query now)
+                val rows = if (position < 0) 0 else minOf(position + 1, count)
+                profiler.record(sql, bindCount, System.nanoTime() - start, rows)
+            }
+            super.close()
+        }
+    }
+
+    // ========== Compiled Statements ==========
+
+    /**
+     * Room reuses compiled statements and binds them again for each row, so the
+     * bind count is the highest parameter index bound since clearBindings()
+     */
+    private class ProfilingStatement(
+        private val statement: SupportSQLiteStatement,
+        private val sql: String,
+        private val profiler: QueryProfiler
+    ) : SupportSQLiteStatement by statement {
+
+        private var bound = 0
+
+        override fun bindNull(index: Int) {
+            bound = maxOf(bound, index)
+            statement.bindNull(index)
+        }
+
+        override fun bindLong(index: Int, value: Long) {
+            bound = maxOf(bound, index)
+            statement.bindLong(index, value)
+        }
+
+        override fun bindDouble(index: Int, value: Double) {
+            bound = maxOf(bound, index)
+            statement.bindDouble(index, value)
+        }
+
+        override fun bindString(index: Int, value: String) {
+            bound = maxOf(bound, index)
+            statement.bindString(index, value)
+        }
+
+        override fun bindBlob(index: Int, value: ByteArray) {
+            bound = maxOf(bound, index)
+            statement.bindBlob(index, value)
+        }
+
+        override fun clearBindings() {
+            bound = 0
+            statement.clearBindings()
+        }
+
+        override fun execute() {
+            timed { statement.execute(); 0 }
+        }
+
+        override fun executeUpdateDelete(): Int = timed { statement.executeUpdateDelete() }
+
+        override fun executeInsert(): Long {
+            var id = -1L
+            timed {
+                id = statement.executeInsert()
+                if (id == -1L) 0 else 1
+            }
+            return id
+        }
+
+        override fun simpleQueryForLong(): Long {
+            var value = 0L
+            timed { value = statement.simpleQueryForLong(); 1 }
+            return value
+        }
+
+        override fun simpleQueryForString(): String? {
+            var value: String? = null
+            timed { value = statement.simpleQueryForString(); 1 }
+            return value
+        }
+
+        private inline fun timed(run: () -> Int): Int {
+            val start = System.nanoTime()
+            var rows = 0
+            try {
+                rows = run()
+                return rows
+            } finally {
+                profiler.record(sql, bound, System.nanoTime() - start, rows)
+            }
+        }
+    }
+
+    companion object {
+
+        /**
+         * EXPLAIN QUERY PLAN of a statement, one line per step, indented by depth
+         * Placeholders stay unbound: the plan doesn't depend on the values.
+         */
+        fun explainQueryPlan(database: SupportSQLiteDatabase, sql: String): List<String> {
+            val depths = HashMap<Int, Int>()
+            val lines = ArrayList<String>()
+            database.query("EXPLAIN QUERY PLAN $sql").use { cursor ->
+                while (cursor.moveToNext()) {
+                    // Columns: id, parent, notused, detail
+                    val depth = (depths[cursor.getInt(1)] ?: -1) + 1
+                    depths[cursor.getInt(0)] = depth
+                    lines.add("  ".repeat(depth) + cursor.getString(3))
+                }
+            }
+            return lines
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.secretary.shared.database
+
+import com.secretary.core.metrics.Histogram
+import java.io.Writer
+import java.time.Instant
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+import java.util.Locale
+import java.util.PriorityQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Statistics of every SQL statement the app runs, for /db/queries.
+ *
+ * Kept free of Android types (ProfilingOpenHelperFactory feeds it from
+ * Room's connections), so it can be unit tested on the JVM.
+ *
+ * - Per normalised statement (literals and IN lists replaced by "?", so
+ *   chunked IN queries and inlined values share one entry): executions,
+ *   latency histogram, max and rows returned.
+ * - The [slowestCount] slowest single executions, shown with the
+ *   EXPLAIN QUERY PLAN of their statement (looked up when the report is
+ *   written, through [explain]).
+ * - Executions slower than [slowThresholdNanos] are passed to [onSlowQuery]
+ *   as they happen (TaskDatabase logs them through AppLogger).
+ *
+ * Recording is lock-free for all but the executions that make it into the
+ * slowest list; raw SQL strings are normalised once and then looked up.
+ *
+ * @param slowestCount How many of the slowest executions to keep
+ * @param slowThresholdNanos Executions at least this slow go to onSlowQuery
+ * @param onSlowQuery Called on the database thread for each slow execution
+ * @param clock Wall clock for execution timestamps (epoch millis)
+ */
+class QueryProfiler(
+    private val slowestCount: Int = DEFAULT_SLOWEST_COUNT,
+    val slowThresholdNanos: Long = DEFAULT_SLOW_THRESHOLD_MS * 1_000_000,
+    private val onSlowQuery: (QueryExecution) -> Unit = {},
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        const val DEFAULT_SLOWEST_COUNT = 20
+        const val DEFAULT_SLOW_THRESHOLD_MS = 100L
+
+        /** Distinct statements kept; dynamic SQL beyond that is counted under OTHER */
+        const val MAX_STATEMENTS = 500
+        const val OTHER = "(other statements)"
+
+        private val STRING_LITERAL = Regex("'(?:[^']|'')*'")
+        private val NUMBER_LITERAL = Regex("(?<![\\w`\"])-?\\d+(?:\\.\\d+)?(?![\\w`\"])")
+        private val IN_LIST = Regex("\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", RegexOption.IGNORE_CASE)
+        private val WHITESPACE = Regex("\\s+")
+
+        private val TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS", Locale.US)
+            .withZone(ZoneId.systemDefault())
+
+        /**
+         * Statement text with literals and IN lists replaced, whitespace collapsed:
+         * "SELECT * FROM tasks WHERE id IN (?,?,?) AND x = 'a'" -> "SELECT * FROM tasks WHERE id IN (?, ...) AND x = ?"
+         */
+        fun normalise(sql: String): String = sql.trim()
+            .replace(STRING_LITERAL, "?")
+            .replace(NUMBER_LITERAL, "?")
+            .replace(IN_LIST, "IN (?, ...)")
+            .replace(WHITESPACE, " ")
+    }
+
+    /**
+     * One execution of a statement
+     *
+     * @property sql SQL as run (with ? placeholders; bound values are not kept)
+     * @property bindCount Number of bound arguments
+     * @property nanos Wall time: from the call until the cursor was closed (queries) or the statement returned
+     * @property rows Rows returned (queries) or changed (updates, deletes, inserts)
+     * @property timestamp When the execution finished (epoch millis)
+     * @property thread Thread that ran it
+     */
+    class QueryExecution(
+        val sql: String,
+        val bindCount: Int,
+        val nanos: Long,
+        val rows: Int,
+        val timestamp: Long,
+        val thread: String
+    ) {
+        fun describe(): String =
+            "%.1f ms, %d rows, %d binds: %s".format(Locale.US, nanos / 1e6, rows, bindCount, normalise(sql))
+    }
+
+    private class StatementStats(val sql: String) {
+        val latency = Histogram()
+        val rows = LongAdder()
+        val maxNanos = AtomicLong()
+    }
+
+    private val bySql = ConcurrentHashMap<String, StatementStats>() // Raw SQL -> stats of its normalised form
+    private val byNormalised = ConcurrentHashMap<String, StatementStats>()
+    private val plans = ConcurrentHashMap<String, List<String>>()
+
+    private val slowest = PriorityQueue<QueryExecution>(compareBy { it.nanos }) // Fastest of the kept ones first
+
+    @Volatile
+    private var admissionNanos = 0L // Executions must be slower than this to enter a full slowest list
+
+    /**
+     * Returns the query plan of a statement (one line per step), or throws
+     * Set by ProfilingOpenHelperFactory once the database is open.
+     */
+    @Volatile
+    var explain: ((String) -> List<String>)? = null
+
+    /**
+     * Record one execution
+     */
+    fun record(sql: String, bindCount: Int, nanos: Long, rows: Int) {
+        val stats = statsFor(sql)
+        stats.latency.record(nanos)
+        stats.rows.add(rows.toLong())
+        stats.maxNanos.accumulateAndGet(nanos) { a, b -> maxOf(a, b) }
+
+        // Slow executions are logged even when the slowest list is full of slower ones
+        val slow = nanos >= slowThresholdNanos
+        if (slow || nanos > admissionNanos) {
+            val execution = QueryExecution(sql, bindCount, nanos, rows, clock(), Thread.currentThread().name)
+            if (nanos > admissionNanos) admit(execution)
+            if (slow) onSlowQuery(execution)
+        }
+    }
+
+    private fun statsFor(sql: String): StatementStats {
+        bySql[sql]?.let { return it }
+        val normalised = normalise(sql)
+        val stats = byNormalised[normalised]
+            ?: if (byNormalised.size < MAX_STATEMENTS) {
+                byNormalised.computeIfAbsent(normalised) { StatementStats(it) }
+            } else {
+                byNormalised.computeIfAbsent(OTHER) { StatementStats(it) }
+            }
+        if (bySql.size < MAX_STATEMENTS * 2) bySql.putIfAbsent(sql, stats)
+        return stats
+    }
+
+    @Synchronized
+    private fun admit(execution: QueryExecution) {
+        if (slowest.size < slowestCount) {
+            slowest.add(execution)
+        } else if (execution.nanos > slowest.peek().nanos) {
+            slowest.poll()
+            slowest.add(execution)
+        }
+        if (slowest.size >= slowestCount) admissionNanos = slowest.peek().nanos
+    }
+
+    // ========== Report ==========
+
+    /**
+     * Statements by total time, then the slowest executions with their query plans
+     */
+    fun writeReport(writer: Writer) {
+        val statements = byNormalised.values
+            .map { it to it.latency.snapshot() }
+            .sortedByDescending { (_, snapshot) -> snapshot.sumNanos }
+        val executions = synchronized(this) { slowest.sortedByDescending { it.nanos } }
+
+        writer.write("Query profile: ${statements.sumOf { it.second.count }} executions, ")
+        writer.write("${statements.size} distinct statements, slow threshold ${slowThresholdNanos / 1_000_000} ms\n")
+        writer.write("Times are wall time until the cursor was closed; p95 is the upper bound of its histogram bucket.\n\n")
+
+        writer.write("By total time:\n")
+        writer.write("%8s %11s %9s %9s %9s %10s  %s\n".format(Locale.US, "count", "total ms", "mean ms", "p95 ms", "max ms", "rows/exec", "sql"))
+        for ((stats, snapshot) in statements) {
+            val count = snapshot.count.coerceAtLeast(1)
+            writer.write(
+                "%8d %11.2f %9.2f %9s %9.2f %10.1f  %s\n".format(
+                    Locale.US,
+                    snapshot.count,
+                    snapshot.sumNanos / 1e6,
+                    snapshot.sumNanos / 1e6 / count,
+                    formatBound(snapshot.quantileUpperBound(0.95)),
+                    stats.maxNanos.get() / 1e6,
+                    stats.rows.sum().toDouble() / count,
+                    stats.sql
+                )
+            )
+        }
+
+        writer.write("\nSlowest executions:\n")
+        for (execution in executions) {
+            writer.write(
+                "%s %9.2f ms  rows=%d  binds=%d  thread=%s\n".format(
+                    Locale.US,
+                    TIME_FORMAT.format(Instant.ofEpochMilli(execution.timestamp)),
+                    execution.nanos / 1e6,
+                    execution.rows,
+                    execution.bindCount,
+                    execution.thread
+                )
+            )
+            writer.write("  ${execution.sql.trim().replace(WHITESPACE, " ")}\n")
+            planFor(execution.sql).forEach { writer.write("    $it\n") }
+        }
+    }
+
+    /**
+     * Query plan of a statement, cached per normalised SQL
+     */
+    private fun planFor(sql: String): List<String> {
+        val normalised = normalise(sql)
+        plans[normalised]?.let { return it }
+        val explain = explain ?: return listOf("(no query plan: database not open)")
+        val plan = try {
+            explain(sql)
+        } catch (e: Exception) {
+            return listOf("(no query plan: ${e.message})")
+        }
+        plans[normalised] = plan
+        return plan
+    }
+
+    private fun formatBound(nanos: Long): String =
+        if (nanos == Long.MAX_VALUE) "inf" else "%.2f".format(Locale.US, nanos / 1e6)
+}
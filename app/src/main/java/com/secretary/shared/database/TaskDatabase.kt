@@ -6,23 +6,40 @@ import androidx.room.Room
 import androidx.room.RoomDatabase
 import androidx.room.migration.Migration
 import androidx.sqlite.db.SupportSQLiteDatabase
+import com.secretary.core.logging.AppLogger
+import com.secretary.features.statistics.data.CompletionDailyRollupEntity
 import com.secretary.features.statistics.data.CompletionDao
 import com.secretary.features.statistics.data.CompletionEntity
 import com.secretary.features.tasks.data.TaskDao
 import com.secretary.features.tasks.data.TaskEntity
+import com.secretary.features.tasks.data.TaskFtsEntity
 
 /**
  * Room Database for AI Secretary app.
  * Phase 4.5.3 Wave 5: Converted to Kotlin
  *
  * Central database configuration with:
- * - TaskEntity (tasks table, 17 columns)
+ * - TaskEntity (tasks table, 18 columns)
  * - CompletionEntity (completions table, 6 columns)
+ * - TaskFtsEntity (tasks_fts full-text index over tasks)
+ * - CompletionDailyRollupEntity (completion_daily_rollup, trigger-maintained per-day totals)
  * - Migration from SQLite v4 to Room v5
+ * - Migration v5 to v6 (tasks query indices)
+ * - Migration v6 to v7 (tasks_fts search index)
+ * - Migration v7 to v8 (completion_daily_rollup)
+ * - Migration v8 to v9 (tasks.next_reset_at recurrence reset schedule)
+ *
+ * Opened in WAL mode on the DatabaseExecutors pools, tuned by DatabasePragmas.
+ * Every statement is timed by queryProfiler (served at /db/queries).
  */
 @Database(
-    entities = [TaskEntity::class, CompletionEntity::class],
-    version = 5,
+    entities = [
+        TaskEntity::class,
+        CompletionEntity::class,
+        TaskFtsEntity::class,
+        CompletionDailyRollupEntity::class
+    ],
+    version = DatabaseConstants.DATABASE_VERSION,
     exportSchema = true
 )
 abstract class TaskDatabase : RoomDatabase() {
@@ -40,6 +57,17 @@ abstract class TaskDatabase : RoomDatabase() {
     abstract fun completionDao(): CompletionDao
 
     companion object {
+        private const val TAG = "TaskDatabase"
+
+        // ========== Query Profiling ==========
+
+        /**
+         * Timings of all statements on the database; slow ones are also logged
+         */
+        val queryProfiler = QueryProfiler(
+            onSlowQuery = { AppLogger.info(TAG, "Slow query: ${it.describe()}") }
+        )
+
         // ========== Singleton Pattern ==========
 
         @Volatile
@@ -47,6 +75,11 @@ abstract class TaskDatabase : RoomDatabase() {
 
         /**
          * Get database instance (singleton)
+         *
+         * WAL is set explicitly: Room's AUTOMATIC mode falls back to a rollback
+         * journal on low-RAM devices, where every write would block all reads.
+         * The open helper is wrapped by ProfilingOpenHelperFactory, which reports
+         * every statement to queryProfiler.
          */
         fun getDatabase(context: Context): TaskDatabase {
             return INSTANCE ?: synchronized(this) {
@@ -55,7 +88,12 @@ abstract class TaskDatabase : RoomDatabase() {
                     TaskDatabase::class.java,
                     DatabaseConstants.DATABASE_NAME
                 )
-                    .addMigrations(MIGRATION_4_5)
+                    .addMigrations(MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9)
+                    .addCallback(CALLBACK)
+                    .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(DatabaseExecutors.queryExecutor)
+                    .setTransactionExecutor(DatabaseExecutors.transactionExecutor)
+                    .openHelperFactory(ProfilingOpenHelperFactory(queryProfiler))
                     .fallbackToDestructiveMigration()
                     .build()
                 INSTANCE = instance
@@ -63,6 +101,26 @@ abstract class TaskDatabase : RoomDatabase() {
             }
         }
 
+        // ========== Callbacks ==========
+
+        /**
+         * Creates what Room does not manage itself (rollup triggers) and tunes the connection.
+         * onCreate runs for new and destructively recreated databases; upgrades get
+         * the same statements from their migration.
+         */
+        val CALLBACK = object : RoomDatabase.Callback() {
+            override fun onCreate(db: SupportSQLiteDatabase) {
+                CompletionDailyRollupEntity.TRIGGERS.forEach { db.execSQL(it) }
+            }
+
+            override fun onOpen(db: SupportSQLiteDatabase) {
+                // Some PRAGMAs echo their new value, which execSQL rejects
+                DatabasePragmas.ON_OPEN.forEach { pragma ->
+                    db.query(pragma).use { it.moveToFirst() }
+                }
+            }
+        }
+
         // ========== Database Migrations ==========
 
         /**
@@ -86,6 +144,102 @@ abstract class TaskDatabase : RoomDatabase() {
             }
         }
 
+        /**
+         * Migration from v5 to v6: indices for the hot TaskDao queries
+         *
+         * Statements must match the createSql Room exports for TaskEntity
+         * (see app/schemas/.../6.json), otherwise schema validation fails on open.
+         */
+        val MIGRATION_5_6 = object : Migration(5, 6) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS `index_tasks_is_completed_priority_created_at` " +
+                        "ON `tasks` (`is_completed` ASC, `priority` DESC, `created_at` DESC)"
+                )
+                database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS `index_tasks_is_completed_due_date` " +
+                        "ON `tasks` (`is_completed`, `due_date`)"
+                )
+                database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS `index_tasks_recurrence_type_is_completed_due_date` " +
+                        "ON `tasks` (`recurrence_type`, `is_completed`, `due_date`)"
+                )
+                database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS `index_tasks_category_is_completed_priority` " +
+                        "ON `tasks` (`category` ASC, `is_completed` ASC, `priority` DESC)"
+                )
+            }
+        }
+
+        /**
+         * Migration from v6 to v7: tasks_fts full-text index
+         *
+         * Creates the FTS4 table and the content sync triggers exactly as Room
+         * exports them for TaskFtsEntity (see app/schemas/.../7.json), then
+         * builds the index from the existing tasks.
+         */
+        val MIGRATION_6_7 = object : Migration(6, 7) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4(" +
+                        "`title` TEXT NOT NULL, `description` TEXT, `category` TEXT NOT NULL, " +
+                        "tokenize=unicode61, content=`tasks`)"
+                )
+                database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_UPDATE BEFORE UPDATE ON `tasks` BEGIN " +
+                        "DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END"
+                )
+                database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_DELETE BEFORE DELETE ON `tasks` BEGIN " +
+                        "DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END"
+                )
+                database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_UPDATE AFTER UPDATE ON `tasks` BEGIN " +
+                        "INSERT INTO `tasks_fts`(`docid`, `title`, `description`, `category`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`category`); END"
+                )
+                database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_INSERT AFTER INSERT ON `tasks` BEGIN " +
+                        "INSERT INTO `tasks_fts`(`docid`, `title`, `description`, `category`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`category`); END"
+                )
+                database.execSQL("INSERT INTO `tasks_fts`(`tasks_fts`) VALUES ('rebuild')")
+            }
+        }
+
+        /**
+         * Migration from v7 to v8: completion_daily_rollup
+         *
+         * Creates the rollup table (createSql from app/schemas/.../8.json),
+         * its maintenance triggers, and fills it from existing completions.
+         */
+        val MIGRATION_7_8 = object : Migration(7, 8) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `completion_daily_rollup` (" +
+                        "`day` INTEGER NOT NULL, `completion_count` INTEGER NOT NULL, " +
+                        "`total_minutes` INTEGER NOT NULL, `difficulty_sum` INTEGER NOT NULL, " +
+                        "PRIMARY KEY(`day`))"
+                )
+                CompletionDailyRollupEntity.TRIGGERS.forEach { database.execSQL(it) }
+                CompletionDailyRollupEntity.REBUILD.forEach { database.execSQL(it) }
+            }
+        }
+
+        /**
+         * Migration from v8 to v9: tasks.next_reset_at
+         *
+         * Adds the column and its index (as exported in app/schemas/.../9.json).
+         * Existing recurring tasks get -1 ("not computed yet"); the repository
+         * computes their reset instants on the first schedule load, because the
+         * period arithmetic lives in RecurrenceService, not in SQL.
+         */
+        val MIGRATION_8_9 = object : Migration(8, 9) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL("ALTER TABLE `tasks` ADD COLUMN `next_reset_at` INTEGER NOT NULL DEFAULT 0")
+                database.execSQL("UPDATE `tasks` SET `next_reset_at` = -1 WHERE `recurrence_type` > 0")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_next_reset_at` ON `tasks` (`next_reset_at`)")
+            }
+        }
+
         /**
          * Close database instance (for testing purposes)
          */
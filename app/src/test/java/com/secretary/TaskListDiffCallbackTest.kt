@@ -0,0 +1,108 @@
+package com.secretary
+
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListUpdateCallback
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import com.secretary.features.tasks.domain.service.TaskRowFormatter
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Unit tests for TaskListAdapter.DiffCallback
+ *
+ * Tests:
+ * - Rows match by task ID
+ * - Completion / streak changes become payloads, other changes rebind the row
+ * - Rows reformatted with the same texts are unchanged
+ * - Toggling one task in a list updates exactly one row
+ */
+class TaskListDiffCallbackTest {
+
+    companion object {
+        private const val NOW = 1_700_000_000_000L
+    }
+
+    private val callback = TaskListAdapter.DiffCallback
+    private val formatter = TaskRowFormatter()
+
+    @Test
+    fun `rows match by task ID`() {
+        assertTrue(callback.areItemsTheSame(item(1), item(1, title = "Renamed")))
+        assertFalse(callback.areItemsTheSame(item(1), item(2)))
+    }
+
+    @Test
+    fun `completion change is a completion payload`() {
+        val payload = callback.getChangePayload(item(1), item(1, isCompleted = true))
+
+        assertEquals(TaskListAdapter.PAYLOAD_COMPLETION, payload)
+    }
+
+    @Test
+    fun `streak change is a streak payload`() {
+        val payload = callback.getChangePayload(item(1, streak = 2), item(1, streak = 3))
+
+        assertEquals(TaskListAdapter.PAYLOAD_STREAK, payload)
+    }
+
+    @Test
+    fun `completion with streak change combines both payloads`() {
+        val payload = callback.getChangePayload(item(1, streak = 2), item(1, isCompleted = true, streak = 3))
+
+        assertEquals(TaskListAdapter.PAYLOAD_COMPLETION or TaskListAdapter.PAYLOAD_STREAK, payload)
+    }
+
+    @Test
+    fun `other changes rebind the whole row`() {
+        assertNull(callback.getChangePayload(item(1), item(1, title = "Renamed")))
+        assertNull(callback.getChangePayload(item(1), item(1, isCompleted = true, title = "Renamed")))
+    }
+
+    @Test
+    fun `reformatted row with the same texts is unchanged`() {
+        assertTrue(callback.areContentsTheSame(item(1, streak = 2), item(1, streak = 2)))
+    }
+
+    @Test
+    fun `toggling one task updates one row`() {
+        val oldItems = (1L..50L).map { TaskListItem(id = it, title = "Task $it", currentStreak = 1) }
+        val old = formatter.rows(oldItems, NOW)
+        val new = formatter.rows(
+            oldItems.map { if (it.id == 17L) it.copy(isCompleted = true, currentStreak = 2) else it },
+            NOW
+        )
+        val updates = RecordingCallback()
+
+        DiffUtil.calculateDiff(diffOf(old, new)).dispatchUpdatesTo(updates)
+
+        assertEquals(listOf("changed 16 x1 ${TaskListAdapter.PAYLOAD_COMPLETION or TaskListAdapter.PAYLOAD_STREAK}"), updates.events)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun item(id: Long, title: String = "Task $id", isCompleted: Boolean = false, streak: Int = 0): TaskRowModel =
+        formatter.format(TaskListItem(id = id, title = title, isCompleted = isCompleted, currentStreak = streak), NOW)
+
+    /**
+     * The adapter's item callback as a DiffUtil.Callback over two lists (what AsyncListDiffer does)
+     */
+    private fun diffOf(old: List<TaskRowModel>, new: List<TaskRowModel>) = object : DiffUtil.Callback() {
+        override fun getOldListSize() = old.size
+        override fun getNewListSize() = new.size
+        override fun areItemsTheSame(oldPosition: Int, newPosition: Int) =
+            callback.areItemsTheSame(old[oldPosition], new[newPosition])
+        override fun areContentsTheSame(oldPosition: Int, newPosition: Int) =
+            callback.areContentsTheSame(old[oldPosition], new[newPosition])
+        override fun getChangePayload(oldPosition: Int, newPosition: Int) =
+            callback.getChangePayload(old[oldPosition], new[newPosition])
+    }
+
+    private class RecordingCallback : ListUpdateCallback {
+        val events = mutableListOf<String>()
+        override fun onInserted(position: Int, count: Int) { events.add("inserted $position x$count") }
+        override fun onRemoved(position: Int, count: Int) { events.add("removed $position x$count") }
+        override fun onMoved(fromPosition: Int, toPosition: Int) { events.add("moved $fromPosition to $toPosition") }
+        override fun onChanged(position: Int, count: Int, payload: Any?) { events.add("changed $position x$count $payload") }
+    }
+}
@@ -0,0 +1,112 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.StringWriter
+
+/**
+ * Unit tests for LogEventStream
+ *
+ * Tests:
+ * - Records become SSE events with the sequence number as id
+ * - Multi-line messages become several data lines
+ * - Cursor: only records after it are sent; filtered records are skipped
+ * - Overwritten records are announced as a "missed" event
+ * - Heartbeat comments while idle
+ */
+class LogEventStreamTest {
+
+    private val ring = LogRingBuffer(16, clock = { 0L })
+
+    /**
+     * Stream for [rounds] polls, then stop
+     */
+    private fun stream(
+        cursor: Long,
+        rounds: Int = 1,
+        filter: (LogRecord) -> Boolean = { true },
+        heartbeatMillis: Long = 60_000,
+        clock: () -> Long = { 0L }
+    ): Pair<String, Long> {
+        val writer = StringWriter()
+        var polls = 0
+        val stream = LogEventStream(ring::readAfter, filter, pollIntervalMillis = 1, heartbeatMillis = heartbeatMillis, clock = clock)
+        val end = stream.stream(writer, cursor) { polls++ < rounds }
+        return writer.toString() to end
+    }
+
+    private fun events(text: String) = text.split("\n\n").filter { it.isNotBlank() && !it.startsWith("retry:") }
+
+    @Test
+    fun `sends records after the cursor as events`() {
+        (1..3).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        val (text, cursor) = stream(cursor = 0)
+
+        val events = events(text)
+        assertEquals(2, events.size)
+        assertTrue(events[0], events[0].startsWith("id: 1\ndata: ["))
+        assertTrue(events[0], events[0].endsWith("[INFO] [Tag] message 2"))
+        assertTrue(events[1], events[1].startsWith("id: 2\n"))
+        assertEquals(2L, cursor)
+        assertTrue(text.startsWith("retry: 1000\n\n"))
+    }
+
+    @Test
+    fun `multi-line messages become several data lines`() {
+        ring.add(LogLevel.ERROR, "Tag", "first\nsecond")
+
+        val event = events(stream(cursor = -1).first).single()
+
+        val lines = event.lines()
+        assertEquals("id: 0", lines[0])
+        assertTrue(lines[1].startsWith("data: [") && lines[1].endsWith("first"))
+        assertEquals("data: second", lines[2])
+    }
+
+    @Test
+    fun `filtered records are skipped but advance the cursor`() {
+        ring.add(LogLevel.DEBUG, "Tag", "noise")
+        ring.add(LogLevel.ERROR, "Tag", "failure")
+        ring.add(LogLevel.DEBUG, "Tag", "noise")
+
+        val (text, cursor) = stream(cursor = -1, filter = { it.level == LogLevel.ERROR })
+
+        assertEquals(listOf("id: 1"), events(text).map { it.lines().first() })
+        assertEquals(2L, cursor)
+    }
+
+    @Test
+    fun `records logged while streaming are pushed`() {
+        var polls = 0
+        val writer = StringWriter()
+        val stream = LogEventStream({ cursor ->
+            if (polls == 1) ring.add(LogLevel.INFO, "Tag", "late")
+            ring.readAfter(cursor)
+        }, pollIntervalMillis = 1)
+
+        stream.stream(writer, -1) { polls++ < 3 }
+
+        assertEquals(1, events(writer.toString()).size)
+        assertTrue(writer.toString().contains("late"))
+    }
+
+    @Test
+    fun `overwritten records are announced`() {
+        (1..20).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        val events = events(stream(cursor = 0).first)
+
+        assertEquals("event: missed\ndata: 3 records overwritten before they were sent", events[0])
+        assertEquals(17, events.size)
+    }
+
+    @Test
+    fun `idle stream sends heartbeats`() {
+        var now = 0L
+        val (text, _) = stream(cursor = -1, rounds = 3, heartbeatMillis = 10, clock = { now.also { now += 10 } })
+
+        assertTrue(text, text.contains(": keep-alive\n\n"))
+        assertEquals(emptyList<String>(), events(text).filter { !it.startsWith(":") })
+    }
+}
@@ -0,0 +1,119 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * Unit tests for LogIndex
+ *
+ * Tests:
+ * - Level, tag and time queries and their intersections
+ * - tail walks from the newest record
+ * - Overwritten and cleared records leave the index
+ * - Random queries give the same result as scanning every record
+ */
+class LogIndexTest {
+
+    private var now = 1_000L
+    private val ring = LogRingBuffer(64, clock = { now })
+    private val index = LogIndex(ring)
+
+    private fun log(level: LogLevel, tag: String, message: String, advance: Long = 10) {
+        ring.add(level, tag, message)
+        now += advance
+    }
+
+    private fun messages(query: LogQuery) = index.query(query).records.map { it.message }
+
+    @Test
+    fun `level and tag queries intersect`() {
+        log(LogLevel.INFO, "Database", "opened")
+        log(LogLevel.ERROR, "Database", "query failed")
+        log(LogLevel.ERROR, "Network", "timeout")
+        log(LogLevel.DEBUG, "Database", "[ERROR] in message text only")
+
+        assertEquals(listOf("query failed", "timeout"), messages(LogQuery(levels = setOf(LogLevel.ERROR))))
+        assertEquals(listOf("query failed"), messages(LogQuery(levels = setOf(LogLevel.ERROR), tag = "Database")))
+        assertEquals(
+            listOf("opened", "query failed", "timeout"),
+            messages(LogQuery(levels = setOf(LogLevel.INFO, LogLevel.ERROR)))
+        )
+        assertEquals(emptyList<String>(), messages(LogQuery(tag = "Unknown")))
+    }
+
+    @Test
+    fun `time range selects records by timestamp`() {
+        (0 until 10).forEach { log(LogLevel.INFO, "Tag", "m$it") } // Timestamps 1000, 1010, ...
+
+        assertEquals(listOf("m2", "m3", "m4"), messages(LogQuery(fromTime = 1_020, toTime = 1_050)))
+        assertEquals(listOf("m8", "m9"), messages(LogQuery(fromTime = 1_075)))
+        assertEquals(emptyList<String>(), messages(LogQuery(fromTime = 5_000)))
+    }
+
+    @Test
+    fun `tail returns the newest matches in order`() {
+        (0 until 10).forEach { log(if (it % 2 == 0) LogLevel.INFO else LogLevel.ERROR, "Tag", "m$it") }
+
+        assertEquals(listOf("m7", "m9"), messages(LogQuery(levels = setOf(LogLevel.ERROR), tail = 2)))
+        assertEquals(emptyList<String>(), messages(LogQuery(tail = 0)))
+    }
+
+    @Test
+    fun `search scans only the indexed candidates`() {
+        log(LogLevel.ERROR, "Database", "disk I/O error")
+        log(LogLevel.ERROR, "Network", "disk unreachable")
+        log(LogLevel.INFO, "Database", "disk ok")
+
+        assertEquals(listOf("disk I/O error"), messages(LogQuery(levels = setOf(LogLevel.ERROR), tag = "Database", search = "DISK")))
+    }
+
+    @Test
+    fun `overwritten and cleared records leave the index`() {
+        log(LogLevel.ERROR, "Old", "first")
+        repeat(64) { log(LogLevel.INFO, "Tag", "filler") }
+
+        assertEquals(emptyList<String>(), messages(LogQuery(tag = "Old")))
+        assertEquals(64, index.query(LogQuery()).records.size)
+
+        ring.clear()
+        log(LogLevel.INFO, "Tag", "after clear")
+        assertEquals(listOf("after clear"), messages(LogQuery()))
+    }
+
+    @Test
+    fun `cursor points at the last indexed record`() {
+        log(LogLevel.INFO, "Tag", "a")
+        log(LogLevel.INFO, "Tag", "b")
+
+        assertEquals(1L, index.query(LogQuery(tag = "None")).cursor)
+    }
+
+    @Test
+    fun `random queries match a full scan`() {
+        val random = Random(42)
+        val levels = LogLevel.values()
+        val tags = listOf("TaskActivity", "Database", "Network", "HttpLogServer")
+
+        repeat(20) { round ->
+            repeat(random.nextInt(1, 40)) {
+                log(levels.random(random), tags.random(random), "message ${random.nextInt(100)}", advance = random.nextLong(0, 5))
+            }
+            // Indexed incrementally between rounds, across overwrites of the 64-record ring
+            repeat(10) {
+                val query = LogQuery(
+                    levels = if (random.nextBoolean()) levels.filter { random.nextBoolean() }.toSet() else null,
+                    tag = if (random.nextBoolean()) tags.random(random) else null,
+                    fromTime = if (random.nextBoolean()) now - random.nextLong(0, 200) else null,
+                    toTime = if (random.nextBoolean()) now - random.nextLong(0, 100) else null,
+                    search = if (random.nextInt(4) == 0) "message ${random.nextInt(10)}" else null,
+                    tail = if (random.nextInt(3) == 0) random.nextInt(0, 10) else null
+                )
+                val scanned = ring.snapshot().filter(query::matches).let { all ->
+                    query.tail?.let { all.takeLast(it) } ?: all
+                }
+                assertEquals("round $round: $query", scanned.map { it.sequence }, index.query(query).records.map { it.sequence })
+            }
+        }
+    }
+}
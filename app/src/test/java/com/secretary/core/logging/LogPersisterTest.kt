@@ -0,0 +1,76 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+/**
+ * Unit tests for LogPersister
+ *
+ * Tests:
+ * - Drain copies new records once, in order, lazy messages built
+ * - Records overwritten before a drain leave a lost-records marker
+ * - clear() on the ring doesn't affect persisting
+ */
+class LogPersisterTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val ring = LogRingBuffer(8, clock = { 5L })
+    private val store by lazy { LogSegmentStore(folder.root, 4096, 2) }
+    private val persister by lazy { LogPersister(ring, store, clock = { 9L }) }
+
+    private fun persisted() = store.records().map { it.message }.toList()
+
+    @Test
+    fun `drain appends each new record once`() {
+        ring.add(LogLevel.INFO, "Tag", "one")
+        ring.addLazy(LogLevel.DEBUG, "Tag") { "two" }
+
+        assertEquals(2, persister.drain())
+        assertEquals(0, persister.drain())
+        ring.add(LogLevel.ERROR, "Tag", "three")
+        persister.flush()
+
+        assertEquals(listOf("one", "two", "three"), persisted())
+        assertEquals(listOf(0L, 1L, 2L), store.records().map { it.sequence }.toList())
+    }
+
+    @Test
+    fun `records overwritten before a drain leave a marker`() {
+        (0 until 11).forEach { ring.add(LogLevel.INFO, "Tag", "m$it") }
+
+        persister.drain()
+
+        val records = store.records().toList()
+        assertEquals(LogLevel.ERROR, records[0].level)
+        assertEquals("3 log records lost (logged faster than persisted)", records[0].message)
+        assertEquals((3 until 11).map { "m$it" }, records.drop(1).map { it.message })
+    }
+
+    @Test
+    fun `cleared records are still persisted`() {
+        ring.add(LogLevel.INFO, "Tag", "before")
+        ring.clear()
+        ring.add(LogLevel.INFO, "Tag", "after")
+
+        persister.drain()
+
+        assertEquals(listOf("before", "after"), persisted())
+    }
+
+    @Test
+    fun `background thread persists records`() {
+        persister.start(intervalMillis = 10)
+        ring.add(LogLevel.INFO, "Tag", "async")
+
+        val deadline = System.currentTimeMillis() + 5_000
+        while (persisted().isEmpty() && System.currentTimeMillis() < deadline) Thread.sleep(10)
+        persister.stop()
+
+        assertEquals(listOf("async"), persisted())
+        assertNull(persister.lastError)
+    }
+}
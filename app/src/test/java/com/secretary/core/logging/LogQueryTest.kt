@@ -0,0 +1,66 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.time.LocalDateTime
+import java.time.ZoneOffset
+
+/**
+ * Unit tests for LogQuery
+ *
+ * Tests:
+ * - HTTP parameters: levels, unknown levels, times (ISO and epoch millis), tail
+ * - matches() compares record fields, not the formatted line
+ */
+class LogQueryTest {
+
+    private val utc = ZoneOffset.UTC
+
+    @Test
+    fun `parses HTTP parameters`() {
+        val query = LogQuery.fromParams(
+            mapOf(
+                "level" to "error, info",
+                "tag" to "Database",
+                "from" to "2025-01-15T14:30",
+                "to" to "1736953200000",
+                "search" to "disk",
+                "tail" to "20"
+            ),
+            utc
+        )
+
+        assertEquals(setOf(LogLevel.ERROR, LogLevel.INFO), query.levels)
+        assertEquals("Database", query.tag)
+        assertEquals(LocalDateTime.of(2025, 1, 15, 14, 30).toInstant(utc).toEpochMilli(), query.fromTime)
+        assertEquals(1736953200000L, query.toTime)
+        assertEquals("disk", query.search)
+        assertEquals(20, query.tail)
+    }
+
+    @Test
+    fun `accepts dates and space-separated date times, ignores garbage`() {
+        val day = LogQuery.fromParams(mapOf("from" to "2025-01-15", "to" to "2025-01-15 18:00:00"), utc)
+        val bad = LogQuery.fromParams(mapOf("from" to "yesterday"), utc)
+
+        assertEquals(LocalDateTime.of(2025, 1, 15, 0, 0).toInstant(utc).toEpochMilli(), day.fromTime)
+        assertEquals(LocalDateTime.of(2025, 1, 15, 18, 0).toInstant(utc).toEpochMilli(), day.toTime)
+        assertNull(bad.fromTime)
+    }
+
+    @Test
+    fun `unknown level names match nothing`() {
+        val query = LogQuery.fromParams(mapOf("level" to "WARN"))
+
+        assertEquals(emptySet<LogLevel>(), query.levels)
+        assertFalse(query.matches(LogRecord.of(0, 0, LogLevel.INFO, "Tag", "main", "x")))
+    }
+
+    @Test
+    fun `level filter checks the level, not the message text`() {
+        val query = LogQuery(levels = setOf(LogLevel.ERROR))
+
+        assertFalse(query.matches(LogRecord.of(0, 0, LogLevel.INFO, "Tag", "main", "Saw [ERROR] in the response")))
+        assertTrue(query.matches(LogRecord.of(1, 0, LogLevel.ERROR, "Tag", "main", "failed")))
+    }
+}
@@ -0,0 +1,196 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Unit tests for LogRingBuffer and LogRecord
+ *
+ * Tests:
+ * - Keeps the last lap of records, oldest first; clear drops earlier records
+ * - Lazy messages and stack traces are built only when read, once
+ * - Concurrent writers: no lost or reordered records
+ * - readFrom follows the log and reports overwritten records as gaps
+ * - readAfter cursors: only unseen records, missed count, restart detection
+ */
+class LogRingBufferTest {
+
+    @Test
+    fun `keeps the last capacity records in order`() {
+        val ring = LogRingBuffer(4, clock = { 0L })
+
+        (1..6).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        assertEquals(listOf("message 3", "message 4", "message 5", "message 6"), ring.snapshot().map { it.message })
+        assertEquals(6L, ring.totalWritten)
+    }
+
+    @Test
+    fun `clear drops earlier records only`() {
+        val ring = LogRingBuffer(4)
+        ring.add(LogLevel.INFO, "Tag", "before")
+
+        ring.clear()
+        ring.add(LogLevel.INFO, "Tag", "after")
+
+        assertEquals(listOf("after"), ring.snapshot().map { it.message })
+    }
+
+    @Test
+    fun `readFrom returns records from a sequence number, ignoring clear`() {
+        val ring = LogRingBuffer(4)
+        (1..3).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+        ring.clear()
+
+        assertEquals(listOf(1L, 2L), ring.readFrom(1).map { it.sequence })
+        assertEquals(listOf(1L), ring.readFrom(1, max = 1).map { it.sequence })
+        assertEquals(emptyList<LogRecord>(), ring.readFrom(3))
+    }
+
+    @Test
+    fun `readFrom skips overwritten records`() {
+        val ring = LogRingBuffer(4)
+        (1..6).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        assertEquals(listOf(2L, 3L, 4L, 5L), ring.readFrom(0).map { it.sequence })
+    }
+
+    @Test
+    fun `readAfter returns only records after the cursor`() {
+        val ring = LogRingBuffer(8)
+        (1..3).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        val first = ring.readAfter(-1)
+        ring.add(LogLevel.INFO, "Tag", "message 4")
+        val second = ring.readAfter(first.cursor)
+        val third = ring.readAfter(second.cursor)
+
+        assertEquals(listOf(0L, 1L, 2L), first.records.map { it.sequence })
+        assertEquals(2L, first.cursor)
+        assertEquals(listOf("message 4"), second.records.map { it.message })
+        assertEquals(3L, second.cursor)
+        assertEquals(LogBatch(emptyList(), 3L, 0L), third)
+    }
+
+    @Test
+    fun `readAfter counts records overwritten since the cursor`() {
+        val ring = LogRingBuffer(4)
+        ring.add(LogLevel.INFO, "Tag", "seen")
+        (1..6).forEach { ring.add(LogLevel.INFO, "Tag", "message $it") }
+
+        val batch = ring.readAfter(0)
+
+        assertEquals(listOf(3L, 4L, 5L, 6L), batch.records.map { it.sequence })
+        assertEquals(2L, batch.missed)
+        assertEquals(6L, batch.cursor)
+    }
+
+    @Test
+    fun `readAfter with a cursor from an earlier run starts over`() {
+        val ring = LogRingBuffer(4)
+        ring.add(LogLevel.INFO, "Tag", "new run")
+
+        val batch = ring.readAfter(500)
+
+        assertEquals(listOf("new run"), batch.records.map { it.message })
+        assertEquals(0L, batch.cursor)
+    }
+
+    @Test
+    fun `lazy message is built once, only when read`() {
+        val ring = LogRingBuffer(4)
+        val calls = AtomicInteger()
+
+        ring.addLazy(LogLevel.DEBUG, "Tag") { "expensive ${calls.incrementAndGet()}" }
+        assertEquals(0, calls.get())
+
+        val record = ring.snapshot().single()
+        assertEquals("expensive 1", record.message)
+        assertEquals("expensive 1", record.message)
+        assertEquals(1, calls.get())
+    }
+
+    @Test
+    fun `failing lazy message doesn't break reading`() {
+        val ring = LogRingBuffer(4)
+
+        ring.addLazy(LogLevel.DEBUG, "Tag") { throw IllegalStateException("boom") }
+
+        assertTrue(ring.snapshot().single().message.contains("boom"))
+    }
+
+    @Test
+    fun `record formats as a log line with the stack trace below`() {
+        val ring = LogRingBuffer(4, clock = { 0L })
+
+        ring.add(LogLevel.ERROR, "Database", "Query failed", RuntimeException("disk I/O error"))
+
+        val lines = ring.snapshot().single().format().lines()
+        assertTrue(lines[0], lines[0].matches(Regex("""\[\d{4}-\d\d-\d\d \d\d:\d\d:\d\d] \[ERROR] \[Database] Query failed""")))
+        assertEquals("java.lang.RuntimeException: disk I/O error", lines[1])
+    }
+
+    @Test
+    fun `records carry level, tag and thread`() {
+        val ring = LogRingBuffer(4, clock = { 42L })
+
+        ring.add(LogLevel.DEBUG, "TaskActivity", "hello")
+
+        val record = ring.snapshot().single()
+        assertEquals(42L, record.timestamp)
+        assertEquals(LogLevel.DEBUG, record.level)
+        assertEquals("TaskActivity", record.tag)
+        assertEquals(Thread.currentThread().name, record.thread)
+    }
+
+    @Test
+    fun `concurrent writers lose and reorder nothing`() {
+        val writers = 8
+        val perWriter = 5_000
+        val ring = LogRingBuffer(writers * perWriter)
+        val pool = Executors.newFixedThreadPool(writers)
+        val start = CountDownLatch(1)
+
+        repeat(writers) { writer ->
+            pool.execute {
+                start.await()
+                repeat(perWriter) { i -> ring.add(LogLevel.INFO, "W$writer", "$i") }
+            }
+        }
+        start.countDown()
+        pool.shutdown()
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS))
+
+        val records = ring.snapshot()
+        assertEquals(writers * perWriter, records.size)
+        assertEquals(records.map { it.sequence }, records.map { it.sequence }.sorted())
+        // Each writer's records appear in the order it wrote them
+        records.groupBy { it.tag }.values.forEach { own ->
+            assertEquals((0 until perWriter).map { "$it" }, own.map { it.message })
+        }
+    }
+
+    @Test
+    fun `snapshot during concurrent writes shows only complete records in order`() {
+        val ring = LogRingBuffer(64)
+        val pool = Executors.newFixedThreadPool(4)
+        val done = CountDownLatch(4)
+        repeat(4) { writer ->
+            pool.execute {
+                repeat(20_000) { i -> ring.add(LogLevel.INFO, "W$writer", "$i") }
+                done.countDown()
+            }
+        }
+
+        while (done.count > 0) {
+            val sequences = ring.snapshot().map { it.sequence }
+            assertTrue(sequences.size <= 64)
+            assertEquals(sequences, sequences.sorted())
+        }
+        pool.shutdown()
+    }
+}
@@ -0,0 +1,144 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.io.RandomAccessFile
+
+/**
+ * Unit tests for LogSegmentStore
+ *
+ * Tests:
+ * - Append and read back records, fields intact
+ * - Reopening continues after the last record (restart)
+ * - Rotation keeps at most maxSegments files, oldest deleted
+ * - A frame cut off by a crash is ignored
+ * - Oversized messages are truncated to fit a segment
+ * - Readers see a consistent snapshot while the writer appends and rotates
+ */
+class LogSegmentStoreTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private fun store(dir: File = folder.root, segmentSize: Int = 4096, maxSegments: Int = 4) =
+        LogSegmentStore(dir, segmentSize, maxSegments)
+
+    private fun LogSegmentStore.add(sequence: Long, message: String, level: LogLevel = LogLevel.INFO) =
+        append(1000L + sequence, sequence, level, "Tag", "main", message)
+
+    @Test
+    fun `records read back with all fields`() {
+        val store = store()
+
+        store.append(42L, 7L, LogLevel.ERROR, "Database", "worker-1", "Query failed\nat line 2 – ünïcode")
+
+        val record = store.records().single()
+        assertEquals(42L, record.timestamp)
+        assertEquals(7L, record.sequence)
+        assertEquals(LogLevel.ERROR, record.level)
+        assertEquals("Database", record.tag)
+        assertEquals("worker-1", record.thread)
+        assertEquals("Query failed\nat line 2 – ünïcode", record.message)
+    }
+
+    @Test
+    fun `empty store reads nothing`() {
+        assertEquals(emptyList<LogRecord>(), store().records().toList())
+        assertEquals(emptyList<LogRecord>(), store(File(folder.root, "missing")).records().toList())
+    }
+
+    @Test
+    fun `reopened store continues after the last record`() {
+        val first = store()
+        (0L until 3L).forEach { first.add(it, "run 1 #$it") }
+        first.force()
+
+        val second = store()
+        second.add(0L, "run 2 #0")
+
+        assertEquals(
+            listOf("run 1 #0", "run 1 #1", "run 1 #2", "run 2 #0"),
+            second.records().map { it.message }.toList()
+        )
+    }
+
+    @Test
+    fun `rotation keeps at most maxSegments files and drops the oldest records`() {
+        val store = store(segmentSize = 1024, maxSegments = 3)
+
+        (0L until 200L).forEach { store.add(it, "message number $it with some padding") }
+
+        val files = folder.root.listFiles()!!.filter { it.name.endsWith(".seg") }
+        assertEquals(3, files.size)
+        assertTrue(store.sizeOnDisk() <= 3 * 1024)
+        val sequences = store.records().map { it.sequence }.toList()
+        assertEquals(199L, sequences.last())
+        assertTrue(sequences.first() > 0L)
+        assertEquals((sequences.first()..199L).toList(), sequences)
+    }
+
+    @Test
+    fun `frame cut off by a crash is ignored and overwritten`() {
+        val first = store()
+        first.add(0L, "complete")
+        first.add(1L, "torn")
+        first.force()
+        // Simulate a crash between payload and length: the second frame's length is still 0
+        val file = folder.root.listFiles()!!.single { it.name.endsWith(".seg") }
+        val secondFrame = 8 + 4 + (8 + 8 + 1 + 2 + 3 + 2 + 4 + "complete".length)
+        RandomAccessFile(file, "rw").use { raf ->
+            raf.seek(secondFrame.toLong())
+            raf.writeInt(0)
+        }
+
+        val second = store()
+        assertEquals(listOf("complete"), second.records().map { it.message }.toList())
+        second.add(1L, "x")
+        assertEquals(listOf("complete", "x"), second.records().map { it.message }.toList())
+    }
+
+    @Test
+    fun `oversized message is truncated to fit a segment`() {
+        val store = store(segmentSize = 256)
+
+        store.add(0L, "é".repeat(500))
+        store.add(1L, "next")
+
+        val messages = store.records().map { it.message }.toList()
+        assertTrue(messages[0].length in 1 until 500)
+        assertTrue(messages[0].all { it == 'é' })
+        assertEquals("next", messages[1])
+    }
+
+    @Test
+    fun `reading sees the store as it was when it started`() {
+        val store = store(segmentSize = 1024, maxSegments = 4)
+        (0L until 30L).forEach { store.add(it, "before") } // A full segment and the active one
+
+        val reader = store.records().iterator()
+        assertEquals(0L, reader.next().sequence)
+        // Fills the rest of the active segment and starts the next one
+        (30L until 70L).forEach { store.add(it, "after") }
+
+        val rest = reader.asSequence().map { it.sequence }.toList()
+        assertEquals((1L until 30L).toList(), rest)
+    }
+
+    @Test
+    fun `reading while appending sees only complete records`() {
+        val store = store(segmentSize = 2048, maxSegments = 4)
+        store.open()
+        val writer = Thread {
+            (0L until 20_000L).forEach { store.add(it, "message $it") }
+        }
+        writer.start()
+
+        while (writer.isAlive) {
+            store.records().forEach { assertEquals("message ${it.sequence}", it.message) }
+        }
+        writer.join()
+    }
+}
@@ -0,0 +1,60 @@
+package com.secretary.core.logging
+
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Unit tests for PostingList
+ *
+ * Tests:
+ * - Append, drop from the front, index access
+ * - Binary search (lowerBound, contains)
+ * - Growing and compacting keep the values
+ */
+class PostingListTest {
+
+    private fun PostingList.toList() = (0 until size).map { get(it) }
+
+    @Test
+    fun `appends and drops from the front`() {
+        val list = PostingList(2)
+        (1L..5L).forEach { list.add(it * 10) }
+
+        list.dropFirst(2)
+
+        assertEquals(listOf(30L, 40L, 50L), list.toList())
+        assertEquals(30L, list.first())
+        assertEquals(50L, list.last())
+        list.dropFirst(10)
+        assertTrue(list.isEmpty())
+    }
+
+    @Test
+    fun `binary search finds values and insertion points`() {
+        val list = PostingList()
+        listOf(2L, 4L, 4L, 8L).forEach { list.add(it) }
+
+        assertEquals(0, list.lowerBound(1))
+        assertEquals(1, list.lowerBound(4))
+        assertEquals(3, list.lowerBound(5))
+        assertEquals(4, list.lowerBound(9))
+        assertTrue(8L in list)
+        assertFalse(5L in list)
+    }
+
+    @Test
+    fun `values survive growing and compacting`() {
+        val list = PostingList(4)
+        var next = 0L
+        var oldest = 0L
+        repeat(1_000) {
+            list.add(next++)
+            if (list.size > 50) {
+                list.dropFirst(10)
+                oldest += 10
+            }
+        }
+
+        assertEquals((oldest until next).toList(), list.toList())
+    }
+}
@@ -0,0 +1,72 @@
+package com.secretary.core.logging
+
+import org.junit.After
+import org.junit.Assert.*
+import org.junit.Test
+import java.net.HttpURLConnection
+import java.net.InetAddress
+import java.net.URL
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Load test for StreamingHttpServer on localhost
+ *
+ * Many concurrent keep-alive clients fetch a 1500-line log dump (the size
+ * of AppLogger's ring) - all requests must succeed with complete bodies,
+ * within a generous time bound (catches serialized handling or leaks).
+ */
+class StreamingHttpServerLoadTest {
+
+    companion object {
+        private const val CLIENTS = 32
+        private const val REQUESTS_PER_CLIENT = 25
+        private const val LINES = 1500
+    }
+
+    private var server: StreamingHttpServer? = null
+
+    @After
+    fun tearDown() {
+        server?.stop()
+    }
+
+    @Test
+    fun `concurrent clients all get complete responses`() {
+        val ring = LogRingBuffer(LINES)
+        repeat(LINES) { ring.add(LogLevel.INFO, "TaskActivity", "Filters applied: $it tasks shown") }
+        val s = StreamingHttpServer(
+            handler = { HttpResponse.lines(ring.snapshot().asSequence()) { it.format() } },
+            queueSize = CLIENTS
+        )
+        s.start(0, InetAddress.getLoopbackAddress())
+        server = s
+        val url = URL("http://127.0.0.1:${s.localPort}/logs")
+
+        val pool = Executors.newFixedThreadPool(CLIENTS)
+        val started = System.nanoTime()
+        val results = (1..CLIENTS).map {
+            pool.submit(Callable {
+                var lines = 0
+                repeat(REQUESTS_PER_CLIENT) {
+                    val connection = url.openConnection() as HttpURLConnection
+                    connection.connectTimeout = 10_000
+                    connection.readTimeout = 10_000
+                    assertEquals(200, connection.responseCode)
+                    lines += connection.inputStream.bufferedReader().use { reader -> reader.lineSequence().count() }
+                }
+                lines
+            })
+        }
+        val total = results.sumOf { it.get(60, TimeUnit.SECONDS) }
+        val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+        pool.shutdown()
+
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT * LINES, total)
+        assertTrue(
+            "${CLIENTS * REQUESTS_PER_CLIENT} requests, $total lines took $elapsedMillis ms",
+            elapsedMillis < 60_000
+        )
+    }
+}
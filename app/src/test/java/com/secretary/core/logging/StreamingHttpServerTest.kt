@@ -0,0 +1,408 @@
+package com.secretary.core.logging
+
+import org.junit.After
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Socket
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
+import java.util.zip.Inflater
+
+/**
+ * Unit tests for StreamingHttpServer (real sockets on localhost, random port)
+ *
+ * Tests:
+ * - Chunked responses, several requests on one keep-alive connection
+ * - HTTP/1.0: plain body ended by closing the connection
+ * - gzip only when the client accepts it
+ * - Query parameters decoded; 404/405/403/400/431/408 status codes
+ * - The header deadline holds against a client dripping single bytes
+ * - A stalled client or a slow response doesn't block other clients
+ * - Clients that stop reading their responses are cut off at the write deadline
+ * - Full pool and queue: 503 instead of hanging
+ * - Flushed body parts reach the client while the response is still open
+ * - onClose runs once a response is done with
+ */
+class StreamingHttpServerTest {
+
+    private var server: StreamingHttpServer? = null
+
+    @After
+    fun tearDown() {
+        server?.stop()
+    }
+
+    private fun start(
+        workers: Int = 4,
+        queueSize: Int = 16,
+        requestTimeoutMillis: Int = 5_000,
+        writeTimeoutMillis: Int = 5_000,
+        isClientAllowed: (String?) -> Boolean = { true },
+        handler: (HttpRequest) -> HttpResponse
+    ): Int {
+        val s = StreamingHttpServer(
+            handler = handler,
+            isClientAllowed = isClientAllowed,
+            workers = workers,
+            queueSize = queueSize,
+            idleTimeoutMillis = 2_000,
+            requestTimeoutMillis = requestTimeoutMillis,
+            writeTimeoutMillis = writeTimeoutMillis
+        )
+        s.start(0, InetAddress.getLoopbackAddress())
+        server = s
+        return s.localPort
+    }
+
+    private val echo: (HttpRequest) -> HttpResponse = { request ->
+        when (request.path) {
+            "/echo" -> HttpResponse.text(request.params.toSortedMap().toString())
+            "/lines" -> HttpResponse.lines((1..request.params.getValue("n").toInt()).asSequence()) { "line $it" }
+            else -> HttpResponse.text("404 Not Found: ${request.path}", 404, "Not Found")
+        }
+    }
+
+    // ========== Minimal HTTP client ==========
+
+    private class Response(val status: Int, val headers: Map<String, String>, val body: ByteArray) {
+        val text: String get() = String(body, Charsets.UTF_8)
+    }
+
+    private fun Socket.send(path: String, vararg headers: String, method: String = "GET", version: String = "HTTP/1.1") {
+        val request = buildString {
+            append("$method $path $version\r\nHost: localhost\r\n")
+            headers.forEach { append(it).append("\r\n") }
+            append("\r\n")
+        }
+        getOutputStream().write(request.toByteArray())
+        getOutputStream().flush()
+    }
+
+    private fun readLine(input: InputStream): String? {
+        val line = StringBuilder()
+        while (true) {
+            val b = input.read()
+            if (b == -1) return if (line.isEmpty()) null else line.toString()
+            if (b == '\n'.code) return line.toString().removeSuffix("\r")
+            line.append(b.toChar())
+        }
+    }
+
+    private fun readResponse(input: InputStream, head: Boolean = false): Response {
+        val status = readLine(input)!!.split(" ")[1].toInt()
+        val headers = HashMap<String, String>()
+        while (true) {
+            val line = readLine(input)!!
+            if (line.isEmpty()) break
+            val (name, value) = line.split(":", limit = 2)
+            headers[name.trim().lowercase()] = value.trim()
+        }
+        val body = ByteArrayOutputStream()
+        when {
+            head -> Unit
+            headers["transfer-encoding"] == "chunked" -> while (true) {
+                val size = readLine(input)!!.toInt(16)
+                if (size == 0) {
+                    readLine(input)
+                    break
+                }
+                body.write(input.readNBytes(size))
+                readLine(input)
+            }
+            headers["content-length"] != null -> body.write(input.readNBytes(headers.getValue("content-length").toInt()))
+            else -> body.write(input.readAllBytes())
+        }
+        return Response(status, headers, body.toByteArray())
+    }
+
+    private fun get(port: Int, path: String, vararg headers: String): Response =
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.soTimeout = 10_000
+            socket.send(path, *headers)
+            readResponse(BufferedInputStream(socket.getInputStream()))
+        }
+
+    // ========== Tests ==========
+
+    @Test
+    fun `streams a chunked response`() {
+        val port = start(handler = echo)
+
+        val response = get(port, "/lines?n=5000")
+
+        assertEquals(200, response.status)
+        assertEquals("chunked", response.headers["transfer-encoding"])
+        assertNull(response.headers["content-encoding"])
+        val lines = response.text.lines()
+        assertEquals(5000, lines.size)
+        assertEquals("line 1", lines.first())
+        assertEquals("line 5000", lines.last())
+    }
+
+    @Test
+    fun `serves several requests on one keep-alive connection`() {
+        val port = start(handler = echo)
+
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.soTimeout = 10_000
+            val input = BufferedInputStream(socket.getInputStream())
+            repeat(3) { i ->
+                socket.send("/echo?i=$i")
+                val response = readResponse(input)
+                assertEquals("{i=$i}", response.text)
+                assertEquals("keep-alive", response.headers["connection"])
+            }
+            socket.send("/echo?last=1", "Connection: close")
+            val last = readResponse(input)
+            assertEquals("close", last.headers["connection"])
+            assertEquals(-1, input.read())
+        }
+    }
+
+    @Test
+    fun `HTTP 1_0 clients get an unchunked body ended by close`() {
+        val port = start(handler = echo)
+
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.soTimeout = 10_000
+            socket.send("/lines?n=3", "Connection: keep-alive", version = "HTTP/1.0")
+            val response = readResponse(BufferedInputStream(socket.getInputStream())) // Reads the body to end of stream
+
+            assertEquals(200, response.status)
+            assertNull(response.headers["transfer-encoding"])
+            assertEquals("close", response.headers["connection"])
+            assertEquals(listOf("line 1", "line 2", "line 3"), response.text.lines())
+        }
+    }
+
+    @Test
+    fun `compresses with gzip only when accepted`() {
+        val port = start(handler = echo)
+
+        val compressed = get(port, "/lines?n=1000", "Accept-Encoding: gzip, deflate")
+        val identity = get(port, "/lines?n=1000", "Accept-Encoding: gzip;q=0")
+
+        assertEquals("gzip", compressed.headers["content-encoding"])
+        val unzipped = GZIPInputStream(ByteArrayInputStream(compressed.body)).readAllBytes()
+        assertArrayEquals(identity.body, unzipped)
+        assertTrue(compressed.body.size < identity.body.size / 4)
+        assertNull(identity.headers["content-encoding"])
+    }
+
+    @Test
+    fun `decodes query parameters`() {
+        val port = start(handler = echo)
+
+        assertEquals("{search=disk I/O, tag=Task}", get(port, "/echo?search=disk%20I%2FO&tag=Task").text)
+    }
+
+    @Test
+    fun `answers errors with status codes`() {
+        val port = start(handler = echo)
+
+        assertEquals(404, get(port, "/missing").status)
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.send("/echo", method = "POST")
+            assertEquals(405, readResponse(BufferedInputStream(socket.getInputStream())).status)
+        }
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.getOutputStream().write("nonsense\r\n\r\n".toByteArray())
+            assertEquals(400, readResponse(BufferedInputStream(socket.getInputStream())).status)
+        }
+        assertEquals(431, get(port, "/echo", "X-Big: " + "x".repeat(10_000)).status)
+    }
+
+    @Test
+    fun `handler failure becomes a 500`() {
+        val port = start { throw IllegalStateException("boom") }
+
+        val response = get(port, "/")
+
+        assertEquals(500, response.status)
+        assertTrue(response.text.contains("boom"))
+    }
+
+    @Test
+    fun `HEAD sends headers only`() {
+        val port = start(handler = echo)
+
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            val input = BufferedInputStream(socket.getInputStream())
+            socket.send("/lines?n=10", method = "HEAD")
+            assertEquals(200, readResponse(input, head = true).status)
+            socket.send("/echo?after=head")
+            assertEquals("{after=head}", readResponse(input).text)
+        }
+    }
+
+    @Test
+    fun `onClose runs after the body and for HEAD requests`() {
+        val closed = CountDownLatch(2)
+        val port = start { _ ->
+            HttpResponse(200, "OK", onClose = { closed.countDown() }) { it.write("body") }
+        }
+
+        assertEquals("body", get(port, "/").text)
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.send("/", "Connection: close", method = "HEAD")
+            assertEquals(200, readResponse(BufferedInputStream(socket.getInputStream()), head = true).status)
+        }
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun `rejects clients that are not allowed`() {
+        val port = start(isClientAllowed = { false }, handler = echo)
+
+        assertEquals(403, get(port, "/echo").status)
+    }
+
+    @Test
+    fun `client that never sends a request times out with 408`() {
+        val port = start(requestTimeoutMillis = 200, handler = echo)
+
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.soTimeout = 5_000
+            socket.getOutputStream().write("GET /echo HTTP/1.1\r\n".toByteArray()) // Headers never finish
+            assertEquals(408, readResponse(BufferedInputStream(socket.getInputStream())).status)
+        }
+    }
+
+    @Test
+    fun `client dripping header bytes times out at the deadline`() {
+        val port = start(requestTimeoutMillis = 300, handler = echo)
+
+        Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+            socket.soTimeout = 5_000
+            val output = socket.getOutputStream()
+            output.write("GET /echo HTTP/1.1\r\nX-Slow: ".toByteArray())
+            val started = System.nanoTime()
+            val drip = Thread {
+                // One byte every 50 ms, within a single header line, for up to 3 s
+                runCatching {
+                    repeat(60) {
+                        Thread.sleep(50)
+                        output.write('a'.code)
+                        output.flush()
+                    }
+                }
+            }.apply { start() }
+
+            assertEquals(408, readResponse(BufferedInputStream(socket.getInputStream())).status)
+            val elapsedMillis = (System.nanoTime() - started) / 1_000_000
+            assertTrue("408 after $elapsedMillis ms", elapsedMillis < 1_500)
+            drip.interrupt()
+            drip.join()
+        }
+    }
+
+    @Test
+    fun `stalled client doesn't block other clients`() {
+        val release = CountDownLatch(1)
+        val port = start(workers = 2) { request ->
+            if (request.path == "/slow") {
+                HttpResponse.text("slow").also { release.await(10, TimeUnit.SECONDS) }
+            } else {
+                echo(request)
+            }
+        }
+
+        val stalled = Socket(InetAddress.getLoopbackAddress(), port) // Connected, never sends anything
+        val slow = Socket(InetAddress.getLoopbackAddress(), port).apply { send("/slow") }
+        try {
+            // Both workers are taken; queued connections still get served once the stalled one times out
+            val started = System.nanoTime()
+            assertEquals("{fast=1}", get(port, "/echo?fast=1").text)
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 9_000)
+        } finally {
+            release.countDown()
+            stalled.close()
+            slow.close()
+        }
+    }
+
+    @Test
+    fun `clients that stop reading don't hold the workers past the write deadline`() {
+        val port = start(workers = 2, writeTimeoutMillis = 300, handler = echo)
+
+        // Every worker streams a response far larger than the socket buffers to a client that never reads
+        val stalled = (1..2).map {
+            Socket().apply {
+                receiveBufferSize = 4096
+                connect(InetSocketAddress(InetAddress.getLoopbackAddress(), port))
+                send("/lines?n=5000000")
+            }
+        }
+        try {
+            val started = System.nanoTime()
+            assertEquals("{fast=1}", get(port, "/echo?fast=1").text)
+            val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+            assertTrue("served after $elapsedMillis ms", elapsedMillis < 5_000)
+        } finally {
+            stalled.forEach { it.close() }
+        }
+    }
+
+    @Test
+    fun `flushed body reaches the client before the response ends, also with gzip`() {
+        val release = CountDownLatch(1)
+        val port = start { _ ->
+            HttpResponse(200, "OK", headers = mapOf("X-Test" to "yes")) { writer ->
+                writer.write("first")
+                writer.flush()
+                release.await(10, TimeUnit.SECONDS)
+                writer.write(" second")
+            }
+        }
+
+        for (encoding in listOf("identity", "gzip")) {
+            Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+                socket.soTimeout = 5_000
+                socket.send("/", "Accept-Encoding: $encoding", "Connection: close")
+                val input = BufferedInputStream(socket.getInputStream())
+                while (readLine(input) != "") Unit // Status line and headers
+                val chunk = input.readNBytes(readLine(input)!!.toInt(16))
+                val text = if (encoding == "gzip") {
+                    // A sync-flushed deflate block decodes without the end of the stream
+                    val inflater = Inflater(true)
+                    inflater.setInput(chunk, 10, chunk.size - 10)
+                    val out = ByteArray(64)
+                    String(out, 0, inflater.inflate(out))
+                } else {
+                    String(chunk)
+                }
+                assertEquals("first", text)
+            }
+        }
+        release.countDown()
+    }
+
+    @Test
+    fun `full pool and queue answer 503 right away`() {
+        val release = CountDownLatch(1)
+        val port = start(workers = 1, queueSize = 1) { request ->
+            release.await(10, TimeUnit.SECONDS)
+            echo(request)
+        }
+
+        val busy = Socket(InetAddress.getLoopbackAddress(), port).apply { send("/echo") }
+        Thread.sleep(200) // Worker picks up the first connection
+        val queued = Socket(InetAddress.getLoopbackAddress(), port).apply { send("/echo") }
+        Thread.sleep(200)
+        try {
+            assertEquals(503, get(port, "/echo").status)
+        } finally {
+            release.countDown()
+            busy.close()
+            queued.close()
+        }
+    }
+}
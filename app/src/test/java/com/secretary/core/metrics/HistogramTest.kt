@@ -0,0 +1,93 @@
+package com.secretary.core.metrics
+
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Unit tests for Histogram
+ *
+ * Tests:
+ * - Bucket boundaries (powers of two, upper bound inclusive)
+ * - Overflow bucket and negative durations
+ * - Sum, count and quantile bounds of a snapshot
+ * - Concurrent recording loses nothing
+ */
+class HistogramTest {
+
+    @Test
+    fun `buckets end at powers of two nanoseconds`() {
+        assertEquals(0, Histogram.bucketOf(0))
+        assertEquals(0, Histogram.bucketOf(1024))
+        assertEquals(1, Histogram.bucketOf(1025))
+        assertEquals(1, Histogram.bucketOf(2048))
+        assertEquals(2, Histogram.bucketOf(2049))
+        assertEquals(10, Histogram.bucketOf(1_000_000)) // 1 ms <= 2^20 ns
+        assertEquals(1_048_576L, Histogram.upperBoundNanos(10))
+    }
+
+    @Test
+    fun `very long durations go to the overflow bucket`() {
+        val last = Histogram.BUCKETS - 1
+
+        assertEquals(last - 1, Histogram.bucketOf(Histogram.upperBoundNanos(last - 1)))
+        assertEquals(last, Histogram.bucketOf(Histogram.upperBoundNanos(last - 1) + 1))
+        assertEquals(last, Histogram.bucketOf(Long.MAX_VALUE))
+    }
+
+    @Test
+    fun `snapshot has counts, sum and count`() {
+        val histogram = Histogram()
+        histogram.record(500)
+        histogram.record(1_500)
+        histogram.record(1_500)
+        histogram.record(-20) // Clock went backwards: counts as 0
+
+        val snapshot = histogram.snapshot()
+
+        assertEquals(4L, snapshot.count)
+        assertEquals(3_500L, snapshot.sumNanos)
+        assertEquals(2L, snapshot.counts[0])
+        assertEquals(2L, snapshot.counts[1])
+    }
+
+    @Test
+    fun `quantile bound is the upper bound of its bucket`() {
+        val histogram = Histogram()
+        repeat(90) { histogram.record(1_000) } // bucket 0
+        repeat(10) { histogram.record(1_000_000) } // bucket 10
+
+        val snapshot = histogram.snapshot()
+
+        assertEquals(1_024L, snapshot.quantileUpperBound(0.5))
+        assertEquals(1_024L, snapshot.quantileUpperBound(0.9))
+        assertEquals(1_048_576L, snapshot.quantileUpperBound(0.95))
+        assertEquals(0L, Histogram().snapshot().quantileUpperBound(0.5))
+    }
+
+    @Test
+    fun `time records the duration also when the block throws`() {
+        val histogram = Histogram()
+
+        assertEquals(42, histogram.time { 42 })
+        val failed = runCatching { histogram.time<Int> { error("boom") } }
+
+        assertTrue(failed.isFailure)
+
+        assertEquals(2L, histogram.snapshot().count)
+    }
+
+    @Test
+    fun `concurrent recording loses no values`() {
+        val histogram = Histogram()
+        val threads = (1..4).map { t ->
+            Thread { repeat(10_000) { histogram.record(t * 1_000L) } }
+        }
+
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+
+        val snapshot = histogram.snapshot()
+        assertEquals(40_000L, snapshot.count)
+        assertEquals(10_000L * (1_000 + 2_000 + 3_000 + 4_000), snapshot.sumNanos)
+    }
+}
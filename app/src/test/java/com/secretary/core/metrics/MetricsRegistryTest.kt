@@ -0,0 +1,125 @@
+package com.secretary.core.metrics
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.StringWriter
+
+/**
+ * Unit tests for MetricsRegistry and OperationTimers
+ *
+ * Tests:
+ * - Registering returns the same instrument for the same name and labels
+ * - Type conflicts and invalid names are rejected
+ * - Prometheus text format: HELP/TYPE, labels, cumulative buckets, escaping
+ * - Gauges are read at scrape time
+ */
+class MetricsRegistryTest {
+
+    private fun MetricsRegistry.scrape(): String = StringWriter().also { writePrometheus(it) }.toString()
+
+    @Test
+    fun `same name and labels return the same instrument`() {
+        val registry = MetricsRegistry()
+
+        val a = registry.counter("requests_total", "Requests", mapOf("path" to "/logs"))
+        val b = registry.counter("requests_total", "Requests", mapOf("path" to "/logs"))
+        val c = registry.counter("requests_total", "Requests", mapOf("path" to "/status"))
+
+        assertSame(a, b)
+        assertNotSame(a, c)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `name registered with another type is rejected`() {
+        val registry = MetricsRegistry()
+        registry.counter("things", "Things")
+        registry.histogram("things", "Things")
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `invalid metric name is rejected`() {
+        MetricsRegistry().counter("bad-name", "Bad")
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `le label is reserved`() {
+        MetricsRegistry().histogram("latency_seconds", "Latency", mapOf("le" to "1"))
+    }
+
+    @Test
+    fun `counters and gauges are written with help, type and labels`() {
+        val registry = MetricsRegistry()
+        registry.counter("requests_total", "Requests served", mapOf("path" to "/logs")).add(3)
+        var queued = 1.0
+        registry.gauge("queue_length", "Waiting\nconnections") { queued }
+        queued = 2.5
+
+        val text = registry.scrape()
+
+        assertEquals(
+            """
+            # HELP requests_total Requests served
+            # TYPE requests_total counter
+            requests_total{path="/logs"} 3
+            # HELP queue_length Waiting\nconnections
+            # TYPE queue_length gauge
+            queue_length 2.5
+            """.trimIndent() + "\n",
+            text
+        )
+    }
+
+    @Test
+    fun `histogram buckets are cumulative and in seconds`() {
+        val registry = MetricsRegistry()
+        val histogram = registry.histogram("query_duration_seconds", "Queries", mapOf("op" to "getAllTasks"))
+        histogram.record(1_000) // <= 1.024 µs
+        histogram.record(2_000) // <= 2.048 µs
+        histogram.record(1L shl 40) // overflow
+
+        val lines = registry.scrape().lines()
+
+        assertTrue(lines.contains("# TYPE query_duration_seconds histogram"))
+        assertTrue(lines.contains("query_duration_seconds_bucket{op=\"getAllTasks\",le=\"0.000001024\"} 1"))
+        assertTrue(lines.contains("query_duration_seconds_bucket{op=\"getAllTasks\",le=\"0.000002048\"} 2"))
+        assertTrue(lines.contains("query_duration_seconds_bucket{op=\"getAllTasks\",le=\"34.359738368\"} 2"))
+        assertTrue(lines.contains("query_duration_seconds_bucket{op=\"getAllTasks\",le=\"+Inf\"} 3"))
+        assertTrue(lines.contains("query_duration_seconds_count{op=\"getAllTasks\"} 3"))
+        assertTrue(lines.any { it.startsWith("query_duration_seconds_sum{op=\"getAllTasks\"} 1099.5") })
+        assertEquals(Histogram.BUCKETS, lines.count { it.startsWith("query_duration_seconds_bucket") })
+    }
+
+    @Test
+    fun `label values are escaped`() {
+        val registry = MetricsRegistry()
+        registry.counter("errors_total", "Errors", mapOf("message" to "say \"hi\"\\")).increment()
+
+        assertTrue(registry.scrape().contains("errors_total{message=\"say \\\"hi\\\"\\\\\"} 1"))
+    }
+
+    @Test
+    fun `gauge registered again replaces the old one`() {
+        val registry = MetricsRegistry()
+        registry.gauge("open_streams", "Streams") { 1.0 }
+        registry.gauge("open_streams", "Streams") { 7.0 }
+
+        assertTrue(registry.scrape().contains("open_streams 7\n"))
+    }
+
+    @Test
+    fun `operation timers share one family with an operation label`() {
+        val registry = MetricsRegistry()
+        val timers = OperationTimers(registry, "repository_duration_seconds", "Calls", mapOf("repository" to "TaskRepository"))
+
+        assertEquals("rows", timers.time("getAllTasks") { "rows" })
+        timers["getAllTasks"].record(5_000)
+        timers["getTaskCount"].record(5_000)
+
+        assertSame(timers["getAllTasks"], timers["getAllTasks"])
+        assertEquals(2L, timers["getAllTasks"].snapshot().count)
+        val text = registry.scrape()
+        assertEquals(1, Regex("# TYPE repository_duration_seconds histogram").findAll(text).count())
+        assertTrue(text.contains("repository_duration_seconds_count{repository=\"TaskRepository\",operation=\"getAllTasks\"} 2"))
+        assertTrue(text.contains("repository_duration_seconds_count{repository=\"TaskRepository\",operation=\"getTaskCount\"} 1"))
+    }
+}
@@ -0,0 +1,98 @@
+package com.secretary.features.statistics.domain.usecase
+
+import com.secretary.features.statistics.domain.model.TaskStatistics
+import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.whenever
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+/**
+ * Unit tests for GetStatisticsUseCase.observe()
+ *
+ * Tests:
+ * - "today" moves at local midnight without re-subscribing
+ * - checkDay() picks up a changed wall clock or time zone at once
+ *
+ * The clock follows the test scheduler's virtual time.
+ */
+class GetStatisticsUseCaseTest {
+
+    companion object {
+        private const val DAY = 24 * 60 * 60 * 1000L
+        private const val TODAY = 20_454L // 2026-01-01
+        private const val NOW = TODAY * DAY + 22 * 60 * 60 * 1000L // 22:00 UTC
+    }
+
+    private lateinit var completionRepository: CompletionRepository
+    private lateinit var taskRepository: TaskRepository
+
+    @Before
+    fun setUp() {
+        completionRepository = mock(CompletionRepository::class.java)
+        taskRepository = mock(TaskRepository::class.java)
+        whenever(completionRepository.observeStatistics(any())).thenAnswer { invocation ->
+            val day = invocation.getArgument<Long>(0)
+            flowOf(TaskStatistics(day.toInt(), 0, 0, 0)) // completedToday carries the day asked for
+        }
+    }
+
+    private fun TestScope.useCase(offset: () -> Long = { 0L }, zone: () -> ZoneId = { ZoneOffset.UTC }) =
+        GetStatisticsUseCase(
+            completionRepository,
+            taskRepository,
+            clock = { NOW + testScheduler.currentTime + offset() },
+            zone = zone
+        )
+
+    @Test
+    fun `today moves at local midnight`() = runTest {
+        val days = mutableListOf<Int>()
+        val job = launch { useCase().observe().collect { days.add(it.completedToday) } }
+
+        runCurrent()
+        assertEquals(listOf(TODAY.toInt()), days)
+
+        advanceTimeBy(2 * 60 * 60 * 1000L - 1) // 23:59:59.999
+        runCurrent()
+        assertEquals(listOf(TODAY.toInt()), days)
+
+        advanceTimeBy(2)
+        runCurrent()
+        assertEquals(listOf(TODAY.toInt(), TODAY.toInt() + 1), days)
+        job.cancel()
+    }
+
+    @Test
+    fun `checkDay picks up a changed clock or time zone`() = runTest {
+        var offset = 0L
+        var zone: ZoneId = ZoneOffset.UTC
+        val useCase = useCase({ offset }, { zone })
+        val days = mutableListOf<Int>()
+        val job = launch { useCase.observe().collect { days.add(it.completedToday) } }
+        runCurrent()
+
+        zone = ZoneOffset.ofHours(3) // 01:00 the next day
+        useCase.checkDay()
+        runCurrent()
+        assertEquals(listOf(TODAY.toInt(), TODAY.toInt() + 1), days)
+
+        zone = ZoneOffset.UTC
+        offset = -3 * DAY // Clock set back
+        useCase.checkDay()
+        runCurrent()
+        assertEquals(listOf(TODAY.toInt(), TODAY.toInt() + 1, TODAY.toInt() - 3), days)
+        job.cancel()
+    }
+}
@@ -0,0 +1,219 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import java.time.ZoneOffset
+import kotlin.random.Random
+
+/**
+ * Unit tests for DailyPlanner
+ *
+ * Tests the value model and the anytime solver:
+ * - Priority, overdue penalty and FREQUENCY obligations
+ * - Durations from completion profiles, default without history
+ * - Local search improves on the greedy seed; the plan always fits the budget
+ * - The time limit returns the best plan found so far, also when seeding runs out of it
+ * - Tasks with a deadline today come first
+ *
+ * Uses UTC so days don't depend on the machine
+ */
+class DailyPlannerTest {
+
+    companion object {
+        private const val NOW = 1_767_268_800_000L // 2026-01-01T12:00Z (Thursday)
+        private const val DAY = 24 * 60 * 60 * 1000L
+        private const val TODAY_START = NOW - DAY / 2
+        private const val END_OF_TODAY = NOW + DAY / 2
+        private const val NO_LIMIT = 60_000L
+    }
+
+    private lateinit var planner: DailyPlanner
+
+    @Before
+    fun setUp() {
+        planner = DailyPlanner(RecurrenceService(ZoneOffset.UTC))
+    }
+
+    // ========== Value Tests ==========
+
+    @Test
+    fun `value grows with priority`() {
+        assertEquals(1.0, planner.value(task(1, priority = 0), NOW, END_OF_TODAY), 1e-9)
+        assertEquals(4.0, planner.value(task(1, priority = 3), NOW, END_OF_TODAY), 1e-9)
+    }
+
+    @Test
+    fun `overdue penalty grows per day up to the cap`() {
+        val base = planner.value(task(1), NOW, END_OF_TODAY)
+
+        assertEquals(base + 1.0, planner.value(task(1, dueDate = NOW - 1), NOW, END_OF_TODAY), 1e-9)
+        assertEquals(base + 3.0, planner.value(task(1, dueDate = NOW - 2 * DAY - 1), NOW, END_OF_TODAY), 1e-9)
+        assertEquals(
+            base + DailyPlanner.MAX_OVERDUE_DAYS,
+            planner.value(task(1, dueDate = NOW - 30 * DAY), NOW, END_OF_TODAY),
+            1e-9
+        )
+    }
+
+    @Test
+    fun `due later today adds the due today bonus`() {
+        val base = planner.value(task(1), NOW, END_OF_TODAY)
+
+        assertEquals(base + DailyPlanner.DUE_TODAY_BONUS, planner.value(task(1, dueDate = NOW + 1), NOW, END_OF_TODAY), 1e-9)
+        assertEquals(base, planner.value(task(1, dueDate = END_OF_TODAY + 1), NOW, END_OF_TODAY), 1e-9)
+    }
+
+    @Test
+    fun `frequency task with missing completions adds an obligation`() {
+        // 4 times per month, 2 done since January 1st: 2 missing in 31 days left
+        val monthly = task(1).copy(
+            recurrenceType = Task.RECURRENCE_FREQUENCY,
+            recurrenceAmount = 4,
+            recurrenceUnit = Task.UNIT_MONTH,
+            completionsThisPeriod = 2,
+            currentPeriodStart = TODAY_START
+        )
+        // 2 times per day, none done: the obligation is full
+        val daily = task(2).copy(
+            recurrenceType = Task.RECURRENCE_FREQUENCY,
+            recurrenceAmount = 2,
+            recurrenceUnit = Task.UNIT_DAY
+        )
+        val base = planner.value(task(3), NOW, END_OF_TODAY)
+
+        assertEquals(base + DailyPlanner.OBLIGATION_WEIGHT * 2 / 31, planner.value(monthly, NOW, END_OF_TODAY), 1e-9)
+        assertEquals(base + DailyPlanner.OBLIGATION_WEIGHT, planner.value(daily, NOW, END_OF_TODAY), 1e-9)
+        assertEquals(base, planner.value(monthly.copy(completionsThisPeriod = 4), NOW, END_OF_TODAY), 1e-9)
+    }
+
+    // ========== Plan Tests ==========
+
+    @Test
+    fun `plan uses tracked durations and the default without history`() {
+        val profiles = mapOf(1L to profile(1, averageMinutes = 12))
+
+        val plan = planner.plan(listOf(task(1), task(2)), profiles, 60, NOW, NO_LIMIT)
+
+        val minutes = plan.tasks.associate { it.task.id to it.estimatedMinutes }
+        assertEquals(mapOf(1L to 12, 2L to DailyPlanner.DEFAULT_TASK_MINUTES), minutes)
+        assertTrue(plan.tasks.first { it.task.id == 1L }.isEstimateFromHistory)
+        assertFalse(plan.tasks.first { it.task.id == 2L }.isEstimateFromHistory)
+    }
+
+    @Test
+    fun `plan skips completed tasks and tasks longer than the budget`() {
+        val tasks = listOf(task(1, isCompleted = true), task(2), task(3))
+        val profiles = mapOf(3L to profile(3, averageMinutes = 90))
+
+        val plan = planner.plan(tasks, profiles, 60, NOW, NO_LIMIT)
+
+        assertEquals(listOf(2L), plan.tasks.map { it.task.id })
+    }
+
+    @Test
+    fun `local search improves on the greedy seed`() {
+        // Greedy takes the quick Low task first (best value per minute); then the Urgent one no longer fits
+        val tasks = listOf(task(1, priority = 0), task(2, priority = 3))
+        val profiles = mapOf(1L to profile(1, averageMinutes = 5), 2L to profile(2, averageMinutes = 30))
+
+        val plan = planner.plan(tasks, profiles, 30, NOW, NO_LIMIT)
+
+        assertEquals(listOf(2L), plan.tasks.map { it.task.id })
+        assertTrue(plan.isLocalOptimum)
+    }
+
+    @Test
+    fun `time limit returns the greedy seed`() {
+        var time = 0L
+        val clockJumping = DailyPlanner(RecurrenceService(ZoneOffset.UTC)) { time.also { time += 1_000_000_000 } }
+        val tasks = listOf(task(1, priority = 0), task(2, priority = 3))
+        val profiles = mapOf(1L to profile(1, averageMinutes = 5), 2L to profile(2, averageMinutes = 30))
+
+        val plan = clockJumping.plan(tasks, profiles, 30, NOW, 10)
+
+        assertEquals(listOf(1L), plan.tasks.map { it.task.id })
+        assertFalse(plan.isLocalOptimum)
+    }
+
+    @Test
+    fun `time spent scoring cuts the greedy seed short`() {
+        // Deadline read at the start, every later look at the clock is past it
+        var time = 0L
+        val slowScoring = DailyPlanner(RecurrenceService(ZoneOffset.UTC)) { time.also { time += 1_000_000_000 } }
+        val tasks = (1..1_000L).map { task(it) }
+
+        val plan = slowScoring.plan(tasks, emptyMap(), 1_000 * DailyPlanner.DEFAULT_TASK_MINUTES, NOW, 10)
+
+        assertTrue(plan.tasks.isNotEmpty())
+        assertTrue(plan.tasks.size < tasks.size)
+        assertFalse(plan.isLocalOptimum)
+    }
+
+    @Test
+    fun `plan orders deadlines today first, then by value`() {
+        val tasks = listOf(
+            task(1, priority = 3),
+            task(2, priority = 0, dueDate = NOW + 60_000), // Due later today
+            task(3, priority = 0, dueDate = NOW - DAY),    // Overdue
+            task(4, priority = 1)
+        )
+
+        val plan = planner.plan(tasks, emptyMap(), 240, NOW, NO_LIMIT)
+
+        assertEquals(listOf(3L, 2L, 1L, 4L), plan.tasks.map { it.task.id })
+    }
+
+    @Test
+    fun `random plans fit the budget and come close to the optimum`() {
+        val random = Random(7)
+        repeat(50) { round ->
+            val tasks = (1L..12L).map { task(it, priority = random.nextInt(4), dueDate = randomDueDate(random)) }
+            val profiles = tasks.associate { it.id to profile(it.id, averageMinutes = random.nextInt(5, 90)) }
+            val budget = random.nextInt(30, 240)
+
+            val plan = planner.plan(tasks, profiles, budget, NOW, NO_LIMIT)
+
+            assertTrue("round $round over budget", plan.plannedMinutes <= budget)
+            assertTrue("round $round", plan.isLocalOptimum)
+            val optimum = bruteForceOptimum(tasks, profiles, budget)
+            assertTrue("round $round: ${plan.totalValue} vs $optimum", plan.totalValue >= 0.9 * optimum - 1e-9)
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun task(
+        id: Long,
+        priority: Int = 1,
+        dueDate: Long = 0,
+        isCompleted: Boolean = false
+    ) = Task(id = id, title = "Task $id", createdAt = 0, priority = priority, dueDate = dueDate, isCompleted = isCompleted)
+
+    private fun profile(taskId: Long, averageMinutes: Int) =
+        TaskCompletionProfile(taskId, 3, averageMinutes, 5.0, 9)
+
+    private fun randomDueDate(random: Random): Long =
+        if (random.nextBoolean()) 0 else NOW + random.nextLong(-5 * DAY, 5 * DAY)
+
+    /**
+     * Best total value over all subsets that fit the budget
+     */
+    private fun bruteForceOptimum(tasks: List<Task>, profiles: Map<Long, TaskCompletionProfile>, budget: Int): Double {
+        var best = 0.0
+        for (mask in 0 until (1 shl tasks.size)) {
+            var minutes = 0
+            var value = 0.0
+            tasks.forEachIndexed { i, task ->
+                if (mask and (1 shl i) != 0) {
+                    minutes += profiles.getValue(task.id).averageMinutes
+                    value += planner.value(task, NOW, END_OF_TODAY)
+                }
+            }
+            if (minutes <= budget) best = maxOf(best, value)
+        }
+        return best
+    }
+}
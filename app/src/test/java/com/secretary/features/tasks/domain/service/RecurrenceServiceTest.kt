@@ -525,6 +525,78 @@ class RecurrenceServiceTest {
         assertFalse(result.containsKey(3L))
     }
 
+    // ========== Reset Schedule Tests ==========
+
+    @Test
+    fun `getNextResetTime INTERVAL completed task returns due date`() {
+        val task = baseTask.copy(
+            recurrenceType = Task.RECURRENCE_INTERVAL,
+            isCompleted = true,
+            dueDate = createTimestamp(2024, 1, 18)
+        )
+
+        assertEquals(createTimestamp(2024, 1, 18), recurrenceService.getNextResetTime(task))
+    }
+
+    @Test
+    fun `getNextResetTime INTERVAL open task returns zero`() {
+        val task = baseTask.copy(
+            recurrenceType = Task.RECURRENCE_INTERVAL,
+            isCompleted = false,
+            dueDate = createTimestamp(2024, 1, 18)
+        )
+
+        assertEquals(0L, recurrenceService.getNextResetTime(task))
+    }
+
+    @Test
+    fun `getNextResetTime FREQUENCY returns start of next period`() {
+        val task = baseTask.copy(
+            recurrenceType = Task.RECURRENCE_FREQUENCY,
+            recurrenceUnit = Task.UNIT_MONTH,
+            currentPeriodStart = createTimestamp(2024, 1, 1, hour = 0)
+        )
+
+        assertEquals(createTimestamp(2024, 2, 1, hour = 0), recurrenceService.getNextResetTime(task))
+    }
+
+    @Test
+    fun `getNextResetTime non-recurring task returns zero`() {
+        assertEquals(0L, recurrenceService.getNextResetTime(baseTask.copy(isCompleted = true, dueDate = 1000L)))
+    }
+
+    @Test
+    fun `getNextResetTime matches shouldReset boundaries`() {
+        val units = listOf(Task.UNIT_DAY, Task.UNIT_WEEK, Task.UNIT_MONTH, Task.UNIT_YEAR)
+        for (unit in units) {
+            val task = baseTask.copy(
+                recurrenceType = Task.RECURRENCE_FREQUENCY,
+                recurrenceUnit = unit,
+                currentPeriodStart = recurrenceService.getPeriodStart(createTimestamp(2024, 12, 30), unit)
+            )
+            val resetAt = recurrenceService.getNextResetTime(task)
+
+            assertFalse("unit $unit", recurrenceService.shouldResetFrequencyTask(task, resetAt - 1))
+            assertTrue("unit $unit", recurrenceService.shouldResetFrequencyTask(task, resetAt))
+        }
+    }
+
+    @Test
+    fun `resetIfDue reset FREQUENCY task is scheduled for the following period`() {
+        val task = baseTask.copy(
+            recurrenceType = Task.RECURRENCE_FREQUENCY,
+            recurrenceUnit = Task.UNIT_WEEK,
+            currentPeriodStart = recurrenceService.getPeriodStart(createTimestamp(2024, 1, 1), Task.UNIT_WEEK)
+        )
+        val now = createTimestamp(2024, 1, 17)
+
+        val result = recurrenceService.resetIfDue(task, now)
+
+        assertNotNull(result)
+        assertTrue(recurrenceService.getNextResetTime(result!!) > now)
+        assertNull(recurrenceService.resetIfDue(result, now))
+    }
+
     // ========== Helper Methods ==========
 
     private fun createTimestamp(year: Int, month: Int, day: Int, hour: Int = 12, minute: Int = 0): Long {
@@ -0,0 +1,157 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.TaskFilterManager
+import com.secretary.TaskFilterManager.CompletionFilter
+import com.secretary.features.tasks.domain.model.TaskListItem
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Unit tests for TaskFacetIndex
+ *
+ * Tests:
+ * - Bitset selection gives the same rows as TaskFilterManager's predicates
+ * - Incremental sync, upsert and remove (positions reused after deletes)
+ * - Facet counts per option
+ */
+class TaskFacetIndexTest {
+
+    private val tasks = listOf(
+        item(1, "Work", priority = 1),
+        item(2, "Work", priority = 3),
+        item(3, "Home", priority = 2, isCompleted = true),
+        item(4, "Home", priority = 0),
+        item(5, "Work", priority = 2, isCompleted = true)
+    )
+
+    // ========== Selection Tests ==========
+
+    @Test
+    fun `select matches the filter predicates for every combination`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+
+        for (completion in CompletionFilter.values()) {
+            for (category in listOf(null, "Work", "Home", "Unknown")) {
+                for (priority in listOf(null, 0, 1, 2, 3, 7)) {
+                    val expected = TaskFilterManager().apply {
+                        completionFilter = completion
+                        categoryFilter = category
+                        priorityFilter = priority
+                    }.applyFilters(tasks).map { it.id }.toSet()
+
+                    val actual = index.rowsAt(index.select(completion, category, priority)).map { it.id }.toSet()
+
+                    assertEquals("$completion/$category/$priority", expected, actual)
+                }
+            }
+        }
+    }
+
+    @Test
+    fun `positionsOf skips unknown ids`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+
+        val rows = index.rowsAt(index.positionsOf(listOf(2L, 4L, 99L)))
+
+        assertEquals(setOf(2L, 4L), rows.map { it.id }.toSet())
+    }
+
+    // ========== Update Tests ==========
+
+    @Test
+    fun `sync reindexes only changed rows`() {
+        val index = TaskFacetIndex()
+        assertEquals(5, index.sync(tasks))
+        assertEquals(0, index.sync(tasks.toList()))
+
+        val updated = tasks.map { if (it.id == 1L) it.copy(category = "Home") else it }.filter { it.id != 5L }
+
+        assertEquals(2, index.sync(updated))
+        assertEquals(4, index.size)
+        assertEquals(
+            setOf(1L, 3L, 4L),
+            index.rowsAt(index.select(CompletionFilter.ALL, "Home", null)).map { it.id }.toSet()
+        )
+        assertEquals(
+            setOf(2L),
+            index.rowsAt(index.select(CompletionFilter.ALL, "Work", null)).map { it.id }.toSet()
+        )
+    }
+
+    @Test
+    fun `removed position is reused without stale facets`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+
+        assertTrue(index.remove(3))
+        assertFalse(index.remove(3))
+        assertTrue(index.upsert(item(6, "Errands", priority = 1)))
+        assertFalse(index.upsert(item(6, "Errands", priority = 1)))
+
+        assertEquals(5, index.size)
+        assertEquals(
+            setOf(5L),
+            index.rowsAt(index.select(CompletionFilter.COMPLETED_ONLY, null, null)).map { it.id }.toSet()
+        )
+        assertEquals(
+            setOf(6L),
+            index.rowsAt(index.select(CompletionFilter.ALL, "Errands", null)).map { it.id }.toSet()
+        )
+    }
+
+    @Test
+    fun `filterPositions tests only the candidates`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+        val candidates = index.positionsOf(listOf(1L, 2L))
+        val tested = mutableListOf<Long>()
+
+        val bits = index.filterPositions(candidates) { tested.add(it.id); it.priority > 1 }
+
+        assertEquals(setOf(1L, 2L), tested.toSet())
+        assertEquals(listOf(2L), index.rowsAt(bits).map { it.id })
+    }
+
+    // ========== Facet Count Tests ==========
+
+    @Test
+    fun `facet counts apply every filter but their own`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+
+        val counts = index.facetCounts(CompletionFilter.ACTIVE_ONLY, "Work", null, null)
+
+        // Status: Work rows of any status
+        assertEquals(3, counts.allStatuses)
+        assertEquals(2, counts.active)
+        assertEquals(1, counts.completed)
+        // Priority: active Work rows
+        assertEquals(2, counts.allPriorities)
+        assertEquals(listOf(0, 1, 0, 1), counts.byPriority)
+        // Category: active rows of any category
+        assertEquals(3, counts.allCategories)
+        assertEquals(2, counts.categoryCount("Work"))
+        assertEquals(1, counts.categoryCount("Home"))
+        assertEquals(0, counts.categoryCount("Unknown"))
+    }
+
+    @Test
+    fun `facet counts respect the search`() {
+        val index = TaskFacetIndex()
+        index.sync(tasks)
+
+        val counts = index.facetCounts(CompletionFilter.ALL, null, null, index.positionsOf(listOf(3L, 4L)))
+
+        assertEquals(2, counts.allStatuses)
+        assertEquals(1, counts.completed)
+        assertEquals(2, counts.categoryCount("Home"))
+        assertEquals(0, counts.categoryCount("Work"))
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun item(id: Long, category: String, priority: Int, isCompleted: Boolean = false) =
+        TaskListItem(id = id, title = "Task $id", category = category, priority = priority, isCompleted = isCompleted)
+}
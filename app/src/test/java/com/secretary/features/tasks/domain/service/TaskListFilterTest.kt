@@ -0,0 +1,156 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Unit tests for TaskListFilter
+ *
+ * Tests:
+ * - Full pass filters and sorts
+ * - An extended query narrows the previous result (same rows as a full pass)
+ * - New rows, a shorter query or a switch between full-text and substring
+ *   matching rescan everything; other filters reselect from the facet index
+ * - Facet counts and incremental reindexing
+ */
+class TaskListFilterTest {
+
+    private val filter = TaskListFilter()
+
+    private val tasks = listOf(
+        item(1, "Pay invoice", priority = 1),
+        item(2, "Write report", priority = 3),
+        item(3, "Send invoices", priority = 2),
+        item(4, "Invoice archive", priority = 0, isCompleted = true),
+        item(5, "Buy milk", priority = 2)
+    )
+
+    @Test
+    fun `full pass filters and sorts`() {
+        val result = filter.filter(tasks, query("inv"), null, null)
+
+        assertEquals(listOf(3L, 1L, 4L), result.items.map { it.id })
+        assertFalse(result.isNarrowed)
+    }
+
+    @Test
+    fun `extended query narrows the previous result`() {
+        val first = filter.filter(tasks, query("inv"), null, null)
+
+        val second = filter.filter(tasks, query("invoices"), null, first)
+
+        assertTrue(second.isNarrowed)
+        assertEquals(listOf(3L), second.items.map { it.id })
+    }
+
+    @Test
+    fun `narrowing gives the same rows as a full pass`() {
+        var previous: TaskListFilter.Result? = null
+        for (typed in listOf("i", "in", "inv", "invo", "invoi", "invoice")) {
+            val narrowed = filter.filter(tasks, query(typed), null, previous)
+            val full = filter.filter(tasks, query(typed), null, null)
+
+            assertEquals(typed, full.items, narrowed.items)
+            previous = narrowed
+        }
+    }
+
+    @Test
+    fun `new rows are rescanned`() {
+        val first = filter.filter(tasks, query("inv"), null, null)
+        val updated = tasks + item(6, "Invoice Q3", priority = 3)
+
+        val second = filter.filter(updated, query("invo"), null, first)
+
+        assertFalse(second.isNarrowed)
+        assertEquals(listOf(6L, 3L, 1L, 4L), second.items.map { it.id })
+    }
+
+    @Test
+    fun `shorter query is rescanned`() {
+        val first = filter.filter(tasks, query("invoice"), null, null)
+
+        val shorter = filter.filter(tasks, query("inv"), null, first)
+
+        assertFalse(shorter.isNarrowed)
+        assertEquals(listOf(3L, 1L, 4L), shorter.items.map { it.id })
+    }
+
+    @Test
+    fun `changed filter narrows the search and reselects the rows`() {
+        val first = filter.filter(tasks, query("inv"), null, null)
+
+        val activeOnly = filter.filter(
+            tasks,
+            query("invo", completionFilter = TaskFilterManager.CompletionFilter.ACTIVE_ONLY),
+            null,
+            first
+        )
+        val highOnly = filter.filter(tasks, query("invo", priorityFilter = 2), null, activeOnly)
+
+        assertTrue(activeOnly.isNarrowed)
+        assertEquals(listOf(3L, 1L), activeOnly.items.map { it.id })
+        assertEquals(listOf(3L), highOnly.items.map { it.id })
+    }
+
+    @Test
+    fun `facet counts apply the other filters and the search`() {
+        val result = filter.filter(
+            tasks,
+            query("inv", completionFilter = TaskFilterManager.CompletionFilter.ACTIVE_ONLY),
+            null,
+            null
+        )
+
+        // Status counts ignore the status filter, priority counts apply it
+        assertEquals(3, result.facets.allStatuses)
+        assertEquals(2, result.facets.active)
+        assertEquals(1, result.facets.completed)
+        assertEquals(listOf(0, 1, 1, 0), result.facets.byPriority)
+        assertEquals(2, result.facets.categoryCount("General"))
+    }
+
+    @Test
+    fun `updated rows are reindexed`() {
+        val first = filter.filter(tasks, query("", priorityFilter = 2), null, null)
+        val updated = tasks.map { if (it.id == 5L) it.copy(priority = 0) else it }.filter { it.id != 3L }
+
+        val second = filter.filter(updated, query("", priorityFilter = 2), null, first)
+
+        assertEquals(listOf(5L, 3L), first.items.map { it.id })
+        assertEquals(emptyList<Long>(), second.items.map { it.id })
+        assertEquals(2, second.facets.priorityCount(0))
+    }
+
+    @Test
+    fun `switch between full-text and substring matching is rescanned`() {
+        val fullText = filter.filter(tasks, query("inv"), setOf(1L, 3L), null)
+
+        val substring = filter.filter(tasks, query("invo"), null, fullText)
+
+        assertFalse(substring.isNarrowed)
+        assertEquals(listOf(3L, 1L, 4L), substring.items.map { it.id })
+    }
+
+    @Test
+    fun `search query is trimmed`() {
+        val first = filter.filter(tasks, query("  inv "), null, null)
+
+        assertEquals("inv", first.query.searchQuery)
+        assertTrue(filter.filter(tasks, query("inv "), null, first).isNarrowed)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun item(id: Long, title: String, priority: Int, isCompleted: Boolean = false) =
+        TaskListItem(id = id, title = title, priority = priority, createdAt = id, isCompleted = isCompleted)
+
+    private fun query(
+        search: String,
+        completionFilter: TaskFilterManager.CompletionFilter = TaskFilterManager.CompletionFilter.ALL,
+        priorityFilter: Int? = null
+    ) = TaskPageQuery(completionFilter = completionFilter, priorityFilter = priorityFilter, searchQuery = search)
+}
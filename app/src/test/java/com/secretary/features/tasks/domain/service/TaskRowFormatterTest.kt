@@ -0,0 +1,149 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.model.TaskListItem
+import org.junit.Assert.*
+import org.junit.Test
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.util.Locale
+
+/**
+ * Unit tests for TaskRowFormatter
+ *
+ * Tests:
+ * - Info line, description and streak texts
+ * - Relative "reappears in" text for completed interval tasks
+ * - Unchanged rows reuse their cached model, changed and time-dependent rows are reformatted
+ */
+class TaskRowFormatterTest {
+
+    companion object {
+        private const val MINUTE = 60 * 1000L
+        private const val HOUR = 60 * MINUTE
+        private const val DAY = 24 * HOUR
+        private val NOW = LocalDate.of(2026, 3, 14).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()
+    }
+
+    private val formatter = TaskRowFormatter(ZoneOffset.UTC, Locale.US)
+
+    // ========== Text Tests ==========
+
+    @Test
+    fun `info line lists category, priority, due date and recurrence`() {
+        val row = formatter.format(
+            item(1, category = "Work", priority = 3, dueDate = NOW + 2 * DAY, recurrenceType = Task.RECURRENCE_INTERVAL),
+            NOW
+        )
+
+        assertEquals("Work | Priority: Urgent | Due: Mar 16, 2026 | 🔁 Every 2 days", row.infoText)
+        assertFalse(row.hasRelativeTime)
+    }
+
+    @Test
+    fun `plain task shows category and priority only`() {
+        val row = formatter.format(item(1), NOW)
+
+        assertEquals("General | Priority: Medium", row.infoText)
+    }
+
+    @Test
+    fun `blank description and zero streak are hidden`() {
+        val hidden = formatter.format(item(1, description = "  "), NOW)
+        val shown = formatter.format(item(2, description = "Notes", streak = 4), NOW)
+
+        assertNull(hidden.descriptionText)
+        assertNull(hidden.streakText)
+        assertEquals("Notes", shown.descriptionText)
+        assertEquals("🔥 4 days", shown.streakText)
+    }
+
+    @Test
+    fun `completed interval task shows when it reappears`() {
+        fun textAt(dueDate: Long) = formatter.format(
+            item(1, dueDate = dueDate, recurrenceType = Task.RECURRENCE_INTERVAL, isCompleted = true),
+            NOW
+        )
+
+        assertTrue(textAt(NOW + 3 * DAY).infoText.endsWith("(reappears in 3 days)"))
+        assertTrue(textAt(NOW + 5 * HOUR).infoText.endsWith("(reappears in 5 hours)"))
+        assertTrue(textAt(NOW + 1 * MINUTE + 30_000).infoText.endsWith("(reappears in 1 minute)"))
+        assertTrue(textAt(NOW - 1).infoText.endsWith("(due now)"))
+        assertTrue(textAt(NOW + DAY).hasRelativeTime)
+    }
+
+    // ========== Cache Tests ==========
+
+    @Test
+    fun `unchanged rows reuse their model`() {
+        val items = listOf(item(1), item(2))
+        val first = formatter.rows(items, NOW)
+
+        val second = formatter.rows(items.map { it.copy() }, NOW + MINUTE)
+
+        assertSame(first[0], second[0])
+        assertSame(first[1], second[1])
+    }
+
+    @Test
+    fun `changed rows are reformatted`() {
+        val first = formatter.rows(listOf(item(1), item(2)), NOW)
+
+        val second = formatter.rows(listOf(item(1, priority = 2), item(2)), NOW)
+
+        assertNotSame(first[0], second[0])
+        assertEquals("General | Priority: High", second[0].infoText)
+        assertSame(first[1], second[1])
+    }
+
+    @Test
+    fun `time-dependent rows are reformatted on every call`() {
+        val reappearing = item(
+            1,
+            dueDate = NOW + 2 * HOUR + 30 * MINUTE,
+            recurrenceType = Task.RECURRENCE_INTERVAL,
+            isCompleted = true
+        )
+        val first = formatter.rows(listOf(reappearing), NOW)
+
+        val sameText = formatter.rows(listOf(reappearing), NOW + MINUTE)
+        val later = formatter.rows(listOf(reappearing), NOW + HOUR + MINUTE)
+
+        assertSame(first[0], sameText[0]) // Same text: same instance, no rebind
+        assertTrue(first[0].infoText.endsWith("(reappears in 2 hours)"))
+        assertTrue(later[0].infoText.endsWith("(reappears in 1 hour)"))
+    }
+
+    @Test
+    fun `rows keep the list order`() {
+        val rows = formatter.rows(listOf(item(3), item(1), item(2)), NOW)
+
+        assertEquals(listOf(3L, 1L, 2L), rows.map { it.id })
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun item(
+        id: Long,
+        category: String = "General",
+        priority: Int = 1,
+        dueDate: Long = 0,
+        recurrenceType: Int = Task.RECURRENCE_NONE,
+        amount: Int = 2,
+        isCompleted: Boolean = false,
+        description: String? = null,
+        streak: Int = 0
+    ) = TaskListItem(
+        id = id,
+        title = "Task $id",
+        descriptionPreview = description,
+        category = category,
+        priority = priority,
+        dueDate = dueDate,
+        isCompleted = isCompleted,
+        currentStreak = streak,
+        recurrenceType = recurrenceType,
+        recurrenceAmount = amount,
+        recurrenceUnit = Task.UNIT_DAY
+    )
+}
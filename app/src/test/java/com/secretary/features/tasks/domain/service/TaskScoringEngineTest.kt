@@ -0,0 +1,222 @@
+package com.secretary.features.tasks.domain.service
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.tasks.domain.model.ScoredTask
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import java.time.ZoneOffset
+import kotlin.random.Random
+
+/**
+ * Unit tests for TaskScoringEngine
+ *
+ * Tests the scoring factors and the incremental top-K:
+ * - Priority, urgency, duration, difficulty and time of day
+ * - Only active tasks are recommended
+ * - tick() rescores only the tasks whose factors changed
+ * - Random updates and ticks give the same ranking as scoring from scratch
+ *
+ * Uses UTC so hours of day don't depend on the machine
+ */
+class TaskScoringEngineTest {
+
+    companion object {
+        private const val NOW = 1_767_268_800_000L // 2026-01-01T12:00Z
+        private const val MINUTE = 60_000L
+        private const val HOUR = 60 * MINUTE
+        private const val DAY = 24 * HOUR
+    }
+
+    private lateinit var engine: TaskScoringEngine
+
+    @Before
+    fun setUp() {
+        engine = TaskScoringEngine(capacity = 8, zone = ZoneOffset.UTC)
+    }
+
+    // ========== Scoring Factor Tests ==========
+
+    @Test
+    fun `higher priority ranks first`() {
+        engine.load(listOf(task(1, priority = 1), task(2, priority = 3), task(3, priority = 0)), emptyMap(), NOW)
+
+        assertEquals(listOf(2L, 1L, 3L), engine.topTasks().map { it.task.id })
+    }
+
+    @Test
+    fun `overdue task scores full urgency`() {
+        val overdue = task(1, dueDate = NOW - DAY)
+        val tomorrow = task(2, dueDate = NOW + DAY)
+        val nextMonth = task(3, dueDate = NOW + 30 * DAY)
+        val undated = task(4)
+
+        val urgency = { t: Task -> (engine.score(t, null, NOW) - engine.score(undated, null, NOW)) / TaskScoringEngine.URGENCY_WEIGHT }
+
+        assertEquals(1.0, urgency(overdue), 1e-9)
+        assertEquals(7.0 / 8, urgency(tomorrow), 1e-9)
+        assertEquals(0.0, urgency(nextMonth), 1e-9)
+    }
+
+    @Test
+    fun `quick easy task ranks above long hard task`() {
+        val profiles = mapOf(
+            1L to profile(1, averageMinutes = 120, averageDifficulty = 8.0, typicalHour = 3),
+            2L to profile(2, averageMinutes = 10, averageDifficulty = 2.0, typicalHour = 3)
+        )
+        engine.load(listOf(task(1), task(2)), profiles, NOW)
+
+        assertEquals(2L, engine.nextTask()?.task?.id)
+    }
+
+    @Test
+    fun `task usually done at this hour ranks first`() {
+        val profiles = mapOf(
+            1L to profile(1, typicalHour = 20),
+            2L to profile(2, typicalHour = 11) // Within one hour of 12:00
+        )
+        engine.load(listOf(task(1), task(2)), profiles, NOW)
+
+        assertEquals(2L, engine.nextTask()?.task?.id)
+    }
+
+    @Test
+    fun `equal scores rank the older task first`() {
+        engine.load(listOf(task(5), task(3), task(4)), emptyMap(), NOW)
+
+        assertEquals(listOf(3L, 4L, 5L), engine.topTasks().map { it.task.id })
+    }
+
+    // ========== Update Tests ==========
+
+    @Test
+    fun `completed tasks are not recommended`() {
+        engine.load(listOf(task(1, priority = 3, isCompleted = true), task(2)), emptyMap(), NOW)
+        assertEquals(2L, engine.nextTask()?.task?.id)
+
+        engine.upsert(task(2, isCompleted = true), null)
+
+        assertNull(engine.nextTask())
+        assertEquals(0, engine.size)
+    }
+
+    @Test
+    fun `upsert moves a task to the top`() {
+        engine.load((1L..20L).map { task(it) }, emptyMap(), NOW)
+
+        engine.upsert(task(17, priority = 3), null)
+
+        assertEquals(17L, engine.nextTask()?.task?.id)
+    }
+
+    @Test
+    fun `remove of the top tasks refills from the rest`() {
+        engine.load((1L..20L).map { task(it, priority = (it % 4).toInt()) }, emptyMap(), NOW)
+
+        (1L..20L).filter { it % 4 == 3L }.forEach { engine.remove(it) } // All Urgent ones
+        (1L..20L).filter { it % 4 == 2L }.forEach { engine.remove(it) } // All High ones
+
+        assertEquals(1, engine.nextTask()?.task?.priority)
+        assertEquals(1L, engine.nextTask()?.task?.id)
+    }
+
+    // ========== Clock Tests ==========
+
+    @Test
+    fun `tick rescores only tasks crossing a day step`() {
+        val tasks = (1L..100L).map { task(it, dueDate = NOW + it * DAY / 3 + 30_000) }
+        engine.load(tasks, emptyMap(), NOW)
+
+        // Within one minute only the tasks due k days + 30 s ahead (k = 1..7) change their step
+        val rescored = engine.tick(NOW + MINUTE)
+
+        assertEquals(7, rescored)
+    }
+
+    @Test
+    fun `tick makes a task that became due within a day the next task`() {
+        engine.load(listOf(task(1, priority = 2), task(2, priority = 0, dueDate = NOW + DAY + 30 * MINUTE)), emptyMap(), NOW)
+        assertEquals(1L, engine.nextTask()?.task?.id)
+
+        engine.tick(NOW + 30 * MINUTE)
+
+        assertEquals(2L, engine.nextTask()?.task?.id)
+    }
+
+    @Test
+    fun `tick into a new hour rescores tasks of that time of day`() {
+        val profiles = mapOf(
+            1L to profile(1, typicalHour = 14), // Enters the window at 13:00
+            2L to profile(2, typicalHour = 11), // Leaves it at 13:00
+            3L to profile(3, typicalHour = 12)  // Stays in it
+        )
+        engine.load(listOf(task(1), task(2), task(3)), profiles, NOW)
+
+        assertEquals(2, engine.tick(NOW + HOUR))
+    }
+
+    @Test
+    fun `random updates and ticks match scoring from scratch`() {
+        val random = Random(42)
+        val tasks = HashMap<Long, Task>()
+        val profiles = HashMap<Long, TaskCompletionProfile>()
+        repeat(500) { i -> tasks[i.toLong()] = randomTask(random, i.toLong(), NOW) }
+        tasks.keys.filter { random.nextBoolean() }.forEach { profiles[it] = randomProfile(random, it) }
+
+        var now = NOW
+        engine.load(tasks.values.toList(), profiles, now)
+
+        repeat(2_000) { step ->
+            when (random.nextInt(4)) {
+                0 -> {
+                    val id = random.nextLong(0, 600)
+                    val updated = randomTask(random, id, now)
+                    tasks[id] = updated
+                    engine.upsert(updated, profiles[id])
+                }
+                1 -> {
+                    val id = random.nextLong(0, 600)
+                    tasks.remove(id)
+                    engine.remove(id)
+                }
+                else -> {
+                    now += random.nextLong(1, 3 * HOUR)
+                    engine.tick(now)
+                }
+            }
+
+            val expected = tasks.values.filter { !it.isCompleted }
+                .map { ScoredTask(it, engine.score(it, profiles[it.id], now)) }
+                .sortedDescending()
+            assertEquals("step $step", expected.firstOrNull()?.task?.id, engine.nextTask()?.task?.id)
+            assertEquals("step $step", expected.take(5).map { it.task.id }, engine.topTasks(5).map { it.task.id })
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun task(
+        id: Long,
+        priority: Int = 1,
+        dueDate: Long = 0,
+        isCompleted: Boolean = false
+    ) = Task(id = id, title = "Task $id", createdAt = 0, priority = priority, dueDate = dueDate, isCompleted = isCompleted)
+
+    private fun profile(
+        taskId: Long,
+        averageMinutes: Int = 30,
+        averageDifficulty: Double = 5.0,
+        typicalHour: Int = 9
+    ) = TaskCompletionProfile(taskId, 3, averageMinutes, averageDifficulty, typicalHour)
+
+    private fun randomTask(random: Random, id: Long, now: Long) = task(
+        id,
+        priority = random.nextInt(4),
+        dueDate = if (random.nextInt(3) == 0) 0 else now + random.nextLong(-2 * DAY, 10 * DAY),
+        isCompleted = random.nextInt(10) == 0
+    )
+
+    private fun randomProfile(random: Random, taskId: Long) =
+        profile(taskId, random.nextInt(0, 120), random.nextDouble(0.0, 10.0), random.nextInt(24))
+}
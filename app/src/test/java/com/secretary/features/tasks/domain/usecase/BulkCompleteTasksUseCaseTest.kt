@@ -0,0 +1,95 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Unit tests for BulkCompleteTasksUseCase
+ *
+ * The repository mock runs the completion function on given tasks, like
+ * TaskDao.completeByIds does inside its transaction.
+ */
+class BulkCompleteTasksUseCaseTest {
+
+    companion object {
+        private const val NOW = 1_767_268_800_000L // 2026-01-01T12:00Z
+    }
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var bulkCompleteTasksUseCase: BulkCompleteTasksUseCase
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        bulkCompleteTasksUseCase = BulkCompleteTasksUseCase(taskRepository, StreakService(), RecurrenceService())
+    }
+
+    @Test
+    fun `invoke completes open tasks and skips completed ones`() = runTest {
+        val open = Task(id = 1L, title = "Open")
+        val done = Task(id = 2L, title = "Done", isCompleted = true)
+        var results: List<Task?> = emptyList()
+        whenever(taskRepository.completeTasks(any(), eq(NOW), any())).thenAnswer { invocation ->
+            val complete = invocation.getArgument<(Task) -> Task?>(2)
+            results = listOf(open, done).map(complete)
+            results.filterNotNull()
+        }
+
+        val result = bulkCompleteTasksUseCase(listOf(1L, 2L), NOW)
+
+        assertEquals(1, result.getOrNull())
+        assertTrue(results[0]!!.isCompleted)
+        assertEquals(NOW, results[0]!!.lastCompletedDate)
+        assertEquals(1, results[0]!!.currentStreak)
+        assertNull(results[1])
+    }
+
+    @Test
+    fun `invoke applies recurrence logic`() = runTest {
+        val interval = Task(
+            id = 1L,
+            title = "Every 2 days",
+            recurrenceType = Task.RECURRENCE_INTERVAL,
+            recurrenceAmount = 2,
+            recurrenceUnit = Task.UNIT_DAY
+        )
+        var completed: Task? = null
+        whenever(taskRepository.completeTasks(any(), any(), any())).thenAnswer { invocation ->
+            completed = invocation.getArgument<(Task) -> Task?>(2)(interval)
+            listOfNotNull(completed)
+        }
+
+        bulkCompleteTasksUseCase(listOf(1L), NOW)
+
+        assertTrue(completed!!.dueDate > NOW)
+    }
+
+    @Test
+    fun `invoke with empty selection fails`() = runTest {
+        val result = bulkCompleteTasksUseCase(emptyList(), NOW)
+
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        verify(taskRepository, never()).completeTasks(any(), any(), any())
+    }
+
+    @Test
+    fun `invoke handles repository exception`() = runTest {
+        whenever(taskRepository.completeTasks(any(), any(), any())).thenThrow(RuntimeException("Error"))
+
+        val result = bulkCompleteTasksUseCase(listOf(1L), NOW)
+
+        assertTrue(result.exceptionOrNull()?.message?.contains("Failed to complete tasks") == true)
+    }
+}
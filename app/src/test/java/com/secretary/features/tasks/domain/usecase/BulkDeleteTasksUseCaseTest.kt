@@ -0,0 +1,65 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Unit tests for BulkDeleteTasksUseCase
+ */
+class BulkDeleteTasksUseCaseTest {
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var bulkDeleteTasksUseCase: BulkDeleteTasksUseCase
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        bulkDeleteTasksUseCase = BulkDeleteTasksUseCase(taskRepository)
+    }
+
+    @Test
+    fun `invoke deletes selection in one call`() = runTest {
+        whenever(taskRepository.deleteTasks(listOf(1L, 2L, 3L))).thenReturn(3)
+
+        val result = bulkDeleteTasksUseCase(listOf(1L, 2L, 3L))
+
+        assertEquals(3, result.getOrNull())
+        verify(taskRepository).deleteTasks(listOf(1L, 2L, 3L))
+        verify(taskRepository, never()).deleteTask(any())
+    }
+
+    @Test
+    fun `invoke with empty selection fails`() = runTest {
+        val result = bulkDeleteTasksUseCase(emptyList())
+
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        assertEquals("No tasks selected", result.exceptionOrNull()?.message)
+        verify(taskRepository, never()).deleteTasks(any())
+    }
+
+    @Test
+    fun `invoke with invalid ID fails`() = runTest {
+        val result = bulkDeleteTasksUseCase(listOf(1L, 0L))
+
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        assertEquals("Invalid task ID", result.exceptionOrNull()?.message)
+    }
+
+    @Test
+    fun `invoke handles repository exception`() = runTest {
+        whenever(taskRepository.deleteTasks(any())).thenThrow(RuntimeException("Error"))
+
+        val result = bulkDeleteTasksUseCase(listOf(1L))
+
+        assertTrue(result.isFailure)
+        assertTrue(result.exceptionOrNull()?.message?.contains("Failed to delete tasks") == true)
+    }
+}
@@ -0,0 +1,83 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Unit tests for BulkUpdateTasksUseCase
+ */
+class BulkUpdateTasksUseCaseTest {
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var bulkUpdateTasksUseCase: BulkUpdateTasksUseCase
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        bulkUpdateTasksUseCase = BulkUpdateTasksUseCase(taskRepository)
+    }
+
+    // ========== Category Tests ==========
+
+    @Test
+    fun `setCategory trims and updates selection`() = runTest {
+        whenever(taskRepository.updateCategory(listOf(1L, 2L), "Home")).thenReturn(2)
+
+        val result = bulkUpdateTasksUseCase.setCategory(listOf(1L, 2L), "  Home ")
+
+        assertEquals(2, result.getOrNull())
+        verify(taskRepository).updateCategory(listOf(1L, 2L), "Home")
+    }
+
+    @Test
+    fun `setCategory with blank category fails`() = runTest {
+        val result = bulkUpdateTasksUseCase.setCategory(listOf(1L), "   ")
+
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        assertEquals("Category cannot be empty", result.exceptionOrNull()?.message)
+        verify(taskRepository, never()).updateCategory(any(), any())
+    }
+
+    @Test
+    fun `setCategory with empty selection fails`() = runTest {
+        val result = bulkUpdateTasksUseCase.setCategory(emptyList(), "Home")
+
+        assertEquals("No tasks selected", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Priority Tests ==========
+
+    @Test
+    fun `setPriority updates selection`() = runTest {
+        whenever(taskRepository.updatePriority(listOf(4L, 5L, 6L), 3)).thenReturn(3)
+
+        val result = bulkUpdateTasksUseCase.setPriority(listOf(4L, 5L, 6L), 3)
+
+        assertEquals(3, result.getOrNull())
+    }
+
+    @Test
+    fun `setPriority out of range fails`() = runTest {
+        val result = bulkUpdateTasksUseCase.setPriority(listOf(1L), 4)
+
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        verify(taskRepository, never()).updatePriority(any(), any())
+    }
+
+    @Test
+    fun `setPriority handles repository exception`() = runTest {
+        whenever(taskRepository.updatePriority(any(), any())).thenThrow(RuntimeException("Error"))
+
+        val result = bulkUpdateTasksUseCase.setPriority(listOf(1L), 2)
+
+        assertTrue(result.exceptionOrNull()?.message?.contains("Failed to update tasks") == true)
+    }
+}
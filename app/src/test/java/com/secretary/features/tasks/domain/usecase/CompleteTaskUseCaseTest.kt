@@ -1,6 +1,8 @@
 package com.secretary.features.tasks.domain.usecase
 
 import com.secretary.Task
+import com.secretary.core.metrics.AppMetrics
+import com.secretary.core.metrics.MetricsRegistry
 import com.secretary.features.tasks.domain.repository.TaskRepository
 import com.secretary.features.tasks.domain.service.RecurrenceService
 import com.secretary.features.tasks.domain.service.StreakService
@@ -11,6 +13,8 @@ import org.junit.Test
 import org.mockito.Mockito.*
 import org.mockito.kotlin.any
 import org.mockito.kotlin.check
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.util.Calendar
@@ -272,31 +276,101 @@ class CompleteTaskUseCaseTest {
     // ========== completeWithMetadata Tests ==========
 
     @Test
-    fun `completeWithMetadata delegates to main invoke`() = runTest {
-        whenever(taskRepository.getTaskById(1L)).thenReturn(baseTask)
+    fun `completeWithMetadata completes atomically with completion record`() = runTest {
+        stubAtomicCompletion(baseTask)
+        val completionTime = createTimestamp(2025, Calendar.JANUARY, 15)
 
         val result = completeTaskUseCase.completeWithMetadata(
             taskId = 1L,
             timeSpent = 30,
             difficulty = 3,
-            notes = "Test notes"
+            notes = "Test notes",
+            completionTime = completionTime
         )
 
         assertTrue(result.isSuccess)
-        verify(taskRepository).updateTask(any())
+        verify(taskRepository).completeTask(eq(1L), check { completion ->
+            assertEquals(1L, completion.taskId)
+            assertEquals(completionTime, completion.completedAt)
+            assertEquals(30, completion.timeSpentMinutes)
+            assertEquals(3, completion.difficulty)
+            assertEquals("Test notes", completion.notes)
+        }, any())
+        verify(taskRepository, never()).updateTask(any())
+        assertTrue(lastCompletedTask!!.isCompleted)
+        assertEquals(1, lastCompletedTask!!.currentStreak)
     }
 
     @Test
     fun `completeWithMetadata with null metadata succeeds`() = runTest {
-        whenever(taskRepository.getTaskById(1L)).thenReturn(baseTask)
+        stubAtomicCompletion(baseTask)
 
         val result = completeTaskUseCase.completeWithMetadata(taskId = 1L)
 
         assertTrue(result.isSuccess)
+        verify(taskRepository).completeTask(eq(1L), check { completion ->
+            assertEquals(0, completion.timeSpentMinutes)
+            assertEquals(0, completion.difficulty)
+            assertNull(completion.notes)
+        }, any())
+    }
+
+    @Test
+    fun `completeWithMetadata fails when task not found`() = runTest {
+        whenever(taskRepository.completeTask(eq(99L), any(), any())).thenReturn(null)
+
+        val result = completeTaskUseCase.completeWithMetadata(taskId = 99L)
+
+        assertTrue(result.isFailure)
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        assertEquals("Task not found: 99", result.exceptionOrNull()?.message)
+    }
+
+    @Test
+    fun `completeWithMetadata fails for already completed task`() = runTest {
+        stubAtomicCompletion(baseTask.copy(isCompleted = true))
+
+        val result = completeTaskUseCase.completeWithMetadata(taskId = 1L, timeSpent = 10)
+
+        assertTrue(result.isFailure)
+        assertTrue(result.exceptionOrNull() is ValidationException)
+        assertEquals("Task is already completed", result.exceptionOrNull()?.message)
+        assertNull(lastCompletedTask)
+    }
+
+    // ========== Metrics ==========
+
+    @Test
+    fun `successful and failed completions are timed per operation`() = runTest {
+        val timers = AppMetrics.useCaseTimers("CompleteTaskUseCase", MetricsRegistry())
+        val useCase = CompleteTaskUseCase(taskRepository, streakService, recurrenceService, timers)
+        whenever(taskRepository.getTaskById(1L)).thenReturn(baseTask)
+        stubAtomicCompletion(baseTask)
+
+        useCase(taskId = 1L)
+        useCase(taskId = -1L)
+        useCase.completeWithMetadata(taskId = 1L)
+
+        assertEquals(2L, timers["invoke"].snapshot().count)
+        assertEquals(1L, timers["completeWithMetadata"].snapshot().count)
     }
 
     // ========== Helper Methods ==========
 
+    private var lastCompletedTask: Task? = null
+
+    /**
+     * Make the mocked repository behave like the real transaction:
+     * apply the completion lambda to [storedTask] and return the result.
+     */
+    @Suppress("UNCHECKED_CAST")
+    private suspend fun stubAtomicCompletion(storedTask: Task) {
+        whenever(taskRepository.completeTask(eq(storedTask.id), any(), any())).thenAnswer { invocation ->
+            val complete = invocation.arguments[2] as (Task) -> Task
+            complete(storedTask).also { lastCompletedTask = it }
+        }
+    }
+
     private fun createTimestamp(year: Int, month: Int, day: Int, hour: Int = 12): Long {
         val cal = Calendar.getInstance()
         cal.set(year, month - 1, day, hour, 0, 0)
@@ -0,0 +1,105 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.DailyPlanner
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.time.ZoneOffset
+
+/**
+ * Unit tests for DailyPlanUseCase
+ *
+ * Tests:
+ * - Budget validation
+ * - Average durations from one grouped query (no per-task queries)
+ * - Repository failures surface as Result.failure
+ *
+ * Uses Mockito for the repositories, the real DailyPlanner
+ */
+class DailyPlanUseCaseTest {
+
+    companion object {
+        private const val NOW = 1_767_268_800_000L // 2026-01-01T12:00Z
+    }
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var completionRepository: CompletionRepository
+    private lateinit var dailyPlanUseCase: DailyPlanUseCase
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        completionRepository = mock(CompletionRepository::class.java)
+        dailyPlanUseCase = DailyPlanUseCase(
+            taskRepository,
+            completionRepository,
+            DailyPlanner(RecurrenceService(ZoneOffset.UTC)),
+            clock = { NOW },
+            computeDispatcher = Dispatchers.Unconfined
+        )
+    }
+
+    @Test
+    fun `invoke plans active tasks within the budget`() = runTest {
+        whenever(taskRepository.getActiveTasks()).thenReturn(listOf(task(1, priority = 3), task(2), task(3)))
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(
+            mapOf(1L to TaskCompletionProfile(1L, 4, 40, 5.0, 9), 2L to TaskCompletionProfile(2L, 2, 20, 5.0, 9))
+        )
+
+        val result = dailyPlanUseCase(budgetMinutes = 60)
+
+        assertTrue(result.isSuccess)
+        val plan = result.getOrThrow()
+        assertEquals(listOf(1L, 2L), plan.tasks.map { it.task.id })
+        assertEquals(60, plan.plannedMinutes)
+        assertEquals("2 tasks, 60 of 60 min", plan.toSummaryString())
+    }
+
+    @Test
+    fun `invoke reads average durations with one grouped query`() = runTest {
+        whenever(taskRepository.getActiveTasks()).thenReturn((1L..50L).map { task(it) })
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+
+        dailyPlanUseCase(budgetMinutes = 120)
+
+        verify(completionRepository, times(1)).getCompletionProfiles()
+        verify(completionRepository, never()).getAverageCompletionTime(any())
+    }
+
+    @Test
+    fun `invoke with invalid budget fails`() = runTest {
+        val zero = dailyPlanUseCase(budgetMinutes = 0)
+        val tooLong = dailyPlanUseCase(budgetMinutes = DailyPlanUseCase.MAX_BUDGET_MINUTES + 1)
+
+        assertTrue(zero.exceptionOrNull() is ValidationException)
+        assertTrue(tooLong.exceptionOrNull() is ValidationException)
+        verify(taskRepository, never()).getActiveTasks()
+    }
+
+    @Test
+    fun `invoke handles repository exception`() = runTest {
+        whenever(taskRepository.getActiveTasks()).thenThrow(RuntimeException("disk I/O error"))
+
+        val result = dailyPlanUseCase(budgetMinutes = 60)
+
+        assertTrue(result.isFailure)
+        assertEquals("Failed to plan the day: disk I/O error", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun task(id: Long, priority: Int = 1) =
+        Task(id = id, title = "Task $id", createdAt = 0, priority = priority)
+}
@@ -0,0 +1,190 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.domain.model.FilteredTaskList
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Unit tests for FilterTasksUseCase
+ *
+ * Tests the search and filter pipeline on virtual time (runTest):
+ * - Typing is debounced into one full-text lookup
+ * - Clearing the search and changing filters apply without debounce
+ * - A slow lookup for a stale query never reaches the list
+ * - Full-text failures fall back to substring matching
+ * - Facet counts are emitted with every list
+ *
+ * Uses Mockito for the repository, the real TaskListFilter
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class FilterTasksUseCaseTest {
+
+    companion object {
+        private const val DEBOUNCE = FilterTasksUseCase.SEARCH_DEBOUNCE_MILLIS
+    }
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var searchQuery: MutableStateFlow<String>
+    private lateinit var listFilter: MutableStateFlow<TaskPageQuery>
+
+    private val tasks = listOf(
+        item(1, "Pay invoice", priority = 1),
+        item(2, "Write report", priority = 3),
+        item(3, "Send invoices", priority = 2, isCompleted = true)
+    )
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        searchQuery = MutableStateFlow("")
+        listFilter = MutableStateFlow(TaskPageQuery())
+    }
+
+    @Test
+    fun `observe emits the filtered, sorted list`() = runTest {
+        val lists = startObserving()
+
+        assertEquals(listOf(listOf(2L, 1L, 3L)), lists.ids())
+    }
+
+    @Test
+    fun `typing is debounced into one lookup`() = runTest {
+        whenever(taskRepository.searchTaskIds(any())).thenReturn(setOf(1L, 3L))
+        val lists = startObserving()
+
+        for (typed in listOf("i", "in", "inv")) {
+            searchQuery.value = typed
+            advanceTimeBy(DEBOUNCE / 2)
+        }
+        advanceTimeBy(DEBOUNCE)
+        runCurrent()
+
+        verify(taskRepository, times(1)).searchTaskIds(any())
+        verify(taskRepository).searchTaskIds("inv")
+        assertEquals(listOf(listOf(2L, 1L, 3L), listOf(1L, 3L)), lists.ids())
+    }
+
+    @Test
+    fun `facet counts follow the search`() = runTest {
+        whenever(taskRepository.searchTaskIds(any())).thenReturn(setOf(1L, 3L))
+        val lists = startObserving()
+
+        searchQuery.value = "invoice"
+        advanceTimeBy(DEBOUNCE + 1)
+
+        val facets = lists.last().facets
+        assertEquals(2, facets.allStatuses)
+        assertEquals(1, facets.active)
+        assertEquals(1, facets.completed)
+        assertEquals(listOf(0, 1, 1, 0), facets.byPriority)
+    }
+
+    @Test
+    fun `clearing the search and changing filters apply immediately`() = runTest {
+        whenever(taskRepository.searchTaskIds(any())).thenReturn(setOf(1L))
+        val lists = startObserving()
+        searchQuery.value = "pay"
+        advanceTimeBy(DEBOUNCE + 1)
+
+        searchQuery.value = ""
+        runCurrent()
+        listFilter.value = TaskPageQuery(completionFilter = TaskFilterManager.CompletionFilter.COMPLETED_ONLY)
+        runCurrent()
+
+        assertEquals(listOf(listOf(2L, 1L, 3L), listOf(1L), listOf(2L, 1L, 3L), listOf(3L)), lists.ids())
+    }
+
+    @Test
+    fun `stale query is dropped`() = runTest {
+        // Slow lookup: still running when the next query arrives
+        whenever(taskRepository.searchTaskIds("pay")).doSuspendableAnswer {
+            delay(10 * DEBOUNCE)
+            setOf(1L)
+        }
+        whenever(taskRepository.searchTaskIds("report")).thenReturn(setOf(2L))
+        val lists = startObserving()
+
+        searchQuery.value = "pay"
+        advanceTimeBy(DEBOUNCE + 1)
+        searchQuery.value = "report"
+        advanceTimeBy(20 * DEBOUNCE)
+
+        assertEquals(listOf(listOf(2L, 1L, 3L), listOf(2L)), lists.ids())
+    }
+
+    @Test
+    fun `full-text failure falls back to substring matching`() = runTest {
+        whenever(taskRepository.searchTaskIds(any())).thenThrow(RuntimeException("no such table: tasks_fts"))
+        val lists = startObserving()
+
+        searchQuery.value = "invoice"
+        advanceTimeBy(DEBOUNCE + 1)
+
+        assertEquals(listOf(1L, 3L), lists.ids().last())
+    }
+
+    @Test
+    fun `empty search skips the lookup`() = runTest {
+        startObserving()
+
+        listFilter.value = TaskPageQuery(sortOption = TaskFilterManager.SortOption.TITLE)
+        runCurrent()
+
+        verify(taskRepository, never()).searchTaskIds(any())
+    }
+
+    @Test
+    fun `observe rethrows failures with context`() = runTest {
+        val failing = flow<List<TaskListItem>> { throw RuntimeException("disk I/O error") }
+
+        val result = runCatching { useCase().observe(failing, flowOf(""), flowOf(TaskPageQuery())).toList() }
+
+        assertEquals("Failed to filter tasks: disk I/O error", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun TestScope.useCase() =
+        FilterTasksUseCase(taskRepository, computeDispatcher = StandardTestDispatcher(testScheduler))
+
+    /**
+     * Collect filtered lists until the test ends, on the test's virtual clock
+     */
+    private fun TestScope.startObserving(): List<FilteredTaskList> {
+        val lists = mutableListOf<FilteredTaskList>()
+        val useCase = useCase()
+        backgroundScope.launch {
+            useCase.observe(flowOf(tasks), searchQuery, listFilter).collect { lists.add(it) }
+        }
+        runCurrent()
+        return lists
+    }
+
+    private fun List<FilteredTaskList>.ids() = map { list -> list.items.map { it.id } }
+
+    private fun item(id: Long, title: String, priority: Int, isCompleted: Boolean = false) =
+        TaskListItem(id = id, title = title, priority = priority, createdAt = id, isCompleted = isCompleted)
+}
@@ -0,0 +1,107 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import com.secretary.features.tasks.domain.service.TaskRowFormatter
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Test
+import java.time.ZoneOffset
+import java.util.Locale
+
+/**
+ * Unit tests for FormatTaskRowsUseCase
+ *
+ * Tests the display pipeline on virtual time (runTest):
+ * - Every new list is formatted, unchanged rows keep their model
+ * - Relative times are refreshed on the minute ticker, and only when their text changes
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class FormatTaskRowsUseCaseTest {
+
+    companion object {
+        private const val TICK = FormatTaskRowsUseCase.TICK_MILLIS
+        private const val HOUR = 60 * TICK
+    }
+
+    private val plain = TaskListItem(id = 1, title = "Plain task")
+
+    // Completed interval task due 1h30m after virtual time 0: "reappears in 1 hour"
+    private val reappearing = TaskListItem(
+        id = 2,
+        title = "Water plants",
+        dueDate = HOUR + 30 * TICK,
+        isCompleted = true,
+        recurrenceType = Task.RECURRENCE_INTERVAL,
+        recurrenceAmount = 1
+    )
+
+    @Test
+    fun `new lists are formatted, unchanged rows keep their model`() = runTest {
+        val items = MutableStateFlow(listOf(plain))
+        val lists = startObserving(items)
+
+        items.value = listOf(plain, plain.copy(id = 3, title = "Another"))
+        runCurrent()
+
+        assertEquals(listOf(listOf(1L), listOf(1L, 3L)), lists.map { rows -> rows.map { it.id } })
+        assertSame(lists[0][0], lists[1][0])
+    }
+
+    @Test
+    fun `relative times refresh once a minute`() = runTest {
+        val lists = startObserving(MutableStateFlow(listOf(plain, reappearing)))
+
+        advanceTimeBy(TICK - 1)
+        assertEquals(1, lists.size) // No tick yet
+
+        advanceTimeBy(31 * TICK + 1)
+        runCurrent()
+
+        // Unchanged until 1h left (minute 30), then one list per minute: 59, 58 minutes
+        assertEquals(3, lists.size)
+        assertTrue(lists.first()[1].infoText.endsWith("(reappears in 1 hour)"))
+        assertTrue(lists.last()[1].infoText.endsWith("(reappears in 58 minutes)"))
+        assertTrue(lists.all { it[0] === lists.first()[0] }) // Plain row never reformatted
+    }
+
+    @Test
+    fun `observe rethrows failures with context`() = runTest {
+        val failing = flow<List<TaskListItem>> { throw RuntimeException("disk I/O error") }
+
+        val result = runCatching { useCase().observe(failing).toList() }
+
+        assertEquals("Failed to format tasks: disk I/O error", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun TestScope.useCase() = FormatTaskRowsUseCase(
+        TaskRowFormatter(ZoneOffset.UTC, Locale.US),
+        computeDispatcher = StandardTestDispatcher(testScheduler),
+        clock = { testScheduler.currentTime }
+    )
+
+    /**
+     * Collect row model lists until the test ends, on the test's virtual clock
+     */
+    private fun TestScope.startObserving(items: MutableStateFlow<List<TaskListItem>>): List<List<TaskRowModel>> {
+        val lists = mutableListOf<List<TaskRowModel>>()
+        val useCase = useCase()
+        backgroundScope.launch {
+            useCase.observe(items).collect { lists.add(it) }
+        }
+        runCurrent()
+        return lists
+    }
+}
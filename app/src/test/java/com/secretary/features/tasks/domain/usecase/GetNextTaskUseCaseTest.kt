@@ -0,0 +1,191 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.statistics.domain.repository.CompletionRepository
+import com.secretary.features.tasks.domain.model.ScoredTask
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.time.ZoneOffset
+
+/**
+ * Unit tests for GetNextTaskUseCase
+ *
+ * Tests the recommendation flow on virtual time (runTest):
+ * - The best active task is emitted for the first task list
+ * - Completions remove the task; only its profile is re-read when it comes back
+ * - A sequence of adds, edits, completions and deletes, end to end
+ * - Clock ticks change the recommendation without task changes
+ * - Repository failures are rethrown with context
+ *
+ * Uses Mockito for the repositories, the real TaskScoringEngine
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class GetNextTaskUseCaseTest {
+
+    companion object {
+        private const val START = 1_767_268_800_000L // 2026-01-01T12:00Z
+        private const val MINUTE = 60_000L
+        private const val DAY = 24 * 60 * MINUTE
+    }
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var completionRepository: CompletionRepository
+    private lateinit var tasks: MutableSharedFlow<List<Task>>
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        completionRepository = mock(CompletionRepository::class.java)
+        tasks = MutableSharedFlow()
+        whenever(taskRepository.observeActiveTasks()).thenReturn(tasks)
+    }
+
+    // ========== Recommendation Tests ==========
+
+    @Test
+    fun `observe emits the best active task`() = runTest {
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+        val recommendations = startObserving()
+
+        tasks.emit(listOf(task(1, priority = 1), task(2, priority = 3), task(3, priority = 3, isCompleted = true)))
+        runCurrent()
+
+        assertEquals(2L, recommendations.last()?.task?.id)
+    }
+
+    @Test
+    fun `observe emits null without active tasks`() = runTest {
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+        val recommendations = startObserving()
+
+        tasks.emit(listOf(task(1)))
+        runCurrent()
+        tasks.emit(emptyList())
+        runCurrent()
+
+        assertEquals(listOf(1L, null), recommendations.map { it?.task?.id })
+    }
+
+    @Test
+    fun `completion re-reads only the completed task's profile`() = runTest {
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+        whenever(completionRepository.getCompletionProfiles(any<Collection<Long>>())).thenReturn(
+            mapOf(1L to TaskCompletionProfile(1L, 1, 15, 3.0, 12))
+        )
+        val recommendations = startObserving()
+
+        tasks.emit(listOf(task(1, priority = 3), task(2)))
+        runCurrent()
+        // Completed: task 1 leaves the active list
+        tasks.emit(listOf(task(2)))
+        runCurrent()
+        assertEquals(2L, recommendations.last()?.task?.id)
+
+        // Reset: task 1 is active again, with a new last completion
+        tasks.emit(listOf(task(1, priority = 3, lastCompletedDate = START), task(2)))
+        runCurrent()
+
+        verify(completionRepository).getCompletionProfiles(listOf(1L))
+        assertEquals(1L, recommendations.last()?.task?.id)
+    }
+
+    @Test
+    fun `observe follows adds, edits, completions and deletes`() = runTest {
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+        val recommendations = startObserving()
+
+        tasks.emit(listOf(task(1, priority = 1), task(2, priority = 2)))
+        runCurrent()
+        tasks.emit(listOf(task(1, priority = 1), task(2, priority = 2), task(3, priority = 3))) // Added
+        runCurrent()
+        tasks.emit(listOf(task(1, priority = 3, dueDate = START - DAY), task(2, priority = 2), task(3, priority = 3))) // Edited
+        runCurrent()
+        tasks.emit(listOf(task(2, priority = 2), task(3, priority = 3))) // Task 1 completed
+        runCurrent()
+        tasks.emit(listOf(task(2, priority = 2))) // Task 3 deleted
+        runCurrent()
+        tasks.emit(listOf(task(2, priority = 2))) // Unrelated write: same list, nothing emitted
+        runCurrent()
+
+        assertEquals(listOf(2L, 3L, 1L, 3L, 2L), recommendations.map { it?.task?.id })
+        verify(completionRepository, never()).getCompletionProfiles(any<Collection<Long>>())
+    }
+
+    @Test
+    fun `clock tick recommends a task that became due`() = runTest {
+        whenever(completionRepository.getCompletionProfiles()).thenReturn(emptyMap())
+        val recommendations = startObserving()
+
+        // Urgent, undated task vs. medium task one step away from "due within a day"
+        tasks.emit(listOf(task(1, priority = 3), task(2, priority = 1, dueDate = START + DAY + 30 * MINUTE)))
+        runCurrent()
+        assertEquals(1L, recommendations.last()?.task?.id)
+
+        advanceTimeBy(31 * MINUTE)
+        runCurrent()
+
+        assertEquals(2L, recommendations.last()?.task?.id)
+    }
+
+    @Test
+    fun `observe rethrows failures with context`() = runTest {
+        whenever(taskRepository.observeActiveTasks()).thenReturn(flow { throw RuntimeException("disk I/O error") })
+
+        val result = runCatching { useCase().observe().toList() }
+
+        assertEquals("Failed to recommend next task: disk I/O error", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Helper Methods ==========
+
+    private fun TestScope.useCase() = GetNextTaskUseCase(
+        taskRepository,
+        completionRepository,
+        ZoneOffset.UTC,
+        StandardTestDispatcher(testScheduler)
+    ) { START + testScheduler.currentTime }
+
+    /**
+     * Collect recommendations until the test ends, on the test's virtual clock
+     */
+    private fun TestScope.startObserving(): List<ScoredTask?> {
+        val recommendations = mutableListOf<ScoredTask?>()
+        val useCase = useCase()
+        backgroundScope.launch { useCase.observe().collect { recommendations.add(it) } }
+        runCurrent()
+        return recommendations
+    }
+
+    private fun task(
+        id: Long,
+        priority: Int = 1,
+        dueDate: Long = 0,
+        isCompleted: Boolean = false,
+        lastCompletedDate: Long = 0
+    ) = Task(
+        id = id,
+        title = "Task $id",
+        createdAt = 0,
+        priority = priority,
+        dueDate = dueDate,
+        isCompleted = isCompleted,
+        lastCompletedDate = lastCompletedDate
+    )
+}
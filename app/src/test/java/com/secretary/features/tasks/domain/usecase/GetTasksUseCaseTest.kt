@@ -1,7 +1,14 @@
 package com.secretary.features.tasks.domain.usecase
 
 import com.secretary.Task
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
 import com.secretary.features.tasks.domain.repository.TaskRepository
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.runTest
 import org.junit.Assert.*
 import org.junit.Before
@@ -60,6 +67,70 @@ class GetTasksUseCaseTest {
         assertTrue(result.exceptionOrNull()?.message?.contains("Failed to get tasks") == true)
     }
 
+    @Test
+    fun `observe emits every list from repository`() = runTest {
+        val first = listOf(Task(id = 1L, title = "Task 1"))
+        val second = first + Task(id = 2L, title = "Task 2")
+        whenever(taskRepository.observeAllTasks()).thenReturn(flowOf(first, second))
+
+        val emissions = getTasksUseCase.observe().toList()
+
+        assertEquals(listOf(first, second), emissions)
+    }
+
+    @Test
+    fun `observe wraps repository exception`() = runTest {
+        whenever(taskRepository.observeAllTasks()).thenReturn(flow { throw RuntimeException("DB error") })
+
+        val exception = runCatching { getTasksUseCase.observe().first() }.exceptionOrNull()
+
+        assertTrue(exception?.message?.contains("Failed to get tasks") == true)
+    }
+
+    @Test
+    fun `observeListItems emits every list from repository`() = runTest {
+        val first = listOf(TaskListItem(id = 1L, title = "Task 1"))
+        val second = first + TaskListItem(id = 2L, title = "Task 2")
+        whenever(taskRepository.observeTaskListItems()).thenReturn(flowOf(first, second))
+
+        val emissions = getTasksUseCase.observeListItems().toList()
+
+        assertEquals(listOf(first, second), emissions)
+    }
+
+    @Test
+    fun `observeListItems wraps repository exception`() = runTest {
+        whenever(taskRepository.observeTaskListItems()).thenReturn(flow { throw RuntimeException("DB error") })
+
+        val exception = runCatching { getTasksUseCase.observeListItems().first() }.exceptionOrNull()
+
+        assertTrue(exception?.message?.contains("Failed to get tasks") == true)
+    }
+
+    @Test
+    fun `getPage continues after the given row`() = runTest {
+        val query = TaskPageQuery(sortOption = TaskFilterManager.SortOption.CREATED)
+        val last = TaskListItem(id = 50L, title = "Task 50")
+        val page = listOf(TaskListItem(id = 51L, title = "Task 51"), TaskListItem(id = 52L, title = "Task 52"))
+        whenever(taskRepository.getTaskPage(query, last, 2)).thenReturn(page)
+
+        val result = getTasksUseCase.getPage(query, last, 2)
+
+        assertTrue(result.isSuccess)
+        assertEquals(page, result.getOrNull())
+    }
+
+    @Test
+    fun `getPage handles repository exception`() = runTest {
+        val query = TaskPageQuery()
+        whenever(taskRepository.getTaskPage(query, null, 50)).thenThrow(RuntimeException("DB error"))
+
+        val result = getTasksUseCase.getPage(query, null, 50)
+
+        assertTrue(result.isFailure)
+        assertTrue(result.exceptionOrNull()?.message?.contains("Failed to get tasks") == true)
+    }
+
     @Test
     fun `getActiveTasks returns only active tasks`() = runTest {
         val activeTasks = listOf(
@@ -0,0 +1,226 @@
+package com.secretary.features.tasks.domain.usecase
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.model.ScheduledReset
+import com.secretary.features.tasks.domain.repository.TaskRepository
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.*
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.time.ZoneOffset
+
+/**
+ * Unit tests for RecurrenceResetScheduler
+ *
+ * Tests the event-driven reset loop on virtual time (runTest):
+ * - Due resets run immediately on start
+ * - Sleeps until the earliest scheduled reset, then resets in one batch
+ * - Task changes pull an earlier reset onto the heap
+ * - Wall-clock jumps are caught by checkNow() and by the capped sleep
+ * - Resets apply RecurrenceService to the due tasks
+ * - Repository failures surface as Result.failure
+ *
+ * Uses Mockito for the repository, the real RecurrenceService
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class RecurrenceResetSchedulerTest {
+
+    companion object {
+        private const val START = 1_767_268_800_000L // 2026-01-01T12:00Z
+        private const val MINUTE = 60_000L
+    }
+
+    private lateinit var taskRepository: TaskRepository
+    private lateinit var recurrenceService: RecurrenceService
+    private lateinit var changes: MutableSharedFlow<Unit>
+
+    @Before
+    fun setUp() {
+        taskRepository = mock(TaskRepository::class.java)
+        recurrenceService = RecurrenceService(ZoneOffset.UTC)
+        changes = MutableSharedFlow()
+        whenever(taskRepository.observeTaskChanges()).thenReturn(changes)
+    }
+
+    // ========== Scheduling Tests ==========
+
+    @Test
+    fun `invoke resets overdue tasks immediately`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, START - MINUTE)))
+        whenever(taskRepository.resetDueTasks(any(), any())).thenReturn(emptyList())
+
+        startScheduler()
+        runCurrent()
+
+        verify(taskRepository).resetDueTasks(eq(START), any())
+    }
+
+    @Test
+    fun `invoke sleeps until the earliest reset`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenReturn(
+            listOf(ScheduledReset(2L, START + 60 * MINUTE), ScheduledReset(1L, START + 10 * MINUTE))
+        )
+        whenever(taskRepository.resetDueTasks(any(), any())).thenReturn(emptyList())
+
+        startScheduler()
+        runCurrent()
+        verify(taskRepository, never()).resetDueTasks(any(), any())
+
+        advanceTimeBy(10 * MINUTE - 1)
+        runCurrent()
+        verify(taskRepository, never()).resetDueTasks(any(), any())
+
+        advanceTimeBy(1)
+        runCurrent()
+        verify(taskRepository).resetDueTasks(eq(START + 10 * MINUTE), any())
+
+        advanceTimeBy(50 * MINUTE)
+        runCurrent()
+        verify(taskRepository).resetDueTasks(eq(START + 60 * MINUTE), any())
+        verify(taskRepository, times(2)).resetDueTasks(any(), any())
+    }
+
+    @Test
+    fun `invoke without scheduled resets never resets`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenReturn(emptyList())
+
+        startScheduler()
+        advanceTimeBy(365 * 24 * 60 * MINUTE)
+        runCurrent()
+
+        verify(taskRepository, never()).resetDueTasks(any(), any())
+    }
+
+    @Test
+    fun `task change schedules an earlier reset`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, START + 60 * MINUTE)))
+        whenever(taskRepository.getNextScheduledReset()).thenReturn(ScheduledReset(2L, START + 5 * MINUTE))
+        whenever(taskRepository.resetDueTasks(any(), any())).thenReturn(emptyList())
+
+        startScheduler()
+        runCurrent()
+        changes.emit(Unit)
+
+        advanceTimeBy(5 * MINUTE)
+        runCurrent()
+
+        verify(taskRepository).resetDueTasks(eq(START + 5 * MINUTE), any())
+    }
+
+    @Test
+    fun `reset reschedules the reset tasks`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, START + MINUTE)))
+        whenever(taskRepository.resetDueTasks(any(), any()))
+            .thenReturn(listOf(ScheduledReset(1L, START + 2 * MINUTE)))
+            .thenReturn(emptyList())
+
+        startScheduler()
+        advanceTimeBy(2 * MINUTE)
+        runCurrent()
+
+        verify(taskRepository).resetDueTasks(eq(START + MINUTE), any())
+        verify(taskRepository).resetDueTasks(eq(START + 2 * MINUTE), any())
+    }
+
+    @Test
+    fun `checkNow resets what became due after a wall-clock jump`() = runTest {
+        var clockOffset = 0L
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, START + 60 * MINUTE)))
+        whenever(taskRepository.resetDueTasks(any(), any())).thenReturn(emptyList())
+        val scheduler = RecurrenceResetScheduler(taskRepository, recurrenceService) {
+            START + clockOffset + testScheduler.currentTime
+        }
+        backgroundScope.launch { scheduler() }
+        runCurrent()
+
+        clockOffset = 2 * 60 * MINUTE // Wall clock set forward, no time passed
+        scheduler.checkNow()
+        runCurrent()
+
+        verify(taskRepository).resetDueTasks(eq(START + 2 * 60 * MINUTE), any())
+    }
+
+    @Test
+    fun `sleeps are capped so a wall-clock jump is noticed without checkNow`() = runTest {
+        var clockOffset = 0L
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, START + 24 * 60 * MINUTE)))
+        whenever(taskRepository.resetDueTasks(any(), any())).thenReturn(emptyList())
+        val scheduler = RecurrenceResetScheduler(taskRepository, recurrenceService) {
+            START + clockOffset + testScheduler.currentTime
+        }
+        backgroundScope.launch { scheduler() }
+        runCurrent()
+
+        clockOffset = 24 * 60 * MINUTE
+        advanceTimeBy(RecurrenceResetScheduler.MAX_WAIT_MILLIS - 1)
+        runCurrent()
+        verify(taskRepository, never()).resetDueTasks(any(), any())
+
+        advanceTimeBy(1)
+        runCurrent()
+        verify(taskRepository).resetDueTasks(eq(START + 24 * 60 * MINUTE + RecurrenceResetScheduler.MAX_WAIT_MILLIS), any())
+    }
+
+    // ========== Reset Logic Tests ==========
+
+    @Test
+    fun `reset applies recurrence logic to due tasks`() = runTest {
+        val dueTask = Task(
+            id = 1L,
+            title = "Every day",
+            isCompleted = true,
+            dueDate = START - MINUTE,
+            recurrenceType = Task.RECURRENCE_INTERVAL,
+            recurrenceAmount = 1,
+            recurrenceUnit = Task.UNIT_DAY
+        )
+        var resetTask: Task? = null
+        whenever(taskRepository.getResetSchedule()).thenReturn(listOf(ScheduledReset(1L, dueTask.dueDate)))
+        whenever(taskRepository.resetDueTasks(any(), any())).thenAnswer { invocation ->
+            val reset = invocation.getArgument<(Task) -> Task>(1)
+            resetTask = reset(dueTask)
+            emptyList<ScheduledReset>()
+        }
+
+        startScheduler()
+        runCurrent()
+
+        assertNotNull(resetTask)
+        assertFalse(resetTask!!.isCompleted)
+        assertEquals(0L, resetTask!!.dueDate)
+        assertEquals(0L, recurrenceService.getNextResetTime(resetTask!!))
+    }
+
+    @Test
+    fun `invoke returns failure when the schedule cannot be loaded`() = runTest {
+        whenever(taskRepository.getResetSchedule()).thenThrow(RuntimeException("disk I/O error"))
+
+        val result = RecurrenceResetScheduler(taskRepository, recurrenceService) { START }()
+
+        assertTrue(result.isFailure)
+        assertEquals("Failed to reset recurring tasks: disk I/O error", result.exceptionOrNull()?.message)
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Run the scheduler until the test ends, on the test's virtual clock
+     */
+    private fun TestScope.startScheduler() {
+        val scheduler = RecurrenceResetScheduler(taskRepository, recurrenceService) { START + testScheduler.currentTime }
+        backgroundScope.launch { scheduler() }
+    }
+}
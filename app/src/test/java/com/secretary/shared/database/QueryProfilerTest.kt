@@ -0,0 +1,138 @@
+package com.secretary.shared.database
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.StringWriter
+
+/**
+ * Unit tests for QueryProfiler
+ *
+ * Tests:
+ * - SQL normalisation (literals, IN lists, whitespace)
+ * - Aggregation per normalised statement
+ * - Keeping only the N slowest executions
+ * - Slow-query callback threshold (also with a full slowest list)
+ * - Report with query plans (cached per statement, failures shown)
+ */
+class QueryProfilerTest {
+
+    private fun QueryProfiler.report(): String = StringWriter().also { writeReport(it) }.toString()
+
+    @Test
+    fun `normalise replaces literals and IN lists`() {
+        assertEquals(
+            "SELECT * FROM tasks WHERE id IN (?, ...) AND category = ? AND priority > ?",
+            QueryProfiler.normalise("SELECT *  FROM tasks\n WHERE id IN (?,?, ?) AND category = 'it''s' AND priority > 2")
+        )
+        assertEquals(
+            "SELECT COUNT(*) FROM completions WHERE DATE(completed_at/?,?) = DATE(?)",
+            QueryProfiler.normalise("SELECT COUNT(*) FROM completions WHERE DATE(completed_at/1000,'unixepoch') = DATE('now')")
+        )
+    }
+
+    @Test
+    fun `normalise keeps digits inside identifiers`() {
+        assertEquals(
+            "SELECT * FROM `tasks_fts` JOIN t2 ON x = ?",
+            QueryProfiler.normalise("SELECT * FROM `tasks_fts` JOIN t2 ON x = 10")
+        )
+    }
+
+    @Test
+    fun `executions are aggregated by normalised statement`() {
+        val profiler = QueryProfiler()
+        profiler.record("SELECT * FROM tasks WHERE id IN (?,?)", 2, 2_000_000, 2)
+        profiler.record("SELECT * FROM tasks WHERE id IN (?,?,?)", 3, 4_000_000, 3)
+        profiler.record("SELECT COUNT(*) FROM tasks", 0, 1_000_000, 1)
+
+        val lines = profiler.report().lines()
+
+        assertTrue(lines[0].startsWith("Query profile: 3 executions, 2 distinct statements"))
+        val inQuery = lines.single { it.endsWith("SELECT * FROM tasks WHERE id IN (?, ...)") }
+        assertTrue(inQuery, inQuery.trim().startsWith("2        6.00      3.00"))
+        assertTrue(inQuery, inQuery.contains("2.5  ")) // rows per execution
+        // Sorted by total time: the IN query first
+        assertTrue(lines.indexOf(inQuery) < lines.indexOfFirst { it.endsWith("SELECT COUNT(*) FROM tasks") })
+    }
+
+    @Test
+    fun `only the slowest executions are kept`() {
+        val profiler = QueryProfiler(slowestCount = 2)
+        listOf(5L, 1L, 9L, 3L, 7L).forEach { millis ->
+            profiler.record("SELECT $millis", 0, millis * 1_000_000, 1)
+        }
+
+        val slowest = profiler.report().substringAfter("Slowest executions:\n").lines()
+            .filter { it.startsWith("  SELECT") }
+            .map { it.trim() }
+
+        assertEquals(listOf("SELECT 9", "SELECT 7"), slowest)
+    }
+
+    @Test
+    fun `slow executions are reported as they happen`() {
+        val slow = mutableListOf<QueryProfiler.QueryExecution>()
+        val profiler = QueryProfiler(slowThresholdNanos = 50_000_000, onSlowQuery = { slow.add(it) })
+
+        profiler.record("SELECT * FROM completions", 0, 10_000_000, 3)
+        profiler.record("SELECT * FROM completions WHERE task_id = ?", 1, 80_000_000, 12)
+
+        assertEquals(1, slow.size)
+        assertEquals(12, slow[0].rows)
+        assertEquals(1, slow[0].bindCount)
+        assertEquals("80.0 ms, 12 rows, 1 binds: SELECT * FROM completions WHERE task_id = ?", slow[0].describe())
+    }
+
+    @Test
+    fun `slow executions are reported when the slowest list is full of slower ones`() {
+        val slow = mutableListOf<QueryProfiler.QueryExecution>()
+        val profiler = QueryProfiler(slowestCount = 2, slowThresholdNanos = 100_000_000, onSlowQuery = { slow.add(it) })
+
+        profiler.record("SELECT 1", 0, 500_000_000, 1)
+        profiler.record("SELECT 2", 0, 600_000_000, 1)
+        profiler.record("SELECT 3", 0, 200_000_000, 1)
+
+        assertEquals(listOf("SELECT 1", "SELECT 2", "SELECT 3"), slow.map { it.sql })
+    }
+
+    @Test
+    fun `report shows query plans, looked up once per statement`() {
+        val explained = mutableListOf<String>()
+        val profiler = QueryProfiler()
+        profiler.explain = { sql ->
+            explained.add(sql)
+            listOf("SCAN completions")
+        }
+        profiler.record("SELECT * FROM completions WHERE notes LIKE ?", 1, 3_000_000, 40)
+
+        val first = profiler.report()
+        profiler.report()
+
+        assertTrue(first.contains("  SELECT * FROM completions WHERE notes LIKE ?\n    SCAN completions\n"))
+        assertEquals(1, explained.size)
+    }
+
+    @Test
+    fun `report says why a plan is missing`() {
+        val profiler = QueryProfiler()
+        profiler.record("SELECT 1", 0, 1_000, 1)
+        assertTrue(profiler.report().contains("(no query plan: database not open)"))
+
+        profiler.explain = { throw IllegalStateException("no such table") }
+        profiler.record("SELECT * FROM gone", 0, 1_000, 0)
+        assertTrue(profiler.report().contains("(no query plan: no such table)"))
+    }
+
+    @Test
+    fun `distinct statements are capped`() {
+        val profiler = QueryProfiler()
+        repeat(QueryProfiler.MAX_STATEMENTS + 10) { i ->
+            profiler.record("SELECT * FROM t$i", 0, 1_000, 0)
+        }
+
+        val report = profiler.report()
+
+        assertTrue(report.contains("${QueryProfiler.MAX_STATEMENTS + 1} distinct statements"))
+        assertTrue(report.contains(QueryProfiler.OTHER))
+    }
+}
@@ -0,0 +1,72 @@
+plugins {
+    id("org.jetbrains.kotlin.jvm")
+    id("me.champeau.jmh")
+}
+
+// Plain JVM module: :app is an Android module and can't be a JVM dependency,
+// so the pure-Kotlin parts are compiled here straight from app/src: domain
+// models and services, TaskFilterManager, the Room entities + mappers
+// (only room-common's annotations are needed for those), the database
+// pragmas, the logger's ring buffer and the metrics registry.
+kotlin {
+    sourceSets {
+        getByName("main") {
+            kotlin.srcDir("../app/src/main/java")
+            kotlin.include(
+                "com/secretary/Task.kt",
+                "com/secretary/TaskFilterManager.kt",
+                "com/secretary/features/tasks/domain/model/*.kt",
+                "com/secretary/features/tasks/domain/service/*.kt",
+                "com/secretary/features/tasks/data/TaskEntity.kt",
+                "com/secretary/features/tasks/data/TaskListRow.kt",
+                "com/secretary/features/tasks/data/TaskResetRow.kt",
+                "com/secretary/features/tasks/data/TaskMappers.kt",
+                "com/secretary/features/statistics/domain/model/*.kt",
+                "com/secretary/features/statistics/data/CompletionEntity.kt",
+                "com/secretary/features/statistics/data/CompletionMappers.kt",
+                "com/secretary/features/statistics/data/CompletionDailyRollupEntity.kt",
+                "com/secretary/shared/database/DatabasePragmas.kt",
+                "com/secretary/core/logging/LogLevel.kt",
+                "com/secretary/core/logging/LogRecord.kt",
+                "com/secretary/core/logging/LogRingBuffer.kt",
+                "com/secretary/core/logging/LogSegmentStore.kt",
+                "com/secretary/core/logging/LogBatch.kt",
+                "com/secretary/core/logging/PostingList.kt",
+                "com/secretary/core/logging/LogQuery.kt",
+                "com/secretary/core/logging/LogIndex.kt",
+                "com/secretary/core/metrics/*.kt"
+            )
+        }
+    }
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile>().configureEach {
+    kotlinOptions {
+        jvmTarget = "17"
+    }
+}
+
+dependencies {
+    implementation("org.jetbrains.kotlin:kotlin-stdlib:1.9.22")
+    implementation("androidx.room:room-common:2.6.1") // Entity annotations only
+    implementation("org.xerial:sqlite-jdbc:3.45.1.0") // DatabaseConcurrencyBenchmark
+}
+
+// ./gradlew :benchmarks:jmh                      - everything (TaskDataSet: 1k, 10k, 100k tasks)
+// ./gradlew :benchmarks:jmh -PjmhIncludes=Mapper - one class
+// Results: console and benchmarks/build/results/jmh/results.txt
+jmh {
+    jmhVersion.set("1.37")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+    // Allocation per operation (gc.alloc.rate.norm, B/op) next to each score
+    profilers.set(listOf("gc"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.set(listOf("-Xmx3g")) // 100k tasks with two years of completions
+}
@@ -0,0 +1,57 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import com.secretary.features.statistics.domain.model.TaskCompletionProfile
+import com.secretary.features.tasks.domain.model.DailyPlan
+import com.secretary.features.tasks.domain.service.DailyPlanner
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+
+/**
+ * DailyPlanner over the active tasks of the data set
+ *
+ * One operation = one plan for an 8-hour budget. The solver stops after
+ * [timeLimitMillis]; the score shows the wall-clock time of a whole plan
+ * (candidates, greedy seed, local search), which must stay close to the
+ * limit at every data set size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class DailyPlanBenchmark {
+
+    @Param("50")
+    var timeLimitMillis: Long = 0
+
+    private val planner = DailyPlanner(RecurrenceService(ZoneOffset.UTC))
+    private lateinit var activeTasks: List<Task>
+    private lateinit var profiles: Map<Long, TaskCompletionProfile>
+
+    @Setup(Level.Trial)
+    fun setUp(data: TaskDataSet) {
+        activeTasks = data.tasks.filter { !it.isCompleted }
+        profiles = data.completions.groupBy { it.taskId }.mapValues { (taskId, completions) ->
+            TaskCompletionProfile(
+                taskId = taskId,
+                completionCount = completions.size,
+                averageMinutes = completions.map { it.timeSpentMinutes }.average().toInt(),
+                averageDifficulty = completions.map { it.difficulty }.average(),
+                typicalHour = 9
+            )
+        }
+    }
+
+    @Benchmark
+    fun planEightHours(): DailyPlan =
+        planner.plan(activeTasks, profiles, 8 * 60, TaskDataSet.NOW, timeLimitMillis)
+}
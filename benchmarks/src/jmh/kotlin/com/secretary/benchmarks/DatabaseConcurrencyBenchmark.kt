@@ -0,0 +1,206 @@
+package com.secretary.benchmarks
+
+import com.secretary.features.statistics.data.CompletionDailyRollupEntity
+import com.secretary.shared.database.DatabasePragmas
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Group
+import org.openjdk.jmh.annotations.GroupThreads
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import java.io.File
+import java.nio.file.Files
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Mixed read/write workload: rollback journal vs. WAL with DatabasePragmas
+ *
+ * Runs against a file database through sqlite-jdbc, with the same layout
+ * as the app: one writer completing tasks (completion insert + task update
+ * in one transaction, rollup triggers included) while READ_THREADS readers
+ * run the statistics queries, each on its own connection like Android's
+ * WAL connection pool. Connections are set up like the app's: only the
+ * writer gets DatabasePragmas.ON_OPEN (Room's onOpen), the readers keep
+ * the defaults.
+ *
+ * With a rollback journal readers and the writer lock each other out; in
+ * WAL mode readers keep running during writes. Sample time gives the
+ * latency percentiles of both sides.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class DatabaseConcurrencyBenchmark {
+
+    companion object {
+        private const val TASK_COUNT = 2_000
+        private const val BUSY_TIMEOUT_MS = 10_000
+        private const val DAY_MS = 24 * 60 * 60 * 1000L
+
+        /** DatabaseExecutors.READ_THREADS (that file needs coroutines, which this module doesn't have) */
+        private const val READ_THREADS = 3
+    }
+
+    /**
+     * One database file per journal mode, shared by the writer and the readers
+     */
+    @State(Scope.Group)
+    open class Database {
+
+        @Param("DELETE", "WAL")
+        var journal: String = "WAL"
+
+        lateinit var directory: File
+        lateinit var url: String
+
+        /** DELETE: the old defaults on every connection; WAL: what TaskDatabase sets, per connection */
+        fun pragmas(writer: Boolean): List<String> = if (journal == "WAL") {
+            listOf("PRAGMA journal_mode = WAL") + if (writer) DatabasePragmas.ON_OPEN else emptyList()
+        } else {
+            listOf("PRAGMA journal_mode = DELETE", "PRAGMA synchronous = FULL")
+        }
+
+        @Setup(Level.Trial)
+        fun create() {
+            directory = Files.createTempDirectory("db-concurrency").toFile()
+            url = "jdbc:sqlite:${File(directory, "tasks.db").absolutePath}"
+            open(writer = true).use { createSchema(it) }
+        }
+
+        @TearDown(Level.Trial)
+        fun delete() {
+            directory.deleteRecursively()
+        }
+
+        fun open(writer: Boolean): Connection {
+            val connection = DriverManager.getConnection(url)
+            connection.createStatement().use { statement ->
+                statement.execute("PRAGMA busy_timeout = $BUSY_TIMEOUT_MS") // Wait for locks like Android does
+                statement.execute("PRAGMA foreign_keys = ON")
+                pragmas(writer).forEach { statement.execute(it) }
+            }
+            return connection
+        }
+
+        /**
+         * Subset of the Room schema (v8) touched by the workload, with the real rollup triggers
+         */
+        private fun createSchema(connection: Connection) {
+            connection.createStatement().use { statement ->
+                statement.execute(
+                    "CREATE TABLE tasks (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, title TEXT NOT NULL, " +
+                        "due_date INTEGER NOT NULL, is_completed INTEGER NOT NULL, priority INTEGER NOT NULL, " +
+                        "current_streak INTEGER NOT NULL)"
+                )
+                statement.execute("CREATE INDEX index_tasks_is_completed_due_date ON tasks (is_completed, due_date)")
+                statement.execute(
+                    "CREATE TABLE completions (completion_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                        "task_id INTEGER NOT NULL, completed_at INTEGER NOT NULL, time_spent_minutes INTEGER NOT NULL, " +
+                        "difficulty INTEGER NOT NULL, notes TEXT, " +
+                        "FOREIGN KEY(task_id) REFERENCES tasks(id) ON UPDATE NO ACTION ON DELETE CASCADE)"
+                )
+                statement.execute("CREATE INDEX index_completions_task_id ON completions (task_id)")
+                statement.execute(
+                    "CREATE TABLE completion_daily_rollup (day INTEGER NOT NULL, completion_count INTEGER NOT NULL, " +
+                        "total_minutes INTEGER NOT NULL, difficulty_sum INTEGER NOT NULL, PRIMARY KEY(day))"
+                )
+                CompletionDailyRollupEntity.TRIGGERS.forEach { statement.execute(it) }
+            }
+
+            connection.autoCommit = false
+            connection.prepareStatement(
+                "INSERT INTO tasks (title, due_date, is_completed, priority, current_streak) VALUES (?, ?, 0, ?, 0)"
+            ).use {
+                val now = System.currentTimeMillis()
+                for (i in 0 until TASK_COUNT) {
+                    it.setString(1, "Task $i")
+                    it.setLong(2, if (i % 3 == 0) 0L else now + (i % 20 - 10) * DAY_MS)
+                    it.setInt(3, i % 4)
+                    it.executeUpdate()
+                }
+            }
+            connection.commit()
+        }
+    }
+
+    /**
+     * Each benchmark thread has its own connection
+     */
+    abstract class Session(private val writer: Boolean) {
+        lateinit var connection: Connection
+        val random = Random(42)
+
+        @Setup(Level.Trial)
+        fun open(database: Database) {
+            connection = database.open(writer)
+        }
+
+        @TearDown(Level.Trial)
+        fun close() {
+            connection.close()
+        }
+    }
+
+    /** The primary connection (Room's onOpen ran on it) */
+    @State(Scope.Thread)
+    open class WriterSession : Session(writer = true)
+
+    /** A connection of the WAL read pool */
+    @State(Scope.Thread)
+    open class ReaderSession : Session(writer = false)
+
+    /**
+     * Same writes as TaskDao.completeTask(): history row + partial task update, one commit
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    fun completeTask(session: WriterSession) {
+        val connection = session.connection
+        val taskId = session.random.nextLong(1, TASK_COUNT + 1L)
+        connection.autoCommit = false
+        connection.prepareStatement(
+            "INSERT INTO completions (task_id, completed_at, time_spent_minutes, difficulty) VALUES (?, ?, 15, 5)"
+        ).use {
+            it.setLong(1, taskId)
+            it.setLong(2, System.currentTimeMillis())
+            it.executeUpdate()
+        }
+        connection.prepareStatement(
+            "UPDATE tasks SET is_completed = 1, current_streak = current_streak + 1 WHERE id = ?"
+        ).use {
+            it.setLong(1, taskId)
+            it.executeUpdate()
+        }
+        connection.commit()
+    }
+
+    /**
+     * Statistics header: rollup sums (CompletionDao.observeStatistics) + active and overdue counts
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(READ_THREADS)
+    fun readStatistics(session: ReaderSession): Long {
+        session.connection.prepareStatement(
+            "SELECT (SELECT COALESCE(SUM(completion_count), 0) FROM completion_daily_rollup WHERE day >= ?), " +
+                "(SELECT COUNT(*) FROM tasks WHERE is_completed = 0), " +
+                "(SELECT COUNT(*) FROM tasks WHERE is_completed = 0 AND due_date > 0 AND due_date < ?)"
+        ).use {
+            it.setLong(1, System.currentTimeMillis() / DAY_MS - 7)
+            it.setLong(2, System.currentTimeMillis())
+            it.executeQuery().use { rows ->
+                rows.next()
+                return rows.getLong(1) + rows.getLong(2) + rows.getLong(3)
+            }
+        }
+    }
+}
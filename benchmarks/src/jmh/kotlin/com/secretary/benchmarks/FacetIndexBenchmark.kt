@@ -0,0 +1,70 @@
+package com.secretary.benchmarks
+
+import com.secretary.TaskFilterManager
+import com.secretary.TaskFilterManager.CompletionFilter
+import com.secretary.features.tasks.domain.model.TaskFacetCounts
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.service.TaskFacetIndex
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.BitSet
+import java.util.concurrent.TimeUnit
+
+/**
+ * Status / priority / category filters: TaskFacetIndex bitsets vs TaskFilterManager predicates
+ *
+ * One operation = one filter combination over all TaskDataSet.taskCount
+ * list items (facetCounts: the counts for every spinner option; upsert:
+ * re-indexing one edited row).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class FacetIndexBenchmark {
+
+    private lateinit var index: TaskFacetIndex
+    private lateinit var edited: List<TaskListItem>
+    private var nextEdit = 0
+
+    @Setup(Level.Trial)
+    fun setUp(data: TaskDataSet) {
+        index = TaskFacetIndex()
+        index.sync(data.listItems)
+        // Alternate every row between two priorities so each upsert is a real change
+        edited = data.listItems.map { it.copy(priority = (it.priority + 1) % TaskFacetIndex.PRIORITY_LEVELS) }
+    }
+
+    @Benchmark
+    fun predicatesActiveWorkHigh(data: TaskDataSet): List<TaskListItem> = TaskFilterManager().apply {
+        completionFilter = CompletionFilter.ACTIVE_ONLY
+        categoryFilter = "Work"
+        priorityFilter = 2
+    }.applyFilters(data.listItems)
+
+    @Benchmark
+    fun bitsetActiveWorkHigh(): List<TaskListItem> =
+        index.rowsAt(index.select(CompletionFilter.ACTIVE_ONLY, "Work", 2))
+
+    /**
+     * Selection only, without materializing the rows
+     */
+    @Benchmark
+    fun bitsetSelectActiveWorkHigh(): BitSet = index.select(CompletionFilter.ACTIVE_ONLY, "Work", 2)
+
+    @Benchmark
+    fun facetCounts(): TaskFacetCounts = index.facetCounts(CompletionFilter.ACTIVE_ONLY, "Work", null, null)
+
+    @Benchmark
+    fun upsertOneRow(data: TaskDataSet): Boolean {
+        val edit = nextEdit++
+        val i = edit % data.listItems.size
+        val task = if ((edit / data.listItems.size) % 2 == 0) edited[i] else data.listItems[i]
+        return index.upsert(task)
+    }
+}
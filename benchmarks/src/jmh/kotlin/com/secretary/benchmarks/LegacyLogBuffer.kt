@@ -0,0 +1,30 @@
+package com.secretary.benchmarks
+
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+
+/**
+ * Baseline: AppLogger's in-memory log before LogRingBuffer, kept verbatim
+ * apart from the Logcat write (android.util.Log isn't available on the JVM):
+ * one global lock, eager timestamp and line formatting on every call.
+ */
+class LegacyLogBuffer(private val maxLines: Int) {
+
+    private val dateFormat = SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US)
+    private val logLines = ArrayDeque<String>(maxLines)
+
+    @Synchronized
+    fun writeLog(level: String, tag: String, message: String) {
+        val timestamp = dateFormat.format(Date())
+        val logEntry = "[$timestamp] [$level] [$tag] $message"
+
+        if (logLines.size >= maxLines) {
+            logLines.removeFirst()
+        }
+        logLines.addLast(logEntry)
+    }
+
+    @Synchronized
+    fun readLogs(): List<String> = logLines.toList()
+}
@@ -0,0 +1,161 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import java.util.Calendar
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * Baseline: the Calendar-based period arithmetic RecurrenceService and
+ * StreakService used before PeriodCalendar, kept verbatim (apart from the
+ * explicit zone and locale) so benchmarks can compare both.
+ */
+class LegacyPeriodArithmetic(
+    private val timeZone: TimeZone,
+    private val locale: Locale
+) {
+
+    // ========== RecurrenceService ==========
+
+    fun calculateNextDueDate(currentDueDate: Long, amount: Int, unit: Int): Long {
+        val cal = Calendar.getInstance(timeZone, locale)
+        cal.timeInMillis = currentDueDate
+
+        when (unit) {
+            Task.UNIT_DAY -> cal.add(Calendar.DAY_OF_MONTH, amount)
+            Task.UNIT_WEEK -> cal.add(Calendar.WEEK_OF_YEAR, amount)
+            Task.UNIT_MONTH -> cal.add(Calendar.MONTH, amount)
+            Task.UNIT_YEAR -> cal.add(Calendar.YEAR, amount)
+        }
+
+        return cal.timeInMillis
+    }
+
+    fun isInCurrentPeriod(periodStart: Long, unit: Int, now: Long): Boolean {
+        if (periodStart == 0L) return false
+
+        val periodCal = Calendar.getInstance(timeZone, locale)
+        periodCal.timeInMillis = periodStart
+
+        val nowCal = Calendar.getInstance(timeZone, locale)
+        nowCal.timeInMillis = now
+
+        return when (unit) {
+            Task.UNIT_DAY -> {
+                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
+                periodCal.get(Calendar.DAY_OF_YEAR) == nowCal.get(Calendar.DAY_OF_YEAR)
+            }
+            Task.UNIT_WEEK -> {
+                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
+                periodCal.get(Calendar.WEEK_OF_YEAR) == nowCal.get(Calendar.WEEK_OF_YEAR)
+            }
+            Task.UNIT_MONTH -> {
+                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR) &&
+                periodCal.get(Calendar.MONTH) == nowCal.get(Calendar.MONTH)
+            }
+            Task.UNIT_YEAR -> {
+                periodCal.get(Calendar.YEAR) == nowCal.get(Calendar.YEAR)
+            }
+            else -> false
+        }
+    }
+
+    fun getPeriodStart(timestamp: Long, unit: Int): Long {
+        val cal = Calendar.getInstance(timeZone, locale)
+        cal.timeInMillis = timestamp
+
+        cal.set(Calendar.HOUR_OF_DAY, 0)
+        cal.set(Calendar.MINUTE, 0)
+        cal.set(Calendar.SECOND, 0)
+        cal.set(Calendar.MILLISECOND, 0)
+
+        when (unit) {
+            Task.UNIT_WEEK -> cal.set(Calendar.DAY_OF_WEEK, cal.firstDayOfWeek)
+            Task.UNIT_MONTH -> cal.set(Calendar.DAY_OF_MONTH, 1)
+            Task.UNIT_YEAR -> cal.set(Calendar.DAY_OF_YEAR, 1)
+        }
+
+        return cal.timeInMillis
+    }
+
+    fun getTasksNeedingReset(tasks: List<Task>, currentTime: Long): Map<Long, Task> {
+        val updates = mutableMapOf<Long, Task>()
+
+        for (task in tasks) {
+            when {
+                task.recurrenceType == Task.RECURRENCE_INTERVAL && task.isCompleted &&
+                    task.dueDate > 0 && task.dueDate <= currentTime -> {
+                    updates[task.id] = task.copy(isCompleted = false, dueDate = 0)
+                }
+                task.recurrenceType == Task.RECURRENCE_FREQUENCY && task.currentPeriodStart > 0 &&
+                    !isInCurrentPeriod(task.currentPeriodStart, task.recurrenceUnit, currentTime) -> {
+                    val newPeriodStart = getPeriodStart(currentTime, task.recurrenceUnit)
+                    updates[task.id] = task.copy(
+                        isCompleted = false,
+                        completionsThisPeriod = 0,
+                        currentPeriodStart = newPeriodStart
+                    )
+                }
+            }
+        }
+
+        return updates
+    }
+
+    // ========== StreakService ==========
+
+    fun calculateStreakFromHistory(completionDates: List<Long>): Pair<Int, Int> {
+        if (completionDates.isEmpty()) {
+            return Pair(0, 0)
+        }
+
+        val normalizedDates = completionDates.map { getStartOfDay(it) }.distinct().sortedDescending()
+
+        var currentStreak = 0
+        var longestStreak = 0
+        var streakCount = 0
+        var lastDate = 0L
+
+        for (date in normalizedDates) {
+            when {
+                lastDate == 0L -> {
+                    streakCount = 1
+                    currentStreak = 1
+                }
+                isConsecutiveDay(date, lastDate) -> {
+                    streakCount++
+                    currentStreak = maxOf(currentStreak, streakCount)
+                }
+                else -> {
+                    longestStreak = maxOf(longestStreak, streakCount)
+                    streakCount = 1
+                }
+            }
+
+            lastDate = date
+        }
+
+        longestStreak = maxOf(longestStreak, streakCount)
+
+        return Pair(currentStreak, longestStreak)
+    }
+
+    fun isConsecutiveDay(lastDay: Long, currentDay: Long): Boolean {
+        val cal = Calendar.getInstance(timeZone, locale)
+        cal.timeInMillis = lastDay
+        cal.add(Calendar.DAY_OF_YEAR, 1)
+
+        val expectedNextDay = getStartOfDay(cal.timeInMillis)
+        return currentDay == expectedNextDay
+    }
+
+    fun getStartOfDay(timestamp: Long): Long {
+        val cal = Calendar.getInstance(timeZone, locale)
+        cal.timeInMillis = timestamp
+        cal.set(Calendar.HOUR_OF_DAY, 0)
+        cal.set(Calendar.MINUTE, 0)
+        cal.set(Calendar.SECOND, 0)
+        cal.set(Calendar.MILLISECOND, 0)
+        return cal.timeInMillis
+    }
+}
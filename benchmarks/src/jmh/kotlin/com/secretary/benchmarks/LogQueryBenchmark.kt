@@ -0,0 +1,70 @@
+package com.secretary.benchmarks
+
+import com.secretary.core.logging.LogIndex
+import com.secretary.core.logging.LogLevel
+import com.secretary.core.logging.LogQuery
+import com.secretary.core.logging.LogRecord
+import com.secretary.core.logging.LogRingBuffer
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * /logs filters over a full AppLogger ring (1500 records): LogIndex
+ * posting lists vs scanning the snapshot with one filter pass per
+ * parameter (the previous HttpLogServer.filterLogs)
+ *
+ * Records: 5% ERROR, 12 tags. Queries return records, not formatted lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class LogQueryBenchmark {
+
+    companion object {
+        private const val CAPACITY = 1500 // AppLogger.MAX_LOG_LINES
+    }
+
+    private lateinit var ring: LogRingBuffer
+    private lateinit var index: LogIndex
+
+    private val errorsOfTag = LogQuery(levels = setOf(LogLevel.ERROR), tag = "Database")
+    private val lastErrors = LogQuery(levels = setOf(LogLevel.ERROR), tail = 20)
+
+    @Setup
+    fun setUp() {
+        val random = Random(7)
+        val tags = (1..11).map { "Component$it" } + "Database"
+        var now = 0L
+        ring = LogRingBuffer(CAPACITY, clock = { now++ })
+        repeat(CAPACITY) {
+            val level = if (random.nextInt(20) == 0) LogLevel.ERROR else LogLevel.values()[random.nextInt(2)]
+            ring.add(level, tags.random(random), "message $it")
+        }
+        index = LogIndex(ring)
+    }
+
+    @Benchmark
+    fun indexedLevelAndTag(): List<LogRecord> = index.query(errorsOfTag).records
+
+    @Benchmark
+    fun scanLevelAndTag(): List<LogRecord> =
+        ring.snapshot()
+            .filter { it.level.name in listOf("ERROR") }
+            .filter { it.tag == "Database" }
+
+    @Benchmark
+    fun indexedTail(): List<LogRecord> = index.query(lastErrors).records
+
+    @Benchmark
+    fun scanTail(): List<LogRecord> =
+        ring.snapshot()
+            .filter { it.level.name in listOf("ERROR") }
+            .takeLast(20)
+}
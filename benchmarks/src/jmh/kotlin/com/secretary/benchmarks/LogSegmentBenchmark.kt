@@ -0,0 +1,66 @@
+package com.secretary.benchmarks
+
+import com.secretary.core.logging.LogLevel
+import com.secretary.core.logging.LogSegmentStore
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import java.io.File
+import java.io.FileWriter
+import java.io.Writer
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+/**
+ * Persisting one log record: memory-mapped segment append vs a buffered
+ * FileWriter line append (flushed, as a crash-safe text log would need)
+ *
+ * The segment store rotates and deletes segments during the run, so its
+ * score includes that cost; no fsync in either (LogPersister forces rarely).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class LogSegmentBenchmark {
+
+    companion object {
+        private const val TAG = "TaskActivity"
+        private const val MESSAGE = "Filters applied: 42 tasks shown"
+    }
+
+    private lateinit var directory: File
+    private lateinit var store: LogSegmentStore
+    private lateinit var textLog: Writer
+    private var sequence = 0L
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        directory = Files.createTempDirectory("log-segments").toFile()
+        store = LogSegmentStore(directory)
+        store.open()
+        textLog = FileWriter(File(directory, "text.log"), true).buffered()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        textLog.close()
+        directory.deleteRecursively()
+    }
+
+    @Benchmark
+    fun mappedSegmentAppend() {
+        store.append(System.currentTimeMillis(), sequence++, LogLevel.INFO, TAG, "main", MESSAGE)
+    }
+
+    @Benchmark
+    fun textFileAppend() {
+        textLog.write("[${System.currentTimeMillis()}] [INFO] [$TAG] $MESSAGE\n")
+        textLog.flush()
+    }
+}
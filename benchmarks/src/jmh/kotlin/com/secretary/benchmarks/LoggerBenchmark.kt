@@ -0,0 +1,53 @@
+package com.secretary.benchmarks
+
+import com.secretary.core.logging.LogLevel
+import com.secretary.core.logging.LogRingBuffer
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Threads
+import java.util.concurrent.TimeUnit
+
+/**
+ * AppLogger's in-memory log under 8 concurrent writers: LogRingBuffer vs
+ * the previous synchronized, eagerly formatting buffer (LegacyLogBuffer)
+ *
+ * One operation = one log call; the score is the total over all 8 threads.
+ * Reading (formatting) isn't measured - the ring defers it to readers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+open class LoggerBenchmark {
+
+    companion object {
+        private const val CAPACITY = 1500 // AppLogger.MAX_LOG_LINES
+        private const val TAG = "TaskActivity"
+    }
+
+    private val ring = LogRingBuffer(CAPACITY)
+    private val legacy = LegacyLogBuffer(CAPACITY)
+
+    @Benchmark
+    fun legacySynchronized() {
+        legacy.writeLog("INFO", TAG, "Filters applied: 42 tasks shown")
+    }
+
+    @Benchmark
+    fun ringBuffer() {
+        ring.add(LogLevel.INFO, TAG, "Filters applied: 42 tasks shown")
+    }
+
+    /**
+     * Message built by a lambda only if the log is read
+     */
+    @Benchmark
+    fun ringBufferLazy() {
+        val count = 42
+        ring.addLazy(LogLevel.DEBUG, TAG) { "Filters applied: $count tasks shown" }
+    }
+}
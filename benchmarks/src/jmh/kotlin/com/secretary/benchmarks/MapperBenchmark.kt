@@ -0,0 +1,57 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import com.secretary.features.statistics.data.toDomainModel
+import com.secretary.features.statistics.domain.model.Completion
+import com.secretary.features.tasks.data.TaskEntity
+import com.secretary.features.tasks.data.toTask
+import com.secretary.features.tasks.data.toTaskEntity
+import com.secretary.features.tasks.data.toTaskListItem
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+
+/**
+ * Entity <-> domain mapping done by the repositories on every load
+ *
+ * One operation = mapping the full result list, like one Flow emission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class MapperBenchmark {
+
+    private val recurrenceService = RecurrenceService(ZoneOffset.UTC)
+
+    /**
+     * TaskRepository.observeTasks / getAllTasks
+     */
+    @Benchmark
+    fun entitiesToTasks(data: TaskDataSet): List<Task> = data.entities.map { it.toTask() }
+
+    /**
+     * TaskRepository.observeTaskListItems (list projection)
+     */
+    @Benchmark
+    fun listRowsToListItems(data: TaskDataSet): List<TaskListItem> = data.listRows.map { it.toTaskListItem() }
+
+    /**
+     * Writing every task back (insert/update path, including the next_reset_at computation)
+     */
+    @Benchmark
+    fun tasksToEntities(data: TaskDataSet): List<TaskEntity> =
+        data.tasks.map { it.toTaskEntity(nextResetAt = recurrenceService.getNextResetTime(it)) }
+
+    /**
+     * CompletionRepository over the whole history
+     */
+    @Benchmark
+    fun completionsToDomain(data: TaskDataSet): List<Completion> = data.completions.map { it.toDomainModel() }
+}
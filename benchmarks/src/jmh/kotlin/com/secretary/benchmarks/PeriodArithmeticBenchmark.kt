@@ -0,0 +1,165 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.time.ZoneId
+import java.time.temporal.WeekFields
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Period arithmetic: Calendar baseline (legacy*) vs. PeriodCalendar epoch days (epochDay*)
+ *
+ * Single calls cycle through SAMPLES pre-generated timestamps spread over
+ * a few years, so offset transitions (DST) are included. Loop benchmarks run
+ * the reset check over a task list and the streak calculation over a year
+ * of completions. Run with the gc profiler (see build.gradle.kts):
+ * gc.alloc.rate.norm is the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class PeriodArithmeticBenchmark {
+
+    companion object {
+        private const val SAMPLES = 4096 // Power of two: index wraps with a mask
+        private const val DAY_MS = 24 * 60 * 60 * 1000L
+        private const val NOW = 1_767_225_600_000L // 2026-01-01T00:00:00Z
+    }
+
+    @Param("Europe/Berlin")
+    lateinit var zoneId: String
+
+    @Param("1000")
+    var taskCount: Int = 0
+
+    private lateinit var legacy: LegacyPeriodArithmetic
+    private lateinit var recurrenceService: RecurrenceService
+    private lateinit var streakService: StreakService
+
+    private val timestamps = LongArray(SAMPLES)
+    private val units = IntArray(SAMPLES)
+    private var index = 0
+
+    private lateinit var tasks: List<Task>
+    private lateinit var completionDates: List<Long>
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        val zone = ZoneId.of(zoneId)
+        val locale = Locale.GERMANY
+        legacy = LegacyPeriodArithmetic(TimeZone.getTimeZone(zone), locale)
+        recurrenceService = RecurrenceService(zone, WeekFields.of(locale).firstDayOfWeek)
+        streakService = StreakService(zone)
+
+        val random = Random(42)
+        for (i in 0 until SAMPLES) {
+            timestamps[i] = NOW - random.nextLong(3 * 365 * DAY_MS)
+            units[i] = random.nextInt(Task.UNIT_DAY, Task.UNIT_YEAR + 1)
+        }
+
+        // Mix of interval and frequency tasks, about a quarter of them due for a reset
+        tasks = List(taskCount) { i ->
+            val unit = i % 4
+            if (i % 2 == 0) {
+                Task(
+                    id = i.toLong(),
+                    title = "Interval task $i",
+                    isCompleted = i % 3 == 0,
+                    dueDate = NOW + (i % 8 - 2) * DAY_MS,
+                    recurrenceType = Task.RECURRENCE_INTERVAL,
+                    recurrenceAmount = 1 + i % 3,
+                    recurrenceUnit = unit
+                )
+            } else {
+                Task(
+                    id = i.toLong(),
+                    title = "Frequency task $i",
+                    recurrenceType = Task.RECURRENCE_FREQUENCY,
+                    recurrenceAmount = 3,
+                    recurrenceUnit = unit,
+                    currentPeriodStart = NOW - (i % 5) * 20 * DAY_MS
+                )
+            }
+        }
+
+        // A year of completions: most days once or twice, with gaps
+        completionDates = (0 until 365).flatMap { day ->
+            val at = NOW - day * DAY_MS + random.nextLong(DAY_MS)
+            when {
+                random.nextInt(10) == 0 -> emptyList()
+                random.nextBoolean() -> listOf(at, at + 60_000)
+                else -> listOf(at)
+            }
+        }
+    }
+
+    private fun next(): Int {
+        index = (index + 1) and (SAMPLES - 1)
+        return index
+    }
+
+    // ========== Single Calls ==========
+
+    @Benchmark
+    fun legacyIsInCurrentPeriod(): Boolean {
+        val i = next()
+        return legacy.isInCurrentPeriod(timestamps[i], units[i], NOW)
+    }
+
+    @Benchmark
+    fun epochDayIsInCurrentPeriod(): Boolean {
+        val i = next()
+        return recurrenceService.isInCurrentPeriod(timestamps[i], units[i], NOW)
+    }
+
+    @Benchmark
+    fun legacyGetPeriodStart(): Long {
+        val i = next()
+        return legacy.getPeriodStart(timestamps[i], units[i])
+    }
+
+    @Benchmark
+    fun epochDayGetPeriodStart(): Long {
+        val i = next()
+        return recurrenceService.getPeriodStart(timestamps[i], units[i])
+    }
+
+    @Benchmark
+    fun legacyCalculateNextDueDate(): Long {
+        val i = next()
+        return legacy.calculateNextDueDate(timestamps[i], 1 + (i and 3), units[i])
+    }
+
+    @Benchmark
+    fun epochDayCalculateNextDueDate(): Long {
+        val i = next()
+        return recurrenceService.calculateNextDueDate(timestamps[i], 1 + (i and 3), units[i])
+    }
+
+    // ========== Loops ==========
+
+    @Benchmark
+    fun legacyGetTasksNeedingReset(): Map<Long, Task> = legacy.getTasksNeedingReset(tasks, NOW)
+
+    @Benchmark
+    fun epochDayGetTasksNeedingReset(): Map<Long, Task> = recurrenceService.getTasksNeedingReset(tasks, NOW)
+
+    @Benchmark
+    fun legacyCalculateStreakFromHistory(): Pair<Int, Int> = legacy.calculateStreakFromHistory(completionDates)
+
+    @Benchmark
+    fun epochDayCalculateStreakFromHistory(): Pair<Int, Int> = streakService.calculateStreakFromHistory(completionDates)
+}
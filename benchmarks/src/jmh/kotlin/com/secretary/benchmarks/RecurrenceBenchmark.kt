@@ -0,0 +1,57 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import com.secretary.features.tasks.domain.service.RecurrenceService
+import com.secretary.features.tasks.domain.service.StreakService
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+
+/**
+ * Recurrence and streak services over the whole task database
+ *
+ * One operation = one pass over all tasks (reset check, completions) or
+ * over the completion history of every task that has one (streaks).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class RecurrenceBenchmark {
+
+    private val recurrenceService = RecurrenceService(ZoneOffset.UTC)
+    private val streakService = StreakService(ZoneOffset.UTC)
+
+    /**
+     * Periodic reset check (RecurrenceManager on app start)
+     */
+    @Benchmark
+    fun getTasksNeedingReset(data: TaskDataSet): Map<Long, Task> =
+        recurrenceService.getTasksNeedingReset(data.tasks, TaskDataSet.NOW)
+
+    /**
+     * Complete every task once: recurrence handling + streak update, as CompleteTaskUseCase does
+     */
+    @Benchmark
+    fun completeAll(data: TaskDataSet, blackhole: Blackhole) {
+        for (task in data.tasks) {
+            val completed = recurrenceService.handleRecurringCompletion(task, TaskDataSet.NOW)
+            blackhole.consume(streakService.updateStreak(completed, TaskDataSet.NOW))
+        }
+    }
+
+    /**
+     * Recalculate current and longest streak of every task from its history
+     */
+    @Benchmark
+    fun calculateStreaksFromHistory(data: TaskDataSet, blackhole: Blackhole) {
+        for (history in data.completionHistory.values) {
+            blackhole.consume(streakService.calculateStreakFromHistory(history))
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.secretary.benchmarks
+
+import com.secretary.features.tasks.domain.model.TaskRowModel
+import com.secretary.features.tasks.domain.service.TaskRowFormatter
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Task list display texts: TaskRowFormatter with and without its row model cache
+ *
+ * One operation = formatting all TaskDataSet.taskCount list items, as when a
+ * list arrives (formatAll: first list; reformatCached: a later list or a
+ * minute tick, where only time-dependent rows are formatted again).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class RowFormatBenchmark {
+
+    private lateinit var cached: TaskRowFormatter
+    private var now = 0L
+
+    @Setup(Level.Trial)
+    fun setUp(data: TaskDataSet) {
+        now = System.currentTimeMillis()
+        cached = TaskRowFormatter()
+        cached.rows(data.listItems, now)
+    }
+
+    @Benchmark
+    fun formatAll(data: TaskDataSet): List<TaskRowModel> = TaskRowFormatter().rows(data.listItems, now)
+
+    @Benchmark
+    fun reformatCached(data: TaskDataSet): List<TaskRowModel> = cached.rows(data.listItems, now)
+}
@@ -0,0 +1,71 @@
+package com.secretary.benchmarks
+
+import com.secretary.features.statistics.domain.model.DailyCompletionStats
+import com.secretary.features.statistics.domain.model.TaskStatistics
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+import java.util.concurrent.TimeUnit
+
+/**
+ * Statistics models computed in memory from the completion history
+ *
+ * The app gets these numbers from SQL (completion_daily_rollup); this is
+ * the cost of the same aggregation in Kotlin over years of completions,
+ * for comparison with in-memory approaches. Days are local epoch days in
+ * the system zone, like the rollup's 'localtime' and CompletionRepositoryImpl.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class StatisticsBenchmark {
+
+    private val zone = ZoneId.systemDefault()
+
+    private fun localDay(epochMillis: Long): Long =
+        Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate().toEpochDay()
+
+    /**
+     * Header numbers: completed today / last 7 days, active and total tasks
+     */
+    @Benchmark
+    fun taskStatistics(data: TaskDataSet): String {
+        val today = localDay(TaskDataSet.NOW)
+        var completedToday = 0
+        var completedThisWeek = 0
+        for (completion in data.completions) {
+            val day = localDay(completion.completedAt)
+            if (day == today) completedToday++
+            if (day >= today - 7) completedThisWeek++
+        }
+        val statistics = TaskStatistics(
+            completedToday = completedToday,
+            completedThisWeek = completedThisWeek,
+            activeTasks = data.tasks.count { !it.isCompleted },
+            totalTasks = data.tasks.size
+        )
+        return statistics.toDisplayString() + statistics.getWeekCompletionRate()
+    }
+
+    /**
+     * Daily histogram over the full history (one DailyCompletionStats per day)
+     */
+    @Benchmark
+    fun dailyHistogram(data: TaskDataSet): List<DailyCompletionStats> {
+        val byDay = data.completions.groupBy { localDay(it.completedAt) }
+        return byDay.entries.sortedBy { it.key }.map { (day, completions) ->
+            DailyCompletionStats(
+                date = LocalDate.ofEpochDay(day),
+                completionCount = completions.size,
+                totalMinutes = completions.sumOf { it.timeSpentMinutes },
+                difficultySum = completions.sumOf { it.difficulty }
+            )
+        }
+    }
+}
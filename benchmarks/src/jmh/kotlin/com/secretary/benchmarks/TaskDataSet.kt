@@ -0,0 +1,180 @@
+package com.secretary.benchmarks
+
+import com.secretary.Task
+import com.secretary.features.statistics.data.CompletionEntity
+import com.secretary.features.tasks.data.TaskEntity
+import com.secretary.features.tasks.data.TaskListRow
+import com.secretary.features.tasks.data.toTask
+import com.secretary.features.tasks.domain.model.TaskListItem
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import kotlin.random.Random
+
+/**
+ * Shared benchmark data: a task database of [taskCount] tasks with [years] of completion history
+ *
+ * Generated from a fixed seed, so every run and every benchmark sees the
+ * same data. The mix follows what the app stores:
+ * - 8 categories, priorities weighted towards Medium, a third completed
+ * - about half with a due date (overdue to a month ahead), descriptions
+ *   from none to a few paragraphs
+ * - a fifth recurring (interval or frequency; mostly weekly and monthly)
+ * - recurring tasks completed about 80% of their periods over [years],
+ *   completed one-off tasks once
+ *
+ * Rows are held in every shape the layers pass around (entities, list
+ * rows, domain models), so benchmarks measure only the operation itself.
+ */
+@State(Scope.Benchmark)
+open class TaskDataSet {
+
+    companion object {
+        const val DAY_MS = 24 * 60 * 60 * 1000L
+        const val NOW = 1_767_268_800_000L // 2026-01-01T12:00:00Z
+
+        val CATEGORIES = listOf("General", "Work", "Personal", "Health", "Finance", "Home", "Learning", "Errands")
+
+        private val VERBS = listOf("Review", "Write", "Call", "Plan", "Clean", "Pay", "Read", "Fix", "Buy", "Prepare")
+        private val NOUNS = listOf("report", "invoice", "garden", "budget", "presentation", "groceries",
+            "dentist appointment", "car service", "chapter", "tax return", "backlog", "newsletter")
+        private val WORDS = listOf("the", "quarterly", "numbers", "before", "meeting", "with", "team", "check",
+            "notes", "from", "last", "week", "and", "update", "shared", "document", "remember", "receipts")
+    }
+
+    @Param("1000", "10000", "100000")
+    var taskCount: Int = 0
+
+    @Param("2")
+    var years: Int = 0
+
+    lateinit var entities: List<TaskEntity>
+    lateinit var tasks: List<Task>
+    lateinit var listRows: List<TaskListRow>
+    lateinit var listItems: List<TaskListItem>
+    lateinit var completions: List<CompletionEntity>
+
+    /** Completion timestamps per task id (tasks with history only) */
+    lateinit var completionHistory: Map<Long, List<Long>>
+
+    /** Ids of tasks matching "invoice", as the full-text index returns them */
+    lateinit var invoiceIds: Set<Long>
+
+    @Setup(Level.Trial)
+    fun generate() {
+        val random = Random(taskCount * 31L + years)
+        entities = List(taskCount) { i -> taskEntity(i + 1L, random) }
+        tasks = entities.map { it.toTask() }
+        listRows = entities.map { listRow(it) }
+        listItems = tasks.map { TaskListItem.from(it) }
+        invoiceIds = tasks.filter { it.title.contains("invoice") }.mapTo(HashSet()) { it.id }
+
+        var completionId = 0L
+        completions = entities.flatMap { entity ->
+            completionTimes(entity, random).map { completedAt ->
+                CompletionEntity(
+                    completionId = ++completionId,
+                    taskId = entity.id,
+                    completedAt = completedAt,
+                    timeSpentMinutes = 5 + random.nextInt(90),
+                    difficulty = random.nextInt(11),
+                    notes = if (random.nextInt(10) == 0) sentence(random, 12) else null
+                )
+            }
+        }
+        completionHistory = completions.groupBy({ it.taskId }, { it.completedAt })
+    }
+
+    // ========== Generators ==========
+
+    private fun taskEntity(id: Long, random: Random): TaskEntity {
+        val recurrence = random.nextInt(10)
+        val recurrenceType = when {
+            recurrence == 0 -> Task.RECURRENCE_INTERVAL
+            recurrence == 1 -> Task.RECURRENCE_FREQUENCY
+            else -> Task.RECURRENCE_NONE
+        }
+        val unitRoll = random.nextInt(20)
+        val unit = when {
+            unitRoll == 0 -> Task.UNIT_DAY
+            unitRoll < 10 -> Task.UNIT_WEEK
+            unitRoll < 18 -> Task.UNIT_MONTH
+            else -> Task.UNIT_YEAR
+        }
+        val priorityRoll = random.nextInt(10)
+
+        return TaskEntity(
+            id = id,
+            title = "${VERBS[random.nextInt(VERBS.size)]} ${NOUNS[random.nextInt(NOUNS.size)]} #$id",
+            description = when (random.nextInt(5)) {
+                0, 1 -> null
+                2, 3 -> sentence(random, 5 + random.nextInt(20))
+                else -> sentence(random, 80 + random.nextInt(200))
+            },
+            category = CATEGORIES[random.nextInt(CATEGORIES.size)],
+            createdAt = NOW - random.nextLong(years * 365L * DAY_MS),
+            dueDate = if (random.nextBoolean()) NOW + random.nextLong(-7 * DAY_MS, 30 * DAY_MS) else 0,
+            isCompleted = if (random.nextInt(3) == 0) 1 else 0,
+            priority = when {
+                priorityRoll < 2 -> 0
+                priorityRoll < 7 -> 1
+                priorityRoll < 9 -> 2
+                else -> 3
+            },
+            recurrenceType = recurrenceType,
+            recurrenceAmount = if (recurrenceType == Task.RECURRENCE_NONE) 0 else 1 + random.nextInt(3),
+            recurrenceUnit = if (recurrenceType == Task.RECURRENCE_NONE) Task.UNIT_DAY else unit,
+            currentPeriodStart = if (recurrenceType == Task.RECURRENCE_FREQUENCY) {
+                NOW - random.nextLong(60) * DAY_MS
+            } else {
+                0
+            },
+            currentStreak = random.nextInt(15),
+            longestStreak = 15 + random.nextInt(30),
+            lastStreakDate = NOW - random.nextLong(3) * DAY_MS
+        )
+    }
+
+    private fun completionTimes(entity: TaskEntity, random: Random): List<Long> {
+        if (entity.recurrenceType == Task.RECURRENCE_NONE) {
+            return if (entity.isCompleted == 1) listOf(NOW - random.nextLong(years * 365L * DAY_MS)) else emptyList()
+        }
+
+        val periodDays = when (entity.recurrenceUnit) {
+            Task.UNIT_DAY -> 1L
+            Task.UNIT_WEEK -> 7L
+            Task.UNIT_MONTH -> 30L
+            else -> 365L
+        }
+        val periods = years * 365L / periodDays
+        val perPeriod = if (entity.recurrenceType == Task.RECURRENCE_FREQUENCY) entity.recurrenceAmount else 1
+        val times = ArrayList<Long>()
+        for (period in 0 until periods) {
+            if (random.nextInt(5) == 0) continue // Missed period
+            repeat(perPeriod) {
+                times.add(NOW - period * periodDays * DAY_MS - random.nextLong(periodDays * DAY_MS))
+            }
+        }
+        return times
+    }
+
+    private fun listRow(entity: TaskEntity) = TaskListRow(
+        id = entity.id,
+        title = entity.title,
+        description = entity.description?.take(TaskListItem.DESCRIPTION_PREVIEW_LENGTH),
+        category = entity.category,
+        priority = entity.priority,
+        createdAt = entity.createdAt,
+        dueDate = entity.dueDate,
+        isCompleted = entity.isCompleted,
+        currentStreak = entity.currentStreak,
+        recurrenceType = entity.recurrenceType,
+        recurrenceAmount = entity.recurrenceAmount,
+        recurrenceUnit = entity.recurrenceUnit
+    )
+
+    private fun sentence(random: Random, words: Int): String =
+        (0 until words).joinToString(" ") { WORDS[random.nextInt(WORDS.size)] }
+}
@@ -0,0 +1,90 @@
+package com.secretary.benchmarks
+
+import com.secretary.TaskFilterManager
+import com.secretary.features.tasks.domain.model.TaskListItem
+import com.secretary.features.tasks.domain.model.TaskPageQuery
+import com.secretary.features.tasks.domain.service.TaskListFilter
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import java.util.concurrent.TimeUnit
+
+/**
+ * In-memory task list: TaskFilterManager filters and sorts over the whole list
+ *
+ * One operation = one pass over all TaskDataSet.taskCount list items, as
+ * on every list refresh or filter change (typeSearch*: one pass per keystroke).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class TaskListBenchmark {
+
+    companion object {
+        private const val TYPED_QUERY = "invoice"
+    }
+
+    @Benchmark
+    fun filterActive(data: TaskDataSet): List<TaskListItem> = TaskFilterManager().apply {
+        completionFilter = TaskFilterManager.CompletionFilter.ACTIVE_ONLY
+    }.applyFilters(data.listItems)
+
+    @Benchmark
+    fun filterCategory(data: TaskDataSet): List<TaskListItem> = TaskFilterManager().apply {
+        categoryFilter = "Work"
+    }.applyFilters(data.listItems)
+
+    /**
+     * Substring search fallback (no full-text match ids)
+     */
+    @Benchmark
+    fun searchSubstring(data: TaskDataSet): List<TaskListItem> = TaskFilterManager().apply {
+        searchQuery = "invoice"
+    }.applyFilters(data.listItems)
+
+    /**
+     * Search with full-text match ids: the filter is a set lookup
+     */
+    @Benchmark
+    fun searchMatchIds(data: TaskDataSet): List<TaskListItem> = TaskFilterManager().apply {
+        searchQuery = "invoice"
+        searchMatchIds = data.invoiceIds
+    }.applyFilters(data.listItems)
+
+    @Benchmark
+    fun sortByPriority(data: TaskDataSet): List<TaskListItem> = sorted(data, TaskFilterManager.SortOption.PRIORITY)
+
+    @Benchmark
+    fun sortByDueDate(data: TaskDataSet): List<TaskListItem> = sorted(data, TaskFilterManager.SortOption.DUE_DATE)
+
+    @Benchmark
+    fun sortByTitle(data: TaskDataSet): List<TaskListItem> = sorted(data, TaskFilterManager.SortOption.TITLE)
+
+    private fun sorted(data: TaskDataSet, option: TaskFilterManager.SortOption): List<TaskListItem> {
+        val tasks = data.listItems.toMutableList()
+        TaskFilterManager().apply { sortOption = option }.sortTasks(tasks)
+        return tasks
+    }
+
+    /**
+     * Typing TYPED_QUERY (substring matching): filter and sort everything per keystroke
+     */
+    @Benchmark
+    fun typeSearchRescanning(data: TaskDataSet): List<TaskListItem> = typeSearch(data, narrow = false)
+
+    /**
+     * Typing TYPED_QUERY with TaskListFilter narrowing the previous result
+     */
+    @Benchmark
+    fun typeSearchNarrowing(data: TaskDataSet): List<TaskListItem> = typeSearch(data, narrow = true)
+
+    private fun typeSearch(data: TaskDataSet, narrow: Boolean): List<TaskListItem> {
+        val filter = TaskListFilter()
+        var previous: TaskListFilter.Result? = null
+        for (length in 1..TYPED_QUERY.length) {
+            val query = TaskPageQuery(searchQuery = TYPED_QUERY.take(length))
+            previous = filter.filter(data.listItems, query, null, if (narrow) previous else null)
+        }
+        return previous!!.items
+    }
+}
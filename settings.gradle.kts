@@ -16,3 +16,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "AI Secretary"
 include(":app")
+include(":benchmarks")